@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.carbondata.core.util.ByteUtil;
+
+/**
+ * Generates the data used by the benchmarks. All data is derived from a
+ * fixed seed, so every run on a machine works on the same values and results
+ * of different runs can be compared.
+ */
+public final class BenchmarkDataGenerator {
+
+    /**
+     * seed used when none is given
+     */
+    public static final long DEFAULT_SEED = 20160101L;
+
+    /**
+     * cardinality of the dimensions of the synthetic cube, low cardinality
+     * dimensions first as in a cube where the dimension order is chosen for
+     * the mdkey sort
+     */
+    public static final int[] CUBE_CARDINALITY = { 8, 50, 365, 2000, 100000 };
+
+    /**
+     * number of decimal digits of generated measures
+     */
+    public static final int MEASURE_DECIMAL = 2;
+
+    private Random random;
+
+    public BenchmarkDataGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public BenchmarkDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Below method will be used to generate surrogate keys, one column array
+     * per dimension. Surrogate keys start from 1 as in the dictionary.
+     *
+     * @param cardinality  cardinality of each dimension
+     * @param numberOfRows number of rows
+     * @return columns[dimension][row]
+     */
+    public int[][] generateColumns(int[] cardinality, int numberOfRows) {
+        int[][] columns = new int[cardinality.length][numberOfRows];
+        for (int i = 0; i < cardinality.length; i++) {
+            for (int j = 0; j < numberOfRows; j++) {
+                columns[i][j] = 1 + random.nextInt(cardinality[i]);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Below method will be used to generate the mdkeys of the rows sorted in
+     * the same order as the data load writes them to the leaf nodes
+     *
+     * @param keyGenerator key generator of the dimensions
+     * @param columns      surrogate keys, columns[dimension][row]
+     * @param numberOfRows number of rows
+     * @return sorted mdkeys
+     * @throws KeyGenException
+     */
+    public static byte[][] generateSortedKeys(KeyGenerator keyGenerator, int[][] columns,
+            int numberOfRows) throws KeyGenException {
+        int keySize = keyGenerator.getKeySizeInBytes();
+        byte[] buffer = new byte[numberOfRows * keySize];
+        keyGenerator.generateKeys(columns, numberOfRows, buffer, 0);
+        byte[][] keys = new byte[numberOfRows][];
+        for (int i = 0; i < numberOfRows; i++) {
+            keys[i] = Arrays.copyOfRange(buffer, i * keySize, (i + 1) * keySize);
+        }
+        Arrays.sort(keys, new Comparator<byte[]>() {
+            @Override
+            public int compare(byte[] key1, byte[] key2) {
+                return ByteUtil.UnsafeComparer.INSTANCE.compareTo(key1, key2);
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * Below method will be used to generate measure values in the range
+     * [0, maxValue) with the given number of decimal digits
+     *
+     * @param numberOfRows number of rows
+     * @param maxValue     upper bound of the values
+     * @param decimal      number of decimal digits
+     * @return values
+     */
+    public double[] generateMeasure(int numberOfRows, double maxValue, int decimal) {
+        double[] values = new double[numberOfRows];
+        double factor = Math.pow(10, decimal);
+        long range = (long) (maxValue * factor);
+        for (int i = 0; i < numberOfRows; i++) {
+            values[i] = (Math.abs(random.nextLong()) % range) / factor;
+        }
+        return values;
+    }
+
+    /**
+     * Below method will be used to generate random bytes, a part of the
+     * bytes is repeated so that the data can be compressed like a column
+     * chunk
+     *
+     * @param length           length of the data
+     * @param distinctFraction fraction of bytes which are random
+     * @return data
+     */
+    public byte[] generateBytes(int length, double distinctFraction) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || random.nextDouble() < distinctFraction) {
+                data[i] = (byte) random.nextInt();
+            } else {
+                data[i] = data[i - 1];
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Below method will be used to get the number of bytes needed to store
+     * the surrogate keys of a dimension in a column block
+     *
+     * @param cardinality cardinality of dimension
+     * @return number of bytes
+     */
+    public static int getColumnSize(int cardinality) {
+        int bits = Integer.SIZE - Integer.numberOfLeadingZeros(cardinality);
+        return (bits + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Below method will be used to convert a surrogate key to its bytes in a
+     * column block
+     *
+     * @param surrogate  surrogate key
+     * @param columnSize number of bytes
+     * @return bytes
+     */
+    public static byte[] toColumnBytes(int surrogate, int columnSize) {
+        byte[] bytes = new byte[columnSize];
+        for (int i = columnSize - 1; i >= 0; i--) {
+            bytes[i] = (byte) surrogate;
+            surrogate >>>= Byte.SIZE;
+        }
+        return bytes;
+    }
+
+    /**
+     * Below method will be used to convert a column of surrogate keys to a
+     * key block, one byte array per row
+     *
+     * @param column     surrogate keys
+     * @param columnSize number of bytes of each key
+     * @return key block
+     */
+    public static byte[][] toKeyBlock(int[] column, int columnSize) {
+        byte[][] keyBlock = new byte[column.length][];
+        for (int i = 0; i < column.length; i++) {
+            keyBlock[i] = toColumnBytes(column[i], columnSize);
+        }
+        return keyBlock;
+    }
+}
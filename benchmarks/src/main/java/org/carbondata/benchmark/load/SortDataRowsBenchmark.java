@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.load;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.core.util.CarbonUtil;
+import org.carbondata.core.util.CarbonUtilException;
+import org.carbondata.processing.schema.metadata.SortObserver;
+import org.carbondata.processing.sortandgroupby.exception.CarbonSortKeyAndGroupByException;
+import org.carbondata.processing.sortandgroupby.sortData.SortDataRows;
+import org.carbondata.processing.util.RemoveDictionaryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sort step of data load: rows are added to SortDataRows, which sorts and
+ * spills each full sort buffer to a sort temp file. Sort buffer size decides
+ * the number of temp files written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SortDataRowsBenchmark {
+
+    /**
+     * number of rows to sort
+     */
+    private static final int NUMBER_OF_ROWS = 200000;
+
+    /**
+     * number of measures of each row
+     */
+    private static final int NUMBER_OF_MEASURES = 2;
+
+    private static final String SCHEMA_NAME = "benchmark";
+
+    private static final String CUBE_NAME = "cube";
+
+    private static final String TABLE_NAME = "benchmark_table";
+
+    @Param({ "20000", "100000" })
+    private String sortBufferSize;
+
+    private Object[][] rows;
+
+    private String[] measureDatatype;
+
+    private File storeLocation;
+
+    @Setup
+    public void setUp() {
+        storeLocation = new File(System.getProperty("java.io.tmpdir"),
+                "carbon-sort-benchmark-" + System.nanoTime());
+        CarbonProperties properties = CarbonProperties.getInstance();
+        properties.addProperty(SCHEMA_NAME + '_' + CUBE_NAME, storeLocation.getAbsolutePath());
+        properties.addProperty(CarbonCommonConstants.SORT_SIZE, sortBufferSize);
+        int[] cardinality = BenchmarkDataGenerator.CUBE_CARDINALITY;
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator();
+        int[][] columns = generator.generateColumns(cardinality, NUMBER_OF_ROWS);
+        double[][] measures = new double[NUMBER_OF_MEASURES][];
+        for (int i = 0; i < NUMBER_OF_MEASURES; i++) {
+            measures[i] = generator.generateMeasure(NUMBER_OF_ROWS, 100000,
+                    BenchmarkDataGenerator.MEASURE_DECIMAL);
+        }
+        rows = new Object[NUMBER_OF_ROWS][];
+        for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+            Integer[] dimensions = new Integer[cardinality.length];
+            for (int j = 0; j < cardinality.length; j++) {
+                dimensions[j] = columns[j][i];
+            }
+            Object[] measureValues = new Object[NUMBER_OF_MEASURES];
+            for (int j = 0; j < NUMBER_OF_MEASURES; j++) {
+                measureValues[j] = measures[j][i];
+            }
+            rows[i] = new Object[3];
+            RemoveDictionaryUtil.prepareOutObj(rows[i], dimensions, null, measureValues);
+        }
+        measureDatatype = new String[NUMBER_OF_MEASURES];
+        for (int i = 0; i < NUMBER_OF_MEASURES; i++) {
+            measureDatatype[i] = "Double";
+        }
+    }
+
+    @Benchmark
+    public void sortAndSpill() throws CarbonSortKeyAndGroupByException {
+        SortDataRows sortDataRows =
+                new SortDataRows(TABLE_NAME, BenchmarkDataGenerator.CUBE_CARDINALITY.length, 0,
+                        NUMBER_OF_MEASURES, new SortObserver(), 0, 0, measureDatatype);
+        sortDataRows.initialize(SCHEMA_NAME, CUBE_NAME);
+        for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+            sortDataRows.addRow(rows[i]);
+        }
+        sortDataRows.startSorting();
+    }
+
+    @TearDown
+    public void tearDown() throws CarbonUtilException {
+        CarbonUtil.deleteFoldersAndFiles(storeLocation);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.query;
+
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
+import org.carbondata.query.columnar.aggregator.impl.DataAggregator;
+import org.carbondata.query.columnar.aggregator.impl.ListBasedResultAggregatorImpl;
+import org.carbondata.query.columnar.datastoreblockprocessor.ColumnarDataStoreBlockProcessorInfo;
+import org.carbondata.query.columnar.datastoreblockprocessor.DataStoreBlockProcessor;
+import org.carbondata.query.columnar.datastoreblockprocessor.impl.FilterDataStoreProcessor;
+import org.carbondata.query.columnar.datastoreblockprocessor.impl.NonFilterDataStoreProcessor;
+import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
+import org.carbondata.query.evaluators.BlockDataHolder;
+import org.carbondata.query.executer.impl.RestructureHolder;
+import org.carbondata.query.result.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end scan of a synthetic cube with a detail query selecting all
+ * dimensions and measures, leaf node by leaf node as done by
+ * ColumnarStorageScannerImpl: filter or read the leaf node, aggregate the
+ * scanned rows and get the result. A filter on the first dimension prunes
+ * leaf nodes by min max, a filter on the last dimension has to scan all of
+ * them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class CubeScanBenchmark {
+
+    /**
+     * number of rows of leaf node
+     */
+    private static final int ROWS_PER_LEAF_NODE = 32000;
+
+    @Param({ "16" })
+    private int numberOfLeafNodes;
+
+    @Param({ "NONE", "FIRST_DIMENSION", "LAST_DIMENSION" })
+    private String filter;
+
+    private SyntheticCube cube;
+
+    private ColumnarAggregatorInfo aggregatorInfo;
+
+    private DataStoreBlockProcessor blockProcessor;
+
+    private RestructureHolder restructureHolder;
+
+    @Setup
+    public void setUp() throws KeyGenException {
+        cube = new SyntheticCube(numberOfLeafNodes, ROWS_PER_LEAF_NODE, 2,
+                BenchmarkDataGenerator.DEFAULT_SEED);
+        int[] allDimensions = new int[cube.getNumberOfDimensions()];
+        for (int i = 0; i < allDimensions.length; i++) {
+            allDimensions[i] = i;
+        }
+        ColumnarDataStoreBlockProcessorInfo processorInfo = cube.createProcessorInfo(allDimensions);
+        if ("NONE".equals(filter)) {
+            blockProcessor = new NonFilterDataStoreProcessor(processorInfo);
+        } else {
+            int dimension = "FIRST_DIMENSION".equals(filter) ? 0 : allDimensions.length - 1;
+            blockProcessor = new FilterDataStoreProcessor(processorInfo, cube
+                    .createDimensionFilter(dimension, true,
+                            cube.getFilterValues(dimension, cube.getCardinality(dimension) / 2)));
+        }
+        aggregatorInfo = cube.createAggregatorInfo();
+        restructureHolder = new RestructureHolder();
+    }
+
+    @Benchmark
+    public int scan() {
+        ListBasedResultAggregatorImpl aggregator = new ListBasedResultAggregatorImpl(
+                aggregatorInfo, new DataAggregator(false, aggregatorInfo));
+        BlockDataHolder blockDataHolder =
+                new BlockDataHolder(cube.getNumberOfDimensions(), cube.getNumberOfMeasures());
+        int numberOfRows = 0;
+        DataStoreBlock leafNode = cube.getLeafNodes().get(0);
+        while (null != leafNode) {
+            blockDataHolder.setLeafDataBlock(leafNode);
+            blockDataHolder.reset();
+            aggregator.aggregateData(blockProcessor.getScannedData(blockDataHolder));
+            Result result = aggregator.getResult(restructureHolder);
+            numberOfRows += result.size();
+            leafNode = leafNode.getNext();
+        }
+        return numberOfRows;
+    }
+}
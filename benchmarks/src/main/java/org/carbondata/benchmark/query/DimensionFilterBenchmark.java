@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.query;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.query.evaluators.BlockDataHolder;
+import org.carbondata.query.evaluators.FilterEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Equals and not equals filter of a dimension applied on a leaf node. The
+ * first dimension is sorted in the leaf node and is filtered with binary
+ * search on the column block, other dimensions are filtered through their
+ * row id index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class DimensionFilterBenchmark {
+
+    /**
+     * number of rows of leaf node
+     */
+    private static final int NUMBER_OF_ROWS = 32000;
+
+    @Param({ "EQUALS", "NOT_EQUALS" })
+    private String filterType;
+
+    @Param({ "0", "2", "4" })
+    private int dimension;
+
+    private SyntheticCube cube;
+
+    private FilterEvaluator filterEvaluator;
+
+    @Setup
+    public void setUp() throws KeyGenException {
+        cube = new SyntheticCube(1, NUMBER_OF_ROWS, 2, BenchmarkDataGenerator.DEFAULT_SEED);
+        int cardinality = cube.getCardinality(dimension);
+        byte[][] filterValues = cube.getFilterValues(dimension, 1 + cardinality / 4,
+                1 + cardinality / 2, 1 + cardinality * 3 / 4);
+        filterEvaluator =
+                cube.createDimensionFilter(dimension, "EQUALS".equals(filterType), filterValues);
+    }
+
+    @Benchmark
+    public BitSet applyFilter() {
+        BlockDataHolder blockDataHolder =
+                new BlockDataHolder(cube.getNumberOfDimensions(), cube.getNumberOfMeasures());
+        blockDataHolder.setLeafDataBlock(cube.getLeafNodes().get(0));
+        return filterEvaluator.applyFilter(blockDataHolder, null);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.query;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.datastorage.store.FileHolder;
+import org.carbondata.core.datastorage.store.MeasureDataWrapper;
+import org.carbondata.core.datastorage.store.columnar.BlockIndexerStorageForInt;
+import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
+import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreMetadata;
+import org.carbondata.core.datastorage.store.columnar.UnBlockIndexer;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
+import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
+import org.carbondata.query.datastorage.storeInterfaces.KeyValue;
+
+/**
+ * Leaf node which holds the uncompressed column blocks in memory. Column
+ * blocks are built with the indexer used by the data load, so the layout of
+ * sorted and unsorted columns is the same as the layout of a leaf node read
+ * from a fact file, only file read and decompression are left out.
+ */
+public class InMemoryLeafNode implements DataStoreBlock {
+
+    private int numberOfKeys;
+
+    private long nodeNumber;
+
+    private int[] columnSizes;
+
+    /**
+     * column block data, sorted on the column value
+     */
+    private byte[][] keyBlocks;
+
+    /**
+     * row id of each value of column block, null for sorted columns
+     */
+    private int[][] columnIndexes;
+
+    /**
+     * position in column block of each row id, null for sorted columns
+     */
+    private int[][] columnReverseIndexes;
+
+    private byte[][] blockMaxData;
+
+    private byte[][] blockMinData;
+
+    private CarbonReadDataHolder[] measures;
+
+    private DataStoreBlock next;
+
+    /**
+     * @param columns     surrogate keys of the rows in mdkey order,
+     *                    columns[dimension][row]
+     * @param columnSizes number of bytes of each dimension in column block
+     * @param measures    measure values, measures[measure][row]
+     * @param nodeNumber  node number
+     */
+    public InMemoryLeafNode(int[][] columns, int[] columnSizes, double[][] measures,
+            long nodeNumber) {
+        this.numberOfKeys = columns[0].length;
+        this.nodeNumber = nodeNumber;
+        this.columnSizes = columnSizes;
+        this.keyBlocks = new byte[columns.length][];
+        this.columnIndexes = new int[columns.length][];
+        this.columnReverseIndexes = new int[columns.length][];
+        this.blockMaxData = new byte[columns.length][];
+        this.blockMinData = new byte[columns.length][];
+        for (int i = 0; i < columns.length; i++) {
+            BlockIndexerStorageForInt indexStorage = new BlockIndexerStorageForInt(
+                    BenchmarkDataGenerator.toKeyBlock(columns[i], columnSizes[i]), false, true,
+                    false);
+            byte[][] sortedBlock = indexStorage.getKeyBlock();
+            keyBlocks[i] = new byte[numberOfKeys * columnSizes[i]];
+            for (int j = 0; j < numberOfKeys; j++) {
+                System.arraycopy(sortedBlock[j], 0, keyBlocks[i], j * columnSizes[i],
+                        columnSizes[i]);
+            }
+            if (!indexStorage.isAlreadySorted()) {
+                columnIndexes[i] = UnBlockIndexer.uncompressIndex(indexStorage.getDataAfterComp(),
+                        indexStorage.getIndexMap());
+                columnReverseIndexes[i] = new int[numberOfKeys];
+                for (int j = 0; j < numberOfKeys; j++) {
+                    columnReverseIndexes[i][columnIndexes[i][j]] = j;
+                }
+            }
+            blockMinData[i] = sortedBlock[0];
+            blockMaxData[i] = sortedBlock[numberOfKeys - 1];
+        }
+        this.measures = new CarbonReadDataHolder[measures.length];
+        for (int i = 0; i < measures.length; i++) {
+            this.measures[i] = new CarbonReadDataHolder();
+            this.measures[i].setReadableDoubleValues(measures[i]);
+        }
+    }
+
+    public void setNext(DataStoreBlock next) {
+        this.next = next;
+    }
+
+    @Override
+    public KeyValue getNextKeyValue(int index) {
+        return null;
+    }
+
+    @Override
+    public DataStoreBlock getNext() {
+        return next;
+    }
+
+    @Override
+    public int getnKeys() {
+        return numberOfKeys;
+    }
+
+    @Override
+    public byte[] getBackKeyArray(FileHolder fileHolder) {
+        return null;
+    }
+
+    @Override
+    public ColumnarKeyStoreDataHolder[] getColumnarKeyStore(FileHolder fileHolder,
+            int[] blockIndex, boolean[] needCompressedData) {
+        ColumnarKeyStoreDataHolder[] keyStores = new ColumnarKeyStoreDataHolder[blockIndex.length];
+        for (int i = 0; i < blockIndex.length; i++) {
+            keyStores[i] = getColumnarKeyStore(fileHolder, blockIndex[i], needCompressedData[i]);
+        }
+        return keyStores;
+    }
+
+    @Override
+    public ColumnarKeyStoreDataHolder getColumnarKeyStore(FileHolder fileHolder, int blockIndex,
+            boolean needCompressedData) {
+        ColumnarKeyStoreMetadata metadata = new ColumnarKeyStoreMetadata(columnSizes[blockIndex]);
+        metadata.setSorted(null == columnIndexes[blockIndex]);
+        metadata.setColumnIndex(columnIndexes[blockIndex]);
+        metadata.setColumnReverseIndex(columnReverseIndexes[blockIndex]);
+        metadata.setUnCompressed(true);
+        return new ColumnarKeyStoreDataHolder(keyBlocks[blockIndex], metadata);
+    }
+
+    @Override
+    public MeasureDataWrapper getNodeMsrDataWrapper(int[] cols, FileHolder fileHolder) {
+        return new MeasureDataWrapper() {
+            @Override
+            public CarbonReadDataHolder[] getValues() {
+                return measures;
+            }
+        };
+    }
+
+    @Override
+    public MeasureDataWrapper getNodeMsrDataWrapper(int cols, FileHolder fileHolder) {
+        return getNodeMsrDataWrapper(new int[] { cols }, fileHolder);
+    }
+
+    @Override
+    public short getValueSize() {
+        return (short) measures.length;
+    }
+
+    @Override
+    public long getNodeNumber() {
+        return nodeNumber;
+    }
+
+    @Override
+    public byte[][] getBlockMaxData() {
+        return blockMaxData;
+    }
+
+    @Override
+    public byte[][] getBlockMinData() {
+        return blockMinData;
+    }
+}
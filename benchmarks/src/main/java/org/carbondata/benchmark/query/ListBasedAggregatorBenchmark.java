@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.query;
+
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
+import org.carbondata.query.columnar.aggregator.impl.DataAggregator;
+import org.carbondata.query.columnar.aggregator.impl.ListBasedResultAggregatorImpl;
+import org.carbondata.query.columnar.datastoreblockprocessor.impl.NonFilterDataStoreProcessor;
+import org.carbondata.query.columnar.keyvalue.AbstractColumnarScanResult;
+import org.carbondata.query.evaluators.BlockDataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aggregation of the scanned rows of one leaf node by
+ * ListBasedResultAggregatorImpl, which builds the key and the measure
+ * aggregators of every row of a detail query
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ListBasedAggregatorBenchmark {
+
+    /**
+     * number of rows of leaf node
+     */
+    private static final int NUMBER_OF_ROWS = 32000;
+
+    @Param({ "1", "4" })
+    private int numberOfMeasures;
+
+    private ColumnarAggregatorInfo aggregatorInfo;
+
+    private AbstractColumnarScanResult scanResult;
+
+    @Setup
+    public void setUp() throws KeyGenException {
+        SyntheticCube cube = new SyntheticCube(1, NUMBER_OF_ROWS, numberOfMeasures,
+                BenchmarkDataGenerator.DEFAULT_SEED);
+        int[] allDimensions = new int[cube.getNumberOfDimensions()];
+        for (int i = 0; i < allDimensions.length; i++) {
+            allDimensions[i] = i;
+        }
+        aggregatorInfo = cube.createAggregatorInfo();
+        BlockDataHolder blockDataHolder =
+                new BlockDataHolder(cube.getNumberOfDimensions(), numberOfMeasures);
+        blockDataHolder.setLeafDataBlock(cube.getLeafNodes().get(0));
+        scanResult = new NonFilterDataStoreProcessor(cube.createProcessorInfo(allDimensions))
+                .getScannedData(blockDataHolder);
+    }
+
+    @Benchmark
+    public int aggregateData() {
+        scanResult.reset();
+        ListBasedResultAggregatorImpl aggregator = new ListBasedResultAggregatorImpl(
+                aggregatorInfo, new DataAggregator(false, aggregatorInfo));
+        return aggregator.aggregateData(scanResult);
+    }
+}
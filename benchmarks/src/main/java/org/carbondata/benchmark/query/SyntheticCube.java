@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.carbon.SqlStatement;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.carbondata.core.keygenerator.factory.KeyGeneratorFactory;
+import org.carbondata.query.aggregator.CustomCarbonAggregateExpression;
+import org.carbondata.query.aggregator.dimension.DimensionAggregatorInfo;
+import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
+import org.carbondata.query.columnar.datastoreblockprocessor.ColumnarDataStoreBlockProcessorInfo;
+import org.carbondata.query.evaluators.DimColumnEvaluatorInfo;
+import org.carbondata.query.evaluators.FilterEvaluator;
+import org.carbondata.query.evaluators.conditional.dimcolumns.NonUniqueBlockEqualsEvalutor;
+import org.carbondata.query.evaluators.conditional.dimcolumns.NonUniqueBlockNotEqualsEvaluator;
+
+/**
+ * Cube of in memory leaf nodes with generated data. Rows are generated for
+ * the whole cube and sorted on mdkey before they are split into leaf nodes,
+ * so like in a loaded cube the leaf nodes hold ranges of the first dimension
+ * and min max pruning works on it. Each measure is a double with
+ * {@link BenchmarkDataGenerator#MEASURE_DECIMAL} decimal digits.
+ */
+public class SyntheticCube {
+
+    private int[] cardinality;
+
+    private int[] columnSizes;
+
+    private int numberOfMeasures;
+
+    private List<InMemoryLeafNode> leafNodes;
+
+    public SyntheticCube(int numberOfLeafNodes, int rowsPerLeafNode, int numberOfMeasures,
+            long seed) throws KeyGenException {
+        this.cardinality = BenchmarkDataGenerator.CUBE_CARDINALITY;
+        this.numberOfMeasures = numberOfMeasures;
+        this.columnSizes = new int[cardinality.length];
+        for (int i = 0; i < cardinality.length; i++) {
+            columnSizes[i] = BenchmarkDataGenerator.getColumnSize(cardinality[i]);
+        }
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator(seed);
+        KeyGenerator keyGenerator = KeyGeneratorFactory.getKeyGenerator(cardinality);
+        int numberOfRows = numberOfLeafNodes * rowsPerLeafNode;
+        byte[][] sortedKeys = BenchmarkDataGenerator.generateSortedKeys(keyGenerator,
+                generator.generateColumns(cardinality, numberOfRows), numberOfRows);
+        int keySize = keyGenerator.getKeySizeInBytes();
+        this.leafNodes = new ArrayList<InMemoryLeafNode>(numberOfLeafNodes);
+        for (int i = 0; i < numberOfLeafNodes; i++) {
+            byte[] keys = new byte[rowsPerLeafNode * keySize];
+            for (int j = 0; j < rowsPerLeafNode; j++) {
+                System.arraycopy(sortedKeys[i * rowsPerLeafNode + j], 0, keys, j * keySize,
+                        keySize);
+            }
+            int[][] columns = new int[cardinality.length][rowsPerLeafNode];
+            keyGenerator.getKeyArrays(keys, 0, rowsPerLeafNode, columns);
+            double[][] measures = new double[numberOfMeasures][];
+            for (int j = 0; j < numberOfMeasures; j++) {
+                measures[j] = generator.generateMeasure(rowsPerLeafNode, 100000,
+                        BenchmarkDataGenerator.MEASURE_DECIMAL);
+            }
+            InMemoryLeafNode leafNode = new InMemoryLeafNode(columns, columnSizes, measures, i);
+            if (i > 0) {
+                leafNodes.get(i - 1).setNext(leafNode);
+            }
+            leafNodes.add(leafNode);
+        }
+    }
+
+    public List<InMemoryLeafNode> getLeafNodes() {
+        return leafNodes;
+    }
+
+    public int getNumberOfDimensions() {
+        return cardinality.length;
+    }
+
+    public int getNumberOfMeasures() {
+        return numberOfMeasures;
+    }
+
+    public int getCardinality(int dimension) {
+        return cardinality[dimension];
+    }
+
+    /**
+     * Below method will be used to get the filter values of a dimension in
+     * the format of its column block
+     *
+     * @param dimension  dimension ordinal
+     * @param surrogates surrogate keys to filter, in ascending order
+     * @return filter values
+     */
+    public byte[][] getFilterValues(int dimension, int... surrogates) {
+        byte[][] filterValues = new byte[surrogates.length][];
+        for (int i = 0; i < surrogates.length; i++) {
+            filterValues[i] =
+                    BenchmarkDataGenerator.toColumnBytes(surrogates[i], columnSizes[dimension]);
+        }
+        return filterValues;
+    }
+
+    /**
+     * Below method will be used to create the filter evaluator of an equals
+     * or not equals filter on one dimension, like it is resolved for a query
+     *
+     * @param dimension    dimension ordinal
+     * @param isEquals     true for equals, false for not equals filter
+     * @param filterValues filter values in the format of the column block
+     * @return filter evaluator
+     */
+    public FilterEvaluator createDimensionFilter(int dimension, boolean isEquals,
+            byte[][] filterValues) {
+        final DimColumnEvaluatorInfo evaluatorInfo = new DimColumnEvaluatorInfo();
+        evaluatorInfo.setColumnIndex(dimension);
+        evaluatorInfo.setNeedCompressedData(false);
+        evaluatorInfo.setFilterValues(filterValues);
+        if (isEquals) {
+            return new NonUniqueBlockEqualsEvalutor(null, true, true) {
+                {
+                    dimColEvaluatorInfoList.add(evaluatorInfo);
+                }
+            };
+        }
+        return new NonUniqueBlockNotEqualsEvaluator(null, true, false) {
+            {
+                dimColEvaluatorInfoList.add(evaluatorInfo);
+            }
+        };
+    }
+
+    /**
+     * Below method will be used to get the leaf node processor info of a
+     * query selecting the given dimensions and all measures
+     *
+     * @param selectedDimensions selected dimension ordinals
+     * @return processor info
+     */
+    public ColumnarDataStoreBlockProcessorInfo createProcessorInfo(int[] selectedDimensions) {
+        ColumnarDataStoreBlockProcessorInfo processorInfo =
+                new ColumnarDataStoreBlockProcessorInfo();
+        int keySize = 0;
+        for (int i = 0; i < selectedDimensions.length; i++) {
+            keySize += columnSizes[selectedDimensions[i]];
+        }
+        processorInfo.setKeySize(keySize);
+        processorInfo.setDimensionIndexes(selectedDimensions);
+        processorInfo.setAllSelectedDimensions(selectedDimensions);
+        processorInfo.setTotalNumberOfDimension(cardinality.length);
+        processorInfo.setAllSelectedMeasures(getAllMeasures());
+        processorInfo.setMeasureIndexes(getAllMeasures());
+        processorInfo.setTotalNumberOfMeasures(numberOfMeasures);
+        processorInfo.setIsUniqueBlock(new boolean[cardinality.length]);
+        return processorInfo;
+    }
+
+    /**
+     * Below method will be used to get the aggregator info of a detail query
+     * with sum of all measures
+     *
+     * @return aggregator info
+     */
+    public ColumnarAggregatorInfo createAggregatorInfo() {
+        ColumnarAggregatorInfo aggregatorInfo = new ColumnarAggregatorInfo();
+        String[] aggType = new String[numberOfMeasures];
+        Arrays.fill(aggType, CarbonCommonConstants.SUM);
+        SqlStatement.Type[] dataTypes = new SqlStatement.Type[numberOfMeasures];
+        Arrays.fill(dataTypes, SqlStatement.Type.DOUBLE);
+        Object[] minValue = new Object[numberOfMeasures];
+        Arrays.fill(minValue, 0.0);
+        Object[] uniqueValue = new Object[numberOfMeasures];
+        Arrays.fill(uniqueValue, -1.0);
+        boolean[] isMeasureExists = new boolean[numberOfMeasures];
+        Arrays.fill(isMeasureExists, true);
+        HashMap<Integer, Integer> measureOrdinalMap = new HashMap<Integer, Integer>();
+        for (int i = 0; i < numberOfMeasures; i++) {
+            measureOrdinalMap.put(i, i);
+        }
+        aggregatorInfo.setCubeUniqueName("benchmark_cube");
+        aggregatorInfo.setAggType(aggType);
+        aggregatorInfo.setDataTypes(dataTypes);
+        aggregatorInfo.setMsrMinValue(minValue);
+        aggregatorInfo.setUniqueValue(uniqueValue);
+        aggregatorInfo.setIsMeasureExistis(isMeasureExists);
+        aggregatorInfo.setMsrDefaultValue(new Object[numberOfMeasures]);
+        aggregatorInfo.setMeasureOrdinal(getAllMeasures());
+        aggregatorInfo.setMeasureOrdinalMap(measureOrdinalMap);
+        aggregatorInfo.setMeasureStartIndex(0);
+        aggregatorInfo.setCountMsrIndex(-1);
+        aggregatorInfo.setLimit(-1);
+        aggregatorInfo.setQueryDimensionsLength(cardinality.length);
+        aggregatorInfo.setDimensionAggInfos(new ArrayList<DimensionAggregatorInfo>(0));
+        aggregatorInfo.setCustomExpressions(new ArrayList<CustomCarbonAggregateExpression>(0));
+        return aggregatorInfo;
+    }
+
+    private int[] getAllMeasures() {
+        int[] measures = new int[numberOfMeasures];
+        for (int i = 0; i < measures.length; i++) {
+            measures[i] = i;
+        }
+        return measures;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.storage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.datastorage.store.columnar.BlockIndexerStorageForInt;
+import org.carbondata.core.datastorage.store.columnar.UnBlockIndexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building of column blocks of a leaf node with BlockIndexerStorageForInt as
+ * done by the data load, and rebuilding them with UnBlockIndexer as done by
+ * the scan. Low cardinality columns get run length encoded data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BlockIndexerBenchmark {
+
+    /**
+     * number of rows of leaf node
+     */
+    private static final int NUMBER_OF_ROWS = 32000;
+
+    @Param({ "10", "1000", "100000" })
+    private int cardinality;
+
+    private byte[][] keyBlock;
+
+    private int columnSize;
+
+    /**
+     * compressed row id index
+     */
+    private int[] dataAfterComp;
+
+    private int[] indexMap;
+
+    /**
+     * run length encoded column data and its run lengths
+     */
+    private byte[] compressedData;
+
+    private int[] dataIndexMap;
+
+    @Setup
+    public void setUp() {
+        columnSize = BenchmarkDataGenerator.getColumnSize(cardinality);
+        int[] column = new BenchmarkDataGenerator()
+                .generateColumns(new int[] { cardinality }, NUMBER_OF_ROWS)[0];
+        keyBlock = BenchmarkDataGenerator.toKeyBlock(column, columnSize);
+        BlockIndexerStorageForInt indexStorage = buildIndexStorage();
+        dataAfterComp = indexStorage.getDataAfterComp();
+        indexMap = indexStorage.getIndexMap();
+        byte[][] uniqueKeys = indexStorage.getKeyBlock();
+        compressedData = new byte[uniqueKeys.length * columnSize];
+        for (int i = 0; i < uniqueKeys.length; i++) {
+            System.arraycopy(uniqueKeys[i], 0, compressedData, i * columnSize, columnSize);
+        }
+        dataIndexMap = indexStorage.getDataIndexMap();
+    }
+
+    /**
+     * key block is sorted in place by the indexer, so a copy is given
+     */
+    @Benchmark
+    public BlockIndexerStorageForInt buildIndexStorage() {
+        return new BlockIndexerStorageForInt(keyBlock.clone(), true, true, false);
+    }
+
+    @Benchmark
+    public int[] uncompressIndex() {
+        return UnBlockIndexer.uncompressIndex(dataAfterComp, indexMap);
+    }
+
+    @Benchmark
+    public byte[] uncompressData() {
+        if (dataIndexMap.length == 0) {
+            return compressedData;
+        }
+        return UnBlockIndexer.uncompressData(compressedData, dataIndexMap, columnSize);
+    }
+}
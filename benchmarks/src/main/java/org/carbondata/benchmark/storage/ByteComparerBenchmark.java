@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.storage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.util.ByteUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comparison of byte arrays with ByteUtil.UnsafeComparer, of whole keys as
+ * done by sort and merge and of values inside a column block as done by the
+ * filter binary search
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ByteComparerBenchmark {
+
+    /**
+     * number of comparisons of one invocation
+     */
+    private static final int NUMBER_OF_COMPARISONS = 1024;
+
+    @Param({ "2", "8", "16", "64" })
+    private int keyLength;
+
+    private byte[][] keys;
+
+    /**
+     * all keys one after the other, like a column block
+     */
+    private byte[] block;
+
+    @Setup
+    public void setUp() {
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator();
+        keys = new byte[NUMBER_OF_COMPARISONS + 1][];
+        block = new byte[keys.length * keyLength];
+        byte[] prefix = generator.generateBytes(keyLength, 1);
+        for (int i = 0; i < keys.length; i++) {
+            // keys share all but the last bytes, the worst case of comparison
+            keys[i] = prefix.clone();
+            keys[i][keyLength - 1] = (byte) i;
+            System.arraycopy(keys[i], 0, block, i * keyLength, keyLength);
+        }
+    }
+
+    @Benchmark
+    public int compareArrays() {
+        int result = 0;
+        for (int i = 0; i < NUMBER_OF_COMPARISONS; i++) {
+            result += ByteUtil.UnsafeComparer.INSTANCE.compareTo(keys[i], keys[i + 1]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int compareInBlock() {
+        int result = 0;
+        for (int i = 0; i < NUMBER_OF_COMPARISONS; i++) {
+            result += ByteUtil.UnsafeComparer.INSTANCE
+                    .compareTo(block, i * keyLength, keyLength, keys[i + 1], 0, keyLength);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.datastorage.store.compression.CompressionCodec;
+import org.carbondata.core.datastorage.store.compression.Compressor;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compression and decompression of column chunks with SnappyCompression and
+ * the other chunk codecs. Chunk data is partly repetitive bytes, sorted key
+ * block of a low cardinality dimension, double measure values or random
+ * mdkeys. Compression ratio of every chunk is printed on setup. Typed snappy
+ * compressors of measures are covered by MeasureDecoderBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ChunkCompressionBenchmark {
+
+    /**
+     * size of column chunk in bytes
+     */
+    private static final int CHUNK_SIZE = 128 * 1024;
+
+    @Param({ "SNAPPY", "LZ4", "ZSTD" })
+    private String codec;
+
+    /**
+     * cardinality of the dimension of key block chunk
+     */
+    private static final int KEY_BLOCK_CARDINALITY = 50;
+
+    @Param({ "REPETITIVE", "DISTINCT", "KEY_BLOCK", "MEASURE", "MDKEY" })
+    private String chunkType;
+
+    private Compressor<byte[]> compressor;
+
+    private byte[] chunk;
+
+    private byte[] compressedChunk;
+
+    /**
+     * chunk compressed with the codec recorded in it as written to the fact
+     * file
+     */
+    private byte[] registeredChunk;
+
+    @Setup
+    public void setUp() {
+        CompressionCodec compressionCodec = CompressionCodec.fromName(codec);
+        compressor = compressionCodec.getCompressor();
+        chunk = generateChunk(new BenchmarkDataGenerator());
+        compressedChunk = compressor.compress(chunk);
+        registeredChunk = CompressorRegistry.compress(compressionCodec, chunk);
+        System.out.println(chunkType + " " + codec + " compression ratio: "
+                + (double) chunk.length / registeredChunk.length);
+    }
+
+    private byte[] generateChunk(BenchmarkDataGenerator generator) {
+        if ("REPETITIVE".equals(chunkType)) {
+            return generator.generateBytes(CHUNK_SIZE, 0.1);
+        } else if ("DISTINCT".equals(chunkType)) {
+            return generator.generateBytes(CHUNK_SIZE, 0.5);
+        } else if ("KEY_BLOCK".equals(chunkType)) {
+            int columnSize = BenchmarkDataGenerator.getColumnSize(KEY_BLOCK_CARDINALITY);
+            int[] column = generator.generateColumns(new int[] { KEY_BLOCK_CARDINALITY },
+                    CHUNK_SIZE / columnSize)[0];
+            Arrays.sort(column);
+            ByteBuffer buffer = ByteBuffer.allocate(column.length * columnSize);
+            for (byte[] key : BenchmarkDataGenerator.toKeyBlock(column, columnSize)) {
+                buffer.put(key);
+            }
+            return buffer.array();
+        } else if ("MEASURE".equals(chunkType)) {
+            double[] values = generator.generateMeasure(CHUNK_SIZE / 8, 100,
+                    BenchmarkDataGenerator.MEASURE_DECIMAL);
+            ByteBuffer buffer = ByteBuffer.allocate(values.length * 8);
+            for (double value : values) {
+                buffer.putDouble(value);
+            }
+            return buffer.array();
+        }
+        return generator.generateBytes(CHUNK_SIZE, 1);
+    }
+
+    @Benchmark
+    public byte[] compressChunk() {
+        return compressor.compress(chunk);
+    }
+
+    @Benchmark
+    public byte[] unCompressChunk() {
+        return compressor.unCompress(compressedChunk);
+    }
+
+    @Benchmark
+    public byte[] unCompressRegisteredChunk() {
+        return CompressorRegistry.unCompress(registeredChunk);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.storage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.carbondata.core.keygenerator.factory.KeyGeneratorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Packing of surrogate keys into mdkey and unpacking of mdkey, row by row as
+ * done by the data load and the row based scan, and in batch as done for
+ * restructured cubes and merge
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class KeyGeneratorBenchmark {
+
+    /**
+     * number of keys of one invocation, same as rows of a leaf node
+     */
+    private static final int NUMBER_OF_KEYS = 32000;
+
+    private KeyGenerator keyGenerator;
+
+    /**
+     * surrogate keys, columns[dimension][row]
+     */
+    private int[][] columns;
+
+    /**
+     * surrogate keys, rows[row][dimension]
+     */
+    private int[][] rows;
+
+    /**
+     * packed keys, one after the other
+     */
+    private byte[] keys;
+
+    /**
+     * packed keys, one array per key
+     */
+    private byte[][] keyArray;
+
+    private int[][] unpackedColumns;
+
+    @Setup
+    public void setUp() throws KeyGenException {
+        int[] cardinality = BenchmarkDataGenerator.CUBE_CARDINALITY;
+        keyGenerator = KeyGeneratorFactory.getKeyGenerator(cardinality);
+        columns = new BenchmarkDataGenerator().generateColumns(cardinality, NUMBER_OF_KEYS);
+        rows = new int[NUMBER_OF_KEYS][cardinality.length];
+        for (int i = 0; i < NUMBER_OF_KEYS; i++) {
+            for (int j = 0; j < cardinality.length; j++) {
+                rows[i][j] = columns[j][i];
+            }
+        }
+        int keySize = keyGenerator.getKeySizeInBytes();
+        keys = new byte[NUMBER_OF_KEYS * keySize];
+        keyGenerator.generateKeys(columns, NUMBER_OF_KEYS, keys, 0);
+        keyArray =
+                BenchmarkDataGenerator.generateSortedKeys(keyGenerator, columns, NUMBER_OF_KEYS);
+        unpackedColumns = new int[cardinality.length][NUMBER_OF_KEYS];
+    }
+
+    @Benchmark
+    public void generateKey(Blackhole blackhole) throws KeyGenException {
+        for (int i = 0; i < NUMBER_OF_KEYS; i++) {
+            blackhole.consume(keyGenerator.generateKey(rows[i]));
+        }
+    }
+
+    @Benchmark
+    public byte[] generateKeys() throws KeyGenException {
+        keyGenerator.generateKeys(columns, NUMBER_OF_KEYS, keys, 0);
+        return keys;
+    }
+
+    @Benchmark
+    public void getKeyArray(Blackhole blackhole) {
+        for (int i = 0; i < NUMBER_OF_KEYS; i++) {
+            blackhole.consume(keyGenerator.getKeyArray(keyArray[i]));
+        }
+    }
+
+    @Benchmark
+    public int[][] getKeyArrays() {
+        keyGenerator.getKeyArrays(keys, 0, NUMBER_OF_KEYS, unpackedColumns);
+        return unpackedColumns;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.benchmark.storage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.benchmark.BenchmarkDataGenerator;
+import org.carbondata.core.datastorage.store.compression.ValueCompressonHolder.UnCompressValue;
+import org.carbondata.core.datastorage.store.compression.type.UnCompressAdaptive;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
+import org.carbondata.core.util.ValueCompressionUtil;
+import org.carbondata.core.util.ValueCompressionUtil.COMPRESSION_TYPE;
+import org.carbondata.core.util.ValueCompressionUtil.DataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding of the measure data of a leaf node by each UnCompress* decoder,
+ * from the snappy compressed bytes to the double values read by the scan.
+ * Values are generated in the range of the stored data type, the adaptive
+ * encoding chooses its own type so it does not depend on data type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MeasureDecoderBenchmark {
+
+    /**
+     * number of rows of leaf node
+     */
+    private static final int NUMBER_OF_ROWS = 32000;
+
+    @Param({ "NONE", "MAX_MIN", "NON_DECIMAL_CONVERT", "MAX_MIN_NDC", "ADAPTIVE" })
+    private String compressionType;
+
+    @Param({ "DATA_BYTE", "DATA_SHORT", "DATA_INT", "DATA_LONG", "DATA_DOUBLE" })
+    private String dataType;
+
+    private DataType storedDataType;
+
+    private int decimal;
+
+    private Object maxValue;
+
+    /**
+     * decoder holding the compressed measure data
+     */
+    private UnCompressValue compressedValue;
+
+    @Setup
+    public void setUp() {
+        COMPRESSION_TYPE type = COMPRESSION_TYPE.valueOf(compressionType);
+        storedDataType = DataType.valueOf(dataType);
+        boolean isNonDecimal = type == COMPRESSION_TYPE.NON_DECIMAL_CONVERT
+                || type == COMPRESSION_TYPE.MAX_MIN_NDC;
+        decimal = isNonDecimal || type == COMPRESSION_TYPE.ADAPTIVE ?
+                BenchmarkDataGenerator.MEASURE_DECIMAL :
+                0;
+        double range = getRange(storedDataType);
+        if (isNonDecimal) {
+            range /= Math.pow(10, decimal);
+        }
+        double[] values =
+                new BenchmarkDataGenerator().generateMeasure(NUMBER_OF_ROWS, range, decimal);
+        double max = 0;
+        for (int i = 0; i < values.length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        maxValue = max;
+        UnCompressValue value = getDecoder(type, storedDataType);
+        value.setValue(ValueCompressionUtil
+                .getCompressedValues(type, values, storedDataType, max, decimal));
+        compressedValue = value.compress();
+    }
+
+    private static double getRange(DataType dataType) {
+        switch (dataType) {
+        case DATA_BYTE:
+            return Byte.MAX_VALUE;
+        case DATA_SHORT:
+            return Short.MAX_VALUE;
+        case DATA_INT:
+            return Integer.MAX_VALUE;
+        default:
+            return 1e12;
+        }
+    }
+
+    private static UnCompressValue getDecoder(COMPRESSION_TYPE type, DataType dataType) {
+        switch (type) {
+        case NONE:
+            return ValueCompressionUtil.unCompressNone(dataType, DataType.DATA_DOUBLE);
+        case MAX_MIN:
+            return ValueCompressionUtil.unCompressMaxMin(dataType, DataType.DATA_DOUBLE);
+        case NON_DECIMAL_CONVERT:
+            return ValueCompressionUtil.unCompressNonDecimal(dataType, DataType.DATA_DOUBLE);
+        case ADAPTIVE:
+            return new UnCompressAdaptive(DataType.DATA_DOUBLE);
+        default:
+            return ValueCompressionUtil.unCompressNonDecimalMaxMin(dataType, DataType.DATA_DOUBLE);
+        }
+    }
+
+    @Benchmark
+    public CarbonReadDataHolder decode() {
+        return compressedValue.uncompress(storedDataType).getValues(decimal, maxValue);
+    }
+}
@@ -337,6 +337,14 @@ public final class CarbonCommonConstants {
      * distinct count
      */
     public static final String DISTINCT_COUNT = "distinct-count";
+    /**
+     * approximate distinct count
+     */
+    public static final String APPROX_COUNT_DISTINCT = "approx-count-distinct";
+    /**
+     * approximate percentile
+     */
+    public static final String APPROX_PERCENTILE = "approx-percentile";
     /**
      * CUSTOM
      */
@@ -558,6 +566,14 @@ public final class CarbonCommonConstants {
      * PAGINATED Internal merge size limit default in MB
      */
     public static final String PAGINATED_INTERNAL_MERGE_SIZE_LIMIT_DEFAULT = "10";
+    /**
+     * number of rows in one column wise compressed block of query spill file
+     */
+    public static final String QUERY_SPILL_BLOCK_SIZE = "carbon.query.spill.block.size";
+    /**
+     * QUERY_SPILL_BLOCK_SIZE_DEFAULT
+     */
+    public static final String QUERY_SPILL_BLOCK_SIZE_DEFAULT = "8192";
     /**
      * PAGINATED Internal merge size limit
      */
@@ -1249,6 +1265,20 @@ public final class CarbonCommonConstants {
     public static final String DEFAULT_INVISIBLE_DUMMY_MEASURE = "default_dummy_measure";
     public static final String IS_FORCED_IN_MEMORY_CUBE = "carbon.forced.in.memory.cube";
     public static final String IS_FORCED_IN_MEMORY_CUBE_DEFAULT_VALUE = "false";
+    /**
+     * whether column data of in memory leaf nodes is loaded on first access
+     * instead of while building the tree
+     */
+    public static final String LAZY_LEAF_NODE_LOAD = "carbon.lazy.leafnode.load";
+    /**
+     * default value of lazy leaf node load
+     */
+    public static final String LAZY_LEAF_NODE_LOAD_DEFAULT_VALUE = "true";
+    /**
+     * number of threads used to load the slices of a cube, by default number
+     * of available processors
+     */
+    public static final String CUBE_LOAD_THREAD_POOL_SIZE = "carbon.cube.load.thread.pool.size";
     /**
      * UPDATING_METADATA
      */
@@ -1277,6 +1307,365 @@ public final class CarbonCommonConstants {
      * max level cache size default value in GB
      */
     public static final String CARBON_MAX_LEVEL_CACHE_SIZE_DEFAULT = "-1";
+    /**
+     * max size in MB of the cache of leaf node column chunks read from file
+     * store, cache is disabled if not configured
+     */
+    public static final String CARBON_MAX_COLUMN_CHUNK_CACHE_SIZE =
+            "carbon.max.column.chunk.cache.size";
+    /**
+     * max column chunk cache size default value in MB
+     */
+    public static final String CARBON_MAX_COLUMN_CHUNK_CACHE_SIZE_DEFAULT = "-1";
+    /**
+     * number of threads shared by the hdfs file holders of an executor to
+     * prefetch column chunks
+     */
+    public static final String HDFS_PREFETCH_THREAD_COUNT = "carbon.hdfs.prefetch.thread.count";
+    /**
+     * default number of hdfs prefetch threads
+     */
+    public static final String HDFS_PREFETCH_THREAD_COUNT_DEFAULT = "2";
+    /**
+     * whether merger copies the leaf nodes which do not overlap with other
+     * slices to merged file without decoding
+     */
+    public static final String MERGER_LEAF_COPY_ENABLED = "carbon.merger.leaf.copy.enabled";
+    /**
+     * MERGER_LEAF_COPY_ENABLED_DEFAULT
+     */
+    public static final String MERGER_LEAF_COPY_ENABLED_DEFAULT = "true";
+    /**
+     * policy used to select the loads to be merged, size_tiered or time_window
+     */
+    public static final String COMPACTION_POLICY = "carbon.compaction.policy";
+    /**
+     * COMPACTION_POLICY_SIZE_TIERED
+     */
+    public static final String COMPACTION_POLICY_SIZE_TIERED = "size_tiered";
+    /**
+     * COMPACTION_POLICY_TIME_WINDOW
+     */
+    public static final String COMPACTION_POLICY_TIME_WINDOW = "time_window";
+    /**
+     * min number of loads merged together
+     */
+    public static final String COMPACTION_MIN_LOADS = "carbon.compaction.min.loads";
+    /**
+     * COMPACTION_MIN_LOADS_DEFAULT
+     */
+    public static final String COMPACTION_MIN_LOADS_DEFAULT = "2";
+    /**
+     * max number of loads merged together
+     */
+    public static final String COMPACTION_MAX_LOADS = "carbon.compaction.max.loads";
+    /**
+     * COMPACTION_MAX_LOADS_DEFAULT
+     */
+    public static final String COMPACTION_MAX_LOADS_DEFAULT = "4";
+    /**
+     * size tiered compaction, a load is in a bucket if its size is at least
+     * this times the average size of the bucket
+     */
+    public static final String COMPACTION_BUCKET_LOW = "carbon.compaction.bucket.low";
+    /**
+     * COMPACTION_BUCKET_LOW_DEFAULT
+     */
+    public static final String COMPACTION_BUCKET_LOW_DEFAULT = "0.5";
+    /**
+     * size tiered compaction, a load is in a bucket if its size is at most
+     * this times the average size of the bucket
+     */
+    public static final String COMPACTION_BUCKET_HIGH = "carbon.compaction.bucket.high";
+    /**
+     * COMPACTION_BUCKET_HIGH_DEFAULT
+     */
+    public static final String COMPACTION_BUCKET_HIGH_DEFAULT = "1.5";
+    /**
+     * size tiered compaction, loads smaller than this size in MB are put in
+     * the same bucket
+     */
+    public static final String COMPACTION_MIN_LOAD_SIZE = "carbon.compaction.min.load.size";
+    /**
+     * COMPACTION_MIN_LOAD_SIZE_DEFAULT
+     */
+    public static final String COMPACTION_MIN_LOAD_SIZE_DEFAULT = "50";
+    /**
+     * time window compaction, size of the window in minutes
+     */
+    public static final String COMPACTION_TIME_WINDOW_IN_MINUTE =
+            "carbon.compaction.time.window.in.minute";
+    /**
+     * COMPACTION_TIME_WINDOW_IN_MINUTE_DEFAULT
+     */
+    public static final String COMPACTION_TIME_WINDOW_IN_MINUTE_DEFAULT = "1440";
+    /**
+     * whether the loads are merged in background instead of in the load
+     * request, background compaction is repeated every
+     * BACKGROUND_MERGER_TIME_INTERVAL_IN_MINUTE
+     */
+    public static final String COMPACTION_BACKGROUND_ENABLED =
+            "carbon.compaction.background.enabled";
+    /**
+     * COMPACTION_BACKGROUND_ENABLED_DEFAULT
+     */
+    public static final String COMPACTION_BACKGROUND_ENABLED_DEFAULT = "false";
+    /**
+     * max number of cubes compacted in parallel in background
+     */
+    public static final String COMPACTION_MAX_CONCURRENT = "carbon.compaction.max.concurrent";
+    /**
+     * COMPACTION_MAX_CONCURRENT_DEFAULT
+     */
+    public static final String COMPACTION_MAX_CONCURRENT_DEFAULT = "1";
+    /**
+     * max rate in MB per second at which merger reads the slices, not limited
+     * if not positive
+     */
+    public static final String COMPACTION_IO_MAX_MB_PER_SEC =
+            "carbon.compaction.io.max.mb.per.sec";
+    /**
+     * COMPACTION_IO_MAX_MB_PER_SEC_DEFAULT
+     */
+    public static final String COMPACTION_IO_MAX_MB_PER_SEC_DEFAULT = "-1";
+    /**
+     * whether numeric measures of new loads are encoded per leaf node with
+     * delta, frame of reference, dictionary or run length encoding
+     */
+    public static final String MEASURE_ADAPTIVE_ENCODING_ENABLED =
+            "carbon.measure.adaptive.encoding.enabled";
+    /**
+     * MEASURE_ADAPTIVE_ENCODING_ENABLED_DEFAULT
+     */
+    public static final String MEASURE_ADAPTIVE_ENCODING_ENABLED_DEFAULT = "false";
+    /**
+     * compression codec of the key blocks and measures of new loads, one of
+     * snappy, lz4, zstd or none. It can be set per table by suffixing the
+     * table name and per column by further suffixing key.<block index> or
+     * measure.<measure index>. zstd requires java 8, load fails if the
+     * configured codec cannot be loaded
+     */
+    public static final String COMPRESSION_CODEC = "carbon.compression.codec";
+    /**
+     * COMPRESSION_CODEC_DEFAULT
+     */
+    public static final String COMPRESSION_CODEC_DEFAULT = "snappy";
+    /**
+     * compression level of zstd codec
+     */
+    public static final String COMPRESSION_ZSTD_LEVEL = "carbon.compression.zstd.level";
+    /**
+     * COMPRESSION_ZSTD_LEVEL_DEFAULT
+     */
+    public static final String COMPRESSION_ZSTD_LEVEL_DEFAULT = "3";
+    /**
+     * queries which take at least this many milliseconds log their execution
+     * profile at info level, faster queries log it at debug level
+     */
+    public static final String QUERY_PROFILE_LOG_THRESHOLD =
+            "carbon.query.profile.log.threshold.ms";
+    /**
+     * QUERY_PROFILE_LOG_THRESHOLD_DEFAULT
+     */
+    public static final String QUERY_PROFILE_LOG_THRESHOLD_DEFAULT = "10000";
+    /**
+     * whether load and query metrics are recorded
+     */
+    public static final String CARBON_METRICS_ENABLED = "carbon.metrics.enabled";
+    /**
+     * CARBON_METRICS_ENABLED_DEFAULT
+     */
+    public static final String CARBON_METRICS_ENABLED_DEFAULT = "true";
+    /**
+     * whether metrics are exposed through JMX
+     */
+    public static final String CARBON_METRICS_JMX_ENABLED = "carbon.metrics.jmx.enabled";
+    /**
+     * CARBON_METRICS_JMX_ENABLED_DEFAULT
+     */
+    public static final String CARBON_METRICS_JMX_ENABLED_DEFAULT = "true";
+    /**
+     * class name of the metrics reporter, metrics are not reported if empty
+     */
+    public static final String CARBON_METRICS_REPORTER = "carbon.metrics.reporter.class";
+    /**
+     * CARBON_METRICS_REPORTER_DEFAULT
+     */
+    public static final String CARBON_METRICS_REPORTER_DEFAULT = "";
+    /**
+     * interval in seconds at which metrics are handed over to reporter
+     */
+    public static final String CARBON_METRICS_REPORT_INTERVAL =
+            "carbon.metrics.report.interval.seconds";
+    /**
+     * CARBON_METRICS_REPORT_INTERVAL_DEFAULT
+     */
+    public static final String CARBON_METRICS_REPORT_INTERVAL_DEFAULT = "60";
+    /**
+     * memory in MB of the executor which queries, data loads and caches
+     * reserve their buffers from, if not positive it is a fraction of the max
+     * heap size
+     */
+    public static final String CARBON_EXECUTOR_MEMORY_BUDGET = "carbon.executor.memory.budget";
+    /**
+     * CARBON_EXECUTOR_MEMORY_BUDGET_DEFAULT
+     */
+    public static final String CARBON_EXECUTOR_MEMORY_BUDGET_DEFAULT = "-1";
+    /**
+     * fraction of max heap size used as executor memory budget when budget is
+     * not configured
+     */
+    public static final String CARBON_EXECUTOR_MEMORY_FRACTION = "carbon.executor.memory.fraction";
+    /**
+     * CARBON_EXECUTOR_MEMORY_FRACTION_DEFAULT
+     */
+    public static final String CARBON_EXECUTOR_MEMORY_FRACTION_DEFAULT = "0.6";
+    /**
+     * free memory in MB of executor memory budget needed to start a query
+     * while other queries are running, query waits otherwise
+     */
+    public static final String CARBON_QUERY_ADMISSION_MIN_MEMORY =
+            "carbon.query.admission.min.memory";
+    /**
+     * CARBON_QUERY_ADMISSION_MIN_MEMORY_DEFAULT
+     */
+    public static final String CARBON_QUERY_ADMISSION_MIN_MEMORY_DEFAULT = "64";
+    /**
+     * max time in milli seconds a query waits for memory before it fails
+     */
+    public static final String CARBON_QUERY_ADMISSION_TIMEOUT = "carbon.query.admission.timeout";
+    /**
+     * CARBON_QUERY_ADMISSION_TIMEOUT_DEFAULT
+     */
+    public static final String CARBON_QUERY_ADMISSION_TIMEOUT_DEFAULT = "300000";
+    /**
+     * whether values of no dictionary dimensions are stored prefix encoded
+     * in a leaf node when it makes the column block considerably smaller
+     */
+    public static final String CARBON_NO_DICTIONARY_PREFIX_ENCODING =
+            "carbon.nodictionary.prefix.encoding";
+    /**
+     * CARBON_NO_DICTIONARY_PREFIX_ENCODING_DEFAULT
+     */
+    public static final String CARBON_NO_DICTIONARY_PREFIX_ENCODING_DEFAULT = "true";
+    /**
+     * number of sub splits of each data partition scanned by a query, each
+     * sub split is one task which scans a range of the leaf nodes of the
+     * partition. If not positive, partitions are split so that the query
+     * has as many tasks as the default parallelism of the cluster.
+     */
+    public static final String CARBON_QUERY_SUB_SPLITS_PER_PARTITION =
+            "carbon.query.subsplits.per.partition";
+    /**
+     * CARBON_QUERY_SUB_SPLITS_PER_PARTITION_DEFAULT
+     */
+    public static final String CARBON_QUERY_SUB_SPLITS_PER_PARTITION_DEFAULT = "0";
+    /**
+     * comma separated ascending bounds of the range partitioner, partition i
+     * holds the values from bound i - 1 (inclusive) to bound i (exclusive).
+     * Values are numbers, or dates in the range partition date format when it
+     * or the range partition interval is configured. Range partition
+     * properties are read when a cube is created and its bounds are stored
+     * with the cube schema.
+     */
+    public static final String CARBON_RANGE_PARTITION_BOUNDS = "carbon.range.partition.bounds";
+    /**
+     * time interval of each partition of the range partitioner when bounds
+     * are not configured, one of HOUR, DAY, MONTH and YEAR
+     */
+    public static final String CARBON_RANGE_PARTITION_INTERVAL =
+            "carbon.range.partition.interval";
+    /**
+     * start time of the first interval of the range partitioner
+     */
+    public static final String CARBON_RANGE_PARTITION_START = "carbon.range.partition.start";
+    /**
+     * date format of the partition column values and of the configured
+     * bounds and start time of the range partitioner, default is the carbon
+     * timestamp format
+     */
+    public static final String CARBON_RANGE_PARTITION_DATE_FORMAT =
+            "carbon.range.partition.dateformat";
+    /**
+     * whether fact files of a load are uploaded to the store while the load
+     * is in progress instead of copying the whole load after it is finished
+     */
+    public static final String CARBON_LOAD_STREAMING_UPLOAD = "carbon.load.streaming.upload";
+    /**
+     * CARBON_LOAD_STREAMING_UPLOAD_DEFAULT
+     */
+    public static final String CARBON_LOAD_STREAMING_UPLOAD_DEFAULT = "true";
+    /**
+     * max number of files of a load uploaded to the store concurrently
+     */
+    public static final String CARBON_LOAD_UPLOAD_THREADS = "carbon.load.upload.threads";
+    /**
+     * CARBON_LOAD_UPLOAD_THREADS_DEFAULT
+     */
+    public static final String CARBON_LOAD_UPLOAD_THREADS_DEFAULT = "2";
+    /**
+     * precision of the hyperloglog sketch of approximate distinct count, the
+     * sketch has 2^precision registers of one byte and relative standard
+     * error is about 1.04 / sqrt(2^precision). Valid range is 4 to 18.
+     */
+    public static final String CARBON_APPROX_COUNT_DISTINCT_PRECISION =
+            "carbon.approx.count.distinct.precision";
+    /**
+     * CARBON_APPROX_COUNT_DISTINCT_PRECISION_DEFAULT
+     */
+    public static final String CARBON_APPROX_COUNT_DISTINCT_PRECISION_DEFAULT = "14";
+    /**
+     * size of the smallest level of the quantile sketch of approximate
+     * percentile, rank error is about 1.7 / size. Memory of the sketch is
+     * about 3 * size values whatever the number of values is.
+     */
+    public static final String CARBON_APPROX_PERCENTILE_ACCURACY =
+            "carbon.approx.percentile.accuracy";
+    /**
+     * CARBON_APPROX_PERCENTILE_ACCURACY_DEFAULT
+     */
+    public static final String CARBON_APPROX_PERCENTILE_ACCURACY_DEFAULT = "200";
+    /**
+     * number of members of a level file which are sorted in memory while
+     * global surrogate keys are generated, members beyond it are written to
+     * sorted temp files which are merged
+     */
+    public static final String CARBON_GLOBAL_SURROGATE_SORT_SIZE =
+            "carbon.global.surrogate.sort.size";
+    /**
+     * CARBON_GLOBAL_SURROGATE_SORT_SIZE_DEFAULT
+     */
+    public static final String CARBON_GLOBAL_SURROGATE_SORT_SIZE_DEFAULT = "100000";
+    /**
+     * folder of sorted temp files of global surrogate generation
+     */
+    public static final String GLOBAL_SURROGATE_TEMP_FILE_LOCATION = "globalsurrogatetmp";
+    /**
+     * number of hash partitions aggregated in parallel by the hash based
+     * aggregation of aggregate tables while sorting, by default the number
+     * of cores of loading
+     */
+    public static final String CARBON_HASH_AGG_THREADS = "carbon.hash.agg.threads";
+    /**
+     * max size in MB of the cache of query results kept by executor, cache is
+     * disabled if not configured
+     */
+    public static final String CARBON_MAX_QUERY_RESULT_CACHE_SIZE =
+            "carbon.max.query.result.cache.size";
+    /**
+     * max query result cache size default value in MB
+     */
+    public static final String CARBON_MAX_QUERY_RESULT_CACHE_SIZE_DEFAULT = "-1";
+    /**
+     * max size in MB of the result of one query on one partition which is
+     * added to query result cache, bigger results are not cached
+     */
+    public static final String CARBON_MAX_QUERY_RESULT_CACHE_ENTRY_SIZE =
+            "carbon.max.query.result.cache.entry.size";
+    /**
+     * max query result cache entry size default value in MB
+     */
+    public static final String CARBON_MAX_QUERY_RESULT_CACHE_ENTRY_SIZE_DEFAULT = "16";
     /**
      * max retry count to acquire a cube for querying or loading a level file in
      * memory
@@ -90,6 +90,16 @@ public interface FileHolder {
      */
     long readDouble(String filePath, long offset);
 
+    /**
+     * This method will be used to request a chunk which will be read soon, so
+     * that it can be read in background. This is only a hint, holder may ignore it
+     *
+     * @param filePath fully qualified file path
+     * @param offset   reading start position
+     * @param length   number of bytes to be read
+     */
+    void prefetch(String filePath, long offset, int length);
+
     /**
      * This method will be used to close all the streams currently present in the cache
      */
@@ -19,8 +19,6 @@
 
 package org.carbondata.core.datastorage.store.columnar;
 
-import java.util.Map;
-
 import org.carbondata.core.keygenerator.KeyGenerator;
 import org.carbondata.core.keygenerator.factory.KeyGeneratorFactory;
 
@@ -45,9 +43,9 @@ public class ColumnarKeyStoreMetadata {
     private boolean isDirectSurrogateColumn;
 
     /**
-     * mapOfColumnarKeyBlockData
+     * values of direct surrogate column
      */
-    private Map<Integer, byte[]> mapOfColumnarKeyBlockData;
+    private VariableLengthColumnBlock directSurrogateColumnBlock;
     private boolean isRowStore;
 
     public ColumnarKeyStoreMetadata(int eachRowSize) {
@@ -154,21 +152,17 @@ public class ColumnarKeyStoreMetadata {
     }
 
     /**
-     * setDirectSurrogateKeyMembers.
-     *
-     * @param mapOfColumnarKeyBlockData
+     * @param directSurrogateColumnBlock values of direct surrogate column
      */
-    public void setDirectSurrogateKeyMembers(Map<Integer, byte[]> mapOfColumnarKeyBlockData) {
-        this.mapOfColumnarKeyBlockData = mapOfColumnarKeyBlockData;
-
+    public void setDirectSurrogateColumnBlock(
+            VariableLengthColumnBlock directSurrogateColumnBlock) {
+        this.directSurrogateColumnBlock = directSurrogateColumnBlock;
     }
 
     /**
-     * getMapOfColumnarKeyBlockDataForDirectSurroagtes.
-     *
-     * @return
+     * @return values of direct surrogate column
      */
-    public Map<Integer, byte[]> getMapOfColumnarKeyBlockDataForDirectSurroagtes() {
-        return mapOfColumnarKeyBlockData;
+    public VariableLengthColumnBlock getDirectSurrogateColumnBlock() {
+        return directSurrogateColumnBlock;
     }
 }
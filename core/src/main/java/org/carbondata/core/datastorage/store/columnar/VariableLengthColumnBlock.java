@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.columnar;
+
+import org.carbondata.core.util.ByteUtil.UnsafeComparer;
+
+/**
+ * Column block of a no dictionary (high cardinality) dimension. Values are
+ * held in one contiguous data region and located through an offsets array,
+ * both inside a single byte array, so a block read from the fact file in
+ * plain layout is used as it is without creating an object per row.
+ * <p>
+ * Layout of the block written by the data load:
+ * <pre>
+ * byte   marker, -1
+ * byte   encoding, plain or prefix
+ * int    number of values
+ * int    length of data region
+ * plain:  int[number of values + 1] offsets in data region, data region
+ * prefix: per value short shared prefix length with previous value,
+ *         short suffix length, suffix
+ * </pre>
+ * Values are sorted in a block, so prefix encoding is used when it makes the
+ * block considerably smaller, it is decoded once to plain layout on read.
+ * Blocks of older stores hold a short length before each value, first byte
+ * of them is never -1 as value length is positive.
+ */
+public final class VariableLengthColumnBlock {
+
+    /**
+     * first byte of a block in offsets layout
+     */
+    public static final byte MARKER = -1;
+
+    /**
+     * values are stored as they are
+     */
+    public static final byte PLAIN_ENCODING = 0;
+
+    /**
+     * each value is stored as the suffix after the prefix shared with the
+     * previous value
+     */
+    public static final byte PREFIX_ENCODING = 1;
+
+    /**
+     * marker, encoding, number of values and length of data region
+     */
+    private static final int HEADER_SIZE = 10;
+
+    /**
+     * size of the length stored before each value in blocks of older stores
+     */
+    private static final int LENGTH_SIZE = 2;
+
+    /**
+     * prefix encoding is used only if it saves at least 1/4 of plain size, as
+     * it has to be decoded on read
+     */
+    private static final int PREFIX_ENCODING_SAVING_RATIO = 4;
+
+    /**
+     * block data in plain layout
+     */
+    private byte[] blockData;
+
+    /**
+     * number of values
+     */
+    private int numberOfValues;
+
+    /**
+     * start of data region in block data
+     */
+    private int dataStart;
+
+    private VariableLengthColumnBlock(byte[] blockData) {
+        this.blockData = blockData;
+        this.numberOfValues = readInt(blockData, 2);
+        this.dataStart = HEADER_SIZE + (numberOfValues + 1) * 4;
+    }
+
+    /**
+     * Below method will be used to get the column block from the uncompressed
+     * key block data read from the fact file
+     *
+     * @param keyBlockData key block data
+     * @return column block
+     */
+    public static VariableLengthColumnBlock getColumnBlock(byte[] keyBlockData) {
+        if (keyBlockData.length == 0 || keyBlockData[0] != MARKER) {
+            return new VariableLengthColumnBlock(fromLengthPrefixedData(keyBlockData));
+        }
+        if (keyBlockData[1] == PREFIX_ENCODING) {
+            return new VariableLengthColumnBlock(fromPrefixEncodedData(keyBlockData));
+        }
+        return new VariableLengthColumnBlock(keyBlockData);
+    }
+
+    /**
+     * Below method will be used to write the sorted values of a leaf node in
+     * the block layout
+     *
+     * @param values                  sorted values
+     * @param valueStart              number of bytes to skip in each value,
+     *                                values of data load start with the length
+     * @param isPrefixEncodingEnabled true if prefix encoding can be used
+     * @return block data
+     */
+    public static byte[] getBlockData(byte[][] values, int valueStart,
+            boolean isPrefixEncodingEnabled) {
+        int dataLength = 0;
+        int prefixEncodedLength = 0;
+        for (int i = 0; i < values.length; i++) {
+            int length = values[i].length - valueStart;
+            dataLength += length;
+            int sharedLength = 0;
+            if (i > 0) {
+                sharedLength = getSharedPrefixLength(values[i - 1], values[i], valueStart);
+            }
+            prefixEncodedLength += 2 * LENGTH_SIZE + length - sharedLength;
+        }
+        int plainLength = HEADER_SIZE + (values.length + 1) * 4 + dataLength;
+        prefixEncodedLength += HEADER_SIZE;
+        if (isPrefixEncodingEnabled && prefixEncodedLength
+                <= plainLength - plainLength / PREFIX_ENCODING_SAVING_RATIO) {
+            return getPrefixEncodedData(values, valueStart, dataLength, prefixEncodedLength);
+        }
+        byte[] blockData = new byte[plainLength];
+        writeHeader(blockData, PLAIN_ENCODING, values.length, dataLength);
+        int offsetPosition = HEADER_SIZE;
+        int dataPosition = HEADER_SIZE + (values.length + 1) * 4;
+        int offset = 0;
+        for (int i = 0; i < values.length; i++) {
+            int length = values[i].length - valueStart;
+            writeInt(blockData, offsetPosition, offset);
+            System.arraycopy(values[i], valueStart, blockData, dataPosition, length);
+            offsetPosition += 4;
+            dataPosition += length;
+            offset += length;
+        }
+        writeInt(blockData, offsetPosition, offset);
+        return blockData;
+    }
+
+    private static byte[] getPrefixEncodedData(byte[][] values, int valueStart, int dataLength,
+            int prefixEncodedLength) {
+        byte[] blockData = new byte[prefixEncodedLength];
+        writeHeader(blockData, PREFIX_ENCODING, values.length, dataLength);
+        int position = HEADER_SIZE;
+        for (int i = 0; i < values.length; i++) {
+            int sharedLength = 0;
+            if (i > 0) {
+                sharedLength = getSharedPrefixLength(values[i - 1], values[i], valueStart);
+            }
+            int suffixLength = values[i].length - valueStart - sharedLength;
+            writeShort(blockData, position, sharedLength);
+            writeShort(blockData, position + LENGTH_SIZE, suffixLength);
+            position += 2 * LENGTH_SIZE;
+            System.arraycopy(values[i], valueStart + sharedLength, blockData, position,
+                    suffixLength);
+            position += suffixLength;
+        }
+        return blockData;
+    }
+
+    private static int getSharedPrefixLength(byte[] previous, byte[] current, int valueStart) {
+        int maxLength = Math.min(Math.min(previous.length, current.length) - valueStart,
+                Short.MAX_VALUE);
+        int length = 0;
+        while (length < maxLength
+                && previous[valueStart + length] == current[valueStart + length]) {
+            length++;
+        }
+        return length;
+    }
+
+    private static byte[] fromPrefixEncodedData(byte[] keyBlockData) {
+        int numberOfValues = readInt(keyBlockData, 2);
+        int dataLength = readInt(keyBlockData, 6);
+        int dataStart = HEADER_SIZE + (numberOfValues + 1) * 4;
+        byte[] blockData = new byte[dataStart + dataLength];
+        writeHeader(blockData, PLAIN_ENCODING, numberOfValues, dataLength);
+        int position = HEADER_SIZE;
+        int dataPosition = dataStart;
+        int previousStart = dataStart;
+        for (int i = 0; i < numberOfValues; i++) {
+            int sharedLength = readShort(keyBlockData, position);
+            int suffixLength = readShort(keyBlockData, position + LENGTH_SIZE);
+            position += 2 * LENGTH_SIZE;
+            writeInt(blockData, HEADER_SIZE + i * 4, dataPosition - dataStart);
+            System.arraycopy(blockData, previousStart, blockData, dataPosition, sharedLength);
+            System.arraycopy(keyBlockData, position, blockData, dataPosition + sharedLength,
+                    suffixLength);
+            position += suffixLength;
+            previousStart = dataPosition;
+            dataPosition += sharedLength + suffixLength;
+        }
+        writeInt(blockData, HEADER_SIZE + numberOfValues * 4, dataLength);
+        return blockData;
+    }
+
+    private static byte[] fromLengthPrefixedData(byte[] keyBlockData) {
+        int numberOfValues = 0;
+        int position = 0;
+        while (position < keyBlockData.length) {
+            position += LENGTH_SIZE + readShort(keyBlockData, position);
+            numberOfValues++;
+        }
+        int dataLength = keyBlockData.length - numberOfValues * LENGTH_SIZE;
+        int dataStart = HEADER_SIZE + (numberOfValues + 1) * 4;
+        byte[] blockData = new byte[dataStart + dataLength];
+        writeHeader(blockData, PLAIN_ENCODING, numberOfValues, dataLength);
+        position = 0;
+        int offset = 0;
+        for (int i = 0; i < numberOfValues; i++) {
+            int length = readShort(keyBlockData, position);
+            writeInt(blockData, HEADER_SIZE + i * 4, offset);
+            System.arraycopy(keyBlockData, position + LENGTH_SIZE, blockData, dataStart + offset,
+                    length);
+            position += LENGTH_SIZE + length;
+            offset += length;
+        }
+        writeInt(blockData, HEADER_SIZE + numberOfValues * 4, offset);
+        return blockData;
+    }
+
+    /**
+     * @return number of values in block
+     */
+    public int getNumberOfValues() {
+        return numberOfValues;
+    }
+
+    /**
+     * @param position position of value in block
+     * @return length of value
+     */
+    public int getLength(int position) {
+        int offsetPosition = HEADER_SIZE + position * 4;
+        return readInt(blockData, offsetPosition + 4) - readInt(blockData, offsetPosition);
+    }
+
+    /**
+     * Below method will be used to get a copy of the value at a position in
+     * block
+     *
+     * @param position position of value in block
+     * @return value
+     */
+    public byte[] getValue(int position) {
+        int offset = readInt(blockData, HEADER_SIZE + position * 4);
+        byte[] value = new byte[getLength(position)];
+        System.arraycopy(blockData, dataStart + offset, value, 0, value.length);
+        return value;
+    }
+
+    /**
+     * Below method will be used to compare the value at a position in block
+     * with the given value without copying it
+     *
+     * @param position position of value in block
+     * @param value    value to compare
+     * @return compare result, negative if value in block is smaller
+     */
+    public int compareTo(int position, byte[] value) {
+        int offset = readInt(blockData, HEADER_SIZE + position * 4);
+        return UnsafeComparer.INSTANCE
+                .compareTo(blockData, dataStart + offset, getLength(position), value, 0,
+                        value.length);
+    }
+
+    /**
+     * Below method will be used to get the first position of a value in the
+     * block using binary search, values in a block are sorted
+     *
+     * @param value value to search
+     * @return first position of value or -1 if it is not present
+     */
+    public int getFirstPosition(byte[] value) {
+        int low = 0;
+        int high = numberOfValues - 1;
+        int position = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compareResult = compareTo(mid, value);
+            if (compareResult < 0) {
+                low = mid + 1;
+            } else {
+                if (compareResult == 0) {
+                    position = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+
+    private static void writeHeader(byte[] blockData, byte encoding, int numberOfValues,
+            int dataLength) {
+        blockData[0] = MARKER;
+        blockData[1] = encoding;
+        writeInt(blockData, 2, numberOfValues);
+        writeInt(blockData, 6, dataLength);
+    }
+
+    private static int readInt(byte[] data, int position) {
+        return ((data[position] & 0xFF) << 24) | ((data[position + 1] & 0xFF) << 16) | (
+                (data[position + 2] & 0xFF) << 8) | (data[position + 3] & 0xFF);
+    }
+
+    private static int readShort(byte[] data, int position) {
+        return ((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF);
+    }
+
+    private static void writeInt(byte[] data, int position, int value) {
+        data[position] = (byte) (value >>> 24);
+        data[position + 1] = (byte) (value >>> 16);
+        data[position + 2] = (byte) (value >>> 8);
+        data[position + 3] = (byte) value;
+    }
+
+    private static void writeShort(byte[] data, int position, int value) {
+        data[position] = (byte) (value >>> 8);
+        data[position + 1] = (byte) value;
+    }
+}
@@ -0,0 +1,801 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Lightweight encodings of the measure values of one leaf node. Encoding is
+ * chosen at write time from the statistics of the leaf (min, max, runs, range
+ * of deltas and number of distinct values), the one with the smallest size is
+ * used. Values are encoded as longs, decimal values are scaled to longs when
+ * it is lossless, otherwise values are stored as snappy compressed doubles.
+ * Encoded data is self describing:
+ * <encoding><scale><number of values><encoding specific data>
+ * Encoding ids start from 1, so encoded data is never taken as a chunk of
+ * {@link CompressorRegistry} codec.
+ */
+public final class AdaptiveMeasureCodec {
+    /**
+     * snappy compressed doubles
+     */
+    public static final byte RAW_DOUBLE = 1;
+
+    /**
+     * snappy compressed longs
+     */
+    public static final byte RAW_LONG = 2;
+
+    /**
+     * frame of reference, min value and bit packed difference from min
+     */
+    public static final byte FRAME_OF_REFERENCE = 3;
+
+    /**
+     * first value and bit packed deltas
+     */
+    public static final byte DELTA = 4;
+
+    /**
+     * first value, first delta and bit packed delta of deltas
+     */
+    public static final byte DELTA_OF_DELTA = 5;
+
+    /**
+     * sorted distinct values and bit packed index of each value
+     */
+    public static final byte DICTIONARY = 6;
+
+    /**
+     * bit packed run values and run lengths
+     */
+    public static final byte RUN_LENGTH = 7;
+
+    /**
+     * max number of distinct values for dictionary encoding
+     */
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    /**
+     * max scale for converting decimal values to long
+     */
+    private static final int MAX_SCALE = 15;
+
+    /**
+     * values above this cannot be converted to long without losing precision
+     */
+    private static final double MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * size of header, encoding, scale and number of values
+     */
+    private static final int HEADER_SIZE = 6;
+
+    private static final Compressor<double[]> DOUBLE_COMPRESSOR =
+            SnappyCompression.SnappyDoubleCompression.INSTANCE;
+
+    private static final Compressor<long[]> LONG_COMPRESSOR =
+            SnappyCompression.SnappyLongCompression.INSTANCE;
+
+    private AdaptiveMeasureCodec() {
+
+    }
+
+    /**
+     * Below method will be used to encode the double values of a measure
+     *
+     * @param values  values
+     * @param decimal decimal length of measure
+     * @return encoded data
+     */
+    public static byte[] encode(double[] values, int decimal) {
+        if (decimal >= 0 && decimal <= MAX_SCALE) {
+            long[] scaledValues = toLong(values, Math.pow(10, decimal));
+            if (null != scaledValues) {
+                return encode(scaledValues, (byte) decimal);
+            }
+        }
+        byte[] compressed = DOUBLE_COMPRESSOR.compress(values);
+        ByteBuffer buffer = allocate(RAW_DOUBLE, (byte) 0, values.length, compressed.length);
+        buffer.put(compressed);
+        return buffer.array();
+    }
+
+    /**
+     * Below method will be used to encode the long values of a measure
+     *
+     * @param values values
+     * @return encoded data
+     */
+    public static byte[] encode(long[] values) {
+        return encode(values, (byte) 0);
+    }
+
+    /**
+     * converts the values to long after multiplying with factor, null if
+     * any value cannot be restored exactly
+     */
+    private static long[] toLong(double[] values, double factor) {
+        long[] scaledValues = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            double scaled = values[i] * factor;
+            if (!(Math.abs(scaled) < MAX_EXACT_DOUBLE)) {
+                return null;
+            }
+            scaledValues[i] = Math.round(scaled);
+            if (scaledValues[i] / factor != values[i]) {
+                return null;
+            }
+        }
+        return scaledValues;
+    }
+
+    private static byte[] encode(long[] values, byte scale) {
+        int count = values.length;
+        if (count < 3) {
+            return encodeRaw(values, scale);
+        }
+        // statistics of leaf
+        long min = values[0];
+        long max = values[0];
+        long minDelta = Long.MAX_VALUE;
+        long maxDelta = Long.MIN_VALUE;
+        long minDeltaOfDelta = Long.MAX_VALUE;
+        long maxDeltaOfDelta = Long.MIN_VALUE;
+        int runs = 1;
+        int maxRunLength = 1;
+        int runLength = 1;
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long value = values[i];
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+            long delta = value - values[i - 1];
+            minDelta = Math.min(minDelta, delta);
+            maxDelta = Math.max(maxDelta, delta);
+            if (i > 1) {
+                long deltaOfDelta = delta - previousDelta;
+                minDeltaOfDelta = Math.min(minDeltaOfDelta, deltaOfDelta);
+                maxDeltaOfDelta = Math.max(maxDeltaOfDelta, deltaOfDelta);
+            }
+            previousDelta = delta;
+            if (delta == 0) {
+                runLength++;
+            } else {
+                runs++;
+                runLength = 1;
+            }
+            maxRunLength = Math.max(maxRunLength, runLength);
+        }
+        int valueBits = bitWidth(max - min);
+        long bestSize = (long) count * valueBits;
+        byte encoding = FRAME_OF_REFERENCE;
+        long size = 128 + (long) (count - 1) * bitWidth(maxDelta - minDelta);
+        if (size < bestSize) {
+            bestSize = size;
+            encoding = DELTA;
+        }
+        size = 192 + (long) (count - 2) * bitWidth(maxDeltaOfDelta - minDeltaOfDelta);
+        if (size < bestSize) {
+            bestSize = size;
+            encoding = DELTA_OF_DELTA;
+        }
+        size = 64 + (long) runs * (valueBits + bitWidth(maxRunLength - 1));
+        if (size < bestSize) {
+            bestSize = size;
+            encoding = RUN_LENGTH;
+        }
+        long[] dictionary = null;
+        if (valueBits > 1) {
+            dictionary = getDictionary(values);
+            if (null != dictionary) {
+                size = (long) dictionary.length * 64 + (long) count * bitWidth(
+                        dictionary.length - 1);
+                if (size < bestSize) {
+                    bestSize = size;
+                    encoding = DICTIONARY;
+                }
+            }
+        }
+        if (bestSize >= (long) count * 64) {
+            return encodeRaw(values, scale);
+        }
+        ByteBuffer buffer;
+        BitPacker packer;
+        switch (encoding) {
+        case DELTA:
+            int deltaBits = bitWidth(maxDelta - minDelta);
+            buffer = allocate(DELTA, scale, count, 16 + BitPacker.getPackedSize(count - 1,
+                    deltaBits));
+            buffer.putLong(values[0]);
+            buffer.putLong(minDelta);
+            packer = BitPacker.getWriter(buffer, deltaBits);
+            for (int i = 1; i < count; i++) {
+                packer.write(values[i] - values[i - 1] - minDelta);
+            }
+            packer.flush();
+            break;
+        case DELTA_OF_DELTA:
+            int deltaOfDeltaBits = bitWidth(maxDeltaOfDelta - minDeltaOfDelta);
+            buffer = allocate(DELTA_OF_DELTA, scale, count,
+                    24 + BitPacker.getPackedSize(count - 2, deltaOfDeltaBits));
+            buffer.putLong(values[0]);
+            buffer.putLong(values[1] - values[0]);
+            buffer.putLong(minDeltaOfDelta);
+            packer = BitPacker.getWriter(buffer, deltaOfDeltaBits);
+            for (int i = 2; i < count; i++) {
+                packer.write(values[i] - 2 * values[i - 1] + values[i - 2] - minDeltaOfDelta);
+            }
+            packer.flush();
+            break;
+        case RUN_LENGTH:
+            int lengthBits = bitWidth(maxRunLength - 1);
+            buffer = allocate(RUN_LENGTH, scale, count,
+                    12 + BitPacker.getPackedSize(runs, valueBits) + BitPacker
+                            .getPackedSize(runs, lengthBits));
+            buffer.putInt(runs);
+            buffer.putLong(min);
+            BitPacker valuePacker = BitPacker.getWriter(buffer, valueBits);
+            int runStart = 0;
+            for (int i = 1; i <= count; i++) {
+                if (i == count || values[i] != values[runStart]) {
+                    valuePacker.write(values[runStart] - min);
+                    runStart = i;
+                }
+            }
+            valuePacker.flush();
+            packer = BitPacker.getWriter(buffer, lengthBits);
+            runStart = 0;
+            for (int i = 1; i <= count; i++) {
+                if (i == count || values[i] != values[runStart]) {
+                    packer.write(i - runStart - 1);
+                    runStart = i;
+                }
+            }
+            packer.flush();
+            break;
+        case DICTIONARY:
+            int indexBits = bitWidth(dictionary.length - 1);
+            buffer = allocate(DICTIONARY, scale, count,
+                    4 + dictionary.length * 8 + BitPacker.getPackedSize(count, indexBits));
+            buffer.putInt(dictionary.length);
+            for (int i = 0; i < dictionary.length; i++) {
+                buffer.putLong(dictionary[i]);
+            }
+            packer = BitPacker.getWriter(buffer, indexBits);
+            for (int i = 0; i < count; i++) {
+                packer.write(Arrays.binarySearch(dictionary, values[i]));
+            }
+            packer.flush();
+            break;
+        default:
+            buffer = allocate(FRAME_OF_REFERENCE, scale, count,
+                    8 + BitPacker.getPackedSize(count, valueBits));
+            buffer.putLong(min);
+            packer = BitPacker.getWriter(buffer, valueBits);
+            for (int i = 0; i < count; i++) {
+                packer.write(values[i] - min);
+            }
+            packer.flush();
+            break;
+        }
+        return buffer.array();
+    }
+
+    private static byte[] encodeRaw(long[] values, byte scale) {
+        byte[] compressed = LONG_COMPRESSOR.compress(values);
+        ByteBuffer buffer = allocate(RAW_LONG, scale, values.length, compressed.length);
+        buffer.put(compressed);
+        return buffer.array();
+    }
+
+    /**
+     * allocates the buffer for the header and the encoding specific data of
+     * given size, header is added to it
+     */
+    private static ByteBuffer allocate(byte encoding, byte scale, int count, int dataSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + dataSize);
+        buffer.put(encoding);
+        buffer.put(scale);
+        buffer.putInt(count);
+        return buffer;
+    }
+
+    /**
+     * sorted distinct values, null if there are too many of them
+     */
+    private static long[] getDictionary(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int distinct = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[distinct - 1]) {
+                if (distinct == MAX_DICTIONARY_SIZE) {
+                    return null;
+                }
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    /**
+     * number of bits required for the value, value is treated as unsigned
+     */
+    private static int bitWidth(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * @param data encoded data
+     * @return encoding of the data
+     */
+    public static byte getEncoding(byte[] data) {
+        return data[0];
+    }
+
+    /**
+     * Below method will be used to decode the values as double, decimal values
+     * are scaled back
+     *
+     * @param data encoded data
+     * @return values
+     */
+    public static double[] decodeDoubles(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte encoding = buffer.get();
+        byte scale = buffer.get();
+        int count = buffer.getInt();
+        if (encoding == RAW_DOUBLE) {
+            return DOUBLE_COMPRESSOR.unCompress(getRemaining(buffer));
+        }
+        long[] longValues = decodeLongs(buffer, encoding, count);
+        double[] values = new double[count];
+        if (scale == 0) {
+            for (int i = 0; i < count; i++) {
+                values[i] = longValues[i];
+            }
+        } else {
+            double factor = Math.pow(10, scale);
+            for (int i = 0; i < count; i++) {
+                values[i] = longValues[i] / factor;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Below method will be used to decode the values as long, decimal values
+     * are not scaled back
+     *
+     * @param data encoded data
+     * @return values
+     */
+    public static long[] decodeLongs(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte encoding = buffer.get();
+        buffer.get();
+        int count = buffer.getInt();
+        if (encoding == RAW_DOUBLE) {
+            double[] doubleValues = DOUBLE_COMPRESSOR.unCompress(getRemaining(buffer));
+            long[] values = new long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = (long) doubleValues[i];
+            }
+            return values;
+        }
+        return decodeLongs(buffer, encoding, count);
+    }
+
+    private static long[] decodeLongs(ByteBuffer buffer, byte encoding, int count) {
+        long[] values = new long[count];
+        BitPacker packer;
+        switch (encoding) {
+        case FRAME_OF_REFERENCE:
+            long min = buffer.getLong();
+            packer = BitPacker.getReader(buffer, count);
+            for (int i = 0; i < count; i++) {
+                values[i] = min + packer.read();
+            }
+            break;
+        case DELTA:
+            values[0] = buffer.getLong();
+            long minDelta = buffer.getLong();
+            packer = BitPacker.getReader(buffer, count - 1);
+            for (int i = 1; i < count; i++) {
+                values[i] = values[i - 1] + minDelta + packer.read();
+            }
+            break;
+        case DELTA_OF_DELTA:
+            values[0] = buffer.getLong();
+            long delta = buffer.getLong();
+            values[1] = values[0] + delta;
+            long minDeltaOfDelta = buffer.getLong();
+            packer = BitPacker.getReader(buffer, count - 2);
+            for (int i = 2; i < count; i++) {
+                delta += minDeltaOfDelta + packer.read();
+                values[i] = values[i - 1] + delta;
+            }
+            break;
+        case DICTIONARY:
+            long[] dictionary = readDictionary(buffer);
+            packer = BitPacker.getReader(buffer, count);
+            for (int i = 0; i < count; i++) {
+                values[i] = dictionary[(int) packer.read()];
+            }
+            break;
+        case RUN_LENGTH:
+            long[] runValues = readRunValues(buffer);
+            packer = BitPacker.getReader(buffer, runValues.length);
+            int index = 0;
+            for (int i = 0; i < runValues.length; i++) {
+                int end = index + (int) packer.read() + 1;
+                Arrays.fill(values, index, end, runValues[i]);
+                index = end;
+            }
+            break;
+        default:
+            values = LONG_COMPRESSOR.unCompress(getRemaining(buffer));
+            break;
+        }
+        return values;
+    }
+
+    private static long[] readDictionary(ByteBuffer buffer) {
+        long[] dictionary = new long[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = buffer.getLong();
+        }
+        return dictionary;
+    }
+
+    private static long[] readRunValues(ByteBuffer buffer) {
+        long[] runValues = new long[buffer.getInt()];
+        long min = buffer.getLong();
+        BitPacker packer = BitPacker.getReader(buffer, runValues.length);
+        for (int i = 0; i < runValues.length; i++) {
+            runValues[i] = min + packer.read();
+        }
+        return runValues;
+    }
+
+    /**
+     * Below method will be used to get the sum of values without decoding
+     * them into an array. For frame of reference it is number of values * min
+     * + sum of packed differences, for dictionary and run length each
+     * distinct value or run is multiplied by its count.
+     *
+     * @param data encoded data
+     * @return sum of values, decimal values are scaled back
+     */
+    public static double sum(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte encoding = buffer.get();
+        byte scale = buffer.get();
+        int count = buffer.getInt();
+        if (encoding == RAW_DOUBLE) {
+            double doubleSum = 0;
+            for (double value : DOUBLE_COMPRESSOR.unCompress(getRemaining(buffer))) {
+                doubleSum += value;
+            }
+            return doubleSum;
+        }
+        long sum = sumLongs(buffer, encoding, count);
+        return scale == 0 ? sum : sum / Math.pow(10, scale);
+    }
+
+    /**
+     * Below method will be used to get the sum of values decoded as long,
+     * decimal values are not scaled back
+     *
+     * @param data encoded data
+     * @return sum of values
+     */
+    public static long sumLongs(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte encoding = buffer.get();
+        buffer.get();
+        int count = buffer.getInt();
+        if (encoding == RAW_DOUBLE) {
+            long sum = 0;
+            for (double value : DOUBLE_COMPRESSOR.unCompress(getRemaining(buffer))) {
+                sum += (long) value;
+            }
+            return sum;
+        }
+        return sumLongs(buffer, encoding, count);
+    }
+
+    private static long sumLongs(ByteBuffer buffer, byte encoding, int count) {
+        long sum = 0;
+        BitPacker packer;
+        switch (encoding) {
+        case FRAME_OF_REFERENCE:
+            long min = buffer.getLong();
+            packer = BitPacker.getReader(buffer, count);
+            for (int i = 0; i < count; i++) {
+                sum += packer.read();
+            }
+            sum += count * min;
+            break;
+        case DICTIONARY:
+            long[] dictionary = readDictionary(buffer);
+            int[] counts = getDictionaryCounts(buffer, dictionary.length, count);
+            for (int i = 0; i < dictionary.length; i++) {
+                sum += counts[i] * dictionary[i];
+            }
+            break;
+        case RUN_LENGTH:
+            long[] runValues = readRunValues(buffer);
+            packer = BitPacker.getReader(buffer, runValues.length);
+            for (int i = 0; i < runValues.length; i++) {
+                sum += (packer.read() + 1) * runValues[i];
+            }
+            break;
+        default:
+            for (long value : decodeLongs(buffer, encoding, count)) {
+                sum += value;
+            }
+            break;
+        }
+        return sum;
+    }
+
+    /**
+     * Below method will be used to get the number of values equal to given
+     * value, values are compared after decoding them in the same way as
+     * {@link #decodeDoubles(byte[])}
+     *
+     * @param data  encoded data
+     * @param value value to count
+     * @return number of values equal to value
+     */
+    public static int count(byte[] data, double value) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte encoding = buffer.get();
+        byte scale = buffer.get();
+        int count = buffer.getInt();
+        double factor = Math.pow(10, scale);
+        if (encoding == RAW_DOUBLE || !(Math.abs(value * factor) < MAX_EXACT_DOUBLE)) {
+            int matches = 0;
+            for (double decoded : decodeDoubles(data)) {
+                if (decoded == value) {
+                    matches++;
+                }
+            }
+            return matches;
+        }
+        // scaling back can map more than one long to the same double, so all
+        // longs around the scaled value which decode to the value are counted
+        long scaled = Math.round(value * factor);
+        long low = Long.MAX_VALUE;
+        long high = Long.MIN_VALUE;
+        for (long candidate = scaled - 2; candidate <= scaled + 2; candidate++) {
+            if ((scale == 0 ? (double) candidate : candidate / factor) == value) {
+                low = Math.min(low, candidate);
+                high = Math.max(high, candidate);
+            }
+        }
+        return low > high ? 0 : countInRange(buffer, encoding, count, low, high);
+    }
+
+    /**
+     * Below method will be used to get the number of values equal to given
+     * value, values are compared after decoding them in the same way as
+     * {@link #decodeLongs(byte[])}
+     *
+     * @param data  encoded data
+     * @param value value to count
+     * @return number of values equal to value
+     */
+    public static int countLongs(byte[] data, long value) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte encoding = buffer.get();
+        buffer.get();
+        int count = buffer.getInt();
+        if (encoding == RAW_DOUBLE) {
+            int matches = 0;
+            for (double decoded : DOUBLE_COMPRESSOR.unCompress(getRemaining(buffer))) {
+                if ((long) decoded == value) {
+                    matches++;
+                }
+            }
+            return matches;
+        }
+        return countInRange(buffer, encoding, count, value, value);
+    }
+
+    /**
+     * counts the values between low and high, both inclusive
+     */
+    private static int countInRange(ByteBuffer buffer, byte encoding, int count, long low,
+            long high) {
+        int matches = 0;
+        BitPacker packer;
+        long value;
+        switch (encoding) {
+        case FRAME_OF_REFERENCE:
+            long min = buffer.getLong();
+            packer = BitPacker.getReader(buffer, count);
+            for (int i = 0; i < count; i++) {
+                value = min + packer.read();
+                if (value >= low && value <= high) {
+                    matches++;
+                }
+            }
+            break;
+        case DICTIONARY:
+            long[] dictionary = readDictionary(buffer);
+            int[] counts = getDictionaryCounts(buffer, dictionary.length, count);
+            for (int i = 0; i < dictionary.length; i++) {
+                if (dictionary[i] >= low && dictionary[i] <= high) {
+                    matches += counts[i];
+                }
+            }
+            break;
+        case RUN_LENGTH:
+            long[] runValues = readRunValues(buffer);
+            packer = BitPacker.getReader(buffer, runValues.length);
+            for (int i = 0; i < runValues.length; i++) {
+                int runLength = (int) packer.read() + 1;
+                if (runValues[i] >= low && runValues[i] <= high) {
+                    matches += runLength;
+                }
+            }
+            break;
+        default:
+            for (long decoded : decodeLongs(buffer, encoding, count)) {
+                if (decoded >= low && decoded <= high) {
+                    matches++;
+                }
+            }
+            break;
+        }
+        return matches;
+    }
+
+    /**
+     * number of values of each dictionary entry, reads the packed indexes
+     */
+    private static int[] getDictionaryCounts(ByteBuffer buffer, int dictionarySize, int count) {
+        int[] counts = new int[dictionarySize];
+        BitPacker packer = BitPacker.getReader(buffer, count);
+        for (int i = 0; i < count; i++) {
+            counts[(int) packer.read()]++;
+        }
+        return counts;
+    }
+
+    private static byte[] getRemaining(ByteBuffer buffer) {
+        byte[] remaining = new byte[buffer.remaining()];
+        buffer.get(remaining);
+        return remaining;
+    }
+
+    /**
+     * Writes and reads values of fixed bit width. Values are packed in big
+     * endian bit order, 64 bits at a time, and the last bits of a section are
+     * written as bytes. Bit width is written before the packed values.
+     */
+    private static final class BitPacker {
+        private ByteBuffer buffer;
+
+        private int bitWidth;
+
+        /**
+         * bits not yet written to or read from buffer
+         */
+        private long pending;
+
+        private int pendingBits;
+
+        private BitPacker(ByteBuffer buffer, int bitWidth) {
+            this.buffer = buffer;
+            this.bitWidth = bitWidth;
+        }
+
+        /**
+         * @return size in bytes of bit width and packed values
+         */
+        private static int getPackedSize(int count, int bitWidth) {
+            return 1 + (int) (((long) count * bitWidth + 7) >>> 3);
+        }
+
+        private static BitPacker getWriter(ByteBuffer buffer, int bitWidth) {
+            buffer.put((byte) bitWidth);
+            return new BitPacker(buffer, bitWidth);
+        }
+
+        /**
+         * reader of count values, buffer is moved to the end of the values
+         */
+        private static BitPacker getReader(ByteBuffer buffer, int count) {
+            int bitWidth = buffer.get();
+            int size = getPackedSize(count, bitWidth) - 1;
+            ByteBuffer section = buffer.slice();
+            section.limit(size);
+            buffer.position(buffer.position() + size);
+            return new BitPacker(section, bitWidth);
+        }
+
+        private static long lowBits(long value, int bits) {
+            return bits == 64 ? value : value & ((1L << bits) - 1);
+        }
+
+        private void write(long value) {
+            value = lowBits(value, bitWidth);
+            int freeBits = 64 - pendingBits;
+            if (bitWidth < freeBits) {
+                pending = (pending << bitWidth) | value;
+                pendingBits += bitWidth;
+            } else {
+                int remainingBits = bitWidth - freeBits;
+                buffer.putLong(
+                        (freeBits == 64 ? 0 : pending << freeBits) | (value >>> remainingBits));
+                pending = lowBits(value, remainingBits);
+                pendingBits = remainingBits;
+            }
+        }
+
+        /**
+         * writes the pending bits, last byte is padded with zero
+         */
+        private void flush() {
+            if (pendingBits > 0) {
+                long aligned = pending << (64 - pendingBits);
+                for (int i = 0; i < pendingBits; i += 8) {
+                    buffer.put((byte) (aligned >>> (56 - i)));
+                }
+                pending = 0;
+                pendingBits = 0;
+            }
+        }
+
+        private long read() {
+            if (bitWidth <= pendingBits) {
+                pendingBits -= bitWidth;
+                return lowBits(pending >>> pendingBits, bitWidth);
+            }
+            int requiredBits = bitWidth - pendingBits;
+            long value = pendingBits == 0 ? 0 : lowBits(pending, pendingBits) << requiredBits;
+            fill();
+            pendingBits -= requiredBits;
+            return value | lowBits(pending >>> pendingBits, requiredBits);
+        }
+
+        private void fill() {
+            if (buffer.remaining() >= 8) {
+                pending = buffer.getLong();
+                pendingBits = 64;
+            } else {
+                pending = 0;
+                pendingBits = 0;
+                while (buffer.hasRemaining()) {
+                    pending = (pending << 8) | (buffer.get() & 0xFF);
+                    pendingBits += 8;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import java.util.Locale;
+
+/**
+ * Codecs which can be used for compressing the key blocks and measures of a
+ * leaf node. Id of the codec is written with the chunk, see
+ * {@link CompressorRegistry}, so ids must never be changed or reused.
+ */
+public enum CompressionCodec {
+
+    SNAPPY((byte) 0, SnappyCompression.SnappyByteCompression.INSTANCE),
+
+    LZ4((byte) 1, Lz4Compression.Lz4ByteCompression.INSTANCE),
+
+    ZSTD((byte) 2, ZstdCompression.ZstdByteCompression.INSTANCE),
+
+    NONE((byte) 3, NoCompression.INSTANCE);
+
+    /**
+     * id written in the chunk
+     */
+    private byte id;
+
+    /**
+     * compressor
+     */
+    private Compressor<byte[]> compressor;
+
+    /**
+     * whether codec can be used in this jvm, null till checked
+     */
+    private Boolean available;
+
+    CompressionCodec(byte id, Compressor<byte[]> compressor) {
+        this.id = id;
+        this.compressor = compressor;
+    }
+
+    /**
+     * @param name codec name, case insensitive
+     * @return codec or null if there is no codec with the name
+     */
+    public static CompressionCodec fromName(String name) {
+        String upperCaseName = name.trim().toUpperCase(Locale.ENGLISH);
+        for (CompressionCodec codec : values()) {
+            if (codec.name().equals(upperCaseName)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param id codec id read from chunk
+     * @return codec or null if id is unknown
+     */
+    public static CompressionCodec fromId(byte id) {
+        for (CompressionCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public Compressor<byte[]> getCompressor() {
+        return compressor;
+    }
+
+    /**
+     * Codecs backed by native libraries cannot be used when library is not
+     * present or cannot be loaded on the platform
+     *
+     * @return true if codec can be used
+     */
+    public synchronized boolean isAvailable() {
+        if (null == available) {
+            try {
+                byte[] data = new byte[] { 1, 2, 3 };
+                available = data.length == compressor.unCompress(compressor.compress(data)).length;
+            } catch (LinkageError e) {
+                available = false;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * codec which keeps the data as it is
+     */
+    private enum NoCompression implements Compressor<byte[]> {
+        INSTANCE;
+
+        public byte[] compress(byte[] input) {
+            return input;
+        }
+
+        public byte[] unCompress(byte[] input) {
+            return input;
+        }
+    }
+}
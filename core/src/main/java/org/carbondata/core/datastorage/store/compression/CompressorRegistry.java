@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import java.util.Arrays;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+import org.carbondata.core.util.CarbonProperties;
+
+/**
+ * Compresses and uncompresses the chunks of a leaf node with the codec
+ * configured for the column.
+ * <p>
+ * Chunks compressed with snappy are written as they were before codecs were
+ * configurable, so files written by older versions remain readable. Chunks of
+ * every other codec are written as <code>&lt;0&gt;&lt;codec id&gt;&lt;compressed
+ * data&gt;</code>. Snappy output of non empty input starts with its varint
+ * length which is never 0, so the two cannot be confused and a file can have
+ * chunks of different codecs, for example after merging loads.
+ */
+public final class CompressorRegistry {
+
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(CompressorRegistry.class.getName());
+
+    /**
+     * first byte of a chunk which is not compressed with snappy
+     */
+    private static final byte CODEC_MARKER = 0;
+
+    /**
+     * size of marker and codec id
+     */
+    private static final int HEADER_SIZE = 2;
+
+    /**
+     * column type of key blocks in codec property
+     */
+    private static final String KEY_COLUMN = "key";
+
+    /**
+     * column type of measures in codec property
+     */
+    private static final String MEASURE_COLUMN = "measure";
+
+    private CompressorRegistry() {
+
+    }
+
+    /**
+     * Below method will be used to compress the chunk with the codec
+     *
+     * @param codec codec, snappy if null
+     * @param data  data to compress
+     * @return compressed chunk
+     */
+    public static byte[] compress(CompressionCodec codec, byte[] data) {
+        if (null == codec || CompressionCodec.SNAPPY == codec) {
+            return SnappyCompression.SnappyByteCompression.INSTANCE.compress(data);
+        }
+        byte[] compressed = codec.getCompressor().compress(data);
+        byte[] chunk = new byte[HEADER_SIZE + compressed.length];
+        chunk[0] = CODEC_MARKER;
+        chunk[1] = codec.getId();
+        System.arraycopy(compressed, 0, chunk, HEADER_SIZE, compressed.length);
+        return chunk;
+    }
+
+    /**
+     * @param chunk chunk read from file
+     * @return true if chunk is compressed with a codec other than snappy
+     */
+    public static boolean isCodecChunk(byte[] chunk) {
+        return chunk.length >= HEADER_SIZE && chunk[0] == CODEC_MARKER;
+    }
+
+    /**
+     * @param chunk chunk read from file
+     * @return codec of the chunk
+     */
+    public static CompressionCodec getCodec(byte[] chunk) {
+        if (!isCodecChunk(chunk)) {
+            return CompressionCodec.SNAPPY;
+        }
+        CompressionCodec codec = CompressionCodec.fromId(chunk[1]);
+        if (null == codec) {
+            throw new IllegalArgumentException("Unknown compression codec id " + chunk[1]);
+        }
+        return codec;
+    }
+
+    /**
+     * Below method will be used to uncompress the chunk with the codec
+     * recorded in it
+     *
+     * @param chunk chunk read from file
+     * @return uncompressed data
+     */
+    public static byte[] unCompress(byte[] chunk) {
+        CompressionCodec codec = getCodec(chunk);
+        if (CompressionCodec.SNAPPY == codec) {
+            return SnappyCompression.SnappyByteCompression.INSTANCE.unCompress(chunk);
+        }
+        checkAvailable(codec);
+        return codec.getCompressor()
+                .unCompress(Arrays.copyOfRange(chunk, HEADER_SIZE, chunk.length));
+    }
+
+    /**
+     * @param tableName          table name
+     * @param numberOfKeyBlocks number of key blocks
+     * @return codec of every key block
+     */
+    public static CompressionCodec[] getKeyBlockCodecs(String tableName, int numberOfKeyBlocks) {
+        return getCodecs(tableName, KEY_COLUMN, numberOfKeyBlocks);
+    }
+
+    /**
+     * @param tableName       table name
+     * @param numberOfMeasures number of measures
+     * @return codec of every measure
+     */
+    public static CompressionCodec[] getMeasureCodecs(String tableName, int numberOfMeasures) {
+        return getCodecs(tableName, MEASURE_COLUMN, numberOfMeasures);
+    }
+
+    private static CompressionCodec[] getCodecs(String tableName, String columnType, int count) {
+        CompressionCodec[] codecs = new CompressionCodec[count];
+        for (int i = 0; i < count; i++) {
+            codecs[i] = getConfiguredCodec(tableName, columnType, i);
+        }
+        return codecs;
+    }
+
+    /**
+     * Column level setting is used if present, else table level setting,
+     * else the global setting
+     */
+    private static CompressionCodec getConfiguredCodec(String tableName, String columnType,
+            int index) {
+        CarbonProperties properties = CarbonProperties.getInstance();
+        String tableProperty = CarbonCommonConstants.COMPRESSION_CODEC + '.' + tableName;
+        String codecName = properties.getProperty(tableProperty + '.' + columnType + '.' + index);
+        if (null == codecName) {
+            codecName = properties.getProperty(tableProperty);
+        }
+        if (null == codecName) {
+            codecName = properties.getProperty(CarbonCommonConstants.COMPRESSION_CODEC,
+                    CarbonCommonConstants.COMPRESSION_CODEC_DEFAULT);
+        }
+        CompressionCodec codec = CompressionCodec.fromName(codecName);
+        if (null == codec) {
+            LOGGER.warn(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                    "Unknown compression codec " + codecName + ", using snappy");
+            return CompressionCodec.SNAPPY;
+        }
+        checkAvailable(codec);
+        return codec;
+    }
+
+    /**
+     * Codec configured or recorded in a chunk must not be silently replaced,
+     * so an unavailable codec, for example zstd on a jvm older than java 8 or
+     * without its native library, fails the load or query.
+     *
+     * @param codec codec
+     */
+    private static void checkAvailable(CompressionCodec codec) {
+        if (!codec.isAvailable()) {
+            throw new IllegalStateException("Compression codec " + codec
+                    + " cannot be used as its library cannot be loaded in this jvm");
+        }
+    }
+
+    /**
+     * Compressor for the key blocks read from file. Compression is always
+     * snappy, uncompression uses the codec recorded in the chunk.
+     */
+    public static enum ChunkByteCompression implements Compressor<byte[]> {
+        /**
+         *
+         */
+        INSTANCE;
+
+        public byte[] compress(byte[] input) {
+            return CompressorRegistry.compress(CompressionCodec.SNAPPY, input);
+        }
+
+        public byte[] unCompress(byte[] input) {
+            return CompressorRegistry.unCompress(input);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * LZ4 block compression. Length of the uncompressed data is written before
+ * the block as block format does not contain it.
+ */
+public class Lz4Compression {
+
+    /**
+     * size of the uncompressed length written before the block
+     */
+    private static final int LENGTH_SIZE = 4;
+
+    /**
+     * compressor, native if available else the fastest java implementation
+     */
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+    /**
+     * decompressor, native if available else the fastest java implementation
+     */
+    private static final LZ4FastDecompressor DECOMPRESSOR =
+            LZ4Factory.fastestInstance().fastDecompressor();
+
+    /**
+     * Lz4ByteCompression.
+     */
+    public static enum Lz4ByteCompression implements Compressor<byte[]> {
+        /**
+         *
+         */
+        INSTANCE;
+
+        /**
+         * wrapper method for compressing byte[] unCompInput.
+         */
+        public byte[] compress(byte[] unCompInput) {
+            int length = unCompInput.length;
+            int maxLength = COMPRESSOR.maxCompressedLength(length);
+            ByteBuffer output = ByteBuffer.allocate(LENGTH_SIZE + maxLength);
+            output.putInt(length);
+            int compressedLength = COMPRESSOR
+                    .compress(unCompInput, 0, length, output.array(), LENGTH_SIZE, maxLength);
+            return Arrays.copyOf(output.array(), LENGTH_SIZE + compressedLength);
+        }
+
+        /**
+         * wrapper method for unCompress byte[] compInput.
+         *
+         * @return byte[].
+         */
+        public byte[] unCompress(byte[] compInput) {
+            byte[] output = new byte[ByteBuffer.wrap(compInput).getInt()];
+            DECOMPRESSOR.decompress(compInput, LENGTH_SIZE, output, 0, output.length);
+            return output;
+        }
+    }
+}
@@ -57,6 +57,11 @@ public class MeasureMetaDataModel {
 
     private Object[] minValueFactForAgg;
 
+    /**
+     * encoding of each measure, null if not present in measure metadata file
+     */
+    private byte[] measureEncoding;
+
     public MeasureMetaDataModel() {
 
     }
@@ -214,4 +219,18 @@ public class MeasureMetaDataModel {
         this.minValueFactForAgg = minValueFactForAgg;
     }
 
-}
\ No newline at end of file
+    /**
+     * @return the measureEncoding
+     */
+    public byte[] getMeasureEncoding() {
+        return measureEncoding;
+    }
+
+    /**
+     * @param measureEncoding the measureEncoding to set
+     */
+    public void setMeasureEncoding(byte[] measureEncoding) {
+        this.measureEncoding = measureEncoding;
+    }
+
+}
@@ -70,6 +70,11 @@ public class ValueCompressionModel {
      */
     private ValueCompressonHolder.UnCompressValue[] unCompressValues;
 
+    /**
+     * codec of every measure, used while writing
+     */
+    private CompressionCodec[] measureCodec;
+
     /**
      * @return the compType
      */
@@ -233,4 +238,18 @@ public class ValueCompressionModel {
     public void setMinValueFactForAgg(Object[] minValueFactForAgg) {
         this.minValueFactForAgg = minValueFactForAgg;
     }
+
+    /**
+     * @return the measureCodec
+     */
+    public CompressionCodec[] getMeasureCodec() {
+        return measureCodec;
+    }
+
+    /**
+     * @param measureCodec the measureCodec to set
+     */
+    public void setMeasureCodec(CompressionCodec[] measureCodec) {
+        this.measureCodec = measureCodec;
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonProperties;
+
+import com.github.luben.zstd.Zstd;
+
+public class ZstdCompression {
+
+    /**
+     * Compression level
+     */
+    private static final int LEVEL = getLevel();
+
+    private static int getLevel() {
+        try {
+            return Integer.parseInt(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.COMPRESSION_ZSTD_LEVEL,
+                            CarbonCommonConstants.COMPRESSION_ZSTD_LEVEL_DEFAULT));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(CarbonCommonConstants.COMPRESSION_ZSTD_LEVEL_DEFAULT);
+        }
+    }
+
+    /**
+     * ZstdByteCompression.
+     */
+    public static enum ZstdByteCompression implements Compressor<byte[]> {
+        /**
+         *
+         */
+        INSTANCE;
+
+        /**
+         * wrapper method for compressing byte[] unCompInput.
+         */
+        public byte[] compress(byte[] unCompInput) {
+            return Zstd.compress(unCompInput, LEVEL);
+        }
+
+        /**
+         * wrapper method for unCompress byte[] compInput.
+         *
+         * @return byte[].
+         */
+        public byte[] unCompress(byte[] compInput) {
+            long contentSize = Zstd.getFrameContentSize(compInput);
+            if (contentSize < 0 || contentSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                        "Invalid zstd chunk, uncompressed size of the frame is " + contentSize);
+            }
+            return Zstd.decompress(compInput, (int) contentSize);
+        }
+    }
+}
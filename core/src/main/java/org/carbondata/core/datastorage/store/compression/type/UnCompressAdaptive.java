@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression.type;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.datastorage.store.compression.AdaptiveMeasureCodec;
+import org.carbondata.core.datastorage.store.compression.ValueCompressonHolder.UnCompressValue;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+import org.carbondata.core.util.ValueCompressionUtil.DataType;
+
+/**
+ * Measure data of one leaf node encoded by {@link AdaptiveMeasureCodec}. Data
+ * is already compact, so it is not compressed again, and it is decoded only
+ * when values are requested.
+ */
+public class UnCompressAdaptive implements UnCompressValue<byte[]> {
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(UnCompressAdaptive.class.getName());
+
+    /**
+     * actual data type of measure
+     */
+    private DataType actualDataType;
+
+    /**
+     * encoded value.
+     */
+    private byte[] value;
+
+    public UnCompressAdaptive(DataType actualDataType) {
+        this.actualDataType = actualDataType;
+    }
+
+    @Override
+    public void setValue(byte[] value) {
+        this.value = value;
+    }
+
+    @Override
+    public void setValueInBytes(byte[] value) {
+        this.value = value;
+    }
+
+    @Override
+    public UnCompressValue getNew() {
+        try {
+            return (UnCompressValue) clone();
+        } catch (CloneNotSupportedException e) {
+            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public UnCompressValue compress() {
+        return this;
+    }
+
+    @Override
+    public UnCompressValue uncompress(DataType dataType) {
+        return this;
+    }
+
+    @Override
+    public byte[] getBackArrayData() {
+        return value;
+    }
+
+    @Override
+    public UnCompressValue getCompressorObject() {
+        return new UnCompressAdaptive(actualDataType);
+    }
+
+    @Override
+    public CarbonReadDataHolder getValues(int decimal, Object maxValueObject) {
+        CarbonReadDataHolder dataHolder = new CarbonReadDataHolder();
+        dataHolder.setEncodedValues(value, DataType.DATA_LONG == actualDataType);
+        return dataHolder;
+    }
+
+    /**
+     * @return sum of values computed on encoded data
+     */
+    public double getSum() {
+        return AdaptiveMeasureCodec.sum(value);
+    }
+
+}
@@ -21,6 +21,8 @@ package org.carbondata.core.datastorage.store.dataholder;
 
 import java.math.BigDecimal;
 
+import org.carbondata.core.datastorage.store.compression.AdaptiveMeasureCodec;
+
 public class CarbonReadDataHolder {
 
     /**
@@ -43,10 +45,21 @@ public class CarbonReadDataHolder {
      */
     private byte[][] byteValues;
 
+    /**
+     * values encoded by AdaptiveMeasureCodec, decoded on first read of values
+     */
+    private byte[] encodedValues;
+
+    /**
+     * whether encoded values are decoded as long values
+     */
+    private boolean isLongEncoded;
+
     /**
      * @return the doubleValues
      */
     public double[] getReadableDoubleValues() {
+        decodeIfRequired();
         return doubleValues;
     }
 
@@ -85,6 +98,44 @@ public class CarbonReadDataHolder {
         this.byteValues = byteValues;
     }
 
+    /**
+     * @param encodedValues values encoded by AdaptiveMeasureCodec
+     * @param isLongEncoded whether values are to be decoded as long values
+     */
+    public void setEncodedValues(byte[] encodedValues, boolean isLongEncoded) {
+        this.encodedValues = encodedValues;
+        this.isLongEncoded = isLongEncoded;
+    }
+
+    /**
+     * @return values encoded by AdaptiveMeasureCodec, null if values are not
+     * encoded
+     */
+    public byte[] getEncodedValues() {
+        return encodedValues;
+    }
+
+    /**
+     * @return whether encoded values are decoded as long values
+     */
+    public boolean isLongEncoded() {
+        return isLongEncoded;
+    }
+
+    /**
+     * decodes the encoded values when they are read for the first time
+     */
+    private void decodeIfRequired() {
+        if (null == encodedValues || null != doubleValues || null != longValues) {
+            return;
+        }
+        if (isLongEncoded) {
+            longValues = AdaptiveMeasureCodec.decodeLongs(encodedValues);
+        } else {
+            doubleValues = AdaptiveMeasureCodec.decodeDoubles(encodedValues);
+        }
+    }
+
     /**
      * below method will be used to get the double value by index
      *
@@ -92,10 +143,12 @@ public class CarbonReadDataHolder {
      * @return double values
      */
     public double getReadableDoubleValueByIndex(int index) {
+        decodeIfRequired();
         return this.doubleValues[index];
     }
 
     public long getReadableLongValueByIndex(int index) {
+        decodeIfRequired();
         return this.longValues[index];
     }
 
@@ -87,6 +87,13 @@ public class FileHolderImpl implements FileHolder {
         return byteBffer;
     }
 
+    /**
+     * local file reads are served from page cache, so prefetch is not done
+     */
+    @Override
+    public void prefetch(String filePath, long offset, int length) {
+    }
+
     /**
      * This method will be used to close all the streams currently present in the cache
      */
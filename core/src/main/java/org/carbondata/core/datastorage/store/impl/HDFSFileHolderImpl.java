@@ -21,9 +21,19 @@ package org.carbondata.core.datastorage.store.impl;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -33,30 +43,194 @@ import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.FileHolder;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryType;
 import org.carbondata.core.util.CarbonCoreLogEvent;
+import org.carbondata.core.util.CarbonProperties;
 
+/**
+ * File holder for hdfs. Reads with offset are positional reads, so one holder
+ * can be shared by multiple scan threads. Column chunks can be requested in
+ * advance using {@link #prefetch(String, long, int)}, they are read by the
+ * prefetch threads shared by all holders of the executor and handed over by
+ * the next read of the same chunk. Prefetched chunks are reserved from
+ * executor memory budget till they are handed over, chunks are not prefetched
+ * if memory is not free. Holder cannot be used once it is finished.
+ */
 public class HDFSFileHolderImpl implements FileHolder {
 
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(HDFSFileHolderImpl.class.getName());
+
+    /**
+     * max number of prefetched chunks which are not yet read
+     */
+    private static final int MAX_PENDING_PREFETCH = 64;
+
+    /**
+     * max number of prefetch requests of all holders waiting for a thread,
+     * requests beyond it are skipped and the chunk is read on demand
+     */
+    private static final int MAX_QUEUED_PREFETCH = 256;
+
+    /**
+     * owner of the prefetched chunks in executor memory budget
+     */
+    private static final String MEMORY_OWNER = "hdfs.prefetch";
+
+    /**
+     * prefetch thread pool shared by all holders, created on first prefetch
+     * request
+     */
+    private static ExecutorService prefetchService;
+
     /**
      * cache to hold filename and its stream
      */
-    private Map<String, FSDataInputStream> fileNameAndStreamCache;
+    private ConcurrentHashMap<String, FSDataInputStream> fileNameAndStreamCache;
+
+    /**
+     * chunks requested for prefetch which are not yet read
+     */
+    private ConcurrentHashMap<String, PrefetchedChunk> prefetchedChunks;
+
+    /**
+     * whether holder is finished, no stream is opened once it is set
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * read lock is held by prefetch reads, finish takes write lock so that
+     * streams are closed after the prefetch reads in progress
+     */
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
 
     public HDFSFileHolderImpl() {
-        this.fileNameAndStreamCache = new HashMap<String, FSDataInputStream>(
+        this.fileNameAndStreamCache = new ConcurrentHashMap<String, FSDataInputStream>(
+                CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        this.prefetchedChunks = new ConcurrentHashMap<String, PrefetchedChunk>(
                 CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
     }
 
     @Override
     public byte[] readByteArray(String filePath, long offset, int length) {
-
+        PrefetchedChunk prefetchedChunk =
+                prefetchedChunks.remove(getChunkKey(filePath, offset, length));
+        if (null != prefetchedChunk) {
+            try {
+                return prefetchedChunk.future.get();
+            } catch (InterruptedException e) {
+                LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
+            } catch (ExecutionException e) {
+                LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
+            } finally {
+                releaseMemory(prefetchedChunk);
+            }
+        }
         FSDataInputStream fileChannel = updateCache(filePath);
         byte[] byteBffer = read(fileChannel, length, offset);
         return byteBffer;
     }
 
+    @Override
+    public void prefetch(final String filePath, final long offset, final int length) {
+        if (isClosed) {
+            return;
+        }
+        if (prefetchedChunks.size() >= MAX_PENDING_PREFETCH) {
+            removeCompletedPrefetch();
+            if (prefetchedChunks.size() >= MAX_PENDING_PREFETCH) {
+                return;
+            }
+        }
+        String chunkKey = getChunkKey(filePath, offset, length);
+        if (prefetchedChunks.containsKey(chunkKey)) {
+            return;
+        }
+        // chunk is read on demand rather than other consumers are spilled for it
+        ExecutorMemoryManager memoryManager = ExecutorMemoryManager.getInstance();
+        if (memoryManager.getFreeMemory() < length || !memoryManager
+                .tryReserve(MEMORY_OWNER, MemoryType.PREFETCH_BUFFER, length)) {
+            return;
+        }
+        Future<byte[]> future;
+        try {
+            future = getPrefetchService().submit(new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws Exception {
+                    closeLock.readLock().lock();
+                    try {
+                        return read(updateCache(filePath), length, offset);
+                    } finally {
+                        closeLock.readLock().unlock();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // all prefetch threads are busy, chunk will be read on demand
+            memoryManager.release(MEMORY_OWNER, MemoryType.PREFETCH_BUFFER, length);
+            return;
+        }
+        PrefetchedChunk prefetchedChunk = new PrefetchedChunk(future, length);
+        if (null != prefetchedChunks.putIfAbsent(chunkKey, prefetchedChunk)) {
+            future.cancel(false);
+            releaseMemory(prefetchedChunk);
+        }
+    }
+
+    /**
+     * Chunks which are prefetched but never read, for example leaf nodes
+     * skipped by filter, are removed so that they do not block new requests
+     */
+    private void removeCompletedPrefetch() {
+        for (Entry<String, PrefetchedChunk> entry : prefetchedChunks.entrySet()) {
+            if (entry.getValue().future.isDone() && prefetchedChunks
+                    .remove(entry.getKey(), entry.getValue())) {
+                releaseMemory(entry.getValue());
+            }
+        }
+    }
+
+    private static void releaseMemory(PrefetchedChunk prefetchedChunk) {
+        ExecutorMemoryManager.getInstance()
+                .release(MEMORY_OWNER, MemoryType.PREFETCH_BUFFER, prefetchedChunk.length);
+    }
+
+    private static synchronized ExecutorService getPrefetchService() {
+        if (null == prefetchService) {
+            int threadCount;
+            try {
+                threadCount = Integer.parseInt(CarbonProperties.getInstance()
+                        .getProperty(CarbonCommonConstants.HDFS_PREFETCH_THREAD_COUNT,
+                                CarbonCommonConstants.HDFS_PREFETCH_THREAD_COUNT_DEFAULT));
+            } catch (NumberFormatException e) {
+                threadCount =
+                        Integer.parseInt(CarbonCommonConstants.HDFS_PREFETCH_THREAD_COUNT_DEFAULT);
+            }
+            threadCount = threadCount > 0 ? threadCount : 1;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 60L,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(MAX_QUEUED_PREFETCH),
+                    new ThreadFactory() {
+                        private final AtomicInteger threadNumber = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable,
+                                    "CarbonHDFSPrefetch-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            prefetchService = executor;
+        }
+        return prefetchService;
+    }
+
+    private String getChunkKey(String filePath, long offset, int length) {
+        return filePath + ':' + offset + ':' + length;
+    }
+
     /**
      * This method will be used to check whether stream is already present in
      * cache or not for filepath if not present then create it and then add to
@@ -69,10 +243,19 @@ public class HDFSFileHolderImpl implements FileHolder {
         FSDataInputStream fileChannel = fileNameAndStreamCache.get(filePath);
         try {
             if (null == fileChannel) {
+                if (isClosed) {
+                    throw new IllegalStateException(
+                            "File holder is finished, " + filePath + " cannot be opened");
+                }
                 Path pt = new Path(filePath);
                 FileSystem fs = pt.getFileSystem(new Configuration());
                 fileChannel = fs.open(pt);
-                fileNameAndStreamCache.put(filePath, fileChannel);
+                FSDataInputStream existingChannel =
+                        fileNameAndStreamCache.putIfAbsent(filePath, fileChannel);
+                if (null != existingChannel) {
+                    fileChannel.close();
+                    fileChannel = existingChannel;
+                }
             }
         } catch (IOException e) {
             LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
@@ -91,14 +274,26 @@ public class HDFSFileHolderImpl implements FileHolder {
     private byte[] read(FSDataInputStream channel, int size, long offset) {
         byte[] byteBffer = new byte[size];
         try {
-            channel.seek(offset);
-            channel.readFully(byteBffer);
+            readFully(channel, offset, byteBffer);
         } catch (Exception e) {
             LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
         }
         return byteBffer;
     }
 
+    /**
+     * Positional read of the buffer, does not change the position of the stream
+     *
+     * @param channel  file channel
+     * @param position position
+     * @param buffer   buffer to fill
+     * @throws IOException
+     */
+    protected void readFully(FSDataInputStream channel, long position, byte[] buffer)
+            throws IOException {
+        channel.readFully(position, buffer);
+    }
+
     /**
      * This method will be used to read from file based on number of bytes to be read and positon
      *
@@ -109,7 +304,9 @@ public class HDFSFileHolderImpl implements FileHolder {
     private byte[] read(FSDataInputStream channel, int size) {
         byte[] byteBffer = new byte[size];
         try {
-            channel.readFully(byteBffer);
+            synchronized (channel) {
+                channel.readFully(byteBffer);
+            }
         } catch (Exception e) {
             LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
         }
@@ -121,8 +318,9 @@ public class HDFSFileHolderImpl implements FileHolder {
         FSDataInputStream fileChannel = updateCache(filePath);
         int i = -1;
         try {
-            fileChannel.seek(offset);
-            i = fileChannel.readInt();
+            byte[] buffer = new byte[CarbonCommonConstants.INT_SIZE_IN_BYTE];
+            readFully(fileChannel, offset, buffer);
+            i = ByteBuffer.wrap(buffer).getInt();
         } catch (IOException e) {
             LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
         }
@@ -132,32 +330,39 @@ public class HDFSFileHolderImpl implements FileHolder {
 
     @Override
     public long readDouble(String filePath, long offset) {
-        FSDataInputStream fileChannel = updateCache(filePath);
-        long i = -1;
-        try {
-            fileChannel.seek(offset);
-            i = fileChannel.readLong();
-        } catch (IOException e) {
-            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
-        }
-
-        return i;
+        return readLong(filePath, offset);
     }
 
     @Override
     public void finish() {
-        for (Entry<String, FSDataInputStream> entry : fileNameAndStreamCache.entrySet()) {
-            try {
-                FSDataInputStream channel = entry.getValue();
-                if (null != channel) {
-                    channel.close();
+        isClosed = true;
+        // the prefetch threads are shared, so only the requests of this
+        // holder are cancelled
+        for (Entry<String, PrefetchedChunk> entry : prefetchedChunks.entrySet()) {
+            if (prefetchedChunks.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().future.cancel(false);
+                releaseMemory(entry.getValue());
+            }
+        }
+        // waits for the prefetch reads in progress, so that no stream is
+        // opened or read after it is closed
+        closeLock.writeLock().lock();
+        try {
+            for (Entry<String, FSDataInputStream> entry : fileNameAndStreamCache.entrySet()) {
+                try {
+                    FSDataInputStream channel = entry.getValue();
+                    if (null != channel) {
+                        channel.close();
+                    }
+                } catch (IOException exception) {
+                    LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, exception,
+                            exception.getMessage());
                 }
-            } catch (IOException exception) {
-                LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, exception,
-                        exception.getMessage());
             }
+            fileNameAndStreamCache.clear();
+        } finally {
+            closeLock.writeLock().unlock();
         }
-
     }
 
     @Override
@@ -182,8 +387,7 @@ public class HDFSFileHolderImpl implements FileHolder {
 
     @Override
     public ByteBuffer readByteBuffer(String filePath, long offset, int length) {
-        FSDataInputStream fileChannel = updateCache(filePath);
-        ByteBuffer buffer = ByteBuffer.wrap(read(fileChannel, length, offset));
+        ByteBuffer buffer = ByteBuffer.wrap(readByteArray(filePath, offset, length));
         buffer.rewind();
         return buffer;
     }
@@ -193,7 +397,9 @@ public class HDFSFileHolderImpl implements FileHolder {
         FSDataInputStream fileChannel = updateCache(filePath);
         long i = -1;
         try {
-            i = fileChannel.readLong();
+            byte[] buffer = new byte[CarbonCommonConstants.LONG_SIZE_IN_BYTE];
+            readFully(fileChannel, offset, buffer);
+            i = ByteBuffer.wrap(buffer).getLong();
         } catch (IOException e) {
             LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
         }
@@ -205,11 +411,26 @@ public class HDFSFileHolderImpl implements FileHolder {
         FSDataInputStream fileChannel = updateCache(filePath);
         int i = -1;
         try {
-            i = fileChannel.readInt();
+            synchronized (fileChannel) {
+                i = fileChannel.readInt();
+            }
         } catch (IOException e) {
             LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
         }
         return i;
     }
 
+    /**
+     * Chunk requested for prefetch and its size reserved from executor memory
+     */
+    private static final class PrefetchedChunk {
+        private Future<byte[]> future;
+
+        private int length;
+
+        private PrefetchedChunk(Future<byte[]> future, int length) {
+            this.future = future;
+            this.length = length;
+        }
+    }
 }
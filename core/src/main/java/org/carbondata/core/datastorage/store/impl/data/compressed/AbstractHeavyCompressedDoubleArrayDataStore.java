@@ -21,8 +21,11 @@ package org.carbondata.core.datastorage.store.impl.data.compressed;
 
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.NodeMeasureDataStore;
+import org.carbondata.core.datastorage.store.compression.CompressionCodec;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.compression.ValueCompressonHolder;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
 import org.carbondata.core.datastorage.store.dataholder.CarbonWriteDataHolder;
 import org.carbondata.core.util.ValueCompressionUtil;
 
@@ -61,6 +64,8 @@ public abstract class AbstractHeavyCompressedDoubleArrayDataStore
 
     @Override
     public byte[][] getWritableMeasureDataArray(CarbonWriteDataHolder[] dataHolder) {
+        CompressionCodec[] measureCodec = compressionModel.getMeasureCodec();
+        byte[][] codecChunks = new byte[values.length][];
         for (int i = 0; i < compressionModel.getUnCompressValues().length; i++) {
             values[i] = compressionModel.getUnCompressValues()[i].getNew();
             if (type[i] != CarbonCommonConstants.BYTE_VALUE_MEASURE
@@ -83,15 +88,37 @@ public abstract class AbstractHeavyCompressedDoubleArrayDataStore
             } else {
                 values[i].setValue(dataHolder[i].getWritableByteArrayValues());
             }
-            values[i] = values[i].compress();
+            if (null != measureCodec && CompressionCodec.SNAPPY != measureCodec[i]) {
+                codecChunks[i] =
+                        CompressorRegistry.compress(measureCodec[i], values[i].getBackArrayData());
+            } else {
+                values[i] = values[i].compress();
+            }
         }
         byte[][] returnValue = new byte[values.length][];
         for (int i = 0; i < values.length; i++) {
-            returnValue[i] = values[i].getBackArrayData();
+            returnValue[i] =
+                    null != codecChunks[i] ? codecChunks[i] : values[i].getBackArrayData();
         }
         return returnValue;
     }
 
+    /**
+     * Below method will be used to get the values of a measure chunk which is
+     * compressed with a codec other than snappy, see {@link CompressorRegistry}
+     *
+     * @param index measure index
+     * @param chunk chunk read from file
+     * @return values
+     */
+    protected CarbonReadDataHolder getCodecChunkValues(int index, byte[] chunk) {
+        ValueCompressonHolder.UnCompressValue holder =
+                compressionModel.getUnCompressValues()[index].getNew();
+        holder.setValueInBytes(CompressorRegistry.unCompress(chunk));
+        return holder.getValues(compressionModel.getDecimal()[index],
+                compressionModel.getMaxValue()[index]);
+    }
+
     @Override
     public short getLength() {
         return values != null ? (short) values.length : 0;
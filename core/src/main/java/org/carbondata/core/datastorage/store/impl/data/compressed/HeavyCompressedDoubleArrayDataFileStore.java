@@ -21,6 +21,7 @@ package org.carbondata.core.datastorage.store.impl.data.compressed;
 
 import org.carbondata.core.datastorage.store.FileHolder;
 import org.carbondata.core.datastorage.store.MeasureDataWrapper;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.compression.ValueCompressonHolder;
 import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
@@ -78,24 +79,11 @@ public class HeavyCompressedDoubleArrayDataFileStore
 
         if (cols != null) {
             for (int i = 0; i < cols.length; i++) {
-                ValueCompressonHolder.UnCompressValue copy = values[cols[i]].getNew();
-                copy.setValue(fileHolder.readByteArray(fileName, measuresOffsetsArray[cols[i]],
-                        measuresLengthArray[cols[i]]));
-                vals[cols[i]] = copy.
-                        uncompress(compressionModel.getChangedDataType()[cols[i]])
-                        .getValues(compressionModel.getDecimal()[cols[i]],
-                                compressionModel.getMaxValue()[cols[i]]);
-                copy = null;
+                vals[cols[i]] = getValues(cols[i], fileHolder);
             }
         } else {
             for (int j = 0; j < vals.length; j++) {
-                ValueCompressonHolder.UnCompressValue copy = values[j].getNew();
-                copy.setValue(fileHolder
-                        .readByteArray(fileName, measuresOffsetsArray[j], measuresLengthArray[j]));
-                vals[j] = copy.uncompress(compressionModel.getChangedDataType()[j])
-                        .getValues(compressionModel.getDecimal()[j],
-                                compressionModel.getMaxValue()[j]);
-                copy = null;
+                vals[j] = getValues(j, fileHolder);
             }
         }
         return new CompressedDataMeasureDataWrapper(vals);
@@ -108,13 +96,28 @@ public class HeavyCompressedDoubleArrayDataFileStore
             return null;
         }
         CarbonReadDataHolder[] vals = new CarbonReadDataHolder[values.length];
-        ValueCompressonHolder.UnCompressValue copy = values[cols].getNew();
-        copy.setValue(fileHolder
-                .readByteArray(fileName, measuresOffsetsArray[cols], measuresLengthArray[cols]));
-        vals[cols] = copy.uncompress(compressionModel.getChangedDataType()[cols])
-                .getValues(compressionModel.getDecimal()[cols],
-                        compressionModel.getMaxValue()[cols]);
+        vals[cols] = getValues(cols, fileHolder);
         return new CompressedDataMeasureDataWrapper(vals);
     }
 
+    /**
+     * Below method will be used to read the measure from file and uncompress it
+     *
+     * @param index      measure index
+     * @param fileHolder file holder
+     * @return values
+     */
+    private CarbonReadDataHolder getValues(int index, FileHolder fileHolder) {
+        byte[] chunk = fileHolder
+                .readByteArray(fileName, measuresOffsetsArray[index], measuresLengthArray[index]);
+        if (CompressorRegistry.isCodecChunk(chunk)) {
+            return getCodecChunkValues(index, chunk);
+        }
+        ValueCompressonHolder.UnCompressValue copy = values[index].getNew();
+        copy.setValue(chunk);
+        return copy.uncompress(compressionModel.getChangedDataType()[index])
+                .getValues(compressionModel.getDecimal()[index],
+                        compressionModel.getMaxValue()[index]);
+    }
+
 }
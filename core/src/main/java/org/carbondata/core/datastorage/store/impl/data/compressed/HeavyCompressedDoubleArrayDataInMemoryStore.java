@@ -21,6 +21,7 @@ package org.carbondata.core.datastorage.store.impl.data.compressed;
 
 import org.carbondata.core.datastorage.store.FileHolder;
 import org.carbondata.core.datastorage.store.MeasureDataWrapper;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
 import org.carbondata.core.datastorage.store.impl.CompressedDataMeasureDataWrapper;
@@ -28,14 +29,25 @@ import org.carbondata.core.datastorage.store.impl.CompressedDataMeasureDataWrapp
 public class HeavyCompressedDoubleArrayDataInMemoryStore
         extends AbstractHeavyCompressedDoubleArrayDataStore {
 
+    /**
+     * chunks of the measures compressed with a codec other than snappy
+     */
+    private byte[][] codecChunks;
+
     public HeavyCompressedDoubleArrayDataInMemoryStore(ValueCompressionModel compressionModel,
             long[] measuresOffsetsArray, int[] measuresLengthArray, String fileName,
             FileHolder fileHolder) {
         super(compressionModel);
+        codecChunks = new byte[measuresLengthArray.length][];
         for (int i = 0; i < measuresLengthArray.length; i++) {
+            byte[] chunk = fileHolder
+                    .readByteArray(fileName, measuresOffsetsArray[i], measuresLengthArray[i]);
+            if (CompressorRegistry.isCodecChunk(chunk)) {
+                codecChunks[i] = chunk;
+                continue;
+            }
             values[i] = compressionModel.getUnCompressValues()[i].getCompressorObject();
-            values[i].setValue(fileHolder
-                    .readByteArray(fileName, measuresOffsetsArray[i], measuresLengthArray[i]));
+            values[i].setValue(chunk);
         }
     }
 
@@ -51,17 +63,11 @@ public class HeavyCompressedDoubleArrayDataInMemoryStore
         CarbonReadDataHolder[] vals = new CarbonReadDataHolder[values.length];
         if (cols != null) {
             for (int i = 0; i < cols.length; i++) {
-                vals[cols[i]] =
-                        values[cols[i]].uncompress(compressionModel.getChangedDataType()[cols[i]])
-                                .getValues(compressionModel.getDecimal()[cols[i]],
-                                        compressionModel.getMaxValue()[cols[i]]);
+                vals[cols[i]] = getValues(cols[i]);
             }
         } else {
             for (int i = 0; i < vals.length; i++) {
-
-                vals[i] = values[i].uncompress(compressionModel.getChangedDataType()[i])
-                        .getValues(compressionModel.getDecimal()[i],
-                                compressionModel.getMaxValue()[i]);
+                vals[i] = getValues(i);
             }
         }
         return new CompressedDataMeasureDataWrapper(vals);
@@ -73,9 +79,16 @@ public class HeavyCompressedDoubleArrayDataInMemoryStore
             return null;
         }
         CarbonReadDataHolder[] vals = new CarbonReadDataHolder[values.length];
-        vals[cols] = values[cols].uncompress(compressionModel.getChangedDataType()[cols])
-                .getValues(compressionModel.getDecimal()[cols],
-                        compressionModel.getMaxValue()[cols]);
+        vals[cols] = getValues(cols);
         return new CompressedDataMeasureDataWrapper(vals);
     }
+
+    private CarbonReadDataHolder getValues(int index) {
+        if (null != codecChunks && null != codecChunks[index]) {
+            return getCodecChunkValues(index, codecChunks[index]);
+        }
+        return values[index].uncompress(compressionModel.getChangedDataType()[index])
+                .getValues(compressionModel.getDecimal()[index],
+                        compressionModel.getMaxValue()[index]);
+    }
 }
@@ -27,15 +27,16 @@ import org.carbondata.core.datastorage.store.FileHolder;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStore;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreInfo;
 import org.carbondata.core.datastorage.store.compression.Compressor;
-import org.carbondata.core.datastorage.store.compression.SnappyCompression;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 
 public abstract class AbstractColumnarKeyStore implements ColumnarKeyStore {
 
     /**
-     * compressor will be used to compress the data
+     * compressor will be used to compress the data, data is uncompressed with
+     * the codec recorded in the chunk
      */
     protected static final Compressor<byte[]> COMPRESSOR =
-            SnappyCompression.SnappyByteCompression.INSTANCE;
+            CompressorRegistry.ChunkByteCompression.INSTANCE;
 
     protected ColumnarKeyStoreInfo columnarStoreInfo;
 
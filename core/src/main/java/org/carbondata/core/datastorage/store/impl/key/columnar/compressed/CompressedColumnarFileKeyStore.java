@@ -19,10 +19,6 @@
 
 package org.carbondata.core.datastorage.store.impl.key.columnar.compressed;
 
-import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.Map;
-
 import org.carbondata.core.datastorage.store.FileHolder;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreInfo;
@@ -89,10 +85,8 @@ public class CompressedColumnarFileKeyStore extends AbstractColumnarKeyStore {
                 columnarKeyStoreMetadata.setColumnReverseIndex(columnKeyBlockReverseIndexes);
                 columnarKeyStoreMetadata.setDirectSurrogateColumn(true);
                 columnarKeyStoreMetadata.setSorted(columnarStoreInfo.getIsSorted()[blockIndex[i]]);
-                //System is reading the direct surrogates data from byte array which contains both length and the
-                //direct surrogates data
-                mapColumnIndexWithKeyColumnarKeyBlockData(columnarKeyBlockData,
-                        columnarKeyStoreMetadata);
+                CompressedColumnarKeyStoreUtil.mapColumnIndexWithKeyColumnarKeyBlockData(
+                        columnarKeyBlockData, columnarKeyStoreMetadata);
                 columnarKeyStoreDataHolders[i] =
                         new ColumnarKeyStoreDataHolder(columnarKeyBlockData,
                                 columnarKeyStoreMetadata);
@@ -112,30 +106,6 @@ public class CompressedColumnarFileKeyStore extends AbstractColumnarKeyStore {
         return columnarKeyStoreDataHolders;
     }
 
-    /**
-     * The high cardinality dimensions rows will be send in byte array with its data length
-     * appended in the ColumnarKeyStoreDataHolder byte array since high cardinality dim data will not be
-     * part of MDKey/Surrogate keys. In this method the byte array will be scanned and the length which is
-     * stored in short will be removed.
-     */
-    private void mapColumnIndexWithKeyColumnarKeyBlockData(byte[] columnarKeyBlockData,
-            ColumnarKeyStoreMetadata columnarKeyStoreMetadata) {
-        Map<Integer, byte[]> mapOfColumnarKeyBlockData = new HashMap<Integer, byte[]>(50);
-        ByteBuffer directSurrogateKeyStoreDataHolder =
-                ByteBuffer.allocate(columnarKeyBlockData.length);
-        directSurrogateKeyStoreDataHolder.put(columnarKeyBlockData);
-        directSurrogateKeyStoreDataHolder.flip();
-        int row = -1;
-        while (directSurrogateKeyStoreDataHolder.hasRemaining()) {
-            short dataLength = directSurrogateKeyStoreDataHolder.getShort();
-            byte[] directSurrKeyData = new byte[dataLength];
-            directSurrogateKeyStoreDataHolder.get(directSurrKeyData);
-            mapOfColumnarKeyBlockData.put(++row, directSurrKeyData);
-        }
-        columnarKeyStoreMetadata.setDirectSurrogateKeyMembers(mapOfColumnarKeyBlockData);
-
-    }
-
     @Override
     public ColumnarKeyStoreDataHolder getUnCompressedKeyArray(FileHolder fileHolder, int blockIndex,
             boolean needCompressedData) {
@@ -187,8 +157,8 @@ public class CompressedColumnarFileKeyStore extends AbstractColumnarKeyStore {
             columnarKeyStoreMetadata.setColumnReverseIndex(columnKeyBlockReverseIndex);
             columnarKeyStoreMetadata.setSorted(columnarStoreInfo.getIsSorted()[blockIndex]);
             columnarKeyStoreMetadata.setUnCompressed(true);
-            mapColumnIndexWithKeyColumnarKeyBlockData(columnarKeyBlockData,
-                    columnarKeyStoreMetadata);
+            CompressedColumnarKeyStoreUtil.mapColumnIndexWithKeyColumnarKeyBlockData(
+                    columnarKeyBlockData, columnarKeyStoreMetadata);
             ColumnarKeyStoreDataHolder columnarKeyStoreDataHolders =
                     new ColumnarKeyStoreDataHolder(columnarKeyBlockData, columnarKeyStoreMetadata);
             return columnarKeyStoreDataHolders;
@@ -1,12 +1,9 @@
 package org.carbondata.core.datastorage.store.impl.key.columnar.compressed;
 
-import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.Map;
-
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreInfo;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreMetadata;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 
 public final class CompressedColumnarKeyStoreUtil {
 
@@ -14,22 +11,15 @@ public final class CompressedColumnarKeyStoreUtil {
 
     }
 
+    /**
+     * The high cardinality dimension values are not part of MDKey, so the
+     * key block holds the values themselves. In this method the key block is
+     * read as a column block which locates each value through its offset.
+     */
     public static void mapColumnIndexWithKeyColumnarKeyBlockData(byte[] columnarKeyBlockData,
             ColumnarKeyStoreMetadata columnarKeyStoreMetadata) {
-        Map<Integer, byte[]> mapOfColumnarKeyBlockData = new HashMap<Integer, byte[]>(50);
-        ByteBuffer directSurrogateKeyStoreDataHolder =
-                ByteBuffer.allocate(columnarKeyBlockData.length);
-        directSurrogateKeyStoreDataHolder.put(columnarKeyBlockData);
-        directSurrogateKeyStoreDataHolder.flip();
-        int row = -1;
-        while (directSurrogateKeyStoreDataHolder.hasRemaining()) {
-            short dataLength = directSurrogateKeyStoreDataHolder.getShort();
-            byte[] directSurrKeyData = new byte[dataLength];
-            directSurrogateKeyStoreDataHolder.get(directSurrKeyData);
-            mapOfColumnarKeyBlockData.put(++row, directSurrKeyData);
-        }
-        columnarKeyStoreMetadata.setDirectSurrogateKeyMembers(mapOfColumnarKeyBlockData);
-
+        columnarKeyStoreMetadata.setDirectSurrogateColumnBlock(
+                VariableLengthColumnBlock.getColumnBlock(columnarKeyBlockData));
     }
 
     public static ColumnarKeyStoreDataHolder createColumnarKeyStoreMetadataForHCDims(int blockIndex,
@@ -22,15 +22,16 @@ package org.carbondata.core.datastorage.store.impl.key.compressed;
 import org.carbondata.core.datastorage.store.FileHolder;
 import org.carbondata.core.datastorage.store.NodeKeyStore;
 import org.carbondata.core.datastorage.store.compression.Compressor;
-import org.carbondata.core.datastorage.store.compression.SnappyCompression;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 
 public abstract class AbstractCompressedSingleArrayStore implements NodeKeyStore {
 
     /**
-     * compressor will be used to compress the data
+     * compressor will be used to compress the data, data is uncompressed with
+     * the codec recorded in the chunk
      */
     protected static final Compressor<byte[]> COMPRESSOR =
-            SnappyCompression.SnappyByteCompression.INSTANCE;
+            CompressorRegistry.ChunkByteCompression.INSTANCE;
     /**
      * size of each element
      */
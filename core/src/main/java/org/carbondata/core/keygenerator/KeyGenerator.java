@@ -63,6 +63,30 @@ public interface KeyGenerator extends Serializable, Comparator<byte[]> {
      */
     long[] getKeyArray(byte[] key, int[] maskedByteRanges);
 
+    /**
+     * It unpacks the keys stored one after the other in the buffer into one
+     * column array per dimension, columns[dimension][key]
+     *
+     * @param keys         buffer of keys of getKeySizeInBytes() each
+     * @param offset       offset of the first key
+     * @param numberOfKeys number of keys
+     * @param columns      column arrays, filled from index 0
+     */
+    void getKeyArrays(byte[] keys, int offset, int numberOfKeys, int[][] columns);
+
+    /**
+     * It packs the keys given as one column array per dimension into the
+     * buffer one after the other, inverse of getKeyArrays
+     *
+     * @param columns      column arrays, columns[dimension][key]
+     * @param numberOfKeys number of keys
+     * @param keys         buffer to fill, keys of getKeySizeInBytes() each
+     * @param offset       offset of the first key
+     * @throws KeyGenException
+     */
+    void generateKeys(int[][] columns, int numberOfKeys, byte[] keys, int offset)
+            throws KeyGenException;
+
     /**
      * It gets the key in the specified index from the single key aka byte array
      *
@@ -19,6 +19,7 @@
 
 package org.carbondata.core.keygenerator.mdkey;
 
+import org.carbondata.core.keygenerator.KeyGenException;
 import org.carbondata.core.keygenerator.KeyGenerator;
 
 public abstract class AbstractKeyGenerator implements KeyGenerator {
@@ -59,6 +60,32 @@ public abstract class AbstractKeyGenerator implements KeyGenerator {
         return 0;
     }
 
+    @Override
+    public void getKeyArrays(byte[] keys, int offset, int numberOfKeys, int[][] columns) {
+        int keySize = getKeySizeInBytes();
+        byte[] key = new byte[keySize];
+        for (int row = 0; row < numberOfKeys; row++) {
+            System.arraycopy(keys, offset + row * keySize, key, 0, keySize);
+            long[] keyArray = getKeyArray(key);
+            for (int i = 0; i < keyArray.length; i++) {
+                columns[i][row] = (int) keyArray[i];
+            }
+        }
+    }
+
+    @Override
+    public void generateKeys(int[][] columns, int numberOfKeys, byte[] keys, int offset)
+            throws KeyGenException {
+        int keySize = getKeySizeInBytes();
+        int[] keyArray = new int[columns.length];
+        for (int row = 0; row < numberOfKeys; row++) {
+            for (int i = 0; i < keyArray.length; i++) {
+                keyArray[i] = columns[i][row];
+            }
+            System.arraycopy(generateKey(keyArray), 0, keys, offset + row * keySize, keySize);
+        }
+    }
+
     @Override
     public void setProperty(Object key, Object value) {
         /**
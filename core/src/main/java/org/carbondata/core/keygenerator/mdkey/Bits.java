@@ -65,6 +65,11 @@ public class Bits implements Serializable {
      * byteSize.
      */
     private int byteSize;
+    /**
+     * positions of each dimension in the key used by batch methods, computed
+     * on first use
+     */
+    private transient KeyPosition[] keyPositions;
 
     public Bits(int[] lens) {
         this.lens = lens;
@@ -417,6 +422,185 @@ public class Bits implements Serializable {
         return byteSize;
     }
 
+    /**
+     * Below method will be used to unpack the keys stored one after the other
+     * in the buffer into one column array per dimension. Values wider than
+     * int are truncated.
+     *
+     * @param keys         buffer of keys of getByteSize() bytes each
+     * @param offset       offset of the first key in buffer
+     * @param numberOfKeys number of keys to unpack
+     * @param columns      column array of each dimension, filled from index 0
+     */
+    public void getKeyArrays(byte[] keys, int offset, int numberOfKeys, int[][] columns) {
+        KeyPosition[] positions = getKeyPositions();
+        for (int i = 0; i < positions.length; i++) {
+            KeyPosition position = positions[i];
+            int[] column = columns[i];
+            int pos = offset + position.startByte;
+            switch (position.type) {
+                case KeyPosition.ALIGNED_ONE_BYTE:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        column[row] = keys[pos] & 0xFF;
+                    }
+                    break;
+                case KeyPosition.ALIGNED_TWO_BYTES:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        column[row] = (keys[pos] & 0xFF) << 8 | (keys[pos + 1] & 0xFF);
+                    }
+                    break;
+                case KeyPosition.ALIGNED_THREE_BYTES:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        column[row] = (keys[pos] & 0xFF) << 16 | (keys[pos + 1] & 0xFF) << 8 | (
+                                keys[pos + 2] & 0xFF);
+                    }
+                    break;
+                case KeyPosition.ALIGNED_FOUR_BYTES:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        column[row] = (keys[pos] & 0xFF) << 24 | (keys[pos + 1] & 0xFF) << 16
+                                | (keys[pos + 2] & 0xFF) << 8 | (keys[pos + 3] & 0xFF);
+                    }
+                    break;
+                case KeyPosition.ONE_BYTE:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        column[row] = (int) (((keys[pos] & 0xFF) >>> position.shift)
+                                & position.mask);
+                    }
+                    break;
+                case KeyPosition.TWO_BYTES:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        column[row] = (int) ((((keys[pos] & 0xFF) << 8 | (keys[pos + 1] & 0xFF))
+                                >>> position.shift) & position.mask);
+                    }
+                    break;
+                default:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        long val = 0;
+                        for (int j = 0; j < position.byteCount; j++) {
+                            val = (val << 8) | (keys[pos + j] & 0xFF);
+                        }
+                        column[row] = (int) ((val >>> position.shift) & position.mask);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to pack the keys given as one column array per
+     * dimension into the buffer, one key after the other. Inverse of
+     * {@link #getKeyArrays(byte[], int, int, int[][])}.
+     *
+     * @param columns      column array of each dimension
+     * @param numberOfKeys number of keys to pack
+     * @param keys         buffer to fill with keys of getByteSize() bytes each
+     * @param offset       offset of the first key in buffer
+     */
+    public void getBytes(int[][] columns, int numberOfKeys, byte[] keys, int offset) {
+        Arrays.fill(keys, offset, offset + numberOfKeys * byteSize, (byte) 0);
+        KeyPosition[] positions = getKeyPositions();
+        for (int i = 0; i < positions.length; i++) {
+            KeyPosition position = positions[i];
+            int[] column = columns[i];
+            int pos = offset + position.startByte;
+            switch (position.type) {
+                case KeyPosition.ALIGNED_ONE_BYTE:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        keys[pos] = (byte) column[row];
+                    }
+                    break;
+                case KeyPosition.ALIGNED_TWO_BYTES:
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        keys[pos] = (byte) (column[row] >>> 8);
+                        keys[pos + 1] = (byte) column[row];
+                    }
+                    break;
+                default:
+                    int last = position.byteCount - 1;
+                    for (int row = 0; row < numberOfKeys; row++, pos += byteSize) {
+                        long val = (column[row] & position.mask) << position.shift;
+                        for (int j = last; j >= 0; j--) {
+                            keys[pos + j] |= (byte) val;
+                            val >>>= 8;
+                        }
+                    }
+                    break;
+            }
+        }
+    }
+
+    private KeyPosition[] getKeyPositions() {
+        KeyPosition[] positions = keyPositions;
+        if (null == positions) {
+            positions = new KeyPosition[lens.length];
+            int startBit = length % 8 == 0 ? 0 : (8 - length % 8);
+            for (int i = 0; i < lens.length; i++) {
+                positions[i] = new KeyPosition(startBit, lens[i]);
+                startBit += lens[i];
+            }
+            keyPositions = positions;
+        }
+        return positions;
+    }
+
+    /**
+     * Position of one dimension in the key
+     */
+    private static final class KeyPosition {
+        private static final int ALIGNED_ONE_BYTE = 0;
+        private static final int ALIGNED_TWO_BYTES = 1;
+        private static final int ALIGNED_THREE_BYTES = 2;
+        private static final int ALIGNED_FOUR_BYTES = 3;
+        private static final int ONE_BYTE = 4;
+        private static final int TWO_BYTES = 5;
+        private static final int GENERIC = 6;
+
+        /**
+         * first byte of the dimension in the key
+         */
+        private int startByte;
+
+        /**
+         * number of bytes the dimension spans, at most 8 as values are int
+         */
+        private int byteCount;
+
+        /**
+         * number of bits after the dimension in its last byte
+         */
+        private int shift;
+
+        /**
+         * mask of the value bits, at most 32 bits as values are int
+         */
+        private long mask;
+
+        /**
+         * specialization used to read and write the dimension
+         */
+        private int type;
+
+        private KeyPosition(int startBit, int bitLength) {
+            int endBit = startBit + bitLength;
+            int endByte = (endBit - 1) / 8;
+            // only the low 32 bits are read for int values
+            int valueBits = Math.min(bitLength, Integer.SIZE);
+            startByte = Math.max(startBit / 8, (endBit - valueBits) / 8);
+            byteCount = endByte - startByte + 1;
+            shift = (endByte + 1) * 8 - endBit;
+            mask = (1L << valueBits) - 1;
+            if (shift == 0 && bitLength == byteCount * 8) {
+                type = byteCount - 1;
+            } else if (byteCount == 1) {
+                type = ONE_BYTE;
+            } else if (byteCount == 2) {
+                type = TWO_BYTES;
+            } else {
+                type = GENERIC;
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Bits) {
@@ -58,6 +58,17 @@ public class MultiDimKeyVarLengthGenerator extends AbstractKeyGenerator {
         return bits.getKeyArray(key);
     }
 
+    @Override
+    public void getKeyArrays(byte[] keys, int offset, int numberOfKeys, int[][] columns) {
+        bits.getKeyArrays(keys, offset, numberOfKeys, columns);
+    }
+
+    @Override
+    public void generateKeys(int[][] columns, int numberOfKeys, byte[] keys, int offset)
+            throws KeyGenException {
+        bits.getBytes(columns, numberOfKeys, keys, offset);
+    }
+
     @Override
     public long getKey(byte[] key, int index) {
 
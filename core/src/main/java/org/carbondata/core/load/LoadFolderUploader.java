@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.load;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.impl.FileFactory;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+
+/**
+ * Uploads the files of a load from the local store to the store file system
+ * while the load is in progress. Every fact file is uploaded to a staging
+ * folder as soon as its writer has closed it and is then deleted from the
+ * local store, so upload overlaps with data processing and the local disk
+ * need not hold the whole load. Remaining files are uploaded when the load
+ * is committed and the staging folder is renamed to the load folder, so a
+ * partially uploaded load is never visible in the store. When the load folder
+ * already exists, its files which are not uploaded again are moved to the
+ * staging folder, and the staging folder is swapped in for the load folder.
+ */
+public class LoadFolderUploader {
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(LoadFolderUploader.class.getName());
+    /**
+     * interval in which the local load folder is checked for closed files
+     */
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    /**
+     * suffix of the folder which holds the existing load folder while the
+     * staging folder is swapped in
+     */
+    private static final String REPLACED_FOLDER_SUFFIX = "_replaced";
+    /**
+     * staging folder in store file system
+     */
+    private Path stagingFolder;
+    /**
+     * store file system
+     */
+    private FileSystem fileSystem;
+    /**
+     * executor of uploads, its threads bound the concurrent uploads
+     */
+    private ExecutorService uploadExecutor;
+    /**
+     * checks local load folder for closed files
+     */
+    private ScheduledExecutorService pollExecutor;
+    /**
+     * names of files which are submitted for upload
+     */
+    private Set<String> submittedFiles = new HashSet<String>();
+    /**
+     * pending and finished uploads
+     */
+    private List<Future<Void>> uploads = new ArrayList<Future<Void>>();
+
+    /**
+     * @param stagingFolder         folder in store file system where files are
+     *                              uploaded till the load is committed
+     * @param numberOfUploadThreads max number of concurrent uploads
+     * @throws IOException if store file system cannot be accessed
+     */
+    public LoadFolderUploader(String stagingFolder, int numberOfUploadThreads)
+            throws IOException {
+        this.stagingFolder = new Path(stagingFolder);
+        this.fileSystem = this.stagingFolder.getFileSystem(FileFactory.getConfiguration());
+        if (!fileSystem.mkdirs(this.stagingFolder)) {
+            throw new IOException("Problem while creating upload staging folder " + stagingFolder);
+        }
+        this.uploadExecutor = Executors.newFixedThreadPool(Math.max(numberOfUploadThreads, 1));
+    }
+
+    /**
+     * Below method will be used to start uploading the fact files of the in
+     * progress load folder of the table in the background
+     *
+     * @param localTableFolder local folder of the table, which holds the
+     *                         load folder
+     */
+    public void start(final String localTableFolder) {
+        pollExecutor = Executors.newSingleThreadScheduledExecutor();
+        pollExecutor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                uploadClosedFiles(localTableFolder);
+            }
+        }, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Below method will be used to stop checking for closed files, uploads
+     * which are already submitted continue
+     */
+    public void stop() {
+        if (null != pollExecutor) {
+            pollExecutor.shutdownNow();
+            try {
+                pollExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to submit the upload of the fact files which
+     * are closed by the writer in the in progress load folder of the table.
+     * Writer renames a fact file from in progress to its name after closing.
+     *
+     * @param localTableFolder local folder of the table
+     */
+    public void uploadClosedFiles(String localTableFolder) {
+        File[] loadFolders = new File(localTableFolder).listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File pathname) {
+                return pathname.isDirectory() && pathname.getName()
+                        .startsWith(CarbonCommonConstants.LOAD_FOLDER) && pathname.getName()
+                        .endsWith(CarbonCommonConstants.FILE_INPROGRESS_STATUS);
+            }
+        });
+        if (null == loadFolders) {
+            return;
+        }
+        for (File loadFolder : loadFolders) {
+            File[] closedFiles = loadFolder.listFiles(new FileFilter() {
+                @Override
+                public boolean accept(File pathname) {
+                    // empty fact file is deleted by the writer after closing
+                    return pathname.isFile() && pathname.getName()
+                            .endsWith(CarbonCommonConstants.FACT_FILE_EXT)
+                            && pathname.length() > 0;
+                }
+            });
+            submitUploads(closedFiles);
+        }
+    }
+
+    /**
+     * Below method will be used to upload all the files of the load which are
+     * not uploaded yet, wait for the uploads and to move the staging folder
+     * to the load folder in the store
+     *
+     * @param localLoadFolder  local load folder
+     * @param targetLoadFolder load folder in store
+     * @throws IOException if any upload or the rename fails
+     */
+    public void commit(String localLoadFolder, String targetLoadFolder) throws IOException {
+        stop();
+        // uploads from the in progress folder are finished first, as files
+        // which are not found after the rename of the folder are uploaded again
+        waitForUploads();
+        File[] remainingFiles = new File(localLoadFolder).listFiles();
+        if (null != remainingFiles) {
+            submitUploads(remainingFiles);
+        }
+        uploadExecutor.shutdown();
+        waitForUploads();
+
+        Path target = new Path(targetLoadFolder);
+        if (!fileSystem.exists(target)) {
+            fileSystem.mkdirs(target.getParent());
+            rename(stagingFolder, target);
+        } else {
+            swapLoadFolder(target);
+        }
+        LOGGER.info(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                "Committed " + submittedFiles.size() + " uploaded files to " + targetLoadFolder);
+    }
+
+    /**
+     * Below method will be used to replace the existing load folder with the
+     * staging folder. Existing folder is moved next to the staging folder,
+     * which is outside the table folder, its files which are not uploaded
+     * again are moved to the staging folder and the staging folder is renamed
+     * to the load folder. So the load folder never has a part of the new
+     * files. Existing folder is restored if the swap fails.
+     *
+     * @param target existing load folder
+     * @throws IOException if the swap fails
+     */
+    private void swapLoadFolder(Path target) throws IOException {
+        Path replacedFolder = new Path(stagingFolder.getParent(),
+                stagingFolder.getName() + REPLACED_FOLDER_SUFFIX);
+        fileSystem.delete(replacedFolder, true);
+        rename(target, replacedFolder);
+        List<String> keptFiles = new ArrayList<String>();
+        try {
+            for (FileStatus status : fileSystem.listStatus(replacedFolder)) {
+                String fileName = status.getPath().getName();
+                Path stagingFile = new Path(stagingFolder, fileName);
+                if (!fileSystem.exists(stagingFile)) {
+                    rename(status.getPath(), stagingFile);
+                    keptFiles.add(fileName);
+                }
+            }
+            rename(stagingFolder, target);
+        } catch (IOException e) {
+            for (String fileName : keptFiles) {
+                fileSystem.rename(new Path(stagingFolder, fileName),
+                        new Path(replacedFolder, fileName));
+            }
+            if (!fileSystem.exists(target)) {
+                fileSystem.rename(replacedFolder, target);
+            }
+            throw e;
+        }
+        fileSystem.delete(replacedFolder, true);
+    }
+
+    private void rename(Path source, Path destination) throws IOException {
+        if (!fileSystem.rename(source, destination)) {
+            throw new IOException("Problem while renaming " + source + " to " + destination);
+        }
+    }
+
+    /**
+     * Below method will be used to cancel the uploads and to delete the
+     * staging folder when the load fails
+     */
+    public void abort() {
+        stop();
+        uploadExecutor.shutdownNow();
+        try {
+            uploadExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            fileSystem.delete(stagingFolder, true);
+        } catch (InterruptedException e) {
+            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e, e.getMessage());
+        } catch (IOException e) {
+            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e,
+                    "Problem while deleting upload staging folder " + stagingFolder);
+        }
+    }
+
+    private void waitForUploads() throws IOException {
+        List<Future<Void>> pendingUploads;
+        synchronized (this) {
+            pendingUploads = new ArrayList<Future<Void>>(uploads);
+        }
+        try {
+            for (Future<Void> upload : pendingUploads) {
+                upload.get();
+            }
+        } catch (InterruptedException e) {
+            throw new IOException("Interrupted while uploading load files", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Problem while uploading load files", e.getCause());
+        }
+    }
+
+    private synchronized void submitUploads(File[] files) {
+        for (final File file : files) {
+            if (!submittedFiles.add(file.getName())) {
+                continue;
+            }
+            uploads.add(uploadExecutor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    upload(file);
+                    return null;
+                }
+            }));
+        }
+    }
+
+    /**
+     * Below method will be used to copy a file to the staging folder and to
+     * delete it from local store
+     *
+     * @param file local file
+     * @throws IOException if copy fails
+     */
+    private void upload(File file) throws IOException {
+        try {
+            fileSystem.copyFromLocalFile(true, true, new Path(file.getAbsolutePath()),
+                    new Path(stagingFolder, file.getName()));
+        } catch (IOException e) {
+            if (file.exists()) {
+                throw e;
+            }
+            // load folder is renamed after the file is listed, so file is
+            // uploaded again from renamed folder on commit
+            synchronized (this) {
+                submittedFiles.remove(file.getName());
+            }
+        }
+    }
+}
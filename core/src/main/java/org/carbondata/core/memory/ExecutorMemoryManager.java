@@ -0,0 +1,503 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.memory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.metrics.Counter;
+import org.carbondata.core.metrics.Gauge;
+import org.carbondata.core.metrics.MetricsRegistry;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+import org.carbondata.core.util.CarbonProperties;
+
+/**
+ * Memory budget of the executor shared by queries, data loads and caches.
+ * Memory is reserved by an owner (query id, load or cache) before large
+ * buffers are filled and released when they are dropped or spilled to disk.
+ * A reservation which does not fit in the free budget first asks registered
+ * {@link MemoryConsumer}s to spill, if it still does not fit it is denied and
+ * the caller has to spill or shrink its buffer.
+ * <p>
+ * Queries are admitted only when a minimum of the budget is free, otherwise
+ * they wait till running queries release memory. Budget is accounting of
+ * the estimated size of buffers, not a limit enforced on the heap.
+ */
+public final class ExecutorMemoryManager {
+    /**
+     * constant for converting MB into bytes
+     */
+    private static final int BYTE_CONVERSION_CONSTANT = 1024 * 1024;
+
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(ExecutorMemoryManager.class.getName());
+
+    /**
+     * instance
+     */
+    private static final ExecutorMemoryManager INSTANCE = createInstance();
+
+    /**
+     * budget in bytes
+     */
+    private final long budget;
+
+    /**
+     * free memory in bytes needed to admit a query
+     */
+    private final long admissionMinMemory;
+
+    /**
+     * max time in milli seconds a query waits for admission
+     */
+    private final long admissionTimeout;
+
+    /**
+     * reservation of each owner
+     */
+    private final Map<String, Reservation> reservations;
+
+    /**
+     * consumers which can be asked to spill
+     */
+    private final List<MemoryConsumer> consumers;
+
+    /**
+     * number of reservations denied
+     */
+    private final Counter deniedCounter = MetricsRegistry.getInstance().counter(
+            "memory.reservations.denied");
+
+    /**
+     * total reserved memory in bytes
+     */
+    private long reservedMemory;
+
+    /**
+     * number of queries admitted and not finished
+     */
+    private int activeQueries;
+
+    /**
+     * number of queries waiting for admission
+     */
+    private int queuedQueries;
+
+    ExecutorMemoryManager(long budget, long admissionMinMemory, long admissionTimeout) {
+        this.budget = budget;
+        this.admissionMinMemory = admissionMinMemory;
+        this.admissionTimeout = admissionTimeout;
+        this.reservations =
+                new HashMap<String, Reservation>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        this.consumers = new CopyOnWriteArrayList<MemoryConsumer>();
+    }
+
+    private static ExecutorMemoryManager createInstance() {
+        CarbonProperties properties = CarbonProperties.getInstance();
+        long budget = parseLong(properties, CarbonCommonConstants.CARBON_EXECUTOR_MEMORY_BUDGET,
+                CarbonCommonConstants.CARBON_EXECUTOR_MEMORY_BUDGET_DEFAULT)
+                * BYTE_CONVERSION_CONSTANT;
+        if (budget <= 0) {
+            double fraction;
+            try {
+                fraction = Double.parseDouble(properties
+                        .getProperty(CarbonCommonConstants.CARBON_EXECUTOR_MEMORY_FRACTION,
+                                CarbonCommonConstants.CARBON_EXECUTOR_MEMORY_FRACTION_DEFAULT));
+            } catch (NumberFormatException e) {
+                fraction = Double.parseDouble(
+                        CarbonCommonConstants.CARBON_EXECUTOR_MEMORY_FRACTION_DEFAULT);
+            }
+            budget = (long) (Runtime.getRuntime().maxMemory() * fraction);
+        }
+        long admissionMinMemory =
+                parseLong(properties, CarbonCommonConstants.CARBON_QUERY_ADMISSION_MIN_MEMORY,
+                        CarbonCommonConstants.CARBON_QUERY_ADMISSION_MIN_MEMORY_DEFAULT)
+                        * BYTE_CONVERSION_CONSTANT;
+        long admissionTimeout =
+                parseLong(properties, CarbonCommonConstants.CARBON_QUERY_ADMISSION_TIMEOUT,
+                        CarbonCommonConstants.CARBON_QUERY_ADMISSION_TIMEOUT_DEFAULT);
+        LOGGER.info(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                "Executor memory budget is " + budget / BYTE_CONVERSION_CONSTANT + " MB");
+        ExecutorMemoryManager memoryManager =
+                new ExecutorMemoryManager(budget, admissionMinMemory, admissionTimeout);
+        memoryManager.registerGauges();
+        return memoryManager;
+    }
+
+    private static long parseLong(CarbonProperties properties, String key, String defaultValue) {
+        try {
+            return Long.parseLong(properties.getProperty(key, defaultValue));
+        } catch (NumberFormatException e) {
+            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                    "Invalid value for " + key + ", using default value " + defaultValue);
+            return Long.parseLong(defaultValue);
+        }
+    }
+
+    /**
+     * Below method will be used to expose the budget usage through metrics
+     * registry
+     */
+    private void registerGauges() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.registerGauge("memory.budget", new Gauge() {
+            @Override
+            public long getValue() {
+                return budget;
+            }
+        });
+        registry.registerGauge("memory.reserved", new Gauge() {
+            @Override
+            public long getValue() {
+                return getReservedMemory();
+            }
+        });
+        registry.registerGauge("memory.queries.active", new Gauge() {
+            @Override
+            public long getValue() {
+                return getActiveQueries();
+            }
+        });
+        registry.registerGauge("memory.queries.queued", new Gauge() {
+            @Override
+            public long getValue() {
+                return getQueuedQueries();
+            }
+        });
+    }
+
+    /**
+     * @return instance
+     */
+    public static ExecutorMemoryManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Below method will be used to register a consumer which is asked to
+     * spill when memory is not sufficient
+     *
+     * @param consumer consumer
+     */
+    public void registerConsumer(MemoryConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    /**
+     * Below method will be used to reserve memory. If memory is not free,
+     * consumers of other owners are asked to spill first.
+     *
+     * @param owner owner of the memory
+     * @param type  what the memory is used for
+     * @param size  number of bytes
+     * @return true if memory is reserved, false if caller has to spill or
+     * shrink its buffer
+     */
+    public boolean tryReserve(String owner, MemoryType type, long size) {
+        if (reserveIfFree(owner, type, size)) {
+            return true;
+        }
+        spillConsumers(owner, size - getFreeMemory());
+        if (reserveIfFree(owner, type, size)) {
+            return true;
+        }
+        deniedCounter.inc();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                    "Denied " + size + " bytes of " + type.getName() + " to " + owner
+                            + ", reserved " + getReservedMemory() + " of " + budget);
+        }
+        return false;
+    }
+
+    /**
+     * Below method will be used to reserve memory even if budget is exceeded,
+     * used for memory which can not be spilled so that it is still accounted
+     *
+     * @param owner owner of the memory
+     * @param type  what the memory is used for
+     * @param size  number of bytes
+     */
+    public synchronized void forceReserve(String owner, MemoryType type, long size) {
+        reserve(owner, type, size);
+    }
+
+    private synchronized boolean reserveIfFree(String owner, MemoryType type, long size) {
+        if (reservedMemory + size > budget) {
+            return false;
+        }
+        reserve(owner, type, size);
+        return true;
+    }
+
+    private void reserve(String owner, MemoryType type, long size) {
+        Reservation reservation = reservations.get(owner);
+        if (null == reservation) {
+            reservation = new Reservation();
+            reservations.put(owner, reservation);
+        }
+        reservation.add(type, size);
+        reservedMemory += size;
+    }
+
+    /**
+     * Below method will be used to release memory of an owner
+     *
+     * @param owner owner of the memory
+     * @param type  what the memory was used for
+     * @param size  number of bytes, at most the reserved bytes are released
+     */
+    public synchronized void release(String owner, MemoryType type, long size) {
+        Reservation reservation = reservations.get(owner);
+        if (null == reservation) {
+            return;
+        }
+        reservedMemory -= reservation.release(type, size);
+        if (reservation.isEmpty()) {
+            reservations.remove(owner);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Below method will be used to release all the memory of an owner
+     *
+     * @param owner owner of the memory
+     * @return number of bytes released
+     */
+    public synchronized long releaseAll(String owner) {
+        Reservation reservation = reservations.get(owner);
+        if (null == reservation) {
+            return 0;
+        }
+        long released = reservation.total;
+        for (MemoryType type : MemoryType.values()) {
+            reservation.release(type, Long.MAX_VALUE);
+        }
+        reservedMemory -= released;
+        if (reservation.isEmpty()) {
+            reservations.remove(owner);
+        }
+        notifyAll();
+        return released;
+    }
+
+    private void spillConsumers(String owner, long size) {
+        long released = 0;
+        for (MemoryConsumer consumer : consumers) {
+            if (released >= size) {
+                break;
+            }
+            if (!consumer.getOwner().equals(owner)) {
+                released += consumer.spill(size - released);
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to admit a query. Query waits while other
+     * queries are running and free memory is less than the admission
+     * minimum. A query running on more than one partition of the executor is
+     * admitted once per partition and has to be finished as many times,
+     * partitions of a query which is already admitted do not wait, as the
+     * memory they would wait for can be held by the query itself.
+     *
+     * @param queryId query id
+     * @return true if query is admitted, false if it waited longer than the
+     * admission timeout or was interrupted
+     */
+    public boolean admitQuery(String queryId) {
+        spillConsumers(queryId, admissionMinMemory - getFreeMemory());
+        long deadline = System.currentTimeMillis() + admissionTimeout;
+        synchronized (this) {
+            queuedQueries++;
+            try {
+                while (activeQueries > 0 && !isActive(queryId)
+                        && budget - reservedMemory < admissionMinMemory) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                                "Query " + queryId + " is not admitted in " + admissionTimeout
+                                        + " ms, reserved memory " + reservedMemory + " of "
+                                        + budget + " by " + activeQueries + " queries");
+                        return false;
+                    }
+                    wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                queuedQueries--;
+            }
+            Reservation reservation = reservations.get(queryId);
+            if (null == reservation) {
+                reservation = new Reservation();
+                reservations.put(queryId, reservation);
+            }
+            if (reservation.activeTasks++ == 0) {
+                activeQueries++;
+            }
+            return true;
+        }
+    }
+
+    private boolean isActive(String queryId) {
+        Reservation reservation = reservations.get(queryId);
+        return null != reservation && reservation.activeTasks > 0;
+    }
+
+    /**
+     * Below method will be used to finish a query admitted by
+     * {@link #admitQuery(String)}, all memory of the query is released when
+     * it is finished on all its partitions
+     *
+     * @param queryId query id
+     * @return peak memory reserved by the query
+     */
+    public synchronized long finishQuery(String queryId) {
+        Reservation reservation = reservations.get(queryId);
+        if (null == reservation || reservation.activeTasks == 0) {
+            return 0;
+        }
+        long peak = reservation.peak;
+        if (--reservation.activeTasks == 0) {
+            activeQueries--;
+            LOGGER.info(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                    "Query " + queryId + " finished, memory " + reservation);
+            releaseAll(queryId);
+        }
+        return peak;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    public synchronized long getReservedMemory() {
+        return reservedMemory;
+    }
+
+    public synchronized long getFreeMemory() {
+        return budget - reservedMemory;
+    }
+
+    /**
+     * @param owner owner of the memory
+     * @return bytes currently reserved by the owner
+     */
+    public synchronized long getReservedMemory(String owner) {
+        Reservation reservation = reservations.get(owner);
+        return null != reservation ? reservation.total : 0;
+    }
+
+    /**
+     * @param owner owner of the memory
+     * @return max bytes reserved by the owner at any time
+     */
+    public synchronized long getPeakReservedMemory(String owner) {
+        Reservation reservation = reservations.get(owner);
+        return null != reservation ? reservation.peak : 0;
+    }
+
+    /**
+     * @return bytes currently reserved by each owner, sorted by owner
+     */
+    public synchronized SortedMap<String, Long> getReservations() {
+        SortedMap<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<String, Reservation> entry : reservations.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().total);
+        }
+        return result;
+    }
+
+    /**
+     * @param owner owner of the memory
+     * @return bytes reserved by owner for each memory type and peak
+     */
+    public synchronized String getReservationReport(String owner) {
+        Reservation reservation = reservations.get(owner);
+        return null != reservation ? reservation.toString() : "";
+    }
+
+    public synchronized int getActiveQueries() {
+        return activeQueries;
+    }
+
+    public synchronized int getQueuedQueries() {
+        return queuedQueries;
+    }
+
+    /**
+     * Memory reserved by one owner
+     */
+    private static final class Reservation {
+        /**
+         * reserved bytes of each memory type
+         */
+        private long[] reserved = new long[MemoryType.values().length];
+
+        private long total;
+
+        private long peak;
+
+        /**
+         * number of admitted and not finished partitions of a query
+         */
+        private int activeTasks;
+
+        private void add(MemoryType type, long size) {
+            reserved[type.ordinal()] += size;
+            total += size;
+            peak = Math.max(peak, total);
+        }
+
+        /**
+         * @return number of bytes released
+         */
+        private long release(MemoryType type, long size) {
+            long released = Math.min(size, reserved[type.ordinal()]);
+            reserved[type.ordinal()] -= released;
+            total -= released;
+            return released;
+        }
+
+        private boolean isEmpty() {
+            return total == 0 && activeTasks == 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (MemoryType type : MemoryType.values()) {
+                builder.append(type.getName()).append('=').append(reserved[type.ordinal()])
+                        .append(", ");
+            }
+            return builder.append("peak=").append(peak).toString();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.memory;
+
+/**
+ * Holder of reserved memory which can give back memory on request of
+ * {@link ExecutorMemoryManager}, for example a cache which evicts entries.
+ * Consumers are asked to spill when a reservation can not be served from
+ * the free budget.
+ */
+public interface MemoryConsumer {
+    /**
+     * @return owner under which the consumer reserves memory
+     */
+    String getOwner();
+
+    /**
+     * Below method will be used to release memory held by the consumer. The
+     * consumer releases the freed memory from the memory manager itself.
+     *
+     * @param size number of bytes requested
+     * @return number of bytes released
+     */
+    long spill(long size);
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.memory;
+
+/**
+ * Kind of memory reserved from {@link ExecutorMemoryManager}, used to report
+ * what the reserved memory of an owner is held for
+ */
+public enum MemoryType {
+    /**
+     * aggregated rows of a query kept in memory before they are merged
+     */
+    AGGREGATION_TABLE("aggregationTable"),
+    /**
+     * rows of a detail query kept in memory before they are merged or
+     * written to spill files
+     */
+    RESULT_BUFFER("resultBuffer"),
+    /**
+     * rows of data load buffered for sorting before written to sort temp
+     * files
+     */
+    SORT_BUFFER("sortBuffer"),
+    /**
+     * data kept in memory by caches across queries
+     */
+    CACHE("cache"),
+    /**
+     * column chunks read in advance of the scan which are not yet used
+     */
+    PREFETCH_BUFFER("prefetchBuffer");
+
+    private String name;
+
+    MemoryType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
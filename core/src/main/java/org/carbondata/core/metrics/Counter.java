@@ -17,29 +17,34 @@
  * under the License.
  */
 
-package org.carbondata.processing.globalsurrogategenerator;
+package org.carbondata.core.metrics;
 
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class PartitionMemberVo {
-    private String path;
-
-    private Map<String, Integer> membersMap;
-
-    public String getPath() {
-        return path;
-    }
-
-    public void setPath(String path) {
-        this.path = path;
+/**
+ * Monotonic counter, safe for concurrent update
+ */
+public class Counter {
+    /**
+     * count
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * increment by one
+     */
+    public void inc() {
+        count.incrementAndGet();
     }
 
-    public Map<String, Integer> getMembersMap() {
-        return membersMap;
+    /**
+     * @param value value to add
+     */
+    public void add(long value) {
+        count.addAndGet(value);
     }
 
-    public void setMembersMap(Map<String, Integer> membersMap) {
-        this.membersMap = membersMap;
+    public long getCount() {
+        return count.get();
     }
-
 }
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nano seconds. Values are counted in log linear
+ * buckets like HdrHistogram: every power of two range is split in
+ * {@link #SUB_BUCKET_COUNT} equal buckets, so recorded values keep about 3%
+ * precision over the whole long range with a fixed number of buckets.
+ * Recording is lock free and does not allocate.
+ */
+public class LatencyHistogram {
+    /**
+     * number of buckets in each power of two range
+     */
+    private static final int SUB_BUCKET_COUNT = 32;
+
+    /**
+     * values below this are counted in their own bucket
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+
+    /**
+     * log2 of SUB_BUCKET_COUNT
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * number of buckets needed to hold Long.MAX_VALUE
+     */
+    private static final int BUCKET_COUNT = getBucketIndex(Long.MAX_VALUE) + 1;
+
+    /**
+     * count of values per bucket
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * number of values recorded
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * sum of values recorded
+     */
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * max value recorded
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value value to find the bucket
+     * @return index of bucket
+     */
+    static int getBucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @param index index of bucket
+     * @return highest value which is counted in the bucket
+     */
+    static long getBucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+
+    /**
+     * Below method will be used to record one value
+     *
+     * @param value value in nano seconds, negative values are counted as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(getBucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Below method will be used to record the time elapsed from start
+     *
+     * @param startNanos start time taken from {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return mean of recorded values, 0 if nothing is recorded
+     */
+    public long getMean() {
+        long currentCount = count.get();
+        return currentCount == 0 ? 0 : sum.get() / currentCount;
+    }
+
+    /**
+     * Below method will be used to get the value at the given percentile. The
+     * value returned is the upper bound of the bucket, so it is never lower
+     * than the actual value.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return value at percentile, 0 if nothing is recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long totalCount = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            totalCount += counts[i];
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long currentCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            currentCount += counts[i];
+            if (currentCount >= target) {
+                return Math.min(getBucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+}
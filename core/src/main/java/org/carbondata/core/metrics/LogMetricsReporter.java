@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.metrics;
+
+import java.util.Map.Entry;
+import java.util.SortedMap;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+
+/**
+ * Reporter which writes all the metrics to the log
+ */
+public class LogMetricsReporter implements MetricsReporter {
+
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(LogMetricsReporter.class.getName());
+
+    @Override
+    public void report(SortedMap<String, Long> metrics) {
+        StringBuilder builder = new StringBuilder("Carbon metrics:");
+        for (Entry<String, Long> entry : metrics.entrySet()) {
+            builder.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        LOGGER.info(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, builder.toString());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Exposes every metric of the registry as a read only attribute of one MBean.
+ * Attributes are read from the registry on every request, so metrics added
+ * after registration are visible as well.
+ */
+class MetricsDynamicMBean implements DynamicMBean {
+    /**
+     * registry
+     */
+    private final MetricsRegistry registry;
+
+    MetricsDynamicMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = registry.snapshot().get(attribute);
+        if (null == value) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        SortedMap<String, Long> metrics = registry.snapshot();
+        AttributeList attributeList = new AttributeList();
+        for (String attribute : attributes) {
+            Long value = metrics.get(attribute);
+            if (null != value) {
+                attributeList.add(new Attribute(attribute, value));
+            }
+        }
+        return attributeList;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature)
+            throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        SortedMap<String, Long> metrics = registry.snapshot();
+        MBeanAttributeInfo[] attributeInfos = new MBeanAttributeInfo[metrics.size()];
+        int index = 0;
+        for (Map.Entry<String, Long> entry : metrics.entrySet()) {
+            attributeInfos[index++] =
+                    new MBeanAttributeInfo(entry.getKey(), Long.class.getName(), entry.getKey(),
+                            true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "Carbon metrics", attributeInfos, null, null,
+                null);
+    }
+}
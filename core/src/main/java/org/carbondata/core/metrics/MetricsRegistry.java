@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+import org.carbondata.core.util.CarbonProperties;
+
+/**
+ * In process registry of load and query metrics. Metrics are created on
+ * first use by name and live as long as the process. All metrics are exposed
+ * through JMX as attributes of {@link #OBJECT_NAME} and can be handed over
+ * periodically to a configured {@link MetricsReporter}.
+ * <p>
+ * When metrics are disabled the registry hands out metrics which ignore all
+ * updates, so callers need not check.
+ */
+public final class MetricsRegistry {
+    /**
+     * object name under which metrics are registered in platform MBean server
+     */
+    public static final String OBJECT_NAME = "org.carbondata:type=Metrics";
+
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(MetricsRegistry.class.getName());
+
+    /**
+     * instance
+     */
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    /**
+     * counter returned when metrics are disabled
+     */
+    private static final Counter NOOP_COUNTER = new Counter() {
+        @Override
+        public void inc() {
+        }
+
+        @Override
+        public void add(long value) {
+        }
+    };
+
+    /**
+     * histogram returned when metrics are disabled
+     */
+    private static final LatencyHistogram NOOP_HISTOGRAM = new LatencyHistogram() {
+        @Override
+        public void record(long value) {
+        }
+    };
+
+    /**
+     * nano seconds in one micro second, histograms are reported in micro seconds
+     */
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    /**
+     * counters
+     */
+    private final ConcurrentHashMap<String, Counter> counters =
+            new ConcurrentHashMap<String, Counter>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+
+    /**
+     * gauges
+     */
+    private final ConcurrentHashMap<String, Gauge> gauges =
+            new ConcurrentHashMap<String, Gauge>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+
+    /**
+     * histograms
+     */
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms =
+            new ConcurrentHashMap<String, LatencyHistogram>(
+                    CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+
+    /**
+     * whether metrics are recorded
+     */
+    private final boolean enabled;
+
+    private MetricsRegistry() {
+        CarbonProperties properties = CarbonProperties.getInstance();
+        enabled = Boolean.parseBoolean(properties
+                .getProperty(CarbonCommonConstants.CARBON_METRICS_ENABLED,
+                        CarbonCommonConstants.CARBON_METRICS_ENABLED_DEFAULT));
+        if (!enabled) {
+            return;
+        }
+        if (Boolean.parseBoolean(properties
+                .getProperty(CarbonCommonConstants.CARBON_METRICS_JMX_ENABLED,
+                        CarbonCommonConstants.CARBON_METRICS_JMX_ENABLED_DEFAULT))) {
+            registerMBean();
+        }
+        String reporterClass = properties.getProperty(CarbonCommonConstants.CARBON_METRICS_REPORTER,
+                CarbonCommonConstants.CARBON_METRICS_REPORTER_DEFAULT).trim();
+        if (reporterClass.length() > 0) {
+            startReporter(reporterClass, properties
+                    .getProperty(CarbonCommonConstants.CARBON_METRICS_REPORT_INTERVAL,
+                            CarbonCommonConstants.CARBON_METRICS_REPORT_INTERVAL_DEFAULT));
+        }
+    }
+
+    /**
+     * @return instance
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param name name of counter
+     * @return counter, created if not present
+     */
+    public Counter counter(String name) {
+        if (!enabled) {
+            return NOOP_COUNTER;
+        }
+        Counter counter = counters.get(name);
+        if (null == counter) {
+            counter = new Counter();
+            Counter existing = counters.putIfAbsent(name, counter);
+            if (null != existing) {
+                counter = existing;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * @param name name of histogram
+     * @return histogram, created if not present
+     */
+    public LatencyHistogram histogram(String name) {
+        if (!enabled) {
+            return NOOP_HISTOGRAM;
+        }
+        LatencyHistogram histogram = histograms.get(name);
+        if (null == histogram) {
+            histogram = new LatencyHistogram();
+            LatencyHistogram existing = histograms.putIfAbsent(name, histogram);
+            if (null != existing) {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Below method will be used to register a gauge, gauge already registered
+     * with same name is replaced
+     *
+     * @param name  name of gauge
+     * @param gauge gauge
+     */
+    public void registerGauge(String name, Gauge gauge) {
+        if (enabled) {
+            gauges.put(name, gauge);
+        }
+    }
+
+    /**
+     * Below method will be used to get the current value of all the metrics.
+     * Histograms are flattened to name.count, name.mean, name.p50, name.p95,
+     * name.p99 and name.max, times in micro seconds.
+     *
+     * @return metric name and value sorted by name
+     */
+    public SortedMap<String, Long> snapshot() {
+        SortedMap<String, Long> metrics = new TreeMap<String, Long>();
+        for (Entry<String, Counter> entry : counters.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().getCount());
+        }
+        for (Entry<String, Gauge> entry : gauges.entrySet()) {
+            try {
+                metrics.put(entry.getKey(), entry.getValue().getValue());
+            } catch (RuntimeException e) {
+                LOGGER.debug(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                        "Problem while reading gauge " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        for (Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            String name = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            metrics.put(name + ".count", histogram.getCount());
+            metrics.put(name + ".mean", histogram.getMean() / NANOS_PER_MICRO);
+            metrics.put(name + ".p50", histogram.getValueAtPercentile(50) / NANOS_PER_MICRO);
+            metrics.put(name + ".p95", histogram.getValueAtPercentile(95) / NANOS_PER_MICRO);
+            metrics.put(name + ".p99", histogram.getValueAtPercentile(99) / NANOS_PER_MICRO);
+            metrics.put(name + ".max", histogram.getMax() / NANOS_PER_MICRO);
+        }
+        return metrics;
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(new MetricsDynamicMBean(this), objectName);
+            }
+        } catch (JMException e) {
+            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e,
+                    "Problem while registering metrics MBean");
+        }
+    }
+
+    private void startReporter(String reporterClass, String interval) {
+        final MetricsReporter reporter;
+        long intervalSeconds;
+        try {
+            reporter = (MetricsReporter) Class.forName(reporterClass).newInstance();
+            intervalSeconds = Long.parseLong(interval);
+        } catch (Exception e) {
+            LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e,
+                    "Problem while creating metrics reporter " + reporterClass);
+            return;
+        }
+        if (intervalSeconds <= 0) {
+            intervalSeconds = Long.parseLong(
+                    CarbonCommonConstants.CARBON_METRICS_REPORT_INTERVAL_DEFAULT);
+        }
+        ScheduledExecutorService reporterService =
+                Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "CarbonMetricsReporter");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        reporterService.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    reporter.report(snapshot());
+                } catch (RuntimeException e) {
+                    LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e,
+                            "Problem while reporting metrics");
+                }
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+}
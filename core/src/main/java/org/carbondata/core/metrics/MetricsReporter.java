@@ -17,22 +17,19 @@
  * under the License.
  */
 
-package org.carbondata.processing.globalsurrogategenerator;
+package org.carbondata.core.metrics;
 
-import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.SortedMap;
 
-import org.carbondata.core.datastorage.store.filesystem.CarbonFile;
-
-public class ReaderThread implements Callable<Map<String, Integer>> {
-    CarbonFile file;
-
-    public ReaderThread(CarbonFile file) {
-        this.file = file;
-    }
-
-    @Override
-    public Map<String, Integer> call() throws Exception {
-        return LevelGlobalSurrogateGeneratorThread.readLevelFileAndUpdateCache(file);
-    }
+/**
+ * Reporter to which snapshot of all the metrics is handed over periodically.
+ * Implementation is configured using carbon.metrics.reporter.class and must
+ * have a public no argument constructor.
+ */
+public interface MetricsReporter {
+    /**
+     * @param metrics metric name and its current value, histograms are
+     *                flattened to count, mean, percentiles and max
+     */
+    void report(SortedMap<String, Long> metrics);
 }
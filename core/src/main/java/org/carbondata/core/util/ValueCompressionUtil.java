@@ -29,6 +29,7 @@ import java.util.Arrays;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.compression.AdaptiveMeasureCodec;
 import org.carbondata.core.datastorage.store.compression.MeasureMetaDataModel;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.compression.ValueCompressonHolder;
@@ -37,6 +38,18 @@ import org.carbondata.core.datastorage.store.impl.FileFactory;
 
 public final class ValueCompressionUtil {
 
+    /**
+     * measure encoding in measure metadata file, measure is compressed based
+     * on max, min and decimal of the load
+     */
+    public static final byte MEASURE_ENCODING_DEFAULT = 0;
+
+    /**
+     * measure encoding in measure metadata file, measure is encoded per leaf
+     * node by AdaptiveMeasureCodec
+     */
+    public static final byte MEASURE_ENCODING_ADAPTIVE = 1;
+
     /**
      * Attribute for Carbon LOGGER
      */
@@ -204,6 +217,10 @@ public final class ValueCompressionUtil {
             o = compressNonDecimal(changedDataType, values, decimal);
             return o;
 
+        case ADAPTIVE:
+
+            return AdaptiveMeasureCodec.encode(values, decimal);
+
         default:
             o = compressNonDecimalMaxMin(changedDataType, values, decimal, maxValue);
             return o;
@@ -212,8 +229,9 @@ public final class ValueCompressionUtil {
 
     public static Object getCompressedValues(COMPRESSION_TYPE compType, long[] values,
             DataType changedDataType, long maxValue, int decimal) {
-        Object o;
         switch (compType) {
+        case ADAPTIVE:
+            return AdaptiveMeasureCodec.encode(values);
         case NONE:
         default:
             return values;
@@ -252,6 +270,10 @@ public final class ValueCompressionUtil {
                         new UnCompressByteArray(UnCompressByteArray.ByteArrayType.BIG_DECIMAL);
                 break;
 
+            case ADAPTIVE:
+                compressValue[i] = new UnCompressAdaptive(actualDataType[i]);
+                break;
+
             default:
                 compressValue[i] = unCompressNonDecimalMaxMin(changedDataType[i], null);
             }
@@ -697,6 +719,7 @@ public final class ValueCompressionUtil {
         char[] aggType = new char[measureCount];
         byte[] dataTypeSelected = new byte[measureCount];
         Object[] minValueFactForAgg = new Object[measureCount];
+        byte[] measureEncoding = null;
         Arrays.fill(dataTypeSelected, (byte) 1);
         Arrays.fill(aggType, 'n');
         int currentIndex = 0;
@@ -752,16 +775,24 @@ public final class ValueCompressionUtil {
             }
         }
 
-        if (allocate.hasRemaining()) {
+        // min value of fact is present only for aggregate tables
+        int minValueFactSize = aggType.length * CarbonCommonConstants.DOUBLE_SIZE_IN_BYTE;
+        if (allocate.hasRemaining() && allocate.remaining() >= minValueFactSize) {
             currentIndex = 0;
             for (int i = 0; i < aggType.length; i++) {
                 minValueFactForAgg[currentIndex++] = allocate.getDouble();
             }
         }
+        // encoding of each measure, present only if adaptive encoding is enabled
+        if (allocate.hasRemaining()) {
+            measureEncoding = new byte[measureCount];
+            allocate.get(measureEncoding);
+        }
         MeasureMetaDataModel measureMetaDataModel =
                 new MeasureMetaDataModel(minValue, maxValue, decimalLength, measureCount,
                         uniqueValue, aggType, dataTypeSelected);
         measureMetaDataModel.setMinValueFactForAgg(minValueFactForAgg);
+        measureMetaDataModel.setMeasureEncoding(measureEncoding);
         return measureMetaDataModel;
 
     }
@@ -789,6 +820,7 @@ public final class ValueCompressionUtil {
         int[] decimal = measureMDMdl.getDecimal();
         char[] type = measureMDMdl.getType();
         byte[] dataTypeSelected = measureMDMdl.getDataTypeSelected();
+        byte[] measureEncoding = measureMDMdl.getMeasureEncoding();
         ValueCompressionModel compressionModel = new ValueCompressionModel();
         DataType[] actualType = new DataType[measureCount];
         DataType[] changedType = new DataType[measureCount];
@@ -800,6 +832,11 @@ public final class ValueCompressionUtil {
             actualType[i] = compresssionFinder.actualDataType;
             changedType[i] = compresssionFinder.changedDataType;
             compType[i] = compresssionFinder.compType;
+            if (null != measureEncoding && measureEncoding[i] == MEASURE_ENCODING_ADAPTIVE
+                    && type[i] != CarbonCommonConstants.BYTE_VALUE_MEASURE
+                    && type[i] != CarbonCommonConstants.BIG_DECIMAL_MEASURE) {
+                compType[i] = COMPRESSION_TYPE.ADAPTIVE;
+            }
         }
         compressionModel.setMaxValue(maxValue);
         compressionModel.setDecimal(decimal);
@@ -819,6 +856,59 @@ public final class ValueCompressionUtil {
         return compressionModel;
     }
 
+    /**
+     * Below method will be used to check whether measure data compressed with
+     * source model can be read back with target model without decoding. This
+     * is possible when for each measure type, compression and data types and
+     * decimal are same, source range is within target range, max value is same
+     * when compression is based on max and null value is written same way
+     *
+     * @param target compression model used to read the data
+     * @param source compression model used to write the data
+     * @return true if data written with source model can be read with target
+     */
+    public static boolean isCompatibleCompressionModel(ValueCompressionModel target,
+            ValueCompressionModel source) {
+        if (!Arrays.equals(target.getType(), source.getType()) || !Arrays
+                .equals(target.getCompType(), source.getCompType()) || !Arrays
+                .equals(target.getChangedDataType(), source.getChangedDataType()) || !Arrays
+                .equals(target.getActualDataType(), source.getActualDataType()) || !Arrays
+                .equals(target.getDecimal(), source.getDecimal())) {
+            return false;
+        }
+        char[] type = target.getType();
+        for (int i = 0; i < type.length; i++) {
+            // custom and big decimal measures are written as byte arrays
+            if (type[i] == CarbonCommonConstants.BYTE_VALUE_MEASURE
+                    || type[i] == CarbonCommonConstants.BIG_DECIMAL_MEASURE) {
+                continue;
+            }
+            COMPRESSION_TYPE compType = target.getCompType()[i];
+            if ((compType == COMPRESSION_TYPE.MAX_MIN || compType == COMPRESSION_TYPE.MAX_MIN_NDC)
+                    && compare(target.getMaxValue()[i], source.getMaxValue()[i]) != 0) {
+                return false;
+            }
+            if (compare(source.getMinValue()[i], target.getMinValue()[i]) < 0
+                    || compare(source.getMaxValue()[i], target.getMaxValue()[i]) > 0
+                    || compare(source.getUniqueValue()[i], target.getUniqueValue()[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * compare two measure values of same measure
+     */
+    private static int compare(Object first, Object second) {
+        if (first instanceof Long && second instanceof Long) {
+            return ((Long) first).compareTo((Long) second);
+        } else if (first instanceof BigDecimal && second instanceof BigDecimal) {
+            return ((BigDecimal) first).compareTo((BigDecimal) second);
+        }
+        return Double.compare(((Number) first).doubleValue(), ((Number) second).doubleValue());
+    }
+
     public static byte[] convertToBytes(short[] values) {
         ByteBuffer buffer = ByteBuffer.allocate(values.length * 2);
         for (short val : values) {
@@ -930,7 +1020,12 @@ public final class ValueCompressionUtil {
          */
         CUSTOM,
 
-        CUSTOM_BIGDECIMAL
+        CUSTOM_BIGDECIMAL,
+
+        /**
+         * encoding chosen per leaf node
+         */
+        ADAPTIVE
     }
 
     /**
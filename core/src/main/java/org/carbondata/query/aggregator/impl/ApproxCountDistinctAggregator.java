@@ -0,0 +1,507 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.aggregator.impl;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.util.CarbonEngineLogEvent;
+
+/**
+ * Approximate distinct count aggregator based on a hyperloglog sketch. Each
+ * value is hashed to 64 bits, first precision bits of the hash select a
+ * register and the register keeps the maximum position of the leftmost one
+ * bit in the remaining bits. Memory is fixed to 2^precision bytes whatever
+ * the cardinality is, and two sketches are merged by taking the maximum of
+ * each register, so sketches stored in aggregate tables can be rolled up and
+ * still give the estimate of the union.
+ * Small cardinalities are estimated with linear counting and written in a
+ * sparse format, so a group with few values does not store all the
+ * registers.
+ * Ex:
+ * ID NAME Sales
+ * <p>1 a 200
+ * <p>2 a 100
+ * <p>3 a 200
+ * select approx_count_distinct(sales) # would result 2 (approximately)
+ */
+public class ApproxCountDistinctAggregator implements MeasureAggregator {
+
+    /**
+     * min precision
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * max precision
+     */
+    public static final int MAX_PRECISION = 18;
+
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(ApproxCountDistinctAggregator.class.getName());
+
+    /**
+     * serialVersionUID
+     */
+    private static final long serialVersionUID = -4630712542373489862L;
+
+    /**
+     * registers are written as is
+     */
+    private static final byte DENSE_FORMAT = 0;
+
+    /**
+     * only non zero registers are written as index and value
+     */
+    private static final byte SPARSE_FORMAT = 1;
+
+    /**
+     * computed value is written instead of the sketch
+     */
+    private static final byte FIXED_VALUE_FORMAT = 2;
+
+    /**
+     * added to the bits of a value before hashing so that 0 is not hashed to 0
+     */
+    private static final long HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * configured precision
+     */
+    private static final int CONFIGURED_PRECISION = readPrecision();
+
+    /**
+     * For Spark CARBON to avoid heavy object transfer it better to flatten the
+     * Aggregators. There is no aggregation expected after setting this value.
+     */
+    private transient Double computedFixedValue;
+
+    /**
+     * number of bits of hash used to select the register
+     */
+    private transient int precision;
+
+    /**
+     * registers, each one holds the max rank seen for it. Serialized in the
+     * sparse or dense format by writeObject.
+     */
+    private transient byte[] registers;
+
+    public ApproxCountDistinctAggregator() {
+        this(CONFIGURED_PRECISION);
+    }
+
+    public ApproxCountDistinctAggregator(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                    "Precision of approximate distinct count must be between " + MIN_PRECISION
+                            + " and " + MAX_PRECISION + ", but is " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private static int readPrecision() {
+        String property = CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.CARBON_APPROX_COUNT_DISTINCT_PRECISION,
+                        CarbonCommonConstants.CARBON_APPROX_COUNT_DISTINCT_PRECISION_DEFAULT);
+        try {
+            int configuredPrecision = Integer.parseInt(property);
+            if (configuredPrecision >= MIN_PRECISION && configuredPrecision <= MAX_PRECISION) {
+                return configuredPrecision;
+            }
+        } catch (NumberFormatException e) {
+            // default value will be used
+        }
+        LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                "Invalid approximate distinct count precision " + property
+                        + ", using the default value");
+        return Integer.parseInt(
+                CarbonCommonConstants.CARBON_APPROX_COUNT_DISTINCT_PRECISION_DEFAULT);
+    }
+
+    /**
+     * finalization step of murmur3, it spreads every input bit over the
+     * whole hash
+     */
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long hash(double value) {
+        // 0.0 and -0.0 are the same value
+        return mix(Double.doubleToLongBits(value + 0.0) + HASH_SEED);
+    }
+
+    private static long hash(byte[] value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length; i++) {
+            hash ^= value[i];
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash ^ value.length);
+    }
+
+    /**
+     * Below method will be used to update the register of the hash
+     *
+     * @param hash hash of the value
+     */
+    private void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        long remaining = hash << precision;
+        int rank = remaining == 0 ?
+                Long.SIZE - precision + 1 :
+                Long.numberOfLeadingZeros(remaining) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * just need to add the hash of the value to the sketch
+     */
+    @Override
+    public void agg(double newVal) {
+        addHash(hash(newVal));
+    }
+
+    /**
+     * Approximate distinct count Aggregate function which update the sketch,
+     * numbers are hashed on their double value and others on their bytes
+     *
+     * @param newVal new value
+     */
+    @Override
+    public void agg(Object newVal) {
+        if (newVal instanceof byte[]) {
+            addHash(hash((byte[]) newVal));
+        } else if (newVal instanceof Number) {
+            agg(((Number) newVal).doubleValue());
+        } else {
+            addHash(hash(newVal.toString().getBytes(Charset.forName("UTF-8"))));
+        }
+    }
+
+    @Override
+    public void agg(CarbonReadDataHolder newVal, int index) {
+        agg(newVal.getReadableDoubleValueByIndex(index));
+    }
+
+    /**
+     * Below method will be used to get the sketch byte array
+     */
+    @Override
+    public byte[] getByteArray() {
+        if (getNumberOfNonZeroRegisters() == 0) {
+            return new byte[0];
+        }
+        return toBytes();
+    }
+
+    private int getNumberOfNonZeroRegisters() {
+        int count = 0;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private byte[] toBytes() {
+        ByteBuffer buffer;
+        if (computedFixedValue != null) {
+            buffer = ByteBuffer.allocate(1 + 8);
+            buffer.put(FIXED_VALUE_FORMAT);
+            buffer.putDouble(computedFixedValue);
+            return buffer.array();
+        }
+        int nonZeroRegisters = getNumberOfNonZeroRegisters();
+        // each sparse entry takes 4 bytes, index in upper and value in lower byte
+        if (nonZeroRegisters * 4 + 4 < registers.length) {
+            buffer = ByteBuffer.allocate(2 + 4 + nonZeroRegisters * 4);
+            buffer.put(SPARSE_FORMAT);
+            buffer.put((byte) precision);
+            buffer.putInt(nonZeroRegisters);
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    buffer.putInt((i << 8) | registers[i]);
+                }
+            }
+        } else {
+            buffer = ByteBuffer.allocate(2 + registers.length);
+            buffer.put(DENSE_FORMAT);
+            buffer.put((byte) precision);
+            buffer.put(registers);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Below method will be used to merge the registers of other sketch. If
+     * the precision is different, the sketch with higher precision is folded
+     * to the lower precision, so the result has the lower precision.
+     *
+     * @param otherPrecision precision of other sketch
+     * @param otherRegisters registers of other sketch
+     */
+    private void merge(int otherPrecision, byte[] otherRegisters) {
+        if (otherPrecision > precision) {
+            otherRegisters = fold(otherRegisters, otherPrecision, precision);
+        } else if (otherPrecision < precision) {
+            registers = fold(registers, precision, otherPrecision);
+            precision = otherPrecision;
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (otherRegisters[i] > registers[i]) {
+                registers[i] = otherRegisters[i];
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to convert the registers to a lower
+     * precision. Bits of the index which are dropped become the leading bits
+     * of the remaining hash, so the rank is either the position of the first
+     * one bit in them or is increased by their number if all are zero.
+     */
+    private static byte[] fold(byte[] source, int sourcePrecision, int targetPrecision) {
+        int droppedBits = sourcePrecision - targetPrecision;
+        int droppedMask = (1 << droppedBits) - 1;
+        byte[] target = new byte[1 << targetPrecision];
+        for (int i = 0; i < source.length; i++) {
+            if (source[i] == 0) {
+                continue;
+            }
+            int dropped = i & droppedMask;
+            int rank = dropped == 0 ?
+                    droppedBits + source[i] :
+                    Integer.numberOfLeadingZeros(dropped) - (Integer.SIZE - droppedBits) + 1;
+            int targetIndex = i >>> droppedBits;
+            if (rank > target[targetIndex]) {
+                target[targetIndex] = (byte) rank;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * merge the sketch so that we get the approximate count of unique values
+     * of both
+     */
+    @Override
+    public void merge(MeasureAggregator aggregator) {
+        ApproxCountDistinctAggregator other = (ApproxCountDistinctAggregator) aggregator;
+        merge(other.precision, other.registers);
+    }
+
+    /**
+     * Below method will be used to get the estimate of the number of distinct
+     * values. Raw estimate is the harmonic mean of the registers, for small
+     * cardinalities where many registers are still zero linear counting is
+     * used as it is more accurate.
+     *
+     * @return estimate
+     */
+    public long estimate() {
+        int numberOfRegisters = registers.length;
+        double sum = 0;
+        int zeroRegisters = 0;
+        for (int i = 0; i < numberOfRegisters; i++) {
+            sum += 1.0 / (1L << registers[i]);
+            if (registers[i] == 0) {
+                zeroRegisters++;
+            }
+        }
+        double estimate = getAlpha(numberOfRegisters) * numberOfRegisters * numberOfRegisters / sum;
+        if (zeroRegisters > 0 && estimate <= 2.5 * numberOfRegisters) {
+            estimate = numberOfRegisters * Math.log((double) numberOfRegisters / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double getAlpha(int numberOfRegisters) {
+        switch (numberOfRegisters) {
+        case 16:
+            return 0.673;
+        case 32:
+            return 0.697;
+        case 64:
+            return 0.709;
+        default:
+            return 0.7213 / (1 + 1.079 / numberOfRegisters);
+        }
+    }
+
+    @Override
+    public Double getDoubleValue() {
+        if (computedFixedValue == null) {
+            return (double) estimate();
+        }
+        return computedFixedValue;
+    }
+
+    @Override
+    public Long getLongValue() {
+        if (computedFixedValue == null) {
+            return estimate();
+        }
+        return computedFixedValue.longValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimalValue() {
+        if (computedFixedValue == null) {
+            return new BigDecimal(estimate());
+        }
+        return new BigDecimal(computedFixedValue);
+    }
+
+    @Override
+    public Object getValueObject() {
+        return getLongValue();
+    }
+
+    @Override
+    public void setNewValue(Object newValue) {
+        computedFixedValue = (Double) newValue;
+    }
+
+    @Override
+    public boolean isFirstTime() {
+        return false;
+    }
+
+    @Override
+    public void writeData(DataOutput output) throws IOException {
+        output.write(toBytes());
+    }
+
+    @Override
+    public void readData(DataInput inPut) throws IOException {
+        byte format = inPut.readByte();
+        if (format == FIXED_VALUE_FORMAT) {
+            computedFixedValue = inPut.readDouble();
+            return;
+        }
+        computedFixedValue = null;
+        precision = inPut.readByte();
+        registers = new byte[1 << precision];
+        if (format == SPARSE_FORMAT) {
+            int nonZeroRegisters = inPut.readInt();
+            for (int i = 0; i < nonZeroRegisters; i++) {
+                int entry = inPut.readInt();
+                registers[entry >>> 8] = (byte) entry;
+            }
+        } else {
+            inPut.readFully(registers);
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        writeData(out);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException {
+        readData(in);
+    }
+
+    @Override
+    public MeasureAggregator getCopy() {
+        ApproxCountDistinctAggregator aggregator = new ApproxCountDistinctAggregator(precision);
+        aggregator.registers = registers.clone();
+        aggregator.computedFixedValue = computedFixedValue;
+        return aggregator;
+    }
+
+    @Override
+    public int compareTo(MeasureAggregator measureAggr) {
+        double compFixedVal = getDoubleValue();
+        double otherVal = measureAggr.getDoubleValue();
+        if (compFixedVal > otherVal) {
+            return 1;
+        }
+        if (compFixedVal < otherVal) {
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public MeasureAggregator get() {
+        return this;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public String toString() {
+        return getLongValue() + "";
+    }
+
+    /**
+     * merge the sketch written by getByteArray, used when the sketches of an
+     * aggregate table are rolled up
+     */
+    @Override
+    public void merge(byte[] value) {
+        if (0 == value.length) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        byte format = buffer.get();
+        if (format == FIXED_VALUE_FORMAT) {
+            return;
+        }
+        int otherPrecision = buffer.get();
+        byte[] otherRegisters = new byte[1 << otherPrecision];
+        if (format == SPARSE_FORMAT) {
+            int nonZeroRegisters = buffer.getInt();
+            for (int i = 0; i < nonZeroRegisters; i++) {
+                int entry = buffer.getInt();
+                otherRegisters[entry >>> 8] = (byte) entry;
+            }
+        } else {
+            buffer.get(otherRegisters);
+        }
+        merge(otherPrecision, otherRegisters);
+    }
+
+}
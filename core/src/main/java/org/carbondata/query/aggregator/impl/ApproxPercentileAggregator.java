@@ -0,0 +1,550 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.aggregator.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.util.CarbonEngineLogEvent;
+
+/**
+ * Approximate percentile aggregator based on a KLL quantile sketch. Values
+ * are kept in levels of compactors, a value in level h stands for 2^h values.
+ * When the sketch is full, the lowest level which is over its capacity is
+ * sorted and every other value of it, starting at a random offset, is moved
+ * to the next level. Capacity decreases geometrically towards the lower
+ * levels, so the memory is bounded by about 3 * accuracy values whatever the
+ * number of values is, and sketches of slices, partitions or aggregate table
+ * rows are merged by appending the levels and compacting again.
+ * Any quantile can be read from the sketch, value returned as the result of
+ * the aggregator is the one of the quantile set on it, median by default.
+ */
+public class ApproxPercentileAggregator implements MeasureAggregator {
+
+    /**
+     * min accuracy
+     */
+    public static final int MIN_ACCURACY = 8;
+
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(ApproxPercentileAggregator.class.getName());
+
+    /**
+     * serialVersionUID
+     */
+    private static final long serialVersionUID = 2830947145519380124L;
+
+    /**
+     * written instead of accuracy when the computed value is written
+     */
+    private static final int FIXED_VALUE_MARKER = -1;
+
+    /**
+     * capacity of a level is this factor times the capacity of the level
+     * above it
+     */
+    private static final double CAPACITY_FACTOR = 2.0 / 3.0;
+
+    /**
+     * median
+     */
+    private static final double DEFAULT_QUANTILE = 0.5;
+
+    /**
+     * configured accuracy
+     */
+    private static final int CONFIGURED_ACCURACY = readAccuracy();
+
+    /**
+     * For Spark CARBON to avoid heavy object transfer it better to flatten the
+     * Aggregators. There is no aggregation expected after setting this value.
+     */
+    private transient Double computedFixedValue;
+
+    /**
+     * capacity of the top level
+     */
+    private transient int accuracy;
+
+    /**
+     * levels of the sketch, level h holds values of weight 2^h
+     */
+    private transient List<Compactor> levels;
+
+    /**
+     * number of values held in all levels
+     */
+    private transient int retainedSize;
+
+    /**
+     * sum of capacities of all levels, sketch is compacted when it is reached
+     */
+    private transient int maxRetainedSize;
+
+    /**
+     * number of values aggregated
+     */
+    private transient long count;
+
+    private transient double min;
+
+    private transient double max;
+
+    /**
+     * quantile returned by getDoubleValue
+     */
+    private transient double quantile;
+
+    /**
+     * used to choose the offset of compaction
+     */
+    private transient Random random;
+
+    public ApproxPercentileAggregator() {
+        this(CONFIGURED_ACCURACY);
+    }
+
+    public ApproxPercentileAggregator(int accuracy) {
+        if (accuracy < MIN_ACCURACY) {
+            throw new IllegalArgumentException(
+                    "Accuracy of approximate percentile must be at least " + MIN_ACCURACY
+                            + ", but is " + accuracy);
+        }
+        initialize(accuracy);
+    }
+
+    private static int readAccuracy() {
+        String property = CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.CARBON_APPROX_PERCENTILE_ACCURACY,
+                        CarbonCommonConstants.CARBON_APPROX_PERCENTILE_ACCURACY_DEFAULT);
+        try {
+            int configuredAccuracy = Integer.parseInt(property);
+            if (configuredAccuracy >= MIN_ACCURACY) {
+                return configuredAccuracy;
+            }
+        } catch (NumberFormatException e) {
+            // default value will be used
+        }
+        LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                "Invalid approximate percentile accuracy " + property
+                        + ", using the default value");
+        return Integer.parseInt(CarbonCommonConstants.CARBON_APPROX_PERCENTILE_ACCURACY_DEFAULT);
+    }
+
+    private void initialize(int accuracyOfSketch) {
+        this.accuracy = accuracyOfSketch;
+        this.levels = new ArrayList<Compactor>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
+        this.retainedSize = 0;
+        this.count = 0;
+        this.min = Double.MAX_VALUE;
+        this.max = -Double.MAX_VALUE;
+        this.quantile = DEFAULT_QUANTILE;
+        this.random = new Random();
+        grow();
+    }
+
+    private int getCapacity(int level) {
+        int depth = levels.size() - level - 1;
+        return (int) Math.ceil(accuracy * Math.pow(CAPACITY_FACTOR, depth)) + 1;
+    }
+
+    private void grow() {
+        levels.add(new Compactor());
+        maxRetainedSize = 0;
+        for (int i = 0; i < levels.size(); i++) {
+            maxRetainedSize += getCapacity(i);
+        }
+    }
+
+    /**
+     * Below method will be used to compact the lowest level which is over
+     * its capacity into the next level
+     */
+    private void compress() {
+        for (int i = 0; i < levels.size(); i++) {
+            if (levels.get(i).size >= getCapacity(i)) {
+                if (i + 1 >= levels.size()) {
+                    grow();
+                }
+                levels.get(i).compactTo(levels.get(i + 1), random.nextBoolean());
+                break;
+            }
+        }
+        updateRetainedSize();
+    }
+
+    private void updateRetainedSize() {
+        retainedSize = 0;
+        for (int i = 0; i < levels.size(); i++) {
+            retainedSize += levels.get(i).size;
+        }
+    }
+
+    @Override
+    public void agg(double newVal) {
+        levels.get(0).add(newVal);
+        retainedSize++;
+        count++;
+        if (newVal < min) {
+            min = newVal;
+        }
+        if (newVal > max) {
+            max = newVal;
+        }
+        if (retainedSize >= maxRetainedSize) {
+            compress();
+        }
+    }
+
+    @Override
+    public void agg(Object newVal) {
+        if (newVal instanceof Number) {
+            agg(((Number) newVal).doubleValue());
+        } else {
+            agg(Double.parseDouble(newVal.toString()));
+        }
+    }
+
+    @Override
+    public void agg(CarbonReadDataHolder newVal, int index) {
+        agg(newVal.getReadableDoubleValueByIndex(index));
+    }
+
+    /**
+     * merge the sketch so that we get the quantiles of values of both
+     */
+    @Override
+    public void merge(MeasureAggregator aggregator) {
+        ApproxPercentileAggregator other = (ApproxPercentileAggregator) aggregator;
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.size() < other.levels.size()) {
+            grow();
+        }
+        for (int i = 0; i < other.levels.size(); i++) {
+            levels.get(i).addAll(other.levels.get(i));
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        updateRetainedSize();
+        while (retainedSize >= maxRetainedSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Below method will be used to get the approximate value of a quantile
+     *
+     * @param quantileToGet quantile between 0 and 1, 0.95 for 95th percentile
+     * @return value or null if no value is aggregated
+     */
+    public Double getQuantile(double quantileToGet) {
+        if (count == 0) {
+            return null;
+        }
+        if (quantileToGet <= 0) {
+            return min;
+        }
+        if (quantileToGet >= 1) {
+            return max;
+        }
+        double[] values = new double[retainedSize];
+        long[] weights = new long[retainedSize];
+        int position = 0;
+        long totalWeight = 0;
+        for (int i = 0; i < levels.size(); i++) {
+            Compactor level = levels.get(i);
+            for (int j = 0; j < level.size; j++) {
+                values[position] = level.values[j];
+                weights[position++] = 1L << i;
+            }
+            totalWeight += (long) level.size << i;
+        }
+        sortByValue(values, weights);
+        double rank = quantileToGet * totalWeight;
+        long cumulativeWeight = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulativeWeight += weights[i];
+            if (cumulativeWeight >= rank) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Below method will be used to sort the values and their weights in
+     * value order
+     */
+    private static void sortByValue(double[] values, long[] weights) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        final double[] unsorted = values.clone();
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                return Double.compare(unsorted[first], unsorted[second]);
+            }
+        });
+        long[] unsortedWeights = weights.clone();
+        for (int i = 0; i < order.length; i++) {
+            values[i] = unsorted[order[i]];
+            weights[i] = unsortedWeights[order[i]];
+        }
+    }
+
+    /**
+     * @param quantileToReturn quantile returned as the value of the aggregator
+     */
+    public void setQuantile(double quantileToReturn) {
+        this.quantile = quantileToReturn;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public Double getDoubleValue() {
+        if (computedFixedValue != null) {
+            return computedFixedValue;
+        }
+        Double value = getQuantile(quantile);
+        return null == value ? 0.0 : value;
+    }
+
+    @Override
+    public Long getLongValue() {
+        return getDoubleValue().longValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimalValue() {
+        return new BigDecimal(getDoubleValue());
+    }
+
+    @Override
+    public Object getValueObject() {
+        return getDoubleValue();
+    }
+
+    @Override
+    public void setNewValue(Object newValue) {
+        computedFixedValue = (Double) newValue;
+    }
+
+    @Override
+    public boolean isFirstTime() {
+        return computedFixedValue == null && count == 0;
+    }
+
+    /**
+     * Below method will be used to get the sketch byte array
+     */
+    @Override
+    public byte[] getByteArray() {
+        if (computedFixedValue == null && count == 0) {
+            return new byte[0];
+        }
+        return toBytes();
+    }
+
+    private byte[] toBytes() {
+        ByteBuffer buffer;
+        if (computedFixedValue != null) {
+            buffer = ByteBuffer.allocate(4 + 8);
+            buffer.putInt(FIXED_VALUE_MARKER);
+            buffer.putDouble(computedFixedValue);
+            return buffer.array();
+        }
+        buffer = ByteBuffer.allocate(4 + 8 + 8 + 8 + 4 + levels.size() * 4 + retainedSize * 8);
+        buffer.putInt(accuracy);
+        buffer.putLong(count);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putInt(levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            Compactor level = levels.get(i);
+            buffer.putInt(level.size);
+            for (int j = 0; j < level.size; j++) {
+                buffer.putDouble(level.values[j]);
+            }
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public void writeData(DataOutput output) throws IOException {
+        output.write(toBytes());
+    }
+
+    @Override
+    public void readData(DataInput inPut) throws IOException {
+        int accuracyOfSketch = inPut.readInt();
+        if (accuracyOfSketch == FIXED_VALUE_MARKER) {
+            initialize(accuracy > 0 ? accuracy : CONFIGURED_ACCURACY);
+            computedFixedValue = inPut.readDouble();
+            return;
+        }
+        initialize(accuracyOfSketch);
+        computedFixedValue = null;
+        count = inPut.readLong();
+        min = inPut.readDouble();
+        max = inPut.readDouble();
+        int numberOfLevels = inPut.readInt();
+        while (levels.size() < numberOfLevels) {
+            grow();
+        }
+        for (int i = 0; i < numberOfLevels; i++) {
+            int size = inPut.readInt();
+            Compactor level = levels.get(i);
+            for (int j = 0; j < size; j++) {
+                level.add(inPut.readDouble());
+            }
+        }
+        updateRetainedSize();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        writeData(out);
+        out.writeDouble(quantile);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException {
+        readData(in);
+        quantile = in.readDouble();
+    }
+
+    /**
+     * merge the sketch written by getByteArray, used when the sketches of an
+     * aggregate table are rolled up
+     */
+    @Override
+    public void merge(byte[] value) {
+        if (0 == value.length) {
+            return;
+        }
+        ApproxPercentileAggregator other = new ApproxPercentileAggregator(accuracy);
+        try {
+            other.readData(new DataInputStream(new ByteArrayInputStream(value)));
+        } catch (IOException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
+            return;
+        }
+        merge(other);
+    }
+
+    @Override
+    public MeasureAggregator getCopy() {
+        ApproxPercentileAggregator aggregator = new ApproxPercentileAggregator(accuracy);
+        aggregator.merge(this);
+        aggregator.computedFixedValue = computedFixedValue;
+        aggregator.quantile = quantile;
+        return aggregator;
+    }
+
+    @Override
+    public int compareTo(MeasureAggregator measureAggr) {
+        double compFixedVal = getDoubleValue();
+        double otherVal = measureAggr.getDoubleValue();
+        if (compFixedVal > otherVal) {
+            return 1;
+        }
+        if (compFixedVal < otherVal) {
+            return -1;
+        }
+        return 0;
+    }
+
+    @Override
+    public MeasureAggregator get() {
+        return this;
+    }
+
+    public String toString() {
+        return getDoubleValue() + "";
+    }
+
+    /**
+     * One level of the sketch
+     */
+    private static final class Compactor {
+        private double[] values = new double[CarbonCommonConstants.CONSTANT_SIZE_TEN];
+
+        private int size;
+
+        private void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void addAll(Compactor other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        /**
+         * Below method will be used to move every other value of the sorted
+         * level to the next level, if the number of values is odd the largest
+         * one stays in this level
+         *
+         * @param next      next level
+         * @param oddOffset true to move values at odd positions
+         */
+        private void compactTo(Compactor next, boolean oddOffset) {
+            Arrays.sort(values, 0, size);
+            int pairs = size / 2;
+            for (int i = 0; i < pairs; i++) {
+                next.add(values[2 * i + (oddOffset ? 1 : 0)]);
+            }
+            if (size % 2 == 1) {
+                values[0] = values[size - 1];
+                size = 1;
+            } else {
+                size = 0;
+            }
+        }
+    }
+}
@@ -187,6 +187,10 @@ public final class AggUtil {
                 return new DistinctStringCountAggregator();
             }
             return new DistinctCountAggregator(minValue);
+        } else if (CarbonCommonConstants.APPROX_COUNT_DISTINCT.equalsIgnoreCase(aggregatorType)) {
+            return new ApproxCountDistinctAggregator();
+        } else if (CarbonCommonConstants.APPROX_PERCENTILE.equalsIgnoreCase(aggregatorType)) {
+            return new ApproxPercentileAggregator();
         } else if (CarbonCommonConstants.SUM.equalsIgnoreCase(aggregatorType)) {
             switch (dataType) {
             case LONG:
@@ -228,6 +232,20 @@ public final class AggUtil {
         }
     }
 
+    /**
+     * Below method will be used to check whether the aggregator keeps a set
+     * or a sketch of the values. Such aggregators are stored in aggregate
+     * tables as the byte array of the aggregator and are merged from it.
+     *
+     * @param aggregatorType aggregator type
+     * @return true if value of aggregator is stored as byte array
+     */
+    public static boolean isByteArrayAggregator(String aggregatorType) {
+        return CarbonCommonConstants.DISTINCT_COUNT.equals(aggregatorType)
+                || CarbonCommonConstants.APPROX_COUNT_DISTINCT.equals(aggregatorType)
+                || CarbonCommonConstants.APPROX_PERCENTILE.equals(aggregatorType);
+    }
+
     private static MeasureAggregator getCustomAggregator(String aggregatorType,
             String aggregatorClassName, KeyGenerator generator, String cubeUniqueName) {
         //
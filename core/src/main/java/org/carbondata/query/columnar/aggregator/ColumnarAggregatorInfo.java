@@ -67,6 +67,19 @@ public class ColumnarAggregatorInfo {
      * limit
      */
     private int limit;
+    /**
+     * number of completed groups after which scanning can be stopped, -1 if
+     * leaf node order does not follow the query sort order
+     */
+    private int sortedGroupLimit = -1;
+    /**
+     * masked byte range of first sort dimension
+     */
+    private int[] sortKeyByteRange;
+    /**
+     * mask of first sort dimension
+     */
+    private byte[] sortKeyMask;
     /**
      * latestKeyGenerator
      */
@@ -387,4 +400,28 @@ public class ColumnarAggregatorInfo {
         this.measureOrdinalMap = measureOrdinal;
     }
 
+    public int getSortedGroupLimit() {
+        return sortedGroupLimit;
+    }
+
+    public void setSortedGroupLimit(int sortedGroupLimit) {
+        this.sortedGroupLimit = sortedGroupLimit;
+    }
+
+    public int[] getSortKeyByteRange() {
+        return sortKeyByteRange;
+    }
+
+    public void setSortKeyByteRange(int[] sortKeyByteRange) {
+        this.sortKeyByteRange = sortKeyByteRange;
+    }
+
+    public byte[] getSortKeyMask() {
+        return sortKeyMask;
+    }
+
+    public void setSortKeyMask(byte[] sortKeyMask) {
+        this.sortKeyMask = sortKeyMask;
+    }
+
 }
@@ -55,4 +55,19 @@ public class DataAggregator {
         expressionAggregator.aggregateExpression(keyValue, currentMsrRowData);
         msrAggregator.aggregateMeasure(keyValue, currentMsrRowData);
     }
+
+    /**
+     * Below method will be used to aggregate all the rows of the leaf node
+     * together, it is used only when all the rows belong to one group and
+     * there is no dimension or expression aggregation
+     *
+     * @return false if the leaf node cannot be aggregated together, then
+     * nothing is aggregated
+     */
+    public boolean aggregateLeaf(AbstractColumnarScanResult keyValue,
+            MeasureAggregator[] currentMsrRowData) {
+        return msrAggregator instanceof FactTableAggregator
+                && ((FactTableAggregator) msrAggregator)
+                .aggregateEncodedSums(keyValue, currentMsrRowData);
+    }
 }
@@ -27,6 +27,7 @@ import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.core.keygenerator.KeyGenerator;
 import org.carbondata.query.aggregator.MeasureAggregator;
 import org.carbondata.query.aggregator.util.AggUtil;
 import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
@@ -124,40 +125,71 @@ public class ListBasedResultAggregatorImpl implements ColumnarScannedResultAggre
         if (!restructureHolder.updateRequired) {
             return;
         }
+        // key is regenerated only when all the dimensions of latest cube are
+        // selected, otherwise scanned key is used as it is
+        if (!keys.isEmpty() && restructureHolder.getQueryDimsCount() == columnaraggreagtorInfo
+                .getLatestKeyGenerator().getDimCount()) {
+            try {
+                updateKeys(restructureHolder);
+            } catch (KeyGenException e) {
+                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+                return;
+            }
+        }
+        finalKeys.addAll(keys);
+        finalValues.addAll(values);
+    }
 
-        try {
-            long[] data = null;
-            long[] updatedData = null;
-            ByteArrayWrapper key = null;
-            for (int i = 0; i < keys.size(); i++) {
-                key = keys.get(i);
-                data = restructureHolder.getKeyGenerator()
-                        .getKeyArray(key.getMaskedKey(), restructureHolder.maskedByteRanges);
-                updatedData =
-                        new long[columnaraggreagtorInfo.getLatestKeyGenerator().getDimCount()];
-                Arrays.fill(updatedData, 1);
-                System.arraycopy(data, 0, updatedData, 0, data.length);
-                if (restructureHolder.metaData.getNewDimsDefVals() != null
-                        && restructureHolder.metaData.getNewDimsDefVals().length > 0) {
-                    for (int k = 0;
-                         k < restructureHolder.metaData.getNewDimsDefVals().length; k++) {
-                        updatedData[data.length + k] =
-                                restructureHolder.metaData.getNewDimsSurrogateKeys()[k];
-                    }
-                }
-                if (restructureHolder.getQueryDimsCount() == columnaraggreagtorInfo
-                        .getLatestKeyGenerator().getDimCount()) {
-                    key.setMaskedKey(QueryExecutorUtility.getMaskedKey(
-                            columnaraggreagtorInfo.getLatestKeyGenerator().generateKey(updatedData),
-                            columnaraggreagtorInfo.getActualMaxKeyBasedOnDimensions(),
-                            columnaraggreagtorInfo.getActalMaskedByteRanges(),
-                            columnaraggreagtorInfo.getActualMaskedKeyByteSize()));
+    /**
+     * Below method will be used to regenerate the scanned keys with the key
+     * generator of latest cube. Keys are unpacked and packed in batch, new
+     * dimensions get their default surrogate key.
+     *
+     * @param restructureHolder
+     * @throws KeyGenException
+     */
+    private void updateKeys(RestructureHolder restructureHolder) throws KeyGenException {
+        KeyGenerator keyGenerator = restructureHolder.getKeyGenerator();
+        KeyGenerator latestKeyGenerator = columnaraggreagtorInfo.getLatestKeyGenerator();
+        int[] maskedByteRanges = restructureHolder.maskedByteRanges;
+        int numberOfKeys = keys.size();
+        int keySize = keyGenerator.getKeySizeInBytes();
+        // expand masked keys to complete keys
+        byte[] scannedKeys = new byte[numberOfKeys * keySize];
+        for (int row = 0; row < numberOfKeys; row++) {
+            byte[] maskedKey = keys.get(row).getMaskedKey();
+            int offset = row * keySize;
+            if (null == maskedByteRanges) {
+                System.arraycopy(maskedKey, 0, scannedKeys, offset, keySize);
+                continue;
+            }
+            for (int j = 0; j < keySize; j++) {
+                if (maskedByteRanges[j] != -1) {
+                    scannedKeys[offset + j] = maskedKey[maskedByteRanges[j]];
                 }
-                finalKeys.add(key);
-                finalValues.add(values.get(i));
             }
-        } catch (KeyGenException e) {
-            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+        }
+        int dimCount = keyGenerator.getDimCount();
+        int[][] columns = new int[latestKeyGenerator.getDimCount()][numberOfKeys];
+        keyGenerator.getKeyArrays(scannedKeys, 0, numberOfKeys, columns);
+        String[] newDimsDefVals = restructureHolder.metaData.getNewDimsDefVals();
+        for (int i = dimCount; i < columns.length; i++) {
+            int defaultValue = 1;
+            if (null != newDimsDefVals && i - dimCount < newDimsDefVals.length) {
+                defaultValue = restructureHolder.metaData.getNewDimsSurrogateKeys()[i - dimCount];
+            }
+            Arrays.fill(columns[i], defaultValue);
+        }
+        int latestKeySize = latestKeyGenerator.getKeySizeInBytes();
+        byte[] latestKeys = new byte[numberOfKeys * latestKeySize];
+        latestKeyGenerator.generateKeys(columns, numberOfKeys, latestKeys, 0);
+        for (int row = 0; row < numberOfKeys; row++) {
+            byte[] latestKey = new byte[latestKeySize];
+            System.arraycopy(latestKeys, row * latestKeySize, latestKey, 0, latestKeySize);
+            keys.get(row).setMaskedKey(QueryExecutorUtility.getMaskedKey(latestKey,
+                    columnaraggreagtorInfo.getActualMaxKeyBasedOnDimensions(),
+                    columnaraggreagtorInfo.getActalMaskedByteRanges(),
+                    columnaraggreagtorInfo.getActualMaskedKeyByteSize()));
         }
     }
 }
@@ -36,6 +36,7 @@ import org.carbondata.query.aggregator.util.AggUtil;
 import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
 import org.carbondata.query.columnar.aggregator.ColumnarScannedResultAggregator;
 import org.carbondata.query.columnar.keyvalue.AbstractColumnarScanResult;
+import org.carbondata.query.columnar.keyvalue.NonFilterScanResult;
 import org.carbondata.query.executer.impl.RestructureHolder;
 import org.carbondata.query.result.Result;
 import org.carbondata.query.result.impl.MapBasedResult;
@@ -60,6 +61,29 @@ public class MapBasedResultAggregatorImpl implements ColumnarScannedResultAggreg
 
     private boolean isAggTable;
 
+    /**
+     * whether all the rows of a leaf node belong to one group, then the leaf
+     * node can be aggregated without reading its rows
+     */
+    private boolean isLeafAggregationSupported;
+
+    /**
+     * first sort dimension value of the groups currently being aggregated
+     */
+    private byte[] currentSortKey;
+
+    /**
+     * number of groups having current first sort dimension value
+     */
+    private int groupsWithCurrentSortKey;
+
+    /**
+     * number of groups whose first sort dimension value is less than current
+     * value, these groups will not get any more rows as leaf nodes are
+     * scanned in mdkey order
+     */
+    private int completedGroups;
+
     public MapBasedResultAggregatorImpl(ColumnarAggregatorInfo columnaraggreagtorInfo,
             DataAggregator dataAggregator) {
         this.columnaraggreagtorInfo = columnaraggreagtorInfo;
@@ -73,11 +97,18 @@ public class MapBasedResultAggregatorImpl implements ColumnarScannedResultAggreg
         aggData = new HashMap<ByteArrayWrapper, MeasureAggregator[]>(100000, 1.0f);
         this.dataAggregator = dataAggregator;
         isAggTable = columnaraggreagtorInfo.getCountMsrIndex() > -1;
+        isLeafAggregationSupported =
+                !isAggTable && columnaraggreagtorInfo.getQueryDimensionsLength() == 0
+                        && columnaraggreagtorInfo.getDimensionAggInfos().isEmpty()
+                        && columnaraggreagtorInfo.getCustomExpressions().isEmpty();
     }
 
     @Override
     public int aggregateData(AbstractColumnarScanResult keyValue) {
         ByteArrayWrapper dimensionsRowWrapper = null;
+        // rows are filtered only by filter scan result
+        boolean tryLeafAggregation =
+                isLeafAggregationSupported && keyValue instanceof NonFilterScanResult;
         while (keyValue.hasNext()) {
             dimensionsRowWrapper = new ByteArrayWrapper();
             //Primitives types selected
@@ -104,10 +135,51 @@ public class MapBasedResultAggregatorImpl implements ColumnarScannedResultAggreg
                         columnaraggreagtorInfo.getHighCardinalityTypes(),
                         columnaraggreagtorInfo.getDataTypes());
                 aggData.put(dimensionsRowWrapper, currentMsrRowData);
+                if (columnaraggreagtorInfo.getSortedGroupLimit() > 0) {
+                    updateCompletedGroups(dimensionsRowWrapper.getMaskedKey());
+                }
+            }
+            if (tryLeafAggregation) {
+                tryLeafAggregation = false;
+                if (dataAggregator.aggregateLeaf(keyValue, currentMsrRowData)) {
+                    keyValue.skipRemainingRows();
+                    break;
+                }
             }
             dataAggregator.aggregateData(keyValue, currentMsrRowData, dimensionsRowWrapper);
         }
-        return 0;
+        return completedGroups;
+    }
+
+    /**
+     * Below method will be used to update the completed group count when a
+     * new group is added
+     *
+     * @param maskedKey masked key of new group
+     */
+    private void updateCompletedGroups(byte[] maskedKey) {
+        int[] byteRange = columnaraggreagtorInfo.getSortKeyByteRange();
+        byte[] mask = columnaraggreagtorInfo.getSortKeyMask();
+        if (null == currentSortKey) {
+            currentSortKey = new byte[byteRange.length];
+        } else {
+            boolean isSame = true;
+            for (int i = 0; i < byteRange.length; i++) {
+                if (currentSortKey[i] != (byte) (maskedKey[byteRange[i]] & mask[i])) {
+                    isSame = false;
+                    break;
+                }
+            }
+            if (isSame) {
+                groupsWithCurrentSortKey++;
+                return;
+            }
+        }
+        for (int i = 0; i < byteRange.length; i++) {
+            currentSortKey[i] = (byte) (maskedKey[byteRange[i]] & mask[i]);
+        }
+        completedGroups += groupsWithCurrentSortKey;
+        groupsWithCurrentSortKey = 1;
     }
 
     @Override
@@ -78,11 +78,13 @@ public class DimensionDataAggreagtor {
             aggList = iterator.next().getAggList();
             for (int j = 0; j < aggList.size(); j++) {
                 if (aggList.get(j).equals(CarbonCommonConstants.COUNT) || aggList.get(j)
-                        .equals(CarbonCommonConstants.DISTINCT_COUNT)) {
+                        .equals(CarbonCommonConstants.DISTINCT_COUNT) || aggList.get(j)
+                        .equals(CarbonCommonConstants.APPROX_COUNT_DISTINCT)) {
                     countIndexList.add(index);
                 } else if (aggList.get(j).equals(CarbonCommonConstants.SUM) || aggList.get(j)
                         .equals(CarbonCommonConstants.AVERAGE) || aggList.get(j)
-                        .equals(CarbonCommonConstants.SUM_DISTINCT)) {
+                        .equals(CarbonCommonConstants.SUM_DISTINCT) || aggList.get(j)
+                        .equals(CarbonCommonConstants.APPROX_PERCENTILE)) {
                     normalIndexList.add(index);
                 } else {
                     maxMinIndexList.add(index);
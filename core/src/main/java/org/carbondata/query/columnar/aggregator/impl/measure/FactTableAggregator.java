@@ -20,7 +20,11 @@
 package org.carbondata.query.columnar.aggregator.impl.measure;
 
 import org.carbondata.core.carbon.SqlStatement;
+import org.carbondata.core.datastorage.store.compression.AdaptiveMeasureCodec;
+import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
 import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.aggregator.impl.SumDoubleAggregator;
+import org.carbondata.query.aggregator.impl.SumLongAggregator;
 import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
 import org.carbondata.query.columnar.keyvalue.AbstractColumnarScanResult;
 
@@ -67,4 +71,66 @@ public class FactTableAggregator extends MeasureDataAggregator {
             }
         }
     }
+
+    /**
+     * Below method will be used to aggregate the sum of all the rows of the
+     * leaf node on the encoded measure data, without decoding the values. Null
+     * values are counted on encoded data and taken out of the sum.
+     *
+     * @return false if any measure is not a sum of encoded data, then nothing
+     * is aggregated
+     */
+    public boolean aggregateEncodedSums(AbstractColumnarScanResult keyValue,
+            MeasureAggregator[] currentMsrRowData) {
+        int startIndex = columnaraggreagtorInfo.getMeasureStartIndex();
+        for (int i = 0; i < noOfMeasuresInQuery; i++) {
+            if (!isMeasureExists[i]) {
+                return false;
+            }
+            int index = columnaraggreagtorInfo.getMeasureOrdinalMap().get(measureOrdinal[i]);
+            CarbonReadDataHolder measureBlock = keyValue.getMeasureBlock(measureOrdinal[i]);
+            if (null == measureBlock.getEncodedValues()) {
+                return false;
+            }
+            SqlStatement.Type dataType = columnaraggreagtorInfo.getDataTypes()[index];
+            MeasureAggregator aggregator = currentMsrRowData[startIndex + i];
+            if (SqlStatement.Type.LONG == dataType) {
+                if (!(aggregator instanceof SumLongAggregator)
+                        || !measureBlock.isLongEncoded()) {
+                    return false;
+                }
+            } else if (SqlStatement.Type.DECIMAL == dataType
+                    || !(aggregator instanceof SumDoubleAggregator)
+                    || measureBlock.isLongEncoded()) {
+                return false;
+            }
+        }
+        int numberOfRows = keyValue.numberOfOutputRows();
+        for (int i = 0; i < noOfMeasuresInQuery; i++) {
+            CarbonReadDataHolder measureBlock = keyValue.getMeasureBlock(measureOrdinal[i]);
+            byte[] data = measureBlock.getEncodedValues();
+            Object uniqueValue = uniqueValues[measureOrdinal[i]];
+            int nullCount = 0;
+            if (measureBlock.isLongEncoded()) {
+                long sum = AdaptiveMeasureCodec.sumLongs(data);
+                if (uniqueValue instanceof Long) {
+                    nullCount = AdaptiveMeasureCodec.countLongs(data, (Long) uniqueValue);
+                    sum -= nullCount * (Long) uniqueValue;
+                }
+                if (nullCount < numberOfRows) {
+                    currentMsrRowData[startIndex + i].agg(Long.valueOf(sum));
+                }
+            } else {
+                double sum = AdaptiveMeasureCodec.sum(data);
+                if (uniqueValue instanceof Double) {
+                    nullCount = AdaptiveMeasureCodec.count(data, (Double) uniqueValue);
+                    sum -= nullCount * (Double) uniqueValue;
+                }
+                if (nullCount < numberOfRows) {
+                    currentMsrRowData[startIndex + i].agg(sum);
+                }
+            }
+        }
+        return true;
+    }
 }
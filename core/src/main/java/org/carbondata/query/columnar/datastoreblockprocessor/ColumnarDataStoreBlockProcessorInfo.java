@@ -20,6 +20,7 @@
 package org.carbondata.query.columnar.datastoreblockprocessor;
 
 import org.carbondata.core.datastorage.store.FileHolder;
+import org.carbondata.query.querystats.QueryProfile;
 
 public class ColumnarDataStoreBlockProcessorInfo {
     /**
@@ -47,6 +48,11 @@ public class ColumnarDataStoreBlockProcessorInfo {
      */
     private boolean isAutoGeneratedAggTableExecution;
 
+    /**
+     * profile of the query
+     */
+    private QueryProfile queryProfile;
+
     /**
      * totalNumberOfMeasures
      */
@@ -175,4 +181,12 @@ public class ColumnarDataStoreBlockProcessorInfo {
     public void setAllSelectedMeasures(int[] allSelectedMeasures) {
         this.allSelectedMeasures = allSelectedMeasures;
     }
+
+    public QueryProfile getQueryProfile() {
+        return queryProfile;
+    }
+
+    public void setQueryProfile(QueryProfile queryProfile) {
+        this.queryProfile = queryProfile;
+    }
 }
@@ -20,9 +20,18 @@
 package org.carbondata.query.columnar.datastoreblockprocessor;
 
 import org.carbondata.query.columnar.keyvalue.AbstractColumnarScanResult;
+import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.evaluators.BlockDataHolder;
 
 public interface DataStoreBlockProcessor {
     AbstractColumnarScanResult getScannedData(BlockDataHolder blockDataHolder);
 
+    /**
+     * Below method will be used to request the data of the block which will be
+     * processed next, so that it can be read while current block is processed
+     *
+     * @param nextBlock block to be processed next
+     */
+    void prefetch(DataStoreBlock nextBlock);
+
 }
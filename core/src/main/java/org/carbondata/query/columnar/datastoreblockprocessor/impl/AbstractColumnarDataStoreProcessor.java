@@ -19,11 +19,15 @@
 
 package org.carbondata.query.columnar.datastoreblockprocessor.impl;
 
+import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
 import org.carbondata.query.columnar.datastoreblockprocessor.ColumnarDataStoreBlockProcessorInfo;
 import org.carbondata.query.columnar.datastoreblockprocessor.DataStoreBlockProcessor;
 import org.carbondata.query.columnar.keyvalue.AbstractColumnarScanResult;
+import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
+import org.carbondata.query.datastorage.tree.CSBTreeColumnarLeafNode;
 import org.carbondata.query.evaluators.BlockDataHolder;
+import org.carbondata.query.querystats.QueryProfile;
 
 public abstract class AbstractColumnarDataStoreProcessor implements DataStoreBlockProcessor {
     protected AbstractColumnarScanResult keyValue;
@@ -52,6 +56,31 @@ public abstract class AbstractColumnarDataStoreProcessor implements DataStoreBlo
             temp[columnarDataStoreBlockInfo.getAllSelectedDimensions()[i]] = columnarKeyStore[i];
         }
         keyValue.setKeyBlock(temp);
+        addDecompressedBytes(columnarKeyStore, blockDataHolder.getLeafDataBlock().getnKeys());
+    }
+
+    /**
+     * Below method will be used to add the size of uncompressed column chunks
+     * of leaf node to query profile. Measures are counted as one double per
+     * row, as that is how they are held after decompression.
+     *
+     * @param keyBlocks    uncompressed key blocks, may contain null
+     * @param numberOfRows number of rows of leaf node
+     */
+    protected void addDecompressedBytes(ColumnarKeyStoreDataHolder[] keyBlocks,
+            int numberOfRows) {
+        QueryProfile queryProfile = columnarDataStoreBlockInfo.getQueryProfile();
+        if (null == queryProfile) {
+            return;
+        }
+        long size = (long) numberOfRows * CarbonCommonConstants.DOUBLE_SIZE_IN_BYTE
+                * columnarDataStoreBlockInfo.getAllSelectedMeasures().length;
+        for (int i = 0; i < keyBlocks.length; i++) {
+            if (null != keyBlocks[i] && null != keyBlocks[i].getKeyBlockData()) {
+                size += keyBlocks[i].getKeyBlockData().length;
+            }
+        }
+        queryProfile.add(QueryProfile.Counter.BYTES_DECOMPRESSED, size);
     }
 
     @Override
@@ -59,4 +88,13 @@ public abstract class AbstractColumnarDataStoreProcessor implements DataStoreBlo
         fillKeyValue(blockDataHolder);
         return keyValue;
     }
+
+    @Override
+    public void prefetch(DataStoreBlock nextBlock) {
+        if (nextBlock instanceof CSBTreeColumnarLeafNode) {
+            ((CSBTreeColumnarLeafNode) nextBlock).prefetch(columnarDataStoreBlockInfo.getFileHolder(),
+                    columnarDataStoreBlockInfo.getAllSelectedDimensions(),
+                    columnarDataStoreBlockInfo.getAllSelectedMeasures());
+        }
+    }
 }
@@ -33,6 +33,7 @@ import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.datastorage.tree.CSBTreeColumnarLeafNode;
 import org.carbondata.query.evaluators.BlockDataHolder;
 import org.carbondata.query.evaluators.FilterEvaluator;
+import org.carbondata.query.querystats.QueryProfile;
 import org.carbondata.query.util.CarbonEngineLogEvent;
 
 public class FilterDataStoreProcessor extends AbstractColumnarDataStoreProcessor {
@@ -62,12 +63,20 @@ public class FilterDataStoreProcessor extends AbstractColumnarDataStoreProcessor
         if (null != minMaxEnableValue) {
             isMinMaxEnabled = Boolean.parseBoolean(minMaxEnableValue);
         }
+        QueryProfile queryProfile = columnarDataStoreBlockInfo.getQueryProfile();
+        int numberOfRows = blockDataHolder.getLeafDataBlock().getnKeys();
+        long startTime = System.nanoTime();
         if (isMinMaxEnabled) {
             BitSet bitSet = filterEvaluatorTree
                     .isScanRequired(blockDataHolder.getLeafDataBlock().getBlockMaxData(),
                             blockDataHolder.getLeafDataBlock().getBlockMinData());
 
             if (bitSet.isEmpty()) {
+                if (null != queryProfile) {
+                    queryProfile.addTimeSince(QueryProfile.Counter.FILTER_TIME, startTime);
+                    queryProfile.add(QueryProfile.Counter.LEAF_NODES_PRUNED, 1);
+                    queryProfile.add(QueryProfile.Counter.ROWS_FILTERED, numberOfRows);
+                }
                 keyValue.setNumberOfRows(0);
                 keyValue.setIndexes(new int[0]);
                 DataStoreBlock dataStoreBlock = blockDataHolder.getLeafDataBlock();
@@ -83,6 +92,11 @@ public class FilterDataStoreProcessor extends AbstractColumnarDataStoreProcessor
         }
 
         BitSet bitSet = filterEvaluatorTree.applyFilter(blockDataHolder, null);
+        if (null != queryProfile) {
+            queryProfile.addTimeSince(QueryProfile.Counter.FILTER_TIME, startTime);
+            queryProfile.add(QueryProfile.Counter.ROWS_FILTERED,
+                    numberOfRows - bitSet.cardinality());
+        }
 
         if (bitSet.isEmpty()) {
             keyValue.setNumberOfRows(0);
@@ -114,6 +128,8 @@ public class FilterDataStoreProcessor extends AbstractColumnarDataStoreProcessor
             }
         }
 
+        addDecompressedBytes(keyBlocks, numberOfRows);
+
         ColumnarKeyStoreDataHolder[] temp =
                 new ColumnarKeyStoreDataHolder[columnarDataStoreBlockInfo
                         .getTotalNumberOfDimension()];
@@ -30,6 +30,7 @@ import java.util.Map;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 import org.carbondata.core.datastorage.store.dataholder.CarbonReadDataHolder;
 import org.carbondata.core.metadata.CarbonMetadata.Dimension;
 import org.carbondata.core.util.ByteUtil;
@@ -75,6 +76,22 @@ public abstract class AbstractColumnarScanResult {
         this.rowMapping = indexes;
     }
 
+    /**
+     * @param measureOrdinal ordinal of measure
+     * @return data of the measure in leaf node
+     */
+    public CarbonReadDataHolder getMeasureBlock(int measureOrdinal) {
+        return measureBlocks[measureOrdinal];
+    }
+
+    /**
+     * Below method will be used to mark the remaining rows as read, when the
+     * rows of the leaf node are aggregated together
+     */
+    public void skipRemainingRows() {
+        rowCounter = totalNumberOfRows;
+    }
+
     public int numberOfOutputRows() {
         return this.totalNumberOfRows;
     }
@@ -139,8 +156,7 @@ public abstract class AbstractColumnarScanResult {
     /**
      * Incase of high cardinality system has to update the byte array with high cardinality
      * dimension values separately since its not part of Key generator. Based on column reverse
-     * index value the high cardinality data has been get from the
-     * mapOfColumnarKeyBlockDataForDirectSurroagtes.
+     * index value the high cardinality data has been get from the column block.
      *
      * @param key
      * @param colIndex
@@ -149,26 +165,20 @@ public abstract class AbstractColumnarScanResult {
     private void updateByteArrayWithDirectSurrogateKeyVal(ByteArrayWrapper key, int colIndex,
             ColumnarKeyStoreDataHolder columnarKeyStoreDataHolder) {
 
-        Map<Integer, byte[]> mapOfColumnarKeyBlockDataForDirectSurroagtes =
+        VariableLengthColumnBlock columnBlock =
                 columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata()
-                        .getMapOfColumnarKeyBlockDataForDirectSurroagtes();
-        int[] columnIndexArray =
-                columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata().getColumnIndex();
+                        .getDirectSurrogateColumnBlock();
         int[] columnReverseIndexArray =
                 columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata().getColumnReverseIndex();
 
-        if (null != mapOfColumnarKeyBlockDataForDirectSurroagtes) {
+        if (null != columnBlock) {
             if (null != columnReverseIndexArray) {
-
-                key.addToDirectSurrogateKeyList(mapOfColumnarKeyBlockDataForDirectSurroagtes
-                        .get(columnReverseIndexArray[colIndex]));
-            } else {
                 key.addToDirectSurrogateKeyList(
-                        mapOfColumnarKeyBlockDataForDirectSurroagtes.get(colIndex));
+                        columnBlock.getValue(columnReverseIndexArray[colIndex]));
+            } else {
+                key.addToDirectSurrogateKeyList(columnBlock.getValue(colIndex));
             }
-
         }
-
     }
 
     public byte[] getKeyDataStore() {
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreMetadata;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 import org.carbondata.query.complex.querytypes.GenericQueryType;
 import org.carbondata.query.wrappers.ByteArrayWrapper;
 
@@ -78,14 +79,14 @@ public class FilterScanResult extends AbstractColumnarScanResult {
     public byte[] getHighCardinalityDimDataForAgg(int dimOrdinal) {
         ColumnarKeyStoreMetadata columnarKeyStoreMetadata =
                 columnarKeyStoreDataHolder[dimOrdinal].getColumnarKeyStoreMetadata();
-        if (null != columnarKeyStoreMetadata.getMapOfColumnarKeyBlockDataForDirectSurroagtes()) {
-            Map<Integer, byte[]> mapOfDirectSurrogates =
-                    columnarKeyStoreMetadata.getMapOfColumnarKeyBlockDataForDirectSurroagtes();
+        VariableLengthColumnBlock columnBlock =
+                columnarKeyStoreMetadata.getDirectSurrogateColumnBlock();
+        if (null != columnBlock) {
             if (null == columnarKeyStoreMetadata.getColumnReverseIndex()) {
-                return mapOfDirectSurrogates.get(rowMapping[currentRow]);
+                return columnBlock.getValue(rowMapping[currentRow]);
             }
-            return mapOfDirectSurrogates
-                    .get(columnarKeyStoreMetadata.getColumnReverseIndex()[rowMapping[currentRow]]);
+            return columnBlock.getValue(
+                    columnarKeyStoreMetadata.getColumnReverseIndex()[rowMapping[currentRow]]);
         }
         return null;
 
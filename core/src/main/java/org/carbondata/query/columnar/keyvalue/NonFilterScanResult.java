@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreMetadata;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 import org.carbondata.query.complex.querytypes.GenericQueryType;
 import org.carbondata.query.wrappers.ByteArrayWrapper;
 
@@ -76,14 +77,14 @@ public class NonFilterScanResult extends AbstractColumnarScanResult {
 
         ColumnarKeyStoreMetadata columnarKeyStoreMetadata =
                 columnarKeyStoreDataHolder[dimOrdinal].getColumnarKeyStoreMetadata();
-        if (null != columnarKeyStoreMetadata.getMapOfColumnarKeyBlockDataForDirectSurroagtes()) {
-            Map<Integer, byte[]> mapOfDirectSurrogates =
-                    columnarKeyStoreMetadata.getMapOfColumnarKeyBlockDataForDirectSurroagtes();
+        VariableLengthColumnBlock columnBlock =
+                columnarKeyStoreMetadata.getDirectSurrogateColumnBlock();
+        if (null != columnBlock) {
             if (null == columnarKeyStoreMetadata.getColumnReverseIndex()) {
-                return mapOfDirectSurrogates.get(currentRow);
+                return columnBlock.getValue(currentRow);
             }
-            return mapOfDirectSurrogates
-                    .get(columnarKeyStoreMetadata.getColumnReverseIndex()[currentRow]);
+            return columnBlock
+                    .getValue(columnarKeyStoreMetadata.getColumnReverseIndex()[currentRow]);
         }
         return null;
 
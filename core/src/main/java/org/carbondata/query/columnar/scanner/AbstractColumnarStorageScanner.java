@@ -22,8 +22,11 @@ package org.carbondata.query.columnar.scanner;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.iterator.CarbonIterator;
+import org.carbondata.core.metrics.Counter;
+import org.carbondata.core.metrics.MetricsRegistry;
 import org.carbondata.query.columnar.aggregator.ColumnarScannedResultAggregator;
 import org.carbondata.query.columnar.datastoreblockprocessor.DataStoreBlockProcessor;
+import org.carbondata.query.columnar.keyvalue.AbstractColumnarScanResult;
 import org.carbondata.query.columnar.scanner.impl.BtreeLeafNodeIterator;
 import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.datastorage.tree.CSBTreeColumnarLeafNode;
@@ -32,6 +35,7 @@ import org.carbondata.query.executer.impl.RestructureHolder;
 import org.carbondata.query.executer.processor.ScannedResultProcessor;
 import org.carbondata.query.querystats.PartitionDetail;
 import org.carbondata.query.querystats.PartitionStatsCollector;
+import org.carbondata.query.querystats.QueryProfile;
 import org.carbondata.query.schema.metadata.ColumnarStorageScannerInfo;
 import org.carbondata.query.util.CarbonEngineLogEvent;
 
@@ -43,6 +47,18 @@ public abstract class AbstractColumnarStorageScanner implements ColumnarStorageS
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(AbstractColumnarStorageScanner.class.getName());
 
+    /**
+     * leaf nodes scanned by all queries
+     */
+    private static final Counter LEAF_NODES_COUNTER =
+            MetricsRegistry.getInstance().counter("query.leaf.nodes.scanned");
+
+    /**
+     * rows scanned by all queries
+     */
+    private static final Counter ROWS_COUNTER =
+            MetricsRegistry.getInstance().counter("query.rows.scanned");
+
     protected CarbonIterator<DataStoreBlock> leafIterator;
 
     protected DataStoreBlockProcessor blockProcessor;
@@ -57,10 +73,13 @@ public abstract class AbstractColumnarStorageScanner implements ColumnarStorageS
 
     private String queryId;
 
+    private QueryProfile queryProfile;
+
     public AbstractColumnarStorageScanner(ColumnarStorageScannerInfo columnarStorageScannerInfo) {
         leafIterator = new BtreeLeafNodeIterator(columnarStorageScannerInfo.getDatablock(),
                 columnarStorageScannerInfo.getTotalNumberOfBlocksToScan());
         this.queryId = columnarStorageScannerInfo.getQueryId();
+        this.queryProfile = columnarStorageScannerInfo.getQueryProfile();
 
         this.blockProcessor = columnarStorageScannerInfo.getBlockProcessor();
         this.scannedResultProcessor = columnarStorageScannerInfo.getScannedResultProcessor();
@@ -79,12 +98,43 @@ public abstract class AbstractColumnarStorageScanner implements ColumnarStorageS
         }
     }
 
+    /**
+     * Below method will be used to request the data of the next leaf node to be
+     * scanned, so that it is read while the current leaf node is processed
+     */
+    protected void prefetchNextBlock() {
+        if (leafIterator.hasNext()) {
+            blockProcessor.prefetch(blockDataHolder.getLeafDataBlock().getNext());
+        }
+    }
+
+    /**
+     * Below method will be used to aggregate the scanned data of one leaf node,
+     * time taken is added to the query profile
+     *
+     * @param scanResult scanned data of leaf node
+     * @return number of rows or groups returned by the aggregator
+     */
+    protected int aggregateData(AbstractColumnarScanResult scanResult) {
+        if (null == queryProfile) {
+            return columnarAggaregator.aggregateData(scanResult);
+        }
+        long startTime = System.nanoTime();
+        try {
+            return columnarAggaregator.aggregateData(scanResult);
+        } finally {
+            queryProfile.addTimeSince(QueryProfile.Counter.AGGREGATE_TIME, startTime);
+        }
+    }
+
     /**
      * Add Query statistics, so that it can be logged analyzed for aggregate table suggestion
      *
      * @param blockDataHolder
      */
     public void addToQueryStats(BlockDataHolder blockDataHolder) {
+        LEAF_NODES_COUNTER.inc();
+        ROWS_COUNTER.add(blockDataHolder.getLeafDataBlock().getnKeys());
         PartitionStatsCollector partitionStatsCollector = PartitionStatsCollector.getInstance();
         PartitionDetail partitionDetail = partitionStatsCollector.getPartionDetail(queryId);
         if (null == partitionDetail) {
@@ -92,6 +142,7 @@ public abstract class AbstractColumnarStorageScanner implements ColumnarStorageS
         }
         DataStoreBlock dataStoreBlock = blockDataHolder.getLeafDataBlock();
         if (dataStoreBlock instanceof CSBTreeColumnarLeafNode) {
+            partitionDetail.getProfile().add(QueryProfile.Counter.LEAF_NODES_SCANNED, 1);
             partitionDetail.addNumberOfRowsScanned(blockDataHolder.getLeafDataBlock().getnKeys());
             partitionStatsCollector.addPartitionDetail(queryId, partitionDetail);
         }
@@ -27,6 +27,11 @@ import org.carbondata.query.schema.metadata.ColumnarStorageScannerInfo;
 
 public class ColumnarStorageAggregatedScannerImpl extends AbstractColumnarStorageScanner {
 
+    /**
+     * number of completed groups after which scanning can be stopped
+     */
+    private int sortedGroupLimit;
+
     public ColumnarStorageAggregatedScannerImpl(
             ColumnarStorageScannerInfo columnarStorageScannerInfo) {
         super(columnarStorageScannerInfo);
@@ -34,17 +39,25 @@ public class ColumnarStorageAggregatedScannerImpl extends AbstractColumnarStorag
                 columnarStorageScannerInfo.getColumnarAggregatorInfo(),
                 new DataAggregator(columnarStorageScannerInfo.isAutoAggregateTableRequest(),
                         columnarStorageScannerInfo.getColumnarAggregatorInfo()));
+        this.sortedGroupLimit =
+                columnarStorageScannerInfo.getColumnarAggregatorInfo().getSortedGroupLimit();
     }
 
     @Override
     public void scanStore() {
         while (leafIterator.hasNext()) {
             blockDataHolder.setLeafDataBlock(leafIterator.next());
+            prefetchNextBlock();
             addToQueryStats(blockDataHolder);
             blockDataHolder.reset();
             AbstractColumnarScanResult unProcessData =
                     blockProcessor.getScannedData(blockDataHolder);
-            this.columnarAggaregator.aggregateData(unProcessData);
+            int completedGroups = aggregateData(unProcessData);
+            // leaf nodes are in order of first sort dimension, so once limit
+            // groups are completed remaining leaf nodes cannot be part of result
+            if (sortedGroupLimit > 0 && completedGroups >= sortedGroupLimit) {
+                break;
+            }
         }
         finish();
     }
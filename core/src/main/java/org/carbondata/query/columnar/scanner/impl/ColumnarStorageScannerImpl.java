@@ -19,16 +19,45 @@
 
 package org.carbondata.query.columnar.scanner.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.query.aggregator.MeasureAggregator;
 import org.carbondata.query.columnar.aggregator.impl.DataAggregator;
 import org.carbondata.query.columnar.aggregator.impl.ListBasedResultAggregatorImpl;
 import org.carbondata.query.columnar.scanner.AbstractColumnarStorageScanner;
+import org.carbondata.query.executer.exception.QueryExecutionException;
+import org.carbondata.query.executer.impl.topn.TopNScanResultHeap;
+import org.carbondata.query.result.Result;
+import org.carbondata.query.result.impl.ListBasedResult;
 import org.carbondata.query.schema.metadata.ColumnarStorageScannerInfo;
+import org.carbondata.query.util.CarbonEngineLogEvent;
+import org.carbondata.query.wrappers.ByteArrayWrapper;
 
 public class ColumnarStorageScannerImpl extends AbstractColumnarStorageScanner {
+    /**
+     * LOGGER.
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(ColumnarStorageScannerImpl.class.getName());
+
     private long counter;
 
     private int limit;
 
+    /**
+     * heap to keep top n rows of this task when query is sorted and has limit
+     */
+    private TopNScanResultHeap topNScanResultHeap;
+
+    /**
+     * whether rows of this task are handed over as one sorted run
+     */
+    private boolean isSortedRunScan;
+
     public ColumnarStorageScannerImpl(ColumnarStorageScannerInfo columnarStorageScannerInfo) {
         super(columnarStorageScannerInfo);
 
@@ -37,20 +66,86 @@ public class ColumnarStorageScannerImpl extends AbstractColumnarStorageScanner {
                 new DataAggregator(columnarStorageScannerInfo.isAutoAggregateTableRequest(),
                         columnarStorageScannerInfo.getColumnarAggregatorInfo()));
         limit = columnarStorageScannerInfo.getColumnarAggregatorInfo().getLimit();
+        topNScanResultHeap = columnarStorageScannerInfo.getTopNScanResultHeap();
+        isSortedRunScan = columnarStorageScannerInfo.isSortedRunScan();
     }
 
     @Override
     public void scanStore() {
+        if (null != topNScanResultHeap) {
+            scanStoreWithTopN();
+            return;
+        }
+        if (isSortedRunScan) {
+            scanStoreAsSortedRun();
+            return;
+        }
         while (leafIterator.hasNext()) {
             blockDataHolder.setLeafDataBlock(leafIterator.next());
+            prefetchNextBlock();
             addToQueryStats(blockDataHolder);
             blockDataHolder.reset();
-            counter += this.columnarAggaregator
-                    .aggregateData(blockProcessor.getScannedData(blockDataHolder));
+            counter += aggregateData(blockProcessor.getScannedData(blockDataHolder));
             finish();
             if (limit != -1 && counter >= limit) {
                 break;
             }
         }
     }
+
+    /**
+     * Below method will be used to scan the store keeping only the top n rows
+     * of this task, rows are handed over to result processor once scan is finished
+     */
+    private void scanStoreWithTopN() {
+        try {
+            while (leafIterator.hasNext()) {
+                blockDataHolder.setLeafDataBlock(leafIterator.next());
+                prefetchNextBlock();
+                addToQueryStats(blockDataHolder);
+                blockDataHolder.reset();
+                aggregateData(blockProcessor.getScannedData(blockDataHolder));
+                topNScanResultHeap
+                        .addScannedResult(columnarAggaregator.getResult(restructurHolder));
+            }
+            this.scannedResultProcessor.addScannedResult(topNScanResultHeap.getResult());
+        } catch (QueryExecutionException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+        }
+    }
+
+    /**
+     * Below method will be used to scan the store when leaf node order is same
+     * as the query sort order. Rows of all the leaf nodes of this task are
+     * handed over as one result, so result processor can merge the sorted
+     * runs of all the tasks instead of sorting them
+     */
+    private void scanStoreAsSortedRun() {
+        List<ByteArrayWrapper> keys =
+                new ArrayList<ByteArrayWrapper>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        List<MeasureAggregator[]> values =
+                new ArrayList<MeasureAggregator[]>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        while (leafIterator.hasNext()) {
+            blockDataHolder.setLeafDataBlock(leafIterator.next());
+            prefetchNextBlock();
+            addToQueryStats(blockDataHolder);
+            blockDataHolder.reset();
+            aggregateData(blockProcessor.getScannedData(blockDataHolder));
+            Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>> leafResult =
+                    columnarAggaregator.getResult(restructurHolder);
+            keys.addAll(leafResult.getKeys());
+            values.addAll(leafResult.getValues());
+            // rows of all leaf nodes scanned so far are counted against the limit
+            if (limit != -1 && keys.size() >= limit) {
+                break;
+            }
+        }
+        Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>> result = new ListBasedResult();
+        result.addScannedResult(keys, values);
+        try {
+            this.scannedResultProcessor.addScannedResult(result);
+        } catch (QueryExecutionException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+        }
+    }
 }
@@ -395,6 +395,15 @@ public class InMemoryTable implements Comparable<InMemoryTable> {
         dataCacheMap.clear();
     }
 
+    /**
+     * Removes the cached column chunks of the fact files of this slice
+     */
+    public void removeFromColumnChunkCache() {
+        for (TableDataStore store : dataCacheMap.values()) {
+            store.removeFromColumnChunkCache();
+        }
+    }
+
     /**
      * @return
      */
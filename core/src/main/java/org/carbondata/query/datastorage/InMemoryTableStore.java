@@ -36,6 +36,7 @@ import org.carbondata.core.load.LoadMetadataDetails;
 import org.carbondata.core.metadata.CarbonMetadata;
 import org.carbondata.core.metadata.CarbonMetadata.Cube;
 import org.carbondata.core.metadata.SliceMetaData;
+import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.query.datastorage.cache.CarbonLRULevelCache;
 import org.carbondata.query.datastorage.cache.LevelInfo;
@@ -393,88 +394,109 @@ public final class InMemoryTableStore {
             int restructureId = 0;
             Set<String> tableNames =
                     new HashSet<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-            for (final CarbonFile rsFolder : files) {
+            ExecutorService executorService =
+                    Executors.newFixedThreadPool(getCubeLoadThreadPoolSize());
+            // load folders of all the restructure and table folders are loaded in parallel,
+            // restructure stores are added once all the loads are finished
+            List<Future<?>> sliceLoadFutures = new ArrayList<Future<?>>(
+                    CarbonCommonConstants.CONSTANT_SIZE_TEN);
+            Map<RestructureStore, List<Byte>> rsStoreAndFlagList =
+                    new LinkedHashMap<RestructureStore, List<Byte>>(
+                            CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+            try {
+                for (final CarbonFile rsFolder : files) {
 
-                CarbonFile[] tableFiles = rsFolder.listFiles(new CarbonFileFilter() {
-                    public boolean accept(CarbonFile pathname) {
-                        return (pathname.isDirectory());
-                    }
-                });
-
-                final RestructureStore rsStore =
-                        new RestructureStore(rsFolder.getName(), restructureId++);
-                final List<Byte> flagList = new CopyOnWriteArrayList<Byte>();
-                for (CarbonFile tableFolder : tableFiles) {
-                    ExecutorService executorService = Executors.newFixedThreadPool(5);
-                    SliceMetaData smd = readSliceMetaDataFile(
-                            tableFolder.getAbsolutePath() + '/' + CarbonUtil
-                                    .getSliceMetaDataFileName(currentRestructNumber));
-                    if (null == smd) {
-                        continue;
-                    }
-                    final String tableName = tableFolder.getName();
-                    if (!tableName.equals(factTableName) && !tableName
-                            .equals(metadataCube.getFactTableName())) {
-                        continue;
-                    }
-                    rsStore.setSliceMetaCache(smd, tableName);
-                    rsStore.setSliceMetaPathCache(tableFolder.getAbsolutePath(), tableName);
-                    addTableRestructuringNumber(schema.name + '_' + cube.name + '_' + tableName,
-                            currentRestructNumber);
-                    CarbonFile[] loadFiles =
-                            getSortedFolderListList(tableFolder.getAbsolutePath(), FOLDER_NAME, -1,
-                                    false);
-                    if (null != loadFiles) {
-                        for (final CarbonFile loadFolder : loadFiles) {
-                            CarbonFile[] listFiles = loadFolder.listFiles();
-                            if (null == listFiles || listFiles.length == 0) {
-                                continue;
-                            }
-                            executorService.submit(new Runnable() {
-                                public void run() {
-                                    List<String> listOfLoadFoldersTobeLoaded =
-                                            mapOfTableAndLoadFolderList.get(tableName);
-                                    String status =
-                                            loadNameAndStatusMapping.get(loadFolder.getName());
-                                    if (null != status && listOfLoadFoldersTobeLoaded
-                                            .contains(loadFolder.getName())) {
-
-                                        boolean loadOnlyLevelFiles = false;
-                                        if (CarbonCommonConstants.MARKED_FOR_DELETE
-                                                .equals(status)) {
-                                            loadOnlyLevelFiles = true;
+                    CarbonFile[] tableFiles = rsFolder.listFiles(new CarbonFileFilter() {
+                        public boolean accept(CarbonFile pathname) {
+                            return (pathname.isDirectory());
+                        }
+                    });
+
+                    final RestructureStore rsStore =
+                            new RestructureStore(rsFolder.getName(), restructureId++);
+                    final List<Byte> flagList = new CopyOnWriteArrayList<Byte>();
+                    rsStoreAndFlagList.put(rsStore, flagList);
+                    for (CarbonFile tableFolder : tableFiles) {
+                        SliceMetaData smd = readSliceMetaDataFile(
+                                tableFolder.getAbsolutePath() + '/' + CarbonUtil
+                                        .getSliceMetaDataFileName(currentRestructNumber));
+                        if (null == smd) {
+                            continue;
+                        }
+                        final String tableName = tableFolder.getName();
+                        if (!tableName.equals(factTableName) && !tableName
+                                .equals(metadataCube.getFactTableName())) {
+                            continue;
+                        }
+                        rsStore.setSliceMetaCache(smd, tableName);
+                        rsStore.setSliceMetaPathCache(tableFolder.getAbsolutePath(), tableName);
+                        addTableRestructuringNumber(schema.name + '_' + cube.name + '_' + tableName,
+                                currentRestructNumber);
+                        CarbonFile[] loadFiles =
+                                getSortedFolderListList(tableFolder.getAbsolutePath(), FOLDER_NAME,
+                                        -1, false);
+                        if (null != loadFiles) {
+                            for (final CarbonFile loadFolder : loadFiles) {
+                                CarbonFile[] listFiles = loadFolder.listFiles();
+                                if (null == listFiles || listFiles.length == 0) {
+                                    continue;
+                                }
+                                sliceLoadFutures.add(executorService.submit(new Runnable() {
+                                    public void run() {
+                                        long sliceLoadStartTime = LOGGER.isDebugEnabled() ?
+                                                System.currentTimeMillis() :
+                                                0;
+                                        List<String> listOfLoadFoldersTobeLoaded =
+                                                mapOfTableAndLoadFolderList.get(tableName);
+                                        String status =
+                                                loadNameAndStatusMapping.get(loadFolder.getName());
+                                        if (null != status && listOfLoadFoldersTobeLoaded
+                                                .contains(loadFolder.getName())) {
+
+                                            boolean loadOnlyLevelFiles = false;
+                                            if (CarbonCommonConstants.MARKED_FOR_DELETE
+                                                    .equals(status)) {
+                                                loadOnlyLevelFiles = true;
+                                            }
+                                            InMemoryTable cubeCache =
+                                                    new InMemoryTable(schema, cube, metadataCube,
+                                                            tableName, loadFolder.getAbsolutePath(),
+                                                            loadNameAndModificationTimeMap
+                                                                    .get(loadFolder.getName()));
+                                            cubeCache.setLoadName(loadFolder.getName());
+                                            cubeCache.setRsStore(rsStore);
+                                            cubeCache.loadCacheFromFile(loadOnlyLevelFiles);
+                                            rsStore.setSlice(cubeCache, tableName);
+                                            if (LOGGER.isDebugEnabled()) {
+                                                LOGGER.debug(
+                                                        CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                                                        "Time taken to load slice " + tableName
+                                                                + '/' + loadFolder.getName()
+                                                                + " (MS) : " + (System
+                                                                .currentTimeMillis()
+                                                                - sliceLoadStartTime));
+                                            }
                                         }
-                                        InMemoryTable cubeCache =
-                                                new InMemoryTable(schema, cube, metadataCube,
-                                                        tableName, loadFolder.getAbsolutePath(),
-                                                        loadNameAndModificationTimeMap
-                                                                .get(loadFolder.getName()));
-                                        cubeCache.setLoadName(loadFolder.getName());
-                                        cubeCache.setRsStore(rsStore);
-                                        cubeCache.loadCacheFromFile(loadOnlyLevelFiles);
-                                        rsStore.setSlice(cubeCache, tableName);
+                                        flagList.add((byte) 1);
                                     }
-                                    flagList.add((byte) 1);
-                                }
-                            });
-                            //                    updateReq=true;
-                        }
-                        try {
-                            executorService.shutdown();
-                            executorService.awaitTermination(2, TimeUnit.DAYS);
-                        } catch (InterruptedException e) {
-                            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+                                }));
+                                //                    updateReq=true;
+                            }
                         }
+                        //sort the loads based on the load id since multiple threads are handling
+                        // addition of slices in rsStore instance.
+                        tableNames.add(tableName);
                     }
-                    //sort the loads based on the load id since multiple threads are handling
-                    // addition of slices in rsStore instance.
-                    tableNames.add(tableName);
                 }
-                if (flagList.size() > 0) {
-                    slices.add(rsStore);
-                    sortSlicesBasedOnLoadName(slices, tableNames);
+                waitForSliceLoad(sliceLoadFutures);
+                for (Entry<RestructureStore, List<Byte>> entry : rsStoreAndFlagList.entrySet()) {
+                    if (entry.getValue().size() > 0) {
+                        slices.add(entry.getKey());
+                    }
                 }
-
+                sortSlicesBasedOnLoadName(slices, tableNames);
+            } finally {
+                executorService.shutdown();
             }
 
             return slices;
@@ -482,6 +504,47 @@ public final class InMemoryTableStore {
 
     }
 
+    /**
+     * Below method will be used to get the number of threads used for loading
+     * the slices, configured value or number of available processors
+     *
+     * @return thread pool size
+     */
+    private static int getCubeLoadThreadPoolSize() {
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        String configuredSize = CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.CUBE_LOAD_THREAD_POOL_SIZE);
+        if (null != configuredSize) {
+            try {
+                poolSize = Integer.parseInt(configuredSize.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                        "Invalid value for " + CarbonCommonConstants.CUBE_LOAD_THREAD_POOL_SIZE
+                                + " : " + configuredSize);
+            }
+        }
+        return poolSize > 0 ? poolSize : 1;
+    }
+
+    /**
+     * wait till all the submitted slice loads are finished
+     *
+     * @param sliceLoadFutures
+     */
+    private void waitForSliceLoad(List<Future<?>> sliceLoadFutures) {
+        for (Future<?> sliceLoadFuture : sliceLoadFutures) {
+            try {
+                sliceLoadFuture.get(2, TimeUnit.DAYS);
+            } catch (InterruptedException e) {
+                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+            } catch (ExecutionException e) {
+                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e.getCause());
+            } catch (TimeoutException e) {
+                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
+            }
+        }
+    }
+
     /**
      * return true if the cube is not modified/updated
      *
@@ -705,7 +768,8 @@ public final class InMemoryTableStore {
      */
     private boolean removeAndLoadLevelsIfRequired(List<String> levelCacheKey, String cubeUniqueName,
             List<LevelInfo> notLoadedLevels) {
-        ExecutorService executorService = Executors.newFixedThreadPool(5);
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(getCubeLoadThreadPoolSize());
         List<InMemoryTable> activeSlices = getInstance().getActiveSlices(cubeUniqueName);
         DimensionHierarichyStore dimensionCache = null;
         for (LevelInfo info : notLoadedLevels) {
@@ -85,6 +85,11 @@ public class MemberStore {
 
     private DataType memberDataType;
 
+    /**
+     * whether sort index of members follows the surrogate order
+     */
+    private Boolean isSurrogateInSortOrder;
+
     public MemberStore(CarbonDef.Level carbonLevel, String tableName) {
         this.carbonLevel = carbonLevel;
 
@@ -223,6 +228,27 @@ public class MemberStore {
         return sortReverseOrderIndex[rowIndex][columnIndex];
     }
 
+    /**
+     * Below method will be used to check whether the sort index of the members
+     * is in the same order as their surrogates, in that case data sorted on
+     * surrogate is also sorted on member value.
+     *
+     * @return true if sort index follows surrogate order
+     */
+    public synchronized boolean isSurrogateInSortOrder() {
+        if (null == isSurrogateInSortOrder) {
+            boolean inOrder = true;
+            int previousIndex = Integer.MIN_VALUE;
+            for (int key = minMember; key < sortReverseOrderIndexSize && inOrder; key++) {
+                int index = getSortedIndex(key);
+                inOrder = index >= previousIndex;
+                previousIndex = index;
+            }
+            isSurrogateInSortOrder = inOrder;
+        }
+        return isSurrogateInSortOrder;
+    }
+
     /**
      * @return
      */
@@ -361,6 +387,7 @@ public class MemberStore {
 
     public void setSortReverseOrderIndex(int[][] sortReverseOrderIndex) {
         this.sortReverseOrderIndex = sortReverseOrderIndex;
+        this.isSurrogateInSortOrder = null;
         for (int i = 0; i < sortReverseOrderIndex.length; i++) {
             sortReverseOrderIndexSize += sortReverseOrderIndex[i].length;
         }
@@ -254,6 +254,7 @@ public class RestructureStore implements Comparable<RestructureStore> {
             List<InMemoryTable> inMemoryTables = slices.get(tableName);
             for (InMemoryTable inMemoryTable : listOfSliceToBeRemoved) {
                 inMemoryTables.remove(inMemoryTable);
+                inMemoryTable.removeFromColumnChunkCache();
             }
         } finally {
             writeLock.unlock();
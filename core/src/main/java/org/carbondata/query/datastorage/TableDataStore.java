@@ -41,6 +41,7 @@ import org.carbondata.core.carbon.SqlStatement;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.core.vo.HybridStoreModel;
+import org.carbondata.query.datastorage.cache.ColumnChunkLRUCache;
 import org.carbondata.query.datastorage.storeInterfaces.DataStore;
 import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.datastorage.storeInterfaces.KeyValue;
@@ -116,6 +117,11 @@ public class TableDataStore {
     private boolean[] aggKeyBlock;
     private int[] dimCardinality;
     private HybridStoreModel hybridStoreModel;
+    /**
+     * fact files from which the tree is built
+     */
+    private List<String> factFiles =
+            new ArrayList<String>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
 
     public TableDataStore(String table, Cube metaCube, SliceMetaData smd, KeyGenerator keyGenerator,
             int[] dimCardinality, HybridStoreModel hybridStoreModel) {
@@ -257,6 +263,7 @@ public class TableDataStore {
                 return false;
             }
             for (CarbonFile aFile : files) {
+                factFiles.add(aFile.getAbsolutePath());
                 streams.add(CarbonDataInputStreamFactory
                         .getDataInputStream(aFile.getAbsolutePath(), keySize, msrCount,
                                 hasFactCount(), filesLocaton, tableName,
@@ -478,9 +485,24 @@ public class TableDataStore {
     }
 
     public void clear() {
+        removeFromColumnChunkCache();
         data = null;
     }
 
+    /**
+     * Below method will be used to remove the cached column chunks of the
+     * fact files of this store and to invalidate the lazy loaded leaf nodes,
+     * used when the slice is deleted or compacted
+     */
+    public void removeFromColumnChunkCache() {
+        if (data instanceof CSBTree) {
+            ((CSBTree) data).invalidateLeafNodes();
+        }
+        for (String factFile : factFiles) {
+            ColumnChunkLRUCache.getInstance().removeFile(factFile);
+        }
+    }
+
     public long[][] getDataStoreRange() {
         return data.getRanges();
     }
@@ -25,6 +25,8 @@ import java.util.Map.Entry;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.metrics.Gauge;
+import org.carbondata.core.metrics.MetricsRegistry;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.query.datastorage.InMemoryTableStore;
 import org.carbondata.query.util.CarbonEngineLogEvent;
@@ -72,6 +74,12 @@ public final class CarbonLRULevelCache {
             // convert in bytes
             levelCacheMemorySize = levelCacheMemorySize * BYTE_CONVERSION_CONSTANT;
             initCache();
+            MetricsRegistry.getInstance().registerGauge("query.level.cache.size", new Gauge() {
+                @Override
+                public long getValue() {
+                    return getCurrentSize();
+                }
+            });
         } else {
             LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
                     "Level cache size not configured. Therefore default behvior will be considered "
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.datastorage.cache;
+
+import java.nio.ByteBuffer;
+
+import org.carbondata.core.datastorage.store.FileHolder;
+
+/**
+ * File holder used by the scan of file store leaf nodes. Chunks read with
+ * offset and length are served from {@link ColumnChunkLRUCache} when present
+ * and added to it after reading from file. All other reads are delegated.
+ */
+public class ColumnChunkCachedFileHolder implements FileHolder {
+    /**
+     * actual file holder
+     */
+    private FileHolder fileHolder;
+
+    /**
+     * cache
+     */
+    private ColumnChunkLRUCache cache;
+
+    /**
+     * number of chunks served from cache by this holder
+     */
+    private long hitCount;
+
+    /**
+     * number of chunks read from file by this holder
+     */
+    private long missCount;
+
+    /**
+     * number of bytes served from cache by this holder
+     */
+    private long bytesReadSaved;
+
+    public ColumnChunkCachedFileHolder(FileHolder fileHolder, ColumnChunkLRUCache cache) {
+        this.fileHolder = fileHolder;
+        this.cache = cache;
+    }
+
+    @Override
+    public byte[] readByteArray(String filePath, long offset, int length) {
+        byte[] chunk = cache.get(filePath, offset, length);
+        if (null != chunk) {
+            hitCount++;
+            bytesReadSaved += length;
+            return chunk;
+        }
+        missCount++;
+        chunk = fileHolder.readByteArray(filePath, offset, length);
+        cache.put(filePath, offset, chunk);
+        return chunk;
+    }
+
+    @Override
+    public void prefetch(String filePath, long offset, int length) {
+        if (!cache.contains(filePath, offset, length)) {
+            fileHolder.prefetch(filePath, offset, length);
+        }
+    }
+
+    @Override
+    public byte[] readByteArray(String filePath, int length) {
+        return fileHolder.readByteArray(filePath, length);
+    }
+
+    @Override
+    public ByteBuffer readByteBuffer(String filePath, long offset, int length) {
+        return fileHolder.readByteBuffer(filePath, offset, length);
+    }
+
+    @Override
+    public int readInt(String filePath, long offset) {
+        return fileHolder.readInt(filePath, offset);
+    }
+
+    @Override
+    public long readLong(String filePath, long offset) {
+        return fileHolder.readLong(filePath, offset);
+    }
+
+    @Override
+    public int readInt(String filePath) {
+        return fileHolder.readInt(filePath);
+    }
+
+    @Override
+    public long readDouble(String filePath, long offset) {
+        return fileHolder.readDouble(filePath, offset);
+    }
+
+    @Override
+    public void finish() {
+        fileHolder.finish();
+    }
+
+    @Override
+    public long getFileSize(String filePath) {
+        return fileHolder.getFileSize(filePath);
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getBytesReadSaved() {
+        return bytesReadSaved;
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.datastorage.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryConsumer;
+import org.carbondata.core.memory.MemoryType;
+import org.carbondata.core.metrics.Gauge;
+import org.carbondata.core.metrics.MetricsRegistry;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.util.CarbonEngineLogEvent;
+
+/**
+ * LRU cache of the compressed column chunks of leaf nodes read from file
+ * store. A chunk is identified by fact file, offset and length, i.e. one
+ * column (key block, index or measure) of one leaf node. Cache is bounded by
+ * the total number of bytes held. Cached bytes are reserved from executor
+ * memory budget, least recently used chunks are evicted when the memory is
+ * needed by queries or loads.
+ */
+public final class ColumnChunkLRUCache implements MemoryConsumer {
+    /**
+     * constant for converting MB into bytes
+     */
+    private static final int BYTE_CONVERSION_CONSTANT = 1024 * 1024;
+    /**
+     * owner of the cached bytes in executor memory budget
+     */
+    private static final String MEMORY_OWNER = "query.column.chunk.cache";
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(ColumnChunkLRUCache.class.getName());
+    /**
+     * instance
+     */
+    private static ColumnChunkLRUCache instance = new ColumnChunkLRUCache();
+    /**
+     * chunks in access order
+     */
+    private LinkedHashMap<ChunkKey, byte[]> chunks;
+    /**
+     * max size of the cache in bytes, cache is disabled if not positive
+     */
+    private long maxSize;
+    /**
+     * current size of the cache in bytes
+     */
+    private long currentSize;
+    /**
+     * hitCount
+     */
+    private AtomicLong hitCount = new AtomicLong();
+    /**
+     * missCount
+     */
+    private AtomicLong missCount = new AtomicLong();
+    /**
+     * number of bytes which are not read from file because of cache
+     */
+    private AtomicLong bytesReadSaved = new AtomicLong();
+
+    private ColumnChunkLRUCache() {
+        this(getConfiguredSize());
+        if (isEnabled()) {
+            LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                    "Configured column chunk cache size is " + maxSize / BYTE_CONVERSION_CONSTANT
+                            + " MB");
+            registerGauges();
+            ExecutorMemoryManager.getInstance().registerConsumer(this);
+        }
+    }
+
+    /**
+     * @param maxSize max size of the cache in bytes, cache is disabled if not
+     *                positive
+     */
+    ColumnChunkLRUCache(long maxSize) {
+        this.maxSize = maxSize;
+        if (maxSize > 0) {
+            chunks = new LinkedHashMap<ChunkKey, byte[]>(
+                    CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 0.75f, true);
+        }
+    }
+
+    /**
+     * @return configured size of the cache in bytes
+     */
+    private static long getConfiguredSize() {
+        long configuredSize;
+        try {
+            configuredSize = Long.parseLong(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.CARBON_MAX_COLUMN_CHUNK_CACHE_SIZE,
+                            CarbonCommonConstants.CARBON_MAX_COLUMN_CHUNK_CACHE_SIZE_DEFAULT));
+        } catch (NumberFormatException e) {
+            configuredSize = Long.parseLong(
+                    CarbonCommonConstants.CARBON_MAX_COLUMN_CHUNK_CACHE_SIZE_DEFAULT);
+        }
+        return configuredSize * BYTE_CONVERSION_CONSTANT;
+    }
+
+    /**
+     * Below method will be used to expose size and hit ratio of the cache
+     * through metrics registry
+     */
+    private void registerGauges() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.registerGauge("query.column.chunk.cache.size", new Gauge() {
+            @Override
+            public long getValue() {
+                return getCurrentSize();
+            }
+        });
+        registry.registerGauge("query.column.chunk.cache.hits", new Gauge() {
+            @Override
+            public long getValue() {
+                return getHitCount();
+            }
+        });
+        registry.registerGauge("query.column.chunk.cache.misses", new Gauge() {
+            @Override
+            public long getValue() {
+                return getMissCount();
+            }
+        });
+        registry.registerGauge("query.column.chunk.cache.bytes.saved", new Gauge() {
+            @Override
+            public long getValue() {
+                return getBytesReadSaved();
+            }
+        });
+    }
+
+    /**
+     * @return instance
+     */
+    public static ColumnChunkLRUCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return true if cache size is configured
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Below method will be used to get the chunk from cache. Returned array is
+     * shared, so it must not be modified.
+     *
+     * @param filePath fact file path
+     * @param offset   offset of the chunk
+     * @param length   length of the chunk
+     * @return chunk or null if it is not present
+     */
+    public byte[] get(String filePath, long offset, int length) {
+        if (!isEnabled()) {
+            return null;
+        }
+        byte[] chunk;
+        synchronized (this) {
+            chunk = chunks.get(new ChunkKey(filePath, offset, length));
+        }
+        if (null == chunk) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+            bytesReadSaved.addAndGet(length);
+        }
+        return chunk;
+    }
+
+    /**
+     * @param filePath fact file path
+     * @param offset   offset of the chunk
+     * @param length   length of the chunk
+     * @return true if chunk is present in cache
+     */
+    public synchronized boolean contains(String filePath, long offset, int length) {
+        return isEnabled() && chunks.containsKey(new ChunkKey(filePath, offset, length));
+    }
+
+    /**
+     * Below method will be used to add a chunk read from file, least recently
+     * used chunks are removed till the cache is within its size. Chunk is not
+     * cached if executor memory budget is exhausted.
+     *
+     * @param filePath fact file path
+     * @param offset   offset of the chunk
+     * @param chunk    chunk data
+     */
+    public void put(String filePath, long offset, byte[] chunk) {
+        if (!isEnabled() || chunk.length > maxSize) {
+            return;
+        }
+        ExecutorMemoryManager memoryManager = ExecutorMemoryManager.getInstance();
+        if (!memoryManager.tryReserve(MEMORY_OWNER, MemoryType.CACHE, chunk.length)) {
+            return;
+        }
+        long released = 0;
+        synchronized (this) {
+            byte[] previous = chunks.put(new ChunkKey(filePath, offset, chunk.length), chunk);
+            if (null != previous) {
+                released += previous.length;
+            }
+            currentSize += chunk.length;
+            Iterator<Map.Entry<ChunkKey, byte[]>> iterator = chunks.entrySet().iterator();
+            while (currentSize - released > maxSize && iterator.hasNext()) {
+                released += iterator.next().getValue().length;
+                iterator.remove();
+            }
+            currentSize -= released;
+        }
+        memoryManager.release(MEMORY_OWNER, MemoryType.CACHE, released);
+    }
+
+    /**
+     * Below method will be used to remove all the chunks of a fact file, used
+     * when the file is deleted or replaced
+     *
+     * @param filePath fact file path
+     */
+    public void removeFile(String filePath) {
+        if (!isEnabled()) {
+            return;
+        }
+        long released = 0;
+        synchronized (this) {
+            Iterator<Map.Entry<ChunkKey, byte[]>> iterator = chunks.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ChunkKey, byte[]> entry = iterator.next();
+                if (entry.getKey().filePath.equals(filePath)) {
+                    released += entry.getValue().length;
+                    iterator.remove();
+                }
+            }
+            currentSize -= released;
+        }
+        ExecutorMemoryManager.getInstance().release(MEMORY_OWNER, MemoryType.CACHE, released);
+    }
+
+    @Override
+    public String getOwner() {
+        return MEMORY_OWNER;
+    }
+
+    /**
+     * Below method will be used to evict least recently used chunks when
+     * executor memory is needed by others
+     *
+     * @param size number of bytes requested
+     * @return number of bytes evicted
+     */
+    @Override
+    public long spill(long size) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long released = 0;
+        synchronized (this) {
+            Iterator<Map.Entry<ChunkKey, byte[]>> iterator = chunks.entrySet().iterator();
+            while (released < size && iterator.hasNext()) {
+                released += iterator.next().getValue().length;
+                iterator.remove();
+            }
+            currentSize -= released;
+        }
+        ExecutorMemoryManager.getInstance().release(MEMORY_OWNER, MemoryType.CACHE, released);
+        LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                "Evicted " + released + " bytes from column chunk cache for executor memory");
+        return released;
+    }
+
+    /**
+     * @return current size of cache in bytes
+     */
+    public synchronized long getCurrentSize() {
+        return currentSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getBytesReadSaved() {
+        return bytesReadSaved.get();
+    }
+
+    /**
+     * Key of one column chunk
+     */
+    private static final class ChunkKey {
+        private String filePath;
+
+        private long offset;
+
+        private int length;
+
+        private ChunkKey(String filePath, long offset, int length) {
+            this.filePath = filePath;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = filePath.hashCode();
+            result = 31 * result + (int) (offset ^ (offset >>> 32));
+            return 31 * result + length;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ChunkKey)) {
+                return false;
+            }
+            ChunkKey other = (ChunkKey) obj;
+            return offset == other.offset && length == other.length && filePath
+                    .equals(other.filePath);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.datastorage.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryConsumer;
+import org.carbondata.core.memory.MemoryType;
+import org.carbondata.core.metrics.Gauge;
+import org.carbondata.core.metrics.MetricsRegistry;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.util.CarbonEngineLogEvent;
+
+/**
+ * Cache of the results of queries executed on a partition. Results are
+ * identified by a key built from the normalized query and the partition, and
+ * each result holds the rows of a set of segments (load folders), so a query
+ * on more segments can reuse the cached rows of old segments and scan only
+ * the new ones. A segment is identified by its name and modification time,
+ * results of segments which are deleted, merged or updated are removed when
+ * they are looked up. Rows are kept serialized and compressed, cache is
+ * bounded by the total number of bytes held and the bytes are reserved from
+ * executor memory budget like {@link ColumnChunkLRUCache}.
+ */
+public final class QueryResultCache implements MemoryConsumer {
+    /**
+     * constant for converting MB into bytes
+     */
+    private static final int BYTE_CONVERSION_CONSTANT = 1024 * 1024;
+    /**
+     * owner of the cached bytes in executor memory budget
+     */
+    private static final String MEMORY_OWNER = "query.result.cache";
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(QueryResultCache.class.getName());
+    /**
+     * instance
+     */
+    private static QueryResultCache instance = new QueryResultCache();
+    /**
+     * results of each query key in access order
+     */
+    private LinkedHashMap<String, List<SegmentResult>> results;
+    /**
+     * max size of the cache in bytes, cache is disabled if not positive
+     */
+    private long maxSize;
+    /**
+     * max size of one result in bytes
+     */
+    private long maxEntrySize;
+    /**
+     * current size of the cache in bytes
+     */
+    private long currentSize;
+    /**
+     * hitCount
+     */
+    private AtomicLong hitCount = new AtomicLong();
+    /**
+     * missCount
+     */
+    private AtomicLong missCount = new AtomicLong();
+
+    private QueryResultCache() {
+        long configuredSize = getSize(CarbonCommonConstants.CARBON_MAX_QUERY_RESULT_CACHE_SIZE,
+                CarbonCommonConstants.CARBON_MAX_QUERY_RESULT_CACHE_SIZE_DEFAULT);
+        if (configuredSize > 0) {
+            LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                    "Configured query result cache size is " + configuredSize + " MB");
+            maxSize = configuredSize * BYTE_CONVERSION_CONSTANT;
+            maxEntrySize = getSize(CarbonCommonConstants.CARBON_MAX_QUERY_RESULT_CACHE_ENTRY_SIZE,
+                    CarbonCommonConstants.CARBON_MAX_QUERY_RESULT_CACHE_ENTRY_SIZE_DEFAULT)
+                    * BYTE_CONVERSION_CONSTANT;
+            results = new LinkedHashMap<String, List<SegmentResult>>(
+                    CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 0.75f, true);
+            registerGauges();
+            ExecutorMemoryManager.getInstance().registerConsumer(this);
+        }
+    }
+
+    private static long getSize(String key, String defaultValue) {
+        try {
+            return Long.parseLong(CarbonProperties.getInstance().getProperty(key, defaultValue));
+        } catch (NumberFormatException e) {
+            return Long.parseLong(defaultValue);
+        }
+    }
+
+    /**
+     * Below method will be used to expose size and hit ratio of the cache
+     * through metrics registry
+     */
+    private void registerGauges() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.registerGauge("query.result.cache.size", new Gauge() {
+            @Override
+            public long getValue() {
+                return getCurrentSize();
+            }
+        });
+        registry.registerGauge("query.result.cache.hits", new Gauge() {
+            @Override
+            public long getValue() {
+                return getHitCount();
+            }
+        });
+        registry.registerGauge("query.result.cache.misses", new Gauge() {
+            @Override
+            public long getValue() {
+                return getMissCount();
+            }
+        });
+    }
+
+    /**
+     * @return instance
+     */
+    public static QueryResultCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return true if cache size is configured
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @return max size of one result in bytes
+     */
+    public long getMaxEntrySize() {
+        return Math.min(maxEntrySize, maxSize);
+    }
+
+    /**
+     * Below method will be used to get the cached results of a query which
+     * are valid for the segments to be queried. Results which refer to a
+     * segment not present in the given segments, or present with other
+     * modification time, are removed from cache. Returned results never
+     * share a segment.
+     *
+     * @param key      query key
+     * @param segments segment name and modification time of segments queried
+     * @return valid results, empty if none
+     */
+    public List<SegmentResult> get(String key, Map<String, Long> segments) {
+        List<SegmentResult> validResults = new ArrayList<SegmentResult>();
+        if (!isEnabled()) {
+            return validResults;
+        }
+        long released = 0;
+        synchronized (this) {
+            List<SegmentResult> cachedResults = results.get(key);
+            if (null != cachedResults) {
+                Iterator<SegmentResult> iterator = cachedResults.iterator();
+                while (iterator.hasNext()) {
+                    SegmentResult result = iterator.next();
+                    if (result.isValid(segments)) {
+                        validResults.add(result);
+                    } else {
+                        released += result.data.length;
+                        iterator.remove();
+                    }
+                }
+                if (cachedResults.isEmpty()) {
+                    results.remove(key);
+                }
+                currentSize -= released;
+            }
+        }
+        ExecutorMemoryManager.getInstance().release(MEMORY_OWNER, MemoryType.CACHE, released);
+        if (validResults.isEmpty()) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return validResults;
+    }
+
+    /**
+     * Below method will be used to add the result of a query on a set of
+     * segments. Result is not added if a cached result of the key already
+     * has one of the segments, which happens when the same query runs in
+     * parallel. Cached results which have one of the segments with other
+     * modification time are removed. Least recently used keys are removed
+     * till the cache is within its size.
+     *
+     * @param key      query key
+     * @param segments segment name and modification time of segments of result
+     * @param data     serialized rows of the result
+     */
+    public void put(String key, Map<String, Long> segments, byte[] data) {
+        if (!isEnabled() || segments.isEmpty() || data.length > getMaxEntrySize()) {
+            return;
+        }
+        ExecutorMemoryManager memoryManager = ExecutorMemoryManager.getInstance();
+        if (!memoryManager.tryReserve(MEMORY_OWNER, MemoryType.CACHE, data.length)) {
+            return;
+        }
+        long released = 0;
+        synchronized (this) {
+            List<SegmentResult> cachedResults = results.get(key);
+            if (null == cachedResults) {
+                cachedResults = new ArrayList<SegmentResult>();
+                results.put(key, cachedResults);
+            }
+            boolean isPresent = false;
+            Iterator<SegmentResult> iterator = cachedResults.iterator();
+            while (iterator.hasNext()) {
+                SegmentResult result = iterator.next();
+                if (result.hasSameSegment(segments)) {
+                    isPresent = true;
+                } else if (result.hasUpdatedSegment(segments)) {
+                    released += result.data.length;
+                    iterator.remove();
+                }
+            }
+            if (isPresent) {
+                released += data.length;
+            } else {
+                cachedResults.add(new SegmentResult(segments, data));
+            }
+            currentSize += data.length;
+            Iterator<Map.Entry<String, List<SegmentResult>>> keyIterator =
+                    results.entrySet().iterator();
+            while (currentSize - released > maxSize && keyIterator.hasNext()) {
+                released += getSize(keyIterator.next().getValue());
+                keyIterator.remove();
+            }
+            currentSize -= released;
+        }
+        memoryManager.release(MEMORY_OWNER, MemoryType.CACHE, released);
+    }
+
+    private static long getSize(List<SegmentResult> segmentResults) {
+        long size = 0;
+        for (SegmentResult result : segmentResults) {
+            size += result.data.length;
+        }
+        return size;
+    }
+
+    @Override
+    public String getOwner() {
+        return MEMORY_OWNER;
+    }
+
+    /**
+     * Below method will be used to evict least recently used results when
+     * executor memory is needed by others
+     *
+     * @param size number of bytes requested
+     * @return number of bytes evicted
+     */
+    @Override
+    public long spill(long size) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long released = 0;
+        synchronized (this) {
+            Iterator<Map.Entry<String, List<SegmentResult>>> iterator =
+                    results.entrySet().iterator();
+            while (released < size && iterator.hasNext()) {
+                released += getSize(iterator.next().getValue());
+                iterator.remove();
+            }
+            currentSize -= released;
+        }
+        ExecutorMemoryManager.getInstance().release(MEMORY_OWNER, MemoryType.CACHE, released);
+        LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                "Evicted " + released + " bytes from query result cache for executor memory");
+        return released;
+    }
+
+    /**
+     * @return current size of cache in bytes
+     */
+    public synchronized long getCurrentSize() {
+        return currentSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Result of a query on a set of segments
+     */
+    public static final class SegmentResult {
+        /**
+         * segment name and modification time
+         */
+        private Map<String, Long> segments;
+
+        /**
+         * serialized rows
+         */
+        private byte[] data;
+
+        private SegmentResult(Map<String, Long> segments, byte[] data) {
+            this.segments = new LinkedHashMap<String, Long>(segments);
+            this.data = data;
+        }
+
+        public Map<String, Long> getSegments() {
+            return segments;
+        }
+
+        /**
+         * @return serialized rows, must not be modified
+         */
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * @return true if all segments of result are present in the given
+         * segments with the same modification time
+         */
+        private boolean isValid(Map<String, Long> currentSegments) {
+            for (Map.Entry<String, Long> entry : segments.entrySet()) {
+                if (!entry.getValue().equals(currentSegments.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean hasSameSegment(Map<String, Long> otherSegments) {
+            for (Map.Entry<String, Long> entry : otherSegments.entrySet()) {
+                if (entry.getValue().equals(segments.get(entry.getKey()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasUpdatedSegment(Map<String, Long> otherSegments) {
+            for (Map.Entry<String, Long> entry : otherSegments.entrySet()) {
+                Long modificationTime = segments.get(entry.getKey());
+                if (null != modificationTime && !modificationTime.equals(entry.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -126,6 +126,10 @@ public class CSBTree implements DataStore {
      */
     private int[] keyBlockSize;
     private boolean[] aggKeyBlock;
+    /**
+     * whether column data of in memory leaf nodes is loaded on first access
+     */
+    private boolean isLazyLeafLoad;
 
     // private String dataFolderLoc;
     private HybridStoreModel hybridStoreModel;
@@ -150,6 +154,9 @@ public class CSBTree implements DataStore {
                         CarbonCommonConstants.LEAFNODE_SIZE_DEFAULT_VAL));
 
         this.isFileStore = isFileStore;
+        this.isLazyLeafLoad = Boolean.parseBoolean(CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.LAZY_LEAF_NODE_LOAD,
+                        CarbonCommonConstants.LAZY_LEAF_NODE_LOAD_DEFAULT_VALUE));
         this.keyBlockSize = keyBlockSize;
         setRangeSplitvalue();
         this.aggKeyBlock = aggKeyBlock;
@@ -219,6 +226,23 @@ public class CSBTree implements DataStore {
                 "Range Split value for parallel execution of a tree : " + rangeSplitValue);
     }
 
+    /**
+     * Below method will be used to invalidate all the leaf nodes of the tree,
+     * called when the load of the tree is deleted or merged
+     */
+    public void invalidateLeafNodes() {
+        CSBNode node = root;
+        while (null != node && !node.isLeafNode()) {
+            CSBNode[] children = ((CSBInternalNode) node).getChildren();
+            node = (null == children || children.length == 0) ? null : children[0];
+        }
+        for (; null != node; node = node.getNext()) {
+            if (node instanceof CSBTreeColumnarLeafNode) {
+                ((CSBTreeColumnarLeafNode) node).invalidate();
+            }
+        }
+    }
+
     // return number of key-value pairs in the CSB-tree
     public long size() {
         return nTotalKeys;
@@ -261,7 +285,7 @@ public class CSBTree implements DataStore {
                     }
                     curNode = new CSBTreeColumnarLeafNode(leafNodeInfo.getNumberOfKeys(),
                             keyBlockSize, isFileStore, fileHolder, leafNodeInfo, compressionModel,
-                            nodeNumber++, metaCube, hybridStoreModel);
+                            nodeNumber++, metaCube, hybridStoreModel, isLazyLeafLoad);
                     nLeaf++;
 
                     if (prevNode != null) {
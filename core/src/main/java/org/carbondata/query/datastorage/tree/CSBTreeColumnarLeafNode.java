@@ -27,6 +27,7 @@ import org.carbondata.core.datastorage.store.NodeMeasureDataStore;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStore;
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
+import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.datastorage.util.StoreFactory;
 import org.carbondata.core.metadata.LeafNodeInfoColumnar;
 import org.carbondata.core.metadata.CarbonMetadata.Cube;
@@ -73,17 +74,68 @@ public class CSBTreeColumnarLeafNode extends CSBNode {
 
     private byte[][] columnMaxData;
 
+    /**
+     * details required to load the column data of the node on first access,
+     * null once the data is loaded
+     */
+    private volatile LazyLoadInfo lazyLoadInfo;
+
+    /**
+     * set when the load of this node is deleted or merged, column data of a
+     * lazy node cannot be read after that
+     */
+    private volatile boolean isInvalidated;
+
+    /**
+     * offsets of the key blocks in fact file, only for file store
+     */
+    private long[] keyBlockOffsets;
+
+    /**
+     * lengths of the key blocks in fact file, only for file store
+     */
+    private int[] keyBlockLengths;
+
+    /**
+     * offsets of the measures in fact file, only for file store
+     */
+    private long[] measureOffsets;
+
+    /**
+     * lengths of the measures in fact file, only for file store
+     */
+    private int[] measureLengths;
+
     public CSBTreeColumnarLeafNode(int maxKeys, int[] eachBlockSize, boolean isFileStore,
             FileHolder fileHolder, LeafNodeInfoColumnar leafNodeInfo,
             ValueCompressionModel compressionModel, long nodeNumber, Cube metaCube,
             HybridStoreModel hybridStoreModel) {
+        this(maxKeys, eachBlockSize, isFileStore, fileHolder, leafNodeInfo, compressionModel,
+                nodeNumber, metaCube, hybridStoreModel, false);
+    }
+
+    /**
+     * @param isLazyLoad if true column data of in memory node is read on first
+     *                   access, only min max and number of keys are loaded
+     */
+    public CSBTreeColumnarLeafNode(int maxKeys, int[] eachBlockSize, boolean isFileStore,
+            FileHolder fileHolder, LeafNodeInfoColumnar leafNodeInfo,
+            ValueCompressionModel compressionModel, long nodeNumber, Cube metaCube,
+            HybridStoreModel hybridStoreModel, boolean isLazyLoad) {
         nKeys = leafNodeInfo.getNumberOfKeys();
-        keyStore = StoreFactory.createColumnarKeyStore(
-                CarbonUtil.getColumnarKeyStoreInfo(leafNodeInfo, eachBlockSize, hybridStoreModel),
-                fileHolder, isFileStore);
-        dataStore = StoreFactory
-                .createDataStore(isFileStore, compressionModel, leafNodeInfo.getMeasureOffset(),
-                        leafNodeInfo.getMeasureLength(), leafNodeInfo.getFileName(), fileHolder);
+        if (isLazyLoad && !isFileStore) {
+            lazyLoadInfo = new LazyLoadInfo(eachBlockSize, leafNodeInfo, compressionModel,
+                    hybridStoreModel);
+        } else {
+            createStores(eachBlockSize, isFileStore, fileHolder, leafNodeInfo, compressionModel,
+                    hybridStoreModel);
+        }
+        if (isFileStore) {
+            keyBlockOffsets = leafNodeInfo.getKeyOffSets();
+            keyBlockLengths = leafNodeInfo.getKeyLengths();
+            measureOffsets = leafNodeInfo.getMeasureOffset();
+            measureLengths = leafNodeInfo.getMeasureLength();
+        }
         this.nodeNumber = nodeNumber;
         byte[][] columnMinMaxData = leafNodeInfo.getColumnMinMaxData();
         this.columnMinData = new byte[columnMinMaxData.length][];
@@ -123,6 +175,56 @@ public class CSBTreeColumnarLeafNode extends CSBNode {
         this.factFileName = leafNodeInfo.getFileName();
     }
 
+    private void createStores(int[] eachBlockSize, boolean isFileStore, FileHolder fileHolder,
+            LeafNodeInfoColumnar leafNodeInfo, ValueCompressionModel compressionModel,
+            HybridStoreModel hybridStoreModel) {
+        keyStore = StoreFactory.createColumnarKeyStore(
+                CarbonUtil.getColumnarKeyStoreInfo(leafNodeInfo, eachBlockSize, hybridStoreModel),
+                fileHolder, isFileStore);
+        dataStore = StoreFactory
+                .createDataStore(isFileStore, compressionModel, leafNodeInfo.getMeasureOffset(),
+                        leafNodeInfo.getMeasureLength(), leafNodeInfo.getFileName(), fileHolder);
+    }
+
+    /**
+     * Below method will be used to load the column data of the node if it is
+     * not loaded yet
+     */
+    private void loadIfRequired() {
+        if (null == lazyLoadInfo) {
+            return;
+        }
+        synchronized (this) {
+            LazyLoadInfo info = lazyLoadInfo;
+            if (null == info) {
+                return;
+            }
+            if (isInvalidated) {
+                throw new IllegalStateException(
+                        "Column data cannot be loaded as the load of fact file " + factFileName
+                                + " is deleted or merged");
+            }
+            FileHolder fileHolder = FileFactory
+                    .getFileHolder(FileFactory.getFileType(info.leafNodeInfo.getFileName()));
+            try {
+                createStores(info.eachBlockSize, false, fileHolder, info.leafNodeInfo,
+                        info.compressionModel, info.hybridStoreModel);
+            } finally {
+                fileHolder.finish();
+            }
+            lazyLoadInfo = null;
+        }
+    }
+
+    /**
+     * Below method will be used to mark the node invalid when its load is
+     * deleted or merged, so that column data which is not loaded yet is not
+     * read from the fact file any more
+     */
+    public void invalidate() {
+        isInvalidated = true;
+    }
+
     /**
      * @return the nKeys
      */
@@ -219,11 +321,13 @@ public class CSBTreeColumnarLeafNode extends CSBNode {
 
     @Override
     public short getValueSize() {
+        loadIfRequired();
         return dataStore.getLength();
     }
 
     @Override
     public MeasureDataWrapper getNodeMsrDataWrapper(int[] cols, FileHolder fileHolder) {
+        loadIfRequired();
         return dataStore.getBackData(cols, fileHolder);
     }
 
@@ -235,6 +339,7 @@ public class CSBTreeColumnarLeafNode extends CSBNode {
     @Override
     public ColumnarKeyStoreDataHolder[] getColumnarKeyStore(FileHolder fileHolder, int[] blockIndex,
             boolean[] needCompressedData) {
+        loadIfRequired();
         return keyStore.getUnCompressedKeyArray(fileHolder, blockIndex, needCompressedData);
     }
 
@@ -246,11 +351,13 @@ public class CSBTreeColumnarLeafNode extends CSBNode {
     @Override
     public ColumnarKeyStoreDataHolder getColumnarKeyStore(FileHolder fileHolder, int blockIndex,
             boolean needCompressedData) {
+        loadIfRequired();
         return keyStore.getUnCompressedKeyArray(fileHolder, blockIndex, needCompressedData);
     }
 
     @Override
     public MeasureDataWrapper getNodeMsrDataWrapper(int cols, FileHolder fileHolder) {
+        loadIfRequired();
         return dataStore.getBackData(cols, fileHolder);
     }
 
@@ -258,4 +365,52 @@ public class CSBTreeColumnarLeafNode extends CSBNode {
         return factFileName;
     }
 
+    /**
+     * Below method will be used to request the column chunks of this node
+     * which will be read by the query, so that file holder can read them in
+     * background. Only applicable for file store.
+     *
+     * @param fileHolder     file holder of the query
+     * @param blockIndexes   key blocks to be read
+     * @param measureIndexes measures to be read
+     */
+    public void prefetch(FileHolder fileHolder, int[] blockIndexes, int[] measureIndexes) {
+        if (null == keyBlockOffsets) {
+            return;
+        }
+        for (int i = 0; i < blockIndexes.length; i++) {
+            if (blockIndexes[i] < keyBlockOffsets.length) {
+                fileHolder.prefetch(factFileName, keyBlockOffsets[blockIndexes[i]],
+                        keyBlockLengths[blockIndexes[i]]);
+            }
+        }
+        for (int i = 0; i < measureIndexes.length; i++) {
+            if (measureIndexes[i] < measureOffsets.length) {
+                fileHolder.prefetch(factFileName, measureOffsets[measureIndexes[i]],
+                        measureLengths[measureIndexes[i]]);
+            }
+        }
+    }
+
+    /**
+     * details of the leaf node required to load its column data
+     */
+    private static final class LazyLoadInfo {
+        private int[] eachBlockSize;
+
+        private LeafNodeInfoColumnar leafNodeInfo;
+
+        private ValueCompressionModel compressionModel;
+
+        private HybridStoreModel hybridStoreModel;
+
+        private LazyLoadInfo(int[] eachBlockSize, LeafNodeInfoColumnar leafNodeInfo,
+                ValueCompressionModel compressionModel, HybridStoreModel hybridStoreModel) {
+            this.eachBlockSize = eachBlockSize;
+            this.leafNodeInfo = leafNodeInfo;
+            this.compressionModel = compressionModel;
+            this.hybridStoreModel = hybridStoreModel;
+        }
+    }
+
 }
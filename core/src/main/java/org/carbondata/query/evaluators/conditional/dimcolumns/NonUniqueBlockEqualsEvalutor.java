@@ -20,9 +20,9 @@
 package org.carbondata.query.evaluators.conditional.dimcolumns;
 
 import java.util.BitSet;
-import java.util.Map;
 
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 import org.carbondata.core.util.ByteUtil;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.query.evaluators.AbstractConditionalEvalutor;
@@ -63,45 +63,34 @@ public class NonUniqueBlockEqualsEvalutor extends AbstractConditionalEvalutor {
         return setFilterdIndexToBitSet(keyBlockArray, numerOfRows);
     }
 
+    /**
+     * Values of direct surrogate column are sorted in column block, so
+     * position of each filter value is found by binary search and the rows
+     * of the equal values after it are selected.
+     */
     private BitSet setDirectKeyFilterIndexToBitSet(ColumnarKeyStoreDataHolder keyBlockArray,
             int numerOfRows) {
         BitSet bitSet = new BitSet(numerOfRows);
-        Map<Integer, byte[]> mapOfColumnarKeyBlockDataForDirectSurroagtes =
-                keyBlockArray.getColumnarKeyStoreMetadata()
-                        .getMapOfColumnarKeyBlockDataForDirectSurroagtes();
+        VariableLengthColumnBlock columnBlock =
+                keyBlockArray.getColumnarKeyStoreMetadata().getDirectSurrogateColumnBlock();
+        if (null == columnBlock) {
+            return bitSet;
+        }
         byte[][] filterValues = dimColEvaluatorInfoList.get(0).getFilterValues();
         int[] columnIndexArray = keyBlockArray.getColumnarKeyStoreMetadata().getColumnIndex();
-        int[] columnReverseIndexArray =
-                keyBlockArray.getColumnarKeyStoreMetadata().getColumnReverseIndex();
+        int numberOfValues = columnBlock.getNumberOfValues();
         for (int i = 0; i < filterValues.length; i++) {
-            byte[] filterVal = filterValues[i];
-            if (null != mapOfColumnarKeyBlockDataForDirectSurroagtes) {
-
-                if (null != columnIndexArray) {
-                    for (int index : columnIndexArray) {
-                        byte[] directSurrogate = mapOfColumnarKeyBlockDataForDirectSurroagtes
-                                .get(columnReverseIndexArray[index]);
-                        if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(filterVal, directSurrogate)
-                                == 0) {
-                            bitSet.set(index);
-                        }
-                    }
-                } else if (null != columnReverseIndexArray) {
-
-                    for (int index : columnReverseIndexArray) {
-                        byte[] directSurrogate = mapOfColumnarKeyBlockDataForDirectSurroagtes
-                                .get(columnReverseIndexArray[index]);
-                        if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(filterVal, directSurrogate)
-                                == 0) {
-                            bitSet.set(index);
-                        }
-                    }
-                }
-
+            int position = columnBlock.getFirstPosition(filterValues[i]);
+            if (position == -1) {
+                continue;
+            }
+            while (position < numberOfValues
+                    && columnBlock.compareTo(position, filterValues[i]) == 0) {
+                bitSet.set(null == columnIndexArray ? position : columnIndexArray[position]);
+                position++;
             }
         }
         return bitSet;
-
     }
 
     private BitSet setFilterdIndexToBitSetWithColumnIndex(ColumnarKeyStoreDataHolder keyBlockArray,
@@ -20,9 +20,9 @@
 package org.carbondata.query.evaluators.conditional.dimcolumns;
 
 import java.util.BitSet;
-import java.util.Map;
 
 import org.carbondata.core.datastorage.store.columnar.ColumnarKeyStoreDataHolder;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 import org.carbondata.core.util.ByteUtil;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.query.evaluators.AbstractConditionalEvalutor;
@@ -63,46 +63,35 @@ public class NonUniqueBlockNotEqualsEvaluator extends AbstractConditionalEvaluto
         return setFilterdIndexToBitSet(keyStoreArray, numerOfRows);
     }
 
+    /**
+     * Values of direct surrogate column are sorted in column block, so
+     * position of each filter value is found by binary search and the rows
+     * of the equal values after it are excluded.
+     */
     private BitSet setDirectKeyFilterIndexToBitSet(ColumnarKeyStoreDataHolder keyBlockArray,
             int numerOfRows) {
         BitSet bitSet = new BitSet(numerOfRows);
         bitSet.flip(0, numerOfRows);
-        Map<Integer, byte[]> mapOfColumnarKeyBlockDataForDirectSurroagtes =
-                keyBlockArray.getColumnarKeyStoreMetadata()
-                        .getMapOfColumnarKeyBlockDataForDirectSurroagtes();
+        VariableLengthColumnBlock columnBlock =
+                keyBlockArray.getColumnarKeyStoreMetadata().getDirectSurrogateColumnBlock();
+        if (null == columnBlock) {
+            return bitSet;
+        }
         byte[][] filterValues = dimColEvaluatorInfoList.get(0).getFilterValues();
         int[] columnIndexArray = keyBlockArray.getColumnarKeyStoreMetadata().getColumnIndex();
-        int[] columnReverseIndexArray =
-                keyBlockArray.getColumnarKeyStoreMetadata().getColumnReverseIndex();
+        int numberOfValues = columnBlock.getNumberOfValues();
         for (int i = 0; i < filterValues.length; i++) {
-            byte[] filterVal = filterValues[i];
-            if (null != mapOfColumnarKeyBlockDataForDirectSurroagtes) {
-
-                if (null != columnReverseIndexArray) {
-                    for (int index : columnIndexArray) {
-                        byte[] directSurrogate = mapOfColumnarKeyBlockDataForDirectSurroagtes
-                                .get(columnReverseIndexArray[index]);
-                        if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(filterVal, directSurrogate)
-                                == 0) {
-                            bitSet.flip(index);
-                        }
-                    }
-                } else if (null != columnIndexArray) {
-
-                    for (int index : columnIndexArray) {
-                        byte[] directSurrogate = mapOfColumnarKeyBlockDataForDirectSurroagtes
-                                .get(columnIndexArray[index]);
-                        if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(filterVal, directSurrogate)
-                                == 0) {
-                            bitSet.flip(index);
-                        }
-                    }
-                }
-
+            int position = columnBlock.getFirstPosition(filterValues[i]);
+            if (position == -1) {
+                continue;
+            }
+            while (position < numberOfValues
+                    && columnBlock.compareTo(position, filterValues[i]) == 0) {
+                bitSet.clear(null == columnIndexArray ? position : columnIndexArray[position]);
+                position++;
             }
         }
         return bitSet;
-
     }
 
     private BitSet setFilterdIndexToBitSetWithColumnIndex(ColumnarKeyStoreDataHolder keyBlockArray,
@@ -210,7 +210,7 @@ public class RowLevelFilterEvalutor extends AbstractConditionalEvalutor {
                             blockDataHolder.getColumnarKeyStore()[dimColumnEvaluatorInfo
                                     .getColumnIndex()];
                     if (null != columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata()
-                            .getMapOfColumnarKeyBlockDataForDirectSurroagtes()) {
+                            .getDirectSurrogateColumnBlock()) {
                         Member member = readMemberBasedOnDirectSurrogate(dimColumnEvaluatorInfo,
                                 columnarKeyStoreDataHolder, index);
                         if (null != member) {
@@ -341,12 +341,12 @@ public class RowLevelFilterEvalutor extends AbstractConditionalEvalutor {
                 .getColumnReverseIndex()) {
             // Getting the data for direct surrogates.
             directSurrogates = columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata()
-                    .getMapOfColumnarKeyBlockDataForDirectSurroagtes()
-                    .get(columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata()
+                    .getDirectSurrogateColumnBlock()
+                    .getValue(columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata()
                             .getColumnReverseIndex()[index]);
         } else {
             directSurrogates = columnarKeyStoreDataHolder.getColumnarKeyStoreMetadata()
-                    .getMapOfColumnarKeyBlockDataForDirectSurroagtes().get(index);
+                    .getDirectSurrogateColumnBlock().getValue(index);
         }
         Member member = new Member(directSurrogates);
         return member;
@@ -255,6 +255,19 @@ public class CarbonQueryExecutorModel implements Serializable {
      * modification time as value.
      */
     private QueryScopeObject queryScopeObject;
+    /**
+     * index of the sub split of partition scanned by this task
+     */
+    private int subSplitIndex;
+    /**
+     * number of sub splits the partition is divided into
+     */
+    private int numberOfSubSplits = 1;
+    /**
+     * normalized query used as key of query result cache, null if result of
+     * the query is not cached
+     */
+    private String resultCacheKey;
 
     public Accumulator<PartitionDetail> getPartitionAccumulator() {
         return partitionDetails;
@@ -917,4 +930,46 @@ public class CarbonQueryExecutorModel implements Serializable {
     public void setListOfAllLoadFolder(List<String> listOfAllLoadFolder) {
         this.listOfAllLoadFolder = listOfAllLoadFolder;
     }
+
+    /**
+     * @return index of the sub split of partition scanned by this task
+     */
+    public int getSubSplitIndex() {
+        return subSplitIndex;
+    }
+
+    /**
+     * @param subSplitIndex index of the sub split of partition scanned by this task
+     */
+    public void setSubSplitIndex(int subSplitIndex) {
+        this.subSplitIndex = subSplitIndex;
+    }
+
+    /**
+     * @return number of sub splits the partition is divided into
+     */
+    public int getNumberOfSubSplits() {
+        return numberOfSubSplits;
+    }
+
+    /**
+     * @param numberOfSubSplits number of sub splits the partition is divided into
+     */
+    public void setNumberOfSubSplits(int numberOfSubSplits) {
+        this.numberOfSubSplits = numberOfSubSplits;
+    }
+
+    /**
+     * @return normalized query used as key of query result cache
+     */
+    public String getResultCacheKey() {
+        return resultCacheKey;
+    }
+
+    /**
+     * @param resultCacheKey normalized query used as key of query result cache
+     */
+    public void setResultCacheKey(String resultCacheKey) {
+        this.resultCacheKey = resultCacheKey;
+    }
 }
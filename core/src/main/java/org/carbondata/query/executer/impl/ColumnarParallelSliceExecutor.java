@@ -30,7 +30,6 @@ import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.iterator.CarbonIterator;
 import org.carbondata.core.keygenerator.KeyGenException;
 import org.carbondata.core.util.CarbonProperties;
-import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.executer.SliceExecuter;
 import org.carbondata.query.executer.exception.QueryExecutionException;
 import org.carbondata.query.executer.pagination.impl.QueryResult;
@@ -40,6 +39,7 @@ import org.carbondata.query.querystats.PartitionDetail;
 import org.carbondata.query.querystats.PartitionStatsCollector;
 import org.carbondata.query.schema.metadata.SliceExecutionInfo;
 import org.carbondata.query.util.CarbonEngineLogEvent;
+import org.carbondata.query.util.QueryExecutorUtility;
 
 public class ColumnarParallelSliceExecutor implements SliceExecuter {
 
@@ -86,14 +86,11 @@ public class ColumnarParallelSliceExecutor implements SliceExecuter {
                 if (!info.isExecutionRequired()) {
                     continue;
                 }
-                DataStoreBlock startNode = info.getSlice().getDataCache(info.getTableName())
-                        .getDataStoreBlock(info.getKeyGenerator().generateKey(info.getStartKey()),
-                                null, true);
-
-                DataStoreBlock lastNode = info.getSlice().getDataCache(info.getTableName())
-                        .getDataStoreBlock(info.getKeyGenerator().generateKey(info.getEndKey()),
-                                null, false);
-                long numberOfNodesToScan = lastNode.getNodeNumber() - startNode.getNodeNumber() + 1;
+                QueryExecutorUtility.setLeafNodesToScan(info);
+                long numberOfNodesToScan = info.getNumberOfNodeToScan();
+                if (numberOfNodesToScan < 1) {
+                    continue;
+                }
 
                 //Add this information to QueryDetail
                 // queryDetail will be there only when user do <dataframe>.collect
@@ -105,8 +102,8 @@ public class ColumnarParallelSliceExecutor implements SliceExecuter {
                 if (null != partitionDetail) {
                     partitionDetail.addNumberOfNodesScanned(numberOfNodesToScan);
                 }
-                task = new ColumnarSliceExecuter(info, scannedResultProcessor, startNode,
-                        numberOfNodesToScan);
+                task = new ColumnarSliceExecuter(info, scannedResultProcessor,
+                        info.getStartNode(), numberOfNodesToScan);
                 execService.submit(task);
             }
             execService.shutdown();
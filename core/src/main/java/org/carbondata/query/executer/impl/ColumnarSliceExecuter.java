@@ -19,6 +19,7 @@
 
 package org.carbondata.query.executer.impl;
 
+import java.util.Comparator;
 import java.util.concurrent.Callable;
 
 import org.carbondata.common.logging.LogService;
@@ -26,6 +27,8 @@ import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.common.logging.impl.StandardLogService;
 import org.carbondata.core.datastorage.store.FileHolder;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
+import org.carbondata.core.metrics.LatencyHistogram;
+import org.carbondata.core.metrics.MetricsRegistry;
 import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
 import org.carbondata.query.columnar.datastoreblockprocessor.ColumnarDataStoreBlockProcessorInfo;
 import org.carbondata.query.columnar.datastoreblockprocessor.DataStoreBlockProcessor;
@@ -34,11 +37,20 @@ import org.carbondata.query.columnar.datastoreblockprocessor.impl.NonFilterDataS
 import org.carbondata.query.columnar.scanner.ColumnarStorageScanner;
 import org.carbondata.query.columnar.scanner.impl.ColumnarStorageAggregatedScannerImpl;
 import org.carbondata.query.columnar.scanner.impl.ColumnarStorageScannerImpl;
+import org.carbondata.query.datastorage.cache.ColumnChunkCachedFileHolder;
+import org.carbondata.query.datastorage.cache.ColumnChunkLRUCache;
 import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
+import org.carbondata.query.executer.impl.topn.TopNScanResultHeap;
+import org.carbondata.query.executer.pagination.impl.DataFileWriter;
 import org.carbondata.query.executer.processor.ScannedResultProcessor;
+import org.carbondata.query.querystats.PartitionDetail;
+import org.carbondata.query.querystats.PartitionStatsCollector;
+import org.carbondata.query.querystats.ProfiledFileHolder;
+import org.carbondata.query.querystats.QueryProfile;
 import org.carbondata.query.schema.metadata.ColumnarStorageScannerInfo;
 import org.carbondata.query.schema.metadata.SliceExecutionInfo;
 import org.carbondata.query.util.CarbonEngineLogEvent;
+import org.carbondata.query.util.ScannedResultProcessorUtil;
 
 public class ColumnarSliceExecuter implements Callable<Void> {
     /**
@@ -47,6 +59,12 @@ public class ColumnarSliceExecuter implements Callable<Void> {
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(ColumnarSliceExecuter.class.getName());
 
+    /**
+     * time taken by one scan task
+     */
+    private static final LatencyHistogram SCAN_TASK_TIME =
+            MetricsRegistry.getInstance().histogram("query.scan.task.time");
+
     private FileHolder fileHolder;
 
     private ColumnarStorageScanner columnarstorageScanner;
@@ -55,12 +73,21 @@ public class ColumnarSliceExecuter implements Callable<Void> {
 
     private String queryID;
 
+    private QueryProfile queryProfile;
+
     public ColumnarSliceExecuter(SliceExecutionInfo info,
             ScannedResultProcessor scannedResultProcessor, DataStoreBlock dataStoreBlock,
             long numberOfNodesToScan) {
-        this.fileHolder = FileFactory.getFileHolder(FileFactory.getFileType(info.getOutLocation()));
         this.partitionID = StandardLogService.getPartitionID(info.getCubeName());
         this.queryID = info.getQueryId();
+        this.queryProfile = PartitionStatsCollector.getInstance().getQueryProfile(queryID);
+        this.fileHolder = new ProfiledFileHolder(
+                FileFactory.getFileHolder(FileFactory.getFileType(info.getOutLocation())),
+                queryProfile);
+        if (ColumnChunkLRUCache.getInstance().isEnabled()) {
+            this.fileHolder = new ColumnChunkCachedFileHolder(this.fileHolder,
+                    ColumnChunkLRUCache.getInstance());
+        }
         StandardLogService.setThreadName(partitionID, queryID);
         if (!info.isDetailQuery()) {
             this.columnarstorageScanner = new ColumnarStorageAggregatedScannerImpl(
@@ -94,22 +121,56 @@ public class ColumnarSliceExecuter implements Callable<Void> {
         columnarStorageScannerInfo.setMsrColumnCount(info.getTotalNumberOfMeasuresInTable());
         columnarStorageScannerInfo.setQueryId(info.getQueryId());
         columnarStorageScannerInfo.setPartitionId(info.getPartitionId());
+        columnarStorageScannerInfo.setQueryProfile(queryProfile);
+        if (info.isDetailQuery() && info.isSortInKeyOrder() && null == info.getMsrSortModel()) {
+            columnarStorageScannerInfo.setSortedRunScan(true);
+        } else if (info.isDetailQuery() && info.getDimensionSortOrder().length > 0
+                && info.getLimit() > 0 && null == info.getMsrSortModel()) {
+            Comparator<DataFileWriter.KeyValueHolder> comparator = ScannedResultProcessorUtil
+                    .getMergerChainComparator(info.getMaskedByteRangeForSorting(),
+                            info.getDimensionSortOrder(), info.getDimensionMaskKeys());
+            columnarStorageScannerInfo.setTopNScanResultHeap(new TopNScanResultHeap(
+                    ScannedResultProcessorUtil.getDataProcessorInfo(info, null, comparator),
+                    comparator, info.getLimit()));
+        }
         return columnarStorageScannerInfo;
     }
 
     @Override
     public Void call() throws Exception {
         StandardLogService.setThreadName(partitionID, queryID);
+        long startTime = System.nanoTime();
         try {
             this.columnarstorageScanner.scanStore();
         } catch (Exception e) {
             LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e);
         } finally {
+            queryProfile.addTimeSince(QueryProfile.Counter.SCAN_TIME, startTime);
+            SCAN_TASK_TIME.recordSince(startTime);
             this.fileHolder.finish();
+            if (this.fileHolder instanceof ColumnChunkCachedFileHolder) {
+                addColumnChunkCacheStats((ColumnChunkCachedFileHolder) this.fileHolder);
+            }
         }
         return null;
     }
 
+    private void addColumnChunkCacheStats(ColumnChunkCachedFileHolder cachedFileHolder) {
+        LOGGER.debug(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                "Column chunk cache hits: " + cachedFileHolder.getHitCount() + ", misses: "
+                        + cachedFileHolder.getMissCount() + ", bytes read saved: "
+                        + cachedFileHolder.getBytesReadSaved());
+        PartitionDetail partitionDetail =
+                PartitionStatsCollector.getInstance().getPartionDetail(queryID);
+        if (null == partitionDetail) {
+            return;
+        }
+        synchronized (partitionDetail) {
+            partitionDetail.addColumnChunkCacheStats(cachedFileHolder.getHitCount(),
+                    cachedFileHolder.getMissCount(), cachedFileHolder.getBytesReadSaved());
+        }
+    }
+
     private ColumnarAggregatorInfo getColumnarAggregatorInfo(SliceExecutionInfo sliceInfo) {
         ColumnarAggregatorInfo aggregatorInfo = new ColumnarAggregatorInfo();
         //        aggregatorInfo.setAvgMsrIndexes(QueryExecutorUtil.convertIntegerListToIntArray(sliceInfo.getAvgIndexes()));
@@ -127,7 +188,10 @@ public class ColumnarSliceExecuter implements Callable<Void> {
         aggregatorInfo.setActualMaskedKeyByteSize(sliceInfo.getActualMaskedKeyByteSize());
         aggregatorInfo
                 .setActualMaxKeyBasedOnDimensions(sliceInfo.getActualMaxKeyBasedOnDimensions());
-        aggregatorInfo.setLimit(sliceInfo.getDimensionSortOrder().length > 0 || null != sliceInfo
+        // rows of a task are already in sort order when sort is in key order, so
+        // task can stop after limit rows
+        aggregatorInfo.setLimit((sliceInfo.getDimensionSortOrder().length > 0 && !(sliceInfo
+                .isDetailQuery() && sliceInfo.isSortInKeyOrder())) || null != sliceInfo
                 .getMsrSortModel() ? -1 : sliceInfo.getLimit());
         aggregatorInfo.setCurrentSliceIndex(sliceInfo.getCurrentSliceIndex());
         aggregatorInfo.setDimensionAggInfos(sliceInfo.getDimAggInfo());
@@ -141,6 +205,15 @@ public class ColumnarSliceExecuter implements Callable<Void> {
         aggregatorInfo.setDimensions(sliceInfo.getDimensions());
         aggregatorInfo.setDataTypes(sliceInfo.getDataTypes());
         aggregatorInfo.setMeasureOrdinalMap(sliceInfo.getMeasureOrdinalMap());
+        // groups can be dropped by measure filters after the scan, so completed
+        // groups are counted only when measures are not filtered
+        if (!sliceInfo.isDetailQuery() && sliceInfo.isSortDimensionInKeyOrder()
+                && sliceInfo.getLimit() > 0 && null == sliceInfo.getMsrSortModel()
+                && null == sliceInfo.getTopNModel() && !sliceInfo.isMeasureFilterPresent()) {
+            aggregatorInfo.setSortedGroupLimit(sliceInfo.getLimit());
+            aggregatorInfo.setSortKeyByteRange(sliceInfo.getMaskedByteRangeForSorting()[0]);
+            aggregatorInfo.setSortKeyMask(sliceInfo.getDimensionMaskKeys()[0]);
+        }
         return aggregatorInfo;
     }
 
@@ -161,6 +234,7 @@ public class ColumnarSliceExecuter implements Callable<Void> {
         blockProcessorInfo.setAllSelectedDimensions(sliceInfo.getAllSelectedDimensions());
         blockProcessorInfo.setTotalNumberOfDimension(sliceInfo.getTotalNumerOfDimColumns());
         blockProcessorInfo.setAllSelectedMeasures(sliceInfo.getAllSelectedMeasures());
+        blockProcessorInfo.setQueryProfile(queryProfile);
         return blockProcessorInfo;
     }
 
@@ -48,6 +48,7 @@ import org.carbondata.query.executer.SliceExecuter;
 import org.carbondata.query.executer.exception.QueryExecutionException;
 import org.carbondata.query.executer.pagination.impl.QueryResult;
 import org.carbondata.query.filters.measurefilter.util.FilterUtil;
+import org.carbondata.query.querystats.PartitionStatsCollector;
 import org.carbondata.query.result.ChunkResult;
 import org.carbondata.query.result.RowResult;
 import org.carbondata.query.result.iterator.ChunkBasedResultIterator;
@@ -156,7 +157,12 @@ public class QueryExecutorImpl extends AbstractQueryExecutor {
         if (infos.size() > 0) {
             if (!queryModel.isDetailQuery() || (queryModel.isDetailQuery() && null != queryModel
                     .getSortOrder() && queryModel.getSortOrder().length > 0)) {
+                long startTime = System.currentTimeMillis();
                 queryResultIterator = submitExecutorDetailQuery(infos);
+                LOGGER.debug(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                        "Scan and merge of all slices finished in " + (System.currentTimeMillis()
+                                - startTime) + " ms, profile: " + PartitionStatsCollector
+                                .getInstance().getQueryProfile(queryModel.getQueryId()));
             } else {
                 LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
                         "Memory based detail query: ");
@@ -188,8 +194,11 @@ public class QueryExecutorImpl extends AbstractQueryExecutor {
         LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
                 "Query will be executed on level file : " + queryModel.getDims()[0].getDimName());
 
+        // members are read from level files of whole partition, so only
+        // first sub split of partition returns them
         if (null == executerProperties.slices || executerProperties.slices.size() == 0
-                || checkIfAllEmptySlices(queryModel.getFactTable())) {
+                || checkIfAllEmptySlices(queryModel.getFactTable())
+                || queryModel.getSubSplitIndex() > 0) {
             // if there are not slice present then set empty row
             return new ChunkRowIterator(
                     new ChunkBasedResultIterator(new MemoryBasedResultIterator(new QueryResult()),
@@ -271,6 +280,13 @@ public class QueryExecutorImpl extends AbstractQueryExecutor {
 
     private CarbonIterator<RowResult> executeQueryForCountStar(CarbonQueryExecutorModel queryModel)
             throws QueryExecutionException {
+        // count is taken from the slices of whole partition, so only first
+        // sub split of partition returns it
+        if (queryModel.getSubSplitIndex() > 0) {
+            return new ChunkRowIterator(
+                    new ChunkBasedResultIterator(new MemoryBasedResultIterator(new QueryResult()),
+                            executerProperties, queryModel));
+        }
         SliceExecuter sliceExec = new ColumnarCountStartExecuter(executerProperties.slices,
                 queryModel.getCube().getFactTableName());
         try {
@@ -353,6 +369,8 @@ public class QueryExecutorImpl extends AbstractQueryExecutor {
         info.setMeasureOrdinal(measureOrdinal);
         info.setCubeName(executerProperties.cubeName);
         info.setPartitionId(queryModel.getPartitionId());
+        info.setSubSplitIndex(queryModel.getSubSplitIndex());
+        info.setNumberOfSubSplits(queryModel.getNumberOfSubSplits());
         info.setSchemaName(executerProperties.schemaName);
         info.setQueryId(queryModel.getQueryId());
         info.setDetailQuery(queryModel.isDetailQuery());
@@ -414,6 +432,17 @@ public class QueryExecutorImpl extends AbstractQueryExecutor {
         executerProperties.sortDimIndexes =
                 QueryExecutorUtility.fillSortedDimensions(sortDims, queryModel.getDims());
         info.setSortedDimensionsIndex(executerProperties.sortDimIndexes);
+        info.setSortDimensionInKeyOrder(!holder.updateRequired && QueryExecutorUtility
+                .isLeadingSortDimensionInKeyOrder(sortDims, queryModel.getSortedDimensions(),
+                        queryModel.getSortOrder(), slice.getHybridStoreModel(),
+                        executerProperties.slices));
+        info.setMeasureFilterPresent(QueryExecutorUtility
+                .isMeasureFilterPresent(queryModel.getFilterExpression(),
+                        queryModel.getMsrFilterModels(), queryModel.getMsrFilterModelsTopN()));
+        info.setSortInKeyOrder(!holder.updateRequired && QueryExecutorUtility
+                .isAllSortDimensionsInKeyOrder(sortDims, queryModel.getSortedDimensions(),
+                        queryModel.getSortOrder(), slice.getHybridStoreModel(),
+                        executerProperties.slices));
         info.setDimensionMaskKeys(QueryExecutorUtility
                 .getMaksedKeyForSorting(sortDims, executerProperties.globalKeyGenerator,
                         maskedByteRangeForSorting, executerProperties.maskByteRanges));
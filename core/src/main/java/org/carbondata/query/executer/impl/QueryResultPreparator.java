@@ -299,6 +299,9 @@ public class QueryResultPreparator {
                                     .equals(CarbonCommonConstants.DISTINCT_COUNT)
                                     || executerProperties.aggTypes[
                                     executerProperties.measureStartIndex + i]
+                                    .equals(CarbonCommonConstants.APPROX_COUNT_DISTINCT)
+                                    || executerProperties.aggTypes[
+                                    executerProperties.measureStartIndex + i]
                                     .equals(CarbonCommonConstants.COUNT))) {
                         row[queryModel.getMsrs().get(i).getQueryOrder()] = 0.0;
                     } else if (msrAgg[executerProperties.measureStartIndex + i].isFirstTime()) {
@@ -78,8 +78,9 @@ public class MaksedByteComparatorBAW implements Comparator<DataFileWriter.KeyVal
                 if (cmp != 0) {
 
                     if (sortOrder == 1) {
-                        return cmp = cmp * -1;
+                        return cmp * -1;
                     }
+                    return cmp;
                 }
             }
         }
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.executer.impl.topn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.executer.exception.QueryExecutionException;
+import org.carbondata.query.executer.pagination.impl.DataFileWriter;
+import org.carbondata.query.result.Result;
+import org.carbondata.query.result.impl.ListBasedResult;
+import org.carbondata.query.schema.metadata.DataProcessorInfo;
+import org.carbondata.query.util.ScannedResultProcessorUtil;
+import org.carbondata.query.wrappers.ByteArrayWrapper;
+
+/**
+ * Bounded heap used by a scan task of a sorted detail query with limit. It
+ * keeps only the first limit rows of the task as per the query sort order, so
+ * the task hands over at most limit rows to the result processor instead of
+ * every scanned row.
+ */
+public class TopNScanResultHeap {
+
+    /**
+     * heap whose head is the last row as per sort order
+     */
+    private PriorityQueue<TopNScanRow> heap;
+
+    /**
+     * limit
+     */
+    private int limit;
+
+    /**
+     * comparator used for final sorting of the query
+     */
+    private Comparator<DataFileWriter.KeyValueHolder> sortComparator;
+
+    /**
+     * dataProcessorInfo
+     */
+    private DataProcessorInfo dataProcessorInfo;
+
+    /**
+     * dimensionUniqueNames
+     */
+    private String[] dimensionUniqueNames;
+
+    /**
+     * @param dataProcessorInfo
+     * @param sortComparator    comparator used for final sorting of the query
+     * @param limit             query limit
+     */
+    public TopNScanResultHeap(DataProcessorInfo dataProcessorInfo,
+            final Comparator<DataFileWriter.KeyValueHolder> sortComparator, int limit) {
+        this.dataProcessorInfo = dataProcessorInfo;
+        this.sortComparator = sortComparator;
+        this.limit = limit;
+        this.dimensionUniqueNames =
+                ScannedResultProcessorUtil.getDimensionUniqueNames(dataProcessorInfo.getQueryDims());
+        this.heap = new PriorityQueue<TopNScanRow>(limit + 1, new Comparator<TopNScanRow>() {
+            @Override
+            public int compare(TopNScanRow o1, TopNScanRow o2) {
+                return sortComparator.compare(o2.sortHolder, o1.sortHolder);
+            }
+        });
+    }
+
+    /**
+     * Below method will be used to add the rows of scanned result to heap
+     *
+     * @param scannedResult
+     * @throws QueryExecutionException
+     */
+    public void addScannedResult(Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>
+            scannedResult) throws QueryExecutionException {
+        List<ByteArrayWrapper> keys = scannedResult.getKeys();
+        List<MeasureAggregator[]> values = scannedResult.getValues();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                DataFileWriter.KeyValueHolder sortHolder = new DataFileWriter.KeyValueHolder(
+                        ScannedResultProcessorUtil
+                                .getSortKey(dataProcessorInfo, keys.get(i), dimensionUniqueNames),
+                        values.get(i));
+                if (heap.size() < limit) {
+                    heap.add(new TopNScanRow(keys.get(i), sortHolder));
+                } else if (sortComparator.compare(sortHolder, heap.peek().sortHolder) < 0) {
+                    heap.poll();
+                    heap.add(new TopNScanRow(keys.get(i), sortHolder));
+                }
+            }
+        } catch (KeyGenException e) {
+            throw new QueryExecutionException(e);
+        }
+    }
+
+    /**
+     * Below method will be used to get the rows present in heap
+     *
+     * @return result
+     */
+    public Result getResult() {
+        List<ByteArrayWrapper> keys = new ArrayList<ByteArrayWrapper>(heap.size());
+        List<MeasureAggregator[]> values = new ArrayList<MeasureAggregator[]>(heap.size());
+        while (!heap.isEmpty()) {
+            TopNScanRow row = heap.poll();
+            keys.add(row.key);
+            values.add(row.sortHolder.value);
+        }
+        Collections.reverse(keys);
+        Collections.reverse(values);
+        Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>> result = new ListBasedResult();
+        result.addScannedResult(keys, values);
+        return result;
+    }
+
+    /**
+     * Row held in the heap, actual key is kept as the sort key has the
+     * surrogates replaced with sort index
+     */
+    private static final class TopNScanRow {
+        private ByteArrayWrapper key;
+
+        private DataFileWriter.KeyValueHolder sortHolder;
+
+        private TopNScanRow(ByteArrayWrapper key, DataFileWriter.KeyValueHolder sortHolder) {
+            this.key = key;
+            this.sortHolder = sortHolder;
+        }
+    }
+}
@@ -34,11 +34,15 @@ import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.iterator.CarbonIterator;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryType;
 import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.aggregator.MeasureAggregator;
 import org.carbondata.query.executer.exception.QueryExecutionException;
 import org.carbondata.query.executer.pagination.impl.DataFileWriter;
 import org.carbondata.query.executer.pagination.impl.QueryResult;
 import org.carbondata.query.merger.MergerExecutor;
+import org.carbondata.query.merger.SortedRunMerger;
 import org.carbondata.query.processor.DataProcessorExt;
 import org.carbondata.query.processor.FileBasedLimitProcessor;
 import org.carbondata.query.processor.MemoryBasedLimitProcessor;
@@ -46,6 +50,8 @@ import org.carbondata.query.processor.exception.DataProcessorException;
 import org.carbondata.query.processor.row.AggreagtedRowProcessor;
 import org.carbondata.query.processor.row.RowProcessor;
 import org.carbondata.query.processor.writer.BlockWriterProcessor;
+import org.carbondata.query.querystats.PartitionStatsCollector;
+import org.carbondata.query.querystats.QueryProfile;
 import org.carbondata.query.result.Result;
 import org.carbondata.query.result.impl.ListBasedResult;
 import org.carbondata.query.result.impl.MapBasedResult;
@@ -53,6 +59,7 @@ import org.carbondata.query.schema.metadata.DataProcessorInfo;
 import org.carbondata.query.schema.metadata.SliceExecutionInfo;
 import org.carbondata.query.util.CarbonEngineLogEvent;
 import org.carbondata.query.util.ScannedResultProcessorUtil;
+import org.carbondata.query.wrappers.ByteArrayWrapper;
 import org.carbondata.query.writer.WriterExecutor;
 import org.carbondata.query.writer.exception.ResultWriterException;
 
@@ -78,6 +85,14 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
                     CarbonCommonConstants.PAGINATED_INTERNAL_MERGE_SIZE_LIMIT_DEFAULT))
             * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR
             * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR;
+    /**
+     * estimated bytes of a row in memory besides its key and aggregators
+     */
+    private static final int RECORD_OVERHEAD = 64;
+    /**
+     * estimated bytes of one measure aggregator
+     */
+    private static final int AGGREGATOR_SIZE = 32;
     private final Map<String, String> processedFileMap;
     private Result mergedScannedResult;
     private SliceExecutionInfo info;
@@ -90,6 +105,35 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
     private ExecutorService execService;
     private List<Result> scannedResultList;
     private long recordCounter;
+    /**
+     * output of each scan task, kept separately when every task output is
+     * already in query sort order so that final result can be merged instead
+     * of sorted, null otherwise
+     */
+    private List<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>> sortedRuns;
+    /**
+     * profile of the query, merge and spill times are added to it
+     */
+    private QueryProfile queryProfile;
+    /**
+     * executor memory manager from which memory of the rows held in memory is
+     * reserved
+     */
+    private ExecutorMemoryManager memoryManager;
+    private MemoryType memoryType;
+    /**
+     * estimated bytes of one row held in memory
+     */
+    private long bytesPerRecord;
+    /**
+     * bytes currently reserved by this processor
+     */
+    private long reservedBytes;
+    /**
+     * true when executor memory could not be reserved for the rows, so they
+     * have to be spilled to disk
+     */
+    private volatile boolean isMemoryExhausted;
 
     public ScannedResultProcessorImpl(SliceExecutionInfo info) {
         this.info = info;
@@ -99,6 +143,8 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
                 info.getOutLocation() + '/' + CarbonCommonConstants.SPILL_OVER_DISK_PATH + info
                         .getSchemaName() + '/' + info.getCubeName() + '/' + System.nanoTime();
         this.interMediateLocation = outLocation + '/' + info.getQueryId();
+        this.queryProfile =
+                PartitionStatsCollector.getInstance().getQueryProfile(info.getQueryId());
 
         this.mergerExecutor = new MergerExecutor();
         this.processedFileMap =
@@ -113,6 +159,15 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
                                 info.getDimensionSortOrder(), info.getDimensionMaskKeys()));
 
         initialiseResult();
+        this.memoryManager = ExecutorMemoryManager.getInstance();
+        this.memoryType =
+                info.isDetailQuery() ? MemoryType.RESULT_BUFFER : MemoryType.AGGREGATION_TABLE;
+        this.bytesPerRecord = RECORD_OVERHEAD + info.getActualMaskedKeyByteSize()
+                + info.getAggType().length * AGGREGATOR_SIZE;
+        if (info.isDetailQuery() && info.isSortInKeyOrder() && null == info.getMsrSortModel()) {
+            sortedRuns = new ArrayList<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>>(
+                    CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        }
         execService = Executors.newFixedThreadPool(1);
         scannedResultList = new ArrayList<Result>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
     }
@@ -135,8 +190,10 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
         synchronized (processedFileMap) {
             scannedResultList.add(scannedResult);
             recordCounter += scannedResult.size();
-            if ((scannedResultList.size() > 3) || (this.info.isDetailQuery()
-                    && recordCounter >= this.info.getNumberOfRecordsInMemory())) {
+            reserveMemory(scannedResult.size());
+            if ((scannedResultList.size() > 3) || (this.info.isDetailQuery() && (
+                    recordCounter >= this.info.getNumberOfRecordsInMemory() || (isMemoryExhausted
+                            && info.isFileBasedQuery())))) {
                 List<Result> localResult = scannedResultList;
                 scannedResultList =
                         new ArrayList<Result>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
@@ -145,26 +202,75 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
         }
     }
 
+    /**
+     * Below method will be used to reserve executor memory for rows added to
+     * this processor. Rows are accounted even when memory is not free, as
+     * only file based detail query can spill them. Memory of rows which are
+     * combined with existing rows of the merged result is released after
+     * merge, so the reservation follows the size of the merged result.
+     *
+     * @param numberOfRecords number of rows
+     */
+    private void reserveMemory(int numberOfRecords) {
+        long size = numberOfRecords * bytesPerRecord;
+        if (!memoryManager.tryReserve(info.getQueryId(), memoryType, size)) {
+            isMemoryExhausted = true;
+            memoryManager.forceReserve(info.getQueryId(), memoryType, size);
+        }
+        reservedBytes += size;
+    }
+
+    /**
+     * Below method will be used to release executor memory of rows which are
+     * combined, written to disk or handed over to the result iterator
+     *
+     * @param numberOfRecords number of rows
+     */
+    private void releaseMemory(long numberOfRecords) {
+        synchronized (processedFileMap) {
+            long size = Math.min(reservedBytes, numberOfRecords * bytesPerRecord);
+            reservedBytes -= size;
+            isMemoryExhausted = false;
+            memoryManager.release(info.getQueryId(), memoryType, size);
+        }
+    }
+
     private void mergeScannedResultsAndWriteToFile(List<Result> scannedResult)
             throws QueryExecutionException {
         long start = System.currentTimeMillis();
         LOGGER.debug(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, "Started a slice result merging");
 
+        long mergeStart = System.nanoTime();
+        long combinedRecords = 0;
         for (int i = 0; i < scannedResult.size(); i++) {
+            int sizeBeforeMerge = mergedScannedResult.size() + scannedResult.get(i).size();
             mergedScannedResult.merge(scannedResult.get(i));
+            combinedRecords += sizeBeforeMerge - mergedScannedResult.size();
+            if (null != sortedRuns) {
+                sortedRuns.add(scannedResult.get(i));
+            }
+        }
+        queryProfile.addTimeSince(QueryProfile.Counter.MERGE_TIME, mergeStart);
+        if (combinedRecords > 0) {
+            releaseMemory(combinedRecords);
         }
         if (info.isDetailQuery() && info.isFileBasedQuery() && (isFileBased
-                || info.getNumberOfRecordsInMemory() < mergedScannedResult.size())) {
+                || info.getNumberOfRecordsInMemory() < mergedScannedResult.size()
+                || isMemoryExhausted)) {
             if (!isFileBased) {
                 createSpillOverDirectory();
             }
             //            mergerIntermediateFiles(interMediateLocation,new String[]{CarbonCommonConstants.QUERY_OUT_FILE_EXT});
+            long spillStart = System.nanoTime();
             writerExecutor.writeResult(mergedScannedResult, ScannedResultProcessorUtil
                             .getMergerChainComparator(info.getMaskedByteRangeForSorting(),
                                     info.getDimensionSortOrder(), info.getDimensionMaskKeys()),
                     dataProcessorInfo, interMediateLocation);
+            queryProfile.addTimeSince(QueryProfile.Counter.SPILL_TIME, spillStart);
+            releaseMemory(mergedScannedResult.size());
             initialiseResult();
             isFileBased = true;
+            sortedRuns = null;
         }
 
         LOGGER.debug(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
@@ -208,7 +314,22 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
                 "Finished result merging from all slices");
 
         DataProcessorExt processor = getProcessor();
-        if (!isFileBased) {
+        long mergeStart = System.nanoTime();
+        if (!isFileBased && null != sortedRuns) {
+            SortedRunMerger sortedRunMerger = new SortedRunMerger(dataProcessorInfo, sortedRuns,
+                    ScannedResultProcessorUtil
+                            .getMergerChainComparator(info.getMaskedByteRangeForSorting(),
+                                    info.getDimensionSortOrder(), info.getDimensionMaskKeys()));
+            sortedRuns = null;
+            try {
+                processor.initialise(dataProcessorInfo);
+                while (sortedRunMerger.hasNext()) {
+                    processRow(processor, sortedRunMerger.next());
+                }
+            } catch (DataProcessorException e) {
+                throw new QueryExecutionException(e);
+            }
+        } else if (!isFileBased) {
             DataFileWriter.KeyValueHolder[] sortedResult = ScannedResultProcessorUtil
                     .getSortedResult(dataProcessorInfo, mergedScannedResult,
                             ScannedResultProcessorUtil
@@ -218,12 +339,7 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
             try {
                 processor.initialise(dataProcessorInfo);
                 for (int i = 0; i < sortedResult.length; i++) {
-                    if (sortedResult[i].key.getCompleteComplexTypeData() == null) {
-                        processor.processRow(sortedResult[i].key.getMaskedKey(),
-                                sortedResult[i].value);
-                    } else {
-                        processor.processRow(sortedResult[i].key, sortedResult[i].value);
-                    }
+                    processRow(processor, sortedResult[i]);
                 }
             } catch (DataProcessorException e) {
                 throw new QueryExecutionException(e);
@@ -236,6 +352,8 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
                         dataProcessorInfo, interMediateLocation);
             }
             closeExecuters();
+            queryProfile.addTimeSince(QueryProfile.Counter.SPILL_TIME, mergeStart);
+            mergeStart = System.nanoTime();
 
             try {
                 mergerExecutor.mergeFinalResult(processor, dataProcessorInfo,
@@ -246,9 +364,20 @@ public class ScannedResultProcessorImpl implements ScannedResultProcessor {
                 throw new QueryExecutionException(e);
             }
         }
+        queryProfile.addTimeSince(QueryProfile.Counter.MERGE_TIME, mergeStart);
+        releaseMemory(Long.MAX_VALUE / bytesPerRecord);
         return processor.getQueryResultIterator();
     }
 
+    private void processRow(DataProcessorExt processor, DataFileWriter.KeyValueHolder row)
+            throws DataProcessorException {
+        if (row.key.getCompleteComplexTypeData() == null) {
+            processor.processRow(row.key.getMaskedKey(), row.value);
+        } else {
+            processor.processRow(row.key, row.value);
+        }
+    }
+
     /**
      * check whether its file based or memory based processing
      * and return appropriate DataProcessor
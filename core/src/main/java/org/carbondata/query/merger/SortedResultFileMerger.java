@@ -163,6 +163,8 @@ public class SortedResultFileMerger implements Callable<Void> {
             dataProcessor.processRow(dataFile.getKey(), dataFile.getMeasures());
         } catch (DataProcessorException e) {
             throw new ResultMergerException(e);
+        } catch (ResultReaderException e) {
+            throw new ResultMergerException(e);
         }
 
         dataFile.setMeasureAggs(AggUtil.getAggregators(dataProcessorInfo.getAggType(), false,
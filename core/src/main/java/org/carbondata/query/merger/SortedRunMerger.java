@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.merger;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.executer.exception.QueryExecutionException;
+import org.carbondata.query.executer.pagination.impl.DataFileWriter;
+import org.carbondata.query.result.Result;
+import org.carbondata.query.schema.metadata.DataProcessorInfo;
+import org.carbondata.query.util.ScannedResultProcessorUtil;
+import org.carbondata.query.wrappers.ByteArrayWrapper;
+
+/**
+ * Streaming k-way merge of in memory scan results which are already in query
+ * sort order, i.e. output of the scan tasks when leaf node order is same as
+ * the query sort order. Rows are returned with sort keys, same as
+ * {@link ScannedResultProcessorUtil#getSortedResult}.
+ */
+public class SortedRunMerger {
+
+    /**
+     * heap of runs whose head is the run with smallest current row
+     */
+    private PriorityQueue<SortedRun> heap;
+
+    /**
+     * dataProcessorInfo
+     */
+    private DataProcessorInfo dataProcessorInfo;
+
+    /**
+     * dimensionUniqueNames
+     */
+    private String[] dimensionUniqueNames;
+
+    /**
+     * @param dataProcessorInfo
+     * @param runs              sorted runs
+     * @param comparator        comparator used for sorting of the query
+     * @throws QueryExecutionException
+     */
+    public SortedRunMerger(DataProcessorInfo dataProcessorInfo,
+            List<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>> runs,
+            final Comparator<DataFileWriter.KeyValueHolder> comparator)
+            throws QueryExecutionException {
+        this.dataProcessorInfo = dataProcessorInfo;
+        this.dimensionUniqueNames =
+                ScannedResultProcessorUtil.getDimensionUniqueNames(dataProcessorInfo.getQueryDims());
+        this.heap = new PriorityQueue<SortedRun>(Math.max(1, runs.size()),
+                new Comparator<SortedRun>() {
+                    @Override
+                    public int compare(SortedRun o1, SortedRun o2) {
+                        return comparator.compare(o1.current, o2.current);
+                    }
+                });
+        for (Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>> run : runs) {
+            SortedRun sortedRun = new SortedRun(run.getKeys(), run.getValues());
+            if (advance(sortedRun)) {
+                heap.add(sortedRun);
+            }
+        }
+    }
+
+    /**
+     * @return true if any row is left
+     */
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+
+    /**
+     * Below method will be used to get the next row as per sort order
+     *
+     * @return next row
+     * @throws QueryExecutionException
+     */
+    public DataFileWriter.KeyValueHolder next() throws QueryExecutionException {
+        SortedRun sortedRun = heap.poll();
+        DataFileWriter.KeyValueHolder row = sortedRun.current;
+        if (advance(sortedRun)) {
+            heap.add(sortedRun);
+        }
+        return row;
+    }
+
+    /**
+     * move the run to its next row
+     *
+     * @param sortedRun
+     * @return false if run is finished
+     * @throws QueryExecutionException
+     */
+    private boolean advance(SortedRun sortedRun) throws QueryExecutionException {
+        if (sortedRun.index >= sortedRun.keys.size()) {
+            return false;
+        }
+        try {
+            sortedRun.current = new DataFileWriter.KeyValueHolder(ScannedResultProcessorUtil
+                    .getSortKey(dataProcessorInfo, sortedRun.keys.get(sortedRun.index),
+                            dimensionUniqueNames), sortedRun.values.get(sortedRun.index));
+        } catch (KeyGenException e) {
+            throw new QueryExecutionException(e);
+        }
+        sortedRun.index++;
+        return true;
+    }
+
+    /**
+     * Read position of one sorted run
+     */
+    private static final class SortedRun {
+        private List<ByteArrayWrapper> keys;
+
+        private List<MeasureAggregator[]> values;
+
+        private int index;
+
+        private DataFileWriter.KeyValueHolder current;
+
+        private SortedRun(List<ByteArrayWrapper> keys, List<MeasureAggregator[]> values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+}
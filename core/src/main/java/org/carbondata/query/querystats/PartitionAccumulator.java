@@ -63,8 +63,8 @@ public class PartitionAccumulator implements AccumulatorParam<PartitionDetail>,
         merged.addNumberOfNodesScanned(part1.getNumberOfNodesScanned());
         merged.addNumberOfNodesScanned(part2.getNumberOfNodesScanned());
 
-        merged.addNumberOfRowsScanned(part1.getNoOfRowsScanned());
-        merged.addNumberOfRowsScanned(part2.getNoOfRowsScanned());
+        merged.getProfile().merge(part1.getProfile());
+        merged.getProfile().merge(part2.getProfile());
 
         return merged;
     }
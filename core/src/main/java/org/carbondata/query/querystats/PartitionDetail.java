@@ -47,7 +47,10 @@ public class PartitionDetail implements Serializable {
      */
     private long numberOfNodesScanned;
 
-    private long noOfRowsScanned;
+    /**
+     * execution profile of the query on this partition
+     */
+    private QueryProfile profile = new QueryProfile();
 
     public PartitionDetail() {
 
@@ -76,12 +79,40 @@ public class PartitionDetail implements Serializable {
      * @param noOfRows
      */
     public void addNumberOfRowsScanned(long noOfRows) {
-        noOfRowsScanned += noOfRows;
-
+        profile.add(QueryProfile.Counter.ROWS_SCANNED, noOfRows);
     }
 
     public long getNoOfRowsScanned() {
-        return noOfRowsScanned;
+        return profile.get(QueryProfile.Counter.ROWS_SCANNED);
+    }
+
+    /**
+     * add up column chunk cache usage of each scan task
+     *
+     * @param hits           chunks served from cache
+     * @param misses         chunks read from file
+     * @param bytesReadSaved bytes served from cache
+     */
+    public void addColumnChunkCacheStats(long hits, long misses, long bytesReadSaved) {
+        profile.add(QueryProfile.Counter.COLUMN_CHUNK_CACHE_HITS, hits);
+        profile.add(QueryProfile.Counter.COLUMN_CHUNK_CACHE_MISSES, misses);
+        profile.add(QueryProfile.Counter.BYTES_READ_SAVED_BY_CACHE, bytesReadSaved);
+    }
+
+    public long getColumnChunkCacheHits() {
+        return profile.get(QueryProfile.Counter.COLUMN_CHUNK_CACHE_HITS);
+    }
+
+    public long getColumnChunkCacheMisses() {
+        return profile.get(QueryProfile.Counter.COLUMN_CHUNK_CACHE_MISSES);
+    }
+
+    public long getBytesReadSavedByCache() {
+        return profile.get(QueryProfile.Counter.BYTES_READ_SAVED_BY_CACHE);
+    }
+
+    public QueryProfile getProfile() {
+        return profile;
     }
 
 }
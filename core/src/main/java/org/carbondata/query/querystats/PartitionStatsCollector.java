@@ -52,6 +52,19 @@ public final class PartitionStatsCollector {
         return partitionsDetail.get(queryId);
     }
 
+    /**
+     * Below method will be used to get the profile of the query on this
+     * partition. Profile not attached to any partition detail is returned
+     * when query is not tracked, so callers need not check for it.
+     *
+     * @param queryId query id
+     * @return query profile
+     */
+    public QueryProfile getQueryProfile(String queryId) {
+        PartitionDetail partitionDetail = null != queryId ? partitionsDetail.get(queryId) : null;
+        return null != partitionDetail ? partitionDetail.getProfile() : new QueryProfile();
+    }
+
     public void removePartitionDetail(String queryId) {
         partitionsDetail.remove(queryId);
     }
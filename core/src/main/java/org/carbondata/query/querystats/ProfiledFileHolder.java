@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.querystats;
+
+import java.nio.ByteBuffer;
+
+import org.carbondata.core.datastorage.store.FileHolder;
+
+/**
+ * File holder which adds the number of bytes read from fact files to the
+ * query profile. All reads are delegated.
+ */
+public class ProfiledFileHolder implements FileHolder {
+    /**
+     * actual file holder
+     */
+    private FileHolder fileHolder;
+
+    /**
+     * profile of the query
+     */
+    private QueryProfile queryProfile;
+
+    public ProfiledFileHolder(FileHolder fileHolder, QueryProfile queryProfile) {
+        this.fileHolder = fileHolder;
+        this.queryProfile = queryProfile;
+    }
+
+    @Override
+    public byte[] readByteArray(String filePath, long offset, int length) {
+        queryProfile.add(QueryProfile.Counter.BYTES_READ, length);
+        return fileHolder.readByteArray(filePath, offset, length);
+    }
+
+    @Override
+    public void prefetch(String filePath, long offset, int length) {
+        fileHolder.prefetch(filePath, offset, length);
+    }
+
+    @Override
+    public byte[] readByteArray(String filePath, int length) {
+        queryProfile.add(QueryProfile.Counter.BYTES_READ, length);
+        return fileHolder.readByteArray(filePath, length);
+    }
+
+    @Override
+    public ByteBuffer readByteBuffer(String filePath, long offset, int length) {
+        queryProfile.add(QueryProfile.Counter.BYTES_READ, length);
+        return fileHolder.readByteBuffer(filePath, offset, length);
+    }
+
+    @Override
+    public int readInt(String filePath, long offset) {
+        return fileHolder.readInt(filePath, offset);
+    }
+
+    @Override
+    public long readLong(String filePath, long offset) {
+        return fileHolder.readLong(filePath, offset);
+    }
+
+    @Override
+    public int readInt(String filePath) {
+        return fileHolder.readInt(filePath);
+    }
+
+    @Override
+    public long readDouble(String filePath, long offset) {
+        return fileHolder.readDouble(filePath, offset);
+    }
+
+    @Override
+    public void finish() {
+        fileHolder.finish();
+    }
+
+    @Override
+    public long getFileSize(String filePath) {
+        return fileHolder.getFileSize(filePath);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.querystats;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Execution profile of a query on one partition, profiles of all partitions
+ * are merged by {@link PartitionAccumulator}. Counters are updated by
+ * concurrent scan tasks, so all updates are atomic.
+ */
+public class QueryProfile implements Serializable {
+
+    /**
+     *
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * counters
+     */
+    private AtomicLongArray counters = new AtomicLongArray(Counter.values().length);
+
+    /**
+     * @param counter counter
+     * @param value   value to add
+     */
+    public void add(Counter counter, long value) {
+        counters.addAndGet(counter.ordinal(), value);
+    }
+
+    /**
+     * Below method will be used to set the counter to the value if it is
+     * more than current value
+     *
+     * @param counter counter
+     * @param value   value
+     */
+    public void max(Counter counter, long value) {
+        long current = counters.get(counter.ordinal());
+        while (value > current && !counters.compareAndSet(counter.ordinal(), current, value)) {
+            current = counters.get(counter.ordinal());
+        }
+    }
+
+    /**
+     * Below method will be used to add time taken by a stage
+     *
+     * @param counter   time counter of stage
+     * @param startTime start time of the stage in nano seconds
+     */
+    public void addTimeSince(Counter counter, long startTime) {
+        counters.addAndGet(counter.ordinal(), System.nanoTime() - startTime);
+    }
+
+    /**
+     * @param counter counter
+     * @return value, time counters are in nano seconds
+     */
+    public long get(Counter counter) {
+        return counters.get(counter.ordinal());
+    }
+
+    /**
+     * Below method will be used to add all counters of other profile, peak
+     * counters take the max of both profiles
+     *
+     * @param other profile
+     */
+    public void merge(QueryProfile other) {
+        if (null == other) {
+            return;
+        }
+        for (Counter counter : Counter.values()) {
+            if (counter.isPeak()) {
+                max(counter, other.get(counter));
+            } else {
+                add(counter, other.get(counter));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(counter.getName()).append('=');
+            if (counter.isTime()) {
+                builder.append(TimeUnit.NANOSECONDS.toMillis(get(counter))).append("ms");
+            } else {
+                builder.append(get(counter));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Counters of the profile
+     */
+    public enum Counter {
+        /**
+         * leaf nodes read and processed
+         */
+        LEAF_NODES_SCANNED("leafNodesScanned", false),
+        /**
+         * leaf nodes skipped using min max of the leaf node
+         */
+        LEAF_NODES_PRUNED("leafNodesPruned", false),
+        ROWS_SCANNED("rowsScanned", false),
+        /**
+         * rows of scanned leaf nodes removed by filter
+         */
+        ROWS_FILTERED("rowsFiltered", false),
+        /**
+         * compressed bytes read from fact files
+         */
+        BYTES_READ("bytesRead", false),
+        /**
+         * bytes of the key blocks and measures after uncompression
+         */
+        BYTES_DECOMPRESSED("bytesDecompressed", false),
+        COLUMN_CHUNK_CACHE_HITS("columnChunkCacheHits", false),
+        COLUMN_CHUNK_CACHE_MISSES("columnChunkCacheMisses", false),
+        BYTES_READ_SAVED_BY_CACHE("bytesReadSavedByCache", false),
+        /**
+         * total time of scan tasks, including filter and aggregation
+         */
+        SCAN_TIME("scanTime", true),
+        FILTER_TIME("filterTime", true),
+        AGGREGATE_TIME("aggregateTime", true),
+        /**
+         * time taken to merge and sort the results of scan tasks
+         */
+        MERGE_TIME("mergeTime", true),
+        /**
+         * time taken to write intermediate results to disk
+         */
+        SPILL_TIME("spillTime", true),
+        /**
+         * max executor memory reserved by the query on the executor of the
+         * partition, max of the partitions when merged
+         */
+        PEAK_MEMORY_RESERVED("peakMemoryReserved", false, true),
+        /**
+         * total time taken on the partition
+         */
+        EXECUTION_TIME("executionTime", true);
+
+        private String name;
+
+        private boolean isTime;
+
+        private boolean isPeak;
+
+        Counter(String name, boolean isTime) {
+            this(name, isTime, false);
+        }
+
+        Counter(String name, boolean isTime, boolean isPeak) {
+            this.name = name;
+            this.isTime = isTime;
+            this.isPeak = isPeak;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isTime() {
+            return isTime;
+        }
+
+        public boolean isPeak() {
+            return isPeak;
+        }
+    }
+}
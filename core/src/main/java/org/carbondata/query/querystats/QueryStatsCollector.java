@@ -24,6 +24,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.query.util.CarbonEngineLogEvent;
 
 /**
@@ -45,10 +47,23 @@ public final class QueryStatsCollector {
 
     private PartitionAccumulator partitionAccumulator;
 
+    /**
+     * time in ms above which query profile is logged at info level
+     */
+    private long profileLogThreshold;
+
     private QueryStatsCollector() {
         queryStore = new BinaryQueryStore();
         queryStats = new ConcurrentHashMap<String, QueryDetail>(1000);
         partitionAccumulator = new PartitionAccumulator();
+        try {
+            profileLogThreshold = Long.parseLong(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.QUERY_PROFILE_LOG_THRESHOLD,
+                            CarbonCommonConstants.QUERY_PROFILE_LOG_THRESHOLD_DEFAULT));
+        } catch (NumberFormatException e) {
+            profileLogThreshold =
+                    Long.parseLong(CarbonCommonConstants.QUERY_PROFILE_LOG_THRESHOLD_DEFAULT);
+        }
     }
 
     public static synchronized QueryStatsCollector getInstance() {
@@ -82,6 +97,27 @@ public final class QueryStatsCollector {
 
     }
 
+    /**
+     * Below method will be used to log the execution profile of a query merged
+     * from all its partitions. Queries slower than the configured threshold
+     * are logged at info level, others only at debug level.
+     *
+     * @param queryId   query id
+     * @param timeTaken total time taken by query in ms
+     * @param profile   merged profile of all partitions
+     */
+    public void logQueryProfile(String queryId, long timeTaken, QueryProfile profile) {
+        if (null == profile) {
+            return;
+        }
+        String message = "Query " + queryId + " took " + timeTaken + " ms, profile: " + profile;
+        if (timeTaken >= profileLogThreshold) {
+            LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, message);
+        } else {
+            LOGGER.debug(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, message);
+        }
+    }
+
     public PartitionDetail getInitialPartitionAccumulatorValue() {
         return null;
     }
@@ -19,17 +19,20 @@
 
 package org.carbondata.query.reader;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 
 import org.carbondata.core.datastorage.store.FileHolder;
+import org.carbondata.core.datastorage.store.compression.SnappyCompression.SnappyByteCompression;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.datastorage.store.impl.FileFactory.FileType;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.query.aggregator.MeasureAggregator;
 import org.carbondata.query.reader.exception.ResultReaderException;
 import org.carbondata.query.wrappers.ByteArrayWrapper;
+import org.carbondata.query.writer.ColumnarSpillFileWriter;
 
 public class ResultTempFileReader {
 
@@ -73,6 +76,37 @@ public class ResultTempFileReader {
      */
     private ByteArrayWrapper byteArrayWrapper;
 
+    /**
+     * decoded keys of current block
+     */
+    private byte[] blockKeys;
+
+    /**
+     * number of rows in current block
+     */
+    private int blockRowCount;
+
+    /**
+     * position of current row in the block
+     */
+    private int blockRowIndex;
+
+    /**
+     * compressed measure columns of current block, uncompressed only when
+     * measures of the block are requested
+     */
+    private byte[][] compressedMeasureBlocks;
+
+    /**
+     * uncompressed measure column streams of current block
+     */
+    private DataInputStream[] measureStreams;
+
+    /**
+     * whether measures of the current row are already read
+     */
+    private boolean isMeasureRead = true;
+
     /**
      * CarbonSortTempFileChunkHolder Constructor
      *
@@ -125,21 +159,25 @@ public class ResultTempFileReader {
     }
 
     /**
-     * This method will be used to read new row from file
+     * This method will be used to read new row from file. Only the key is
+     * decoded here, measures are read when requested.
      *
      * @throws CarbonSortKeyAndGroupByException problem while reading
      */
     public void readRow() throws ResultReaderException {
         try {
+            if (!isMeasureRead) {
+                // measures of previous row were not consumed, skip them
+                readMeasures();
+            }
+            if (blockRowIndex == blockRowCount) {
+                readBlock();
+            }
             byte[] mdKey = new byte[this.keySize];
-            this.stream.readFully(mdKey);
-
-            //                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, "Problem while reading mdkey from pagination temp file");
-
+            System.arraycopy(blockKeys, blockRowIndex * keySize, mdKey, 0, keySize);
             this.byteArrayWrapper.setMaskedKey(mdKey);
-            for (int i = 0; i < this.measureAggregator.length; i++) {
-                this.measureAggregator[i].readData(this.stream);
-            }
+            blockRowIndex++;
+            isMeasureRead = false;
             numberOfRecordRead++;
         } catch (FileNotFoundException e) {
             throw new ResultReaderException(this.inFilePath + " No Found ", e);
@@ -148,6 +186,49 @@ public class ResultTempFileReader {
         }
     }
 
+    /**
+     * Below method will be used to read the next column wise block. Keys are
+     * uncompressed immediately as they are needed for ordering, measure
+     * columns are kept compressed.
+     *
+     * @throws IOException
+     */
+    private void readBlock() throws IOException {
+        blockRowCount = this.stream.readInt();
+        byte[] keyBlock = new byte[this.stream.readInt()];
+        this.stream.readFully(keyBlock);
+        blockKeys = ColumnarSpillFileWriter
+                .prefixUnCompressKeys(SnappyByteCompression.INSTANCE.unCompress(keyBlock),
+                        blockRowCount, keySize);
+        compressedMeasureBlocks = new byte[measureAggregator.length][];
+        for (int i = 0; i < compressedMeasureBlocks.length; i++) {
+            compressedMeasureBlocks[i] = new byte[this.stream.readInt()];
+            this.stream.readFully(compressedMeasureBlocks[i]);
+        }
+        measureStreams = null;
+        blockRowIndex = 0;
+    }
+
+    /**
+     * Below method will be used to read the measures of current row
+     *
+     * @throws IOException
+     */
+    private void readMeasures() throws IOException {
+        if (null == measureStreams) {
+            measureStreams = new DataInputStream[compressedMeasureBlocks.length];
+            for (int i = 0; i < measureStreams.length; i++) {
+                measureStreams[i] = new DataInputStream(new ByteArrayInputStream(
+                        SnappyByteCompression.INSTANCE.unCompress(compressedMeasureBlocks[i])));
+            }
+            compressedMeasureBlocks = null;
+        }
+        for (int i = 0; i < this.measureAggregator.length; i++) {
+            this.measureAggregator[i].readData(measureStreams[i]);
+        }
+        isMeasureRead = true;
+    }
+
     /**
      * below method will be used to get the row
      *
@@ -179,7 +260,14 @@ public class ResultTempFileReader {
      * @param index
      * @return
      */
-    public MeasureAggregator[] getMeasures() {
+    public MeasureAggregator[] getMeasures() throws ResultReaderException {
+        if (!isMeasureRead) {
+            try {
+                readMeasures();
+            } catch (IOException e) {
+                throw new ResultReaderException(" Problem while reading" + this.inFilePath, e);
+            }
+        }
         return this.measureAggregator;
     }
 
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.result.iterator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.datastorage.store.compression.SnappyCompression;
+import org.carbondata.core.iterator.CarbonIterator;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryType;
+import org.carbondata.core.util.CarbonUtil;
+import org.carbondata.query.datastorage.cache.QueryResultCache;
+import org.carbondata.query.datastorage.cache.QueryResultCache.SegmentResult;
+import org.carbondata.query.result.RowResult;
+import org.carbondata.query.scanner.impl.CarbonKey;
+import org.carbondata.query.scanner.impl.CarbonValue;
+import org.carbondata.query.util.CarbonEngineLogEvent;
+
+/**
+ * Iterator over the rows of a query on a partition which uses the query
+ * result cache. Rows of the cached results are returned first, then the rows
+ * of the scan of segments which are not cached. Scanned rows are serialized
+ * while they are returned and added to cache as one result once the scan is
+ * finished, unless they exceed the max entry size of the cache. Serialized
+ * rows are reserved from executor memory budget as result buffer of the query
+ * while they are recorded, rows are not cached if memory cannot be reserved.
+ * Rows are not
+ * merged, so the same key can be returned more than once like it is by the
+ * sub splits of a partition.
+ */
+public class CachedQueryResultIterator implements CarbonIterator<RowResult> {
+    /**
+     * LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(CachedQueryResultIterator.class.getName());
+    /**
+     * cache
+     */
+    private QueryResultCache cache;
+    /**
+     * query key
+     */
+    private String key;
+    /**
+     * id of query, owner of the memory reserved for serialized scanned rows
+     */
+    private String queryId;
+    /**
+     * bytes reserved for serialized scanned rows
+     */
+    private long reservedBytes;
+    /**
+     * cached results to be returned
+     */
+    private Iterator<SegmentResult> cachedResults;
+    /**
+     * stream of the cached result being returned
+     */
+    private ObjectInputStream cachedInput;
+    /**
+     * rows of scanned segments, null if all segments are cached
+     */
+    private CarbonIterator<RowResult> scanIterator;
+    /**
+     * segments scanned by scan iterator
+     */
+    private Map<String, Long> scannedSegments;
+    /**
+     * serialized scanned rows, null if they are not cached
+     */
+    private ByteArrayOutputStream scannedBytes;
+    /**
+     * stream of scanned rows
+     */
+    private ObjectOutputStream scannedOutput;
+    /**
+     * next row
+     */
+    private RowResult nextRow;
+
+    /**
+     * @param cache           query result cache
+     * @param key             query key
+     * @param queryId         query id
+     * @param cachedResults   valid cached results of the key
+     * @param scanIterator    rows of scanned segments, null if nothing is scanned
+     * @param scannedSegments segments scanned by scan iterator
+     */
+    public CachedQueryResultIterator(QueryResultCache cache, String key, String queryId,
+            List<SegmentResult> cachedResults, CarbonIterator<RowResult> scanIterator,
+            Map<String, Long> scannedSegments) {
+        this.cache = cache;
+        this.key = key;
+        this.queryId = queryId;
+        this.cachedResults = cachedResults.iterator();
+        this.scanIterator = scanIterator;
+        this.scannedSegments = scannedSegments;
+        if (null != scanIterator && !scannedSegments.isEmpty()) {
+            scannedBytes = new ByteArrayOutputStream();
+            try {
+                scannedOutput = new ObjectOutputStream(scannedBytes);
+            } catch (IOException e) {
+                LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
+                scannedBytes = null;
+            }
+        }
+    }
+
+    private static void writeRow(ObjectOutputStream output, RowResult row) throws IOException {
+        output.writeBoolean(true);
+        output.writeObject(row.getKey());
+        output.writeObject(row.getValue());
+        // rows can share objects, so each row is written on its own
+        output.reset();
+    }
+
+    private static byte[] finish(ByteArrayOutputStream bytes, ObjectOutputStream output)
+            throws IOException {
+        output.writeBoolean(false);
+        output.close();
+        return SnappyCompression.SnappyByteCompression.INSTANCE.compress(bytes.toByteArray());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (null == nextRow) {
+            nextRow = readCachedRow();
+        }
+        if (null == nextRow && null != scanIterator) {
+            if (scanIterator.hasNext()) {
+                nextRow = scanIterator.next();
+                recordScannedRow(nextRow);
+            } else {
+                scanIterator = null;
+                addScannedRowsToCache();
+            }
+        }
+        return null != nextRow;
+    }
+
+    @Override
+    public RowResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("End of stream");
+        }
+        RowResult row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    private RowResult readCachedRow() {
+        try {
+            while (true) {
+                if (null == cachedInput) {
+                    if (!cachedResults.hasNext()) {
+                        return null;
+                    }
+                    cachedInput = new ObjectInputStream(new ByteArrayInputStream(
+                            SnappyCompression.SnappyByteCompression.INSTANCE
+                                    .unCompress(cachedResults.next().getData())));
+                }
+                if (cachedInput.readBoolean()) {
+                    RowResult row = new RowResult();
+                    row.setKey((CarbonKey) cachedInput.readObject());
+                    row.setValue((CarbonValue) cachedInput.readObject());
+                    return row;
+                }
+                CarbonUtil.closeStreams(cachedInput);
+                cachedInput = null;
+            }
+        } catch (IOException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
+            throw new IllegalStateException("Problem while reading cached query result", e);
+        } catch (ClassNotFoundException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
+            throw new IllegalStateException("Problem while reading cached query result", e);
+        }
+    }
+
+    private void recordScannedRow(RowResult row) {
+        if (null == scannedBytes) {
+            return;
+        }
+        try {
+            writeRow(scannedOutput, row);
+            if (scannedBytes.size() > cache.getMaxEntrySize()) {
+                LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                        "Query result is not cached as it exceeds max entry size");
+                stopRecording();
+            } else if (scannedBytes.size() > reservedBytes && !reserveScannedBytes()) {
+                LOGGER.info(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG,
+                        "Query result is not cached as executor memory is not sufficient");
+                stopRecording();
+            }
+        } catch (IOException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
+            stopRecording();
+        }
+    }
+
+    /**
+     * Below method will be used to reserve memory for the serialized rows.
+     * Buffer of serialized rows doubles its capacity when it is full, so
+     * reservation is doubled as well, up to max entry size of cache.
+     *
+     * @return false if memory cannot be reserved
+     */
+    private boolean reserveScannedBytes() {
+        long size = Math.min(Math.max(2 * reservedBytes, scannedBytes.size()),
+                cache.getMaxEntrySize()) - reservedBytes;
+        if (!ExecutorMemoryManager.getInstance()
+                .tryReserve(queryId, MemoryType.RESULT_BUFFER, size)) {
+            return false;
+        }
+        reservedBytes += size;
+        return true;
+    }
+
+    private void stopRecording() {
+        CarbonUtil.closeStreams(scannedOutput);
+        releaseScannedBytes();
+    }
+
+    private void releaseScannedBytes() {
+        ExecutorMemoryManager.getInstance()
+                .release(queryId, MemoryType.RESULT_BUFFER, reservedBytes);
+        reservedBytes = 0;
+        scannedOutput = null;
+        scannedBytes = null;
+    }
+
+    private void addScannedRowsToCache() {
+        if (null == scannedBytes) {
+            return;
+        }
+        byte[] data = null;
+        try {
+            data = finish(scannedBytes, scannedOutput);
+        } catch (IOException e) {
+            LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
+        }
+        // compressed rows are reserved by cache
+        releaseScannedBytes();
+        if (null != data) {
+            cache.put(key, scannedSegments, data);
+        }
+    }
+}
@@ -28,7 +28,6 @@ import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.iterator.CarbonIterator;
 import org.carbondata.core.keygenerator.KeyGenException;
 import org.carbondata.core.util.CarbonProperties;
-import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.executer.CarbonQueryExecutorModel;
 import org.carbondata.query.executer.SliceExecuter;
 import org.carbondata.query.executer.exception.QueryExecutionException;
@@ -39,6 +38,7 @@ import org.carbondata.query.executer.pagination.impl.QueryResult;
 import org.carbondata.query.result.ChunkResult;
 import org.carbondata.query.schema.metadata.SliceExecutionInfo;
 import org.carbondata.query.util.CarbonEngineLogEvent;
+import org.carbondata.query.util.QueryExecutorUtility;
 
 public class DetailQueryResultIterator implements CarbonIterator<ChunkResult> {
 
@@ -92,16 +92,9 @@ public class DetailQueryResultIterator implements CarbonIterator<ChunkResult> {
                 continue;
             }
             try {
-                DataStoreBlock startNode = info.getSlice().getDataCache(info.getTableName())
-                        .getDataStoreBlock(info.getKeyGenerator().generateKey(info.getStartKey()),
-                                null, true);
-                DataStoreBlock lastNode = info.getSlice().getDataCache(info.getTableName())
-                        .getDataStoreBlock(info.getKeyGenerator().generateKey(info.getEndKey()),
-                                null, false);
-                this.totalNumberOfNodesPerSlice[index] =
-                        lastNode.getNodeNumber() - startNode.getNodeNumber() + 1;
+                QueryExecutorUtility.setLeafNodesToScan(info);
+                this.totalNumberOfNodesPerSlice[index] = info.getNumberOfNodeToScan();
                 totalNumberOfNode += this.totalNumberOfNodesPerSlice[index];
-                info.setStartNode(startNode);
                 info.setNumberOfNodeToScan(1);
             } catch (KeyGenException e) {
                 LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
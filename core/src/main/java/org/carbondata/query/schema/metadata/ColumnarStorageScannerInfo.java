@@ -24,7 +24,9 @@ import org.carbondata.query.columnar.aggregator.ColumnarAggregatorInfo;
 import org.carbondata.query.columnar.datastoreblockprocessor.DataStoreBlockProcessor;
 import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.executer.impl.RestructureHolder;
+import org.carbondata.query.executer.impl.topn.TopNScanResultHeap;
 import org.carbondata.query.executer.processor.ScannedResultProcessor;
+import org.carbondata.query.querystats.QueryProfile;
 
 public class ColumnarStorageScannerInfo {
     private DataStoreBlock datablock;
@@ -56,6 +58,21 @@ public class ColumnarStorageScannerInfo {
      */
     private String partitionId;
 
+    /**
+     * heap to keep the top n rows of a sorted detail query with limit
+     */
+    private TopNScanResultHeap topNScanResultHeap;
+
+    /**
+     * whether output of the task is handed over as one sorted run
+     */
+    private boolean isSortedRunScan;
+
+    /**
+     * profile of the query
+     */
+    private QueryProfile queryProfile;
+
     /**
      * @return the datablock
      */
@@ -191,4 +208,28 @@ public class ColumnarStorageScannerInfo {
         this.partitionId = partitionId;
 
     }
+
+    public TopNScanResultHeap getTopNScanResultHeap() {
+        return topNScanResultHeap;
+    }
+
+    public void setTopNScanResultHeap(TopNScanResultHeap topNScanResultHeap) {
+        this.topNScanResultHeap = topNScanResultHeap;
+    }
+
+    public boolean isSortedRunScan() {
+        return isSortedRunScan;
+    }
+
+    public void setSortedRunScan(boolean isSortedRunScan) {
+        this.isSortedRunScan = isSortedRunScan;
+    }
+
+    public QueryProfile getQueryProfile() {
+        return queryProfile;
+    }
+
+    public void setQueryProfile(QueryProfile queryProfile) {
+        this.queryProfile = queryProfile;
+    }
 }
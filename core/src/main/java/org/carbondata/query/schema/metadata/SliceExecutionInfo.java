@@ -311,12 +311,37 @@ public class SliceExecutionInfo {
 
     private byte[] sortedDimensionsIndex;
 
+    /**
+     * whether leaf node order follows the first sort dimension of the query
+     */
+    private boolean isSortDimensionInKeyOrder;
+
+    /**
+     * whether query filters rows or groups on measures
+     */
+    private boolean isMeasureFilterPresent;
+
+    /**
+     * whether leaf node order is same as the query sort order
+     */
+    private boolean isSortInKeyOrder;
+
     private boolean isExecutionRequired = true;
 
     private DataStoreBlock startNode;
 
     private int numberOfNodeToScan;
 
+    /**
+     * index of the sub split of partition scanned by this task
+     */
+    private int subSplitIndex;
+
+    /**
+     * number of sub splits the partition is divided into
+     */
+    private int numberOfSubSplits = 1;
+
     private boolean isFileBasedQuery;
 
     private boolean[] highCardinalityTypes;
@@ -973,6 +998,30 @@ public class SliceExecutionInfo {
         this.sortedDimensionsIndex = fillSortedDimensions;
     }
 
+    public boolean isSortDimensionInKeyOrder() {
+        return isSortDimensionInKeyOrder;
+    }
+
+    public void setSortDimensionInKeyOrder(boolean isSortDimensionInKeyOrder) {
+        this.isSortDimensionInKeyOrder = isSortDimensionInKeyOrder;
+    }
+
+    public boolean isMeasureFilterPresent() {
+        return isMeasureFilterPresent;
+    }
+
+    public void setMeasureFilterPresent(boolean isMeasureFilterPresent) {
+        this.isMeasureFilterPresent = isMeasureFilterPresent;
+    }
+
+    public boolean isSortInKeyOrder() {
+        return isSortInKeyOrder;
+    }
+
+    public void setSortInKeyOrder(boolean isSortInKeyOrder) {
+        this.isSortInKeyOrder = isSortInKeyOrder;
+    }
+
     /**
      * @return Returns the isExecutionRequired.
      */
@@ -1003,6 +1052,22 @@ public class SliceExecutionInfo {
         this.numberOfNodeToScan = numberOfNodeToScan;
     }
 
+    public int getSubSplitIndex() {
+        return subSplitIndex;
+    }
+
+    public void setSubSplitIndex(int subSplitIndex) {
+        this.subSplitIndex = subSplitIndex;
+    }
+
+    public int getNumberOfSubSplits() {
+        return numberOfSubSplits;
+    }
+
+    public void setNumberOfSubSplits(int numberOfSubSplits) {
+        this.numberOfSubSplits = numberOfSubSplits;
+    }
+
     public boolean isFileBasedQuery() {
         return isFileBasedQuery;
     }
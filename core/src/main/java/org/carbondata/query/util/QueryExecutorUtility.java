@@ -45,7 +45,12 @@ import org.carbondata.query.datastorage.TableDataStore;
 import org.carbondata.query.datastorage.InMemoryTable;
 import org.carbondata.query.datastorage.Member;
 import org.carbondata.query.datastorage.MemberStore;
+import org.carbondata.query.datastorage.storeInterfaces.DataStoreBlock;
 import org.carbondata.query.executer.exception.QueryExecutionException;
+import org.carbondata.query.expression.ColumnExpression;
+import org.carbondata.query.expression.Expression;
+import org.carbondata.query.filters.measurefilter.GroupMeasureFilterModel;
+import org.carbondata.query.schema.metadata.SliceExecutionInfo;
 import org.carbondata.query.schema.metadata.SliceUniqueValueInfo;
 
 public final class QueryExecutorUtility {
@@ -806,4 +811,141 @@ public final class QueryExecutorUtility {
         return sortedDims;
     }
 
+    /**
+     * Below method will be used to check whether rows scanned in leaf node order
+     * are also in the order of the first sort dimension of the query. This is
+     * true when the first sort dimension is the leading dimension of the mdkey,
+     * sorted in ascending order and its member sort order is same as surrogate
+     * order in all the slices.
+     *
+     * @param sortDims         sort dimensions present in slice
+     * @param queryModelSortDims sort dimensions of query
+     * @param sortOrder        sort order
+     * @param hybridStoreModel hybrid store model
+     * @param slices           slices
+     * @return true if leaf node order can be used for first sort dimension
+     */
+    public static boolean isLeadingSortDimensionInKeyOrder(Dimension[] sortDims,
+            Dimension[] queryModelSortDims, byte[] sortOrder, HybridStoreModel hybridStoreModel,
+            List<InMemoryTable> slices) {
+        return isSortDimensionsInKeyOrder(sortDims, queryModelSortDims, sortOrder,
+                hybridStoreModel, slices, 1);
+    }
+
+    /**
+     * Below method will be used to check whether query has filters on
+     * measures, either on the rows in the filter expression or on the
+     * aggregated groups as measure constraints
+     *
+     * @param filterExpression    filter expression of query
+     * @param msrFilterModels     measure constraints of query
+     * @param msrFilterModelsTopN measure constraints applied after top N
+     * @return true if any measure is filtered
+     */
+    public static boolean isMeasureFilterPresent(Expression filterExpression,
+            List<GroupMeasureFilterModel> msrFilterModels,
+            List<GroupMeasureFilterModel> msrFilterModelsTopN) {
+        if ((null != msrFilterModels && !msrFilterModels.isEmpty()) || (
+                null != msrFilterModelsTopN && !msrFilterModelsTopN.isEmpty())) {
+            return true;
+        }
+        return isMeasureColumnPresent(filterExpression);
+    }
+
+    private static boolean isMeasureColumnPresent(Expression expression) {
+        if (null == expression) {
+            return false;
+        }
+        if (expression instanceof ColumnExpression) {
+            return !((ColumnExpression) expression).isDimension();
+        }
+        if (null != expression.getChildren()) {
+            for (Expression child : expression.getChildren()) {
+                if (isMeasureColumnPresent(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Below method will be used to check whether rows scanned in leaf node order
+     * are also in the query sort order, i.e. the sort dimensions are a prefix
+     * of the mdkey dimensions, all are sorted in ascending order and their
+     * member sort order is same as surrogate order in all the slices.
+     *
+     * @param sortDims         sort dimensions present in slice
+     * @param queryModelSortDims sort dimensions of query
+     * @param sortOrder        sort order
+     * @param hybridStoreModel hybrid store model
+     * @param slices           slices
+     * @return true if leaf node order is same as query sort order
+     */
+    public static boolean isAllSortDimensionsInKeyOrder(Dimension[] sortDims,
+            Dimension[] queryModelSortDims, byte[] sortOrder, HybridStoreModel hybridStoreModel,
+            List<InMemoryTable> slices) {
+        return null != sortDims && isSortDimensionsInKeyOrder(sortDims, queryModelSortDims,
+                sortOrder, hybridStoreModel, slices, sortDims.length);
+    }
+
+    private static boolean isSortDimensionsInKeyOrder(Dimension[] sortDims,
+            Dimension[] queryModelSortDims, byte[] sortOrder, HybridStoreModel hybridStoreModel,
+            List<InMemoryTable> slices, int numberOfDimsToCheck) {
+        if (null == sortDims || sortDims.length < numberOfDimsToCheck || numberOfDimsToCheck < 1
+                || null == queryModelSortDims || sortDims.length != queryModelSortDims.length
+                || null == sortOrder || sortOrder.length < numberOfDimsToCheck || (
+                null != hybridStoreModel && hybridStoreModel.isHybridStore())) {
+            return false;
+        }
+        for (int i = 0; i < numberOfDimsToCheck; i++) {
+            Dimension sortDim = sortDims[i];
+            if (sortOrder[i] != 0 || sortDim.isHighCardinalityDim() || sortDim.getOrdinal() != i) {
+                return false;
+            }
+            String columnName =
+                    sortDim.getTableName() + '_' + sortDim.getColName() + '_' + sortDim.getDimName()
+                            + '_' + sortDim.getHierName();
+            for (InMemoryTable slice : slices) {
+                MemberStore memberStore = slice.getMemberCache(columnName);
+                if (null != memberStore && !memberStore.isSurrogateInSortOrder()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Below method will be used to set the leaf nodes of slice to be scanned
+     * by the query. Leaf nodes in the range of start and end key are divided
+     * equally among the sub splits of partition, so each sub split scans a
+     * contiguous range of nodes. Sub split gets no node if slice has fewer
+     * nodes than sub splits.
+     *
+     * @param info slice execution info
+     * @throws KeyGenException
+     */
+    public static void setLeafNodesToScan(SliceExecutionInfo info) throws KeyGenException {
+        TableDataStore dataCache = info.getSlice().getDataCache(info.getTableName());
+        DataStoreBlock startNode = dataCache
+                .getDataStoreBlock(info.getKeyGenerator().generateKey(info.getStartKey()), null,
+                        true);
+        DataStoreBlock lastNode = dataCache
+                .getDataStoreBlock(info.getKeyGenerator().generateKey(info.getEndKey()), null,
+                        false);
+        long numberOfNodes = lastNode.getNodeNumber() - startNode.getNodeNumber() + 1;
+        if (info.getNumberOfSubSplits() > 1) {
+            long firstNode = numberOfNodes * info.getSubSplitIndex() / info.getNumberOfSubSplits();
+            long endNode =
+                    numberOfNodes * (info.getSubSplitIndex() + 1) / info.getNumberOfSubSplits();
+            for (long i = 0; i < firstNode; i++) {
+                startNode = startNode.getNext();
+            }
+            numberOfNodes = endNode - firstNode;
+        }
+        info.setStartNode(startNode);
+        info.setNumberOfNodeToScan((int) numberOfNodes);
+    }
+
 }
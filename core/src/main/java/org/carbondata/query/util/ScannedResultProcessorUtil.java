@@ -116,38 +116,15 @@ public final class ScannedResultProcessorUtil {
     public static DataFileWriter.KeyValueHolder[] getSortedResult(
             DataProcessorInfo dataProcessorInfo, Result scannedResult, Comparator comparator)
             throws QueryExecutionException {
-        Dimension[] queryDimension = dataProcessorInfo.getQueryDims();
-        KeyGenerator keyGenerator = dataProcessorInfo.getKeyGenerator();
-        String[] dimensionUniqueNames = getDimensionUniqueNames(queryDimension);
+        String[] dimensionUniqueNames = getDimensionUniqueNames(dataProcessorInfo.getQueryDims());
         DataFileWriter.KeyValueHolder[] holderArray =
                 new DataFileWriter.KeyValueHolder[scannedResult.size()];
         int k = 0;
-        byte[] sortedDimensionIndex = dataProcessorInfo.getSortedDimensionIndex();
         try {
             while (scannedResult.hasNext()) {
                 ByteArrayWrapper key = scannedResult.getKey();
                 if (null != comparator) {
-                    byte[] maskedKey = key.getMaskedKey();
-                    long[] keyArray = keyGenerator
-                            .getKeyArray(maskedKey, dataProcessorInfo.getMaskedByteRange());
-                    for (int i = 0; i
-                            < queryDimension.length; i++) { // CHECKSTYLE:OFF Approval No:Approval-V1R2C10_006
-
-                        if (queryDimension[i].isHighCardinalityDim()) {
-                            continue;
-                        }
-                        if (sortedDimensionIndex[i] == 1) {
-                            keyArray[queryDimension[i].getOrdinal()] =
-                                    getSortIndexById(dimensionUniqueNames[i],
-                                            (int) keyArray[queryDimension[i].getOrdinal()],
-                                            dataProcessorInfo.getSlices());
-                        }
-                    }// CHECKSTYLE:ON
-                    List<byte[]> listOfDirectSurrogates = key.getDirectSurrogateKeyList();
-                    key = new ByteArrayWrapper();
-                    key.addToDirectSurrogateKeyList(listOfDirectSurrogates);
-                    key.setMaskedKey(
-                            getMaskedKey(keyGenerator.generateKey(keyArray), dataProcessorInfo));
+                    key = getSortKey(dataProcessorInfo, key, dimensionUniqueNames);
                 }
 
                 holderArray[k++] = new DataFileWriter.KeyValueHolder(key, scannedResult.getValue());
@@ -172,6 +149,41 @@ public final class ScannedResultProcessorUtil {
         return holderArray;
     }
 
+    /**
+     * Below method will be used to get the key used for sorting, surrogates of
+     * the sorted dimensions are replaced with their sort index
+     *
+     * @param dataProcessorInfo
+     * @param key
+     * @param dimensionUniqueNames
+     * @return sort key
+     * @throws KeyGenException
+     */
+    public static ByteArrayWrapper getSortKey(DataProcessorInfo dataProcessorInfo,
+            ByteArrayWrapper key, String[] dimensionUniqueNames) throws KeyGenException {
+        Dimension[] queryDimension = dataProcessorInfo.getQueryDims();
+        KeyGenerator keyGenerator = dataProcessorInfo.getKeyGenerator();
+        byte[] sortedDimensionIndex = dataProcessorInfo.getSortedDimensionIndex();
+        long[] keyArray =
+                keyGenerator.getKeyArray(key.getMaskedKey(), dataProcessorInfo.getMaskedByteRange());
+        for (int i = 0; i < queryDimension.length; i++) {
+            if (queryDimension[i].isHighCardinalityDim()) {
+                continue;
+            }
+            if (sortedDimensionIndex[i] == 1) {
+                keyArray[queryDimension[i].getOrdinal()] =
+                        getSortIndexById(dimensionUniqueNames[i],
+                                (int) keyArray[queryDimension[i].getOrdinal()],
+                                dataProcessorInfo.getSlices());
+            }
+        }
+        List<byte[]> listOfDirectSurrogates = key.getDirectSurrogateKeyList();
+        ByteArrayWrapper sortKey = new ByteArrayWrapper();
+        sortKey.addToDirectSurrogateKeyList(listOfDirectSurrogates);
+        sortKey.setMaskedKey(getMaskedKey(keyGenerator.generateKey(keyArray), dataProcessorInfo));
+        return sortKey;
+    }
+
     /**
      * Below method will be used to get the masked key
      *
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.compression.SnappyCompression.SnappyByteCompression;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.aggregator.MeasureAggregator;
+
+/**
+ * Writes a sorted query spill run in column wise compressed blocks.
+ * File layout:
+ * <pre>
+ * [total row count]
+ * [block row count][key block length][key block]([measure block length][measure block])*
+ * ...
+ * </pre>
+ * Keys of a block are prefix compressed against the previous key of the same
+ * block and every column of the block is snappy compressed separately, so the
+ * reader can decode the keys needed for ordering without touching the
+ * measures. Blocks are compressed and written by a thread of the pool shared
+ * by all spill writers while the caller fills the next block (double
+ * buffering).
+ */
+public class ColumnarSpillFileWriter {
+
+    /**
+     * flush threads shared by all spill writers, a writer has at most one
+     * pending flush so a thread is never blocked by another writer. Idle
+     * threads are removed, so no shut down is needed.
+     */
+    private static final ExecutorService FLUSH_SERVICE =
+            Executors.newCachedThreadPool(new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable,
+                            "CarbonSpillWriter-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    /**
+     * stream where the blocks are written, only used by the flush thread
+     * after the header is written
+     */
+    private DataOutputStream dataOutput;
+
+    /**
+     * mdkey size
+     */
+    private int keySize;
+
+    /**
+     * block currently being filled
+     */
+    private SpillBlock currentBlock;
+
+    /**
+     * block which can be reused after the pending flush is finished
+     */
+    private SpillBlock flushingBlock;
+
+    /**
+     * pending flush of previous block
+     */
+    private Future<Void> pendingFlush;
+
+    /**
+     * @param dataOutput   stream to write
+     * @param keySize      mdkey size
+     * @param measureCount number of measure columns
+     */
+    public ColumnarSpillFileWriter(DataOutputStream dataOutput, int keySize, int measureCount) {
+        this.dataOutput = dataOutput;
+        this.keySize = keySize;
+        int blockSize = getSpillBlockSize();
+        this.currentBlock = new SpillBlock(blockSize, keySize, measureCount);
+        this.flushingBlock = new SpillBlock(blockSize, keySize, measureCount);
+    }
+
+    /**
+     * Below method will be used to get the number of rows per spill block
+     *
+     * @return block size
+     */
+    public static int getSpillBlockSize() {
+        int blockSize;
+        try {
+            blockSize = Integer.parseInt(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.QUERY_SPILL_BLOCK_SIZE,
+                            CarbonCommonConstants.QUERY_SPILL_BLOCK_SIZE_DEFAULT));
+        } catch (NumberFormatException e) {
+            blockSize = Integer.parseInt(CarbonCommonConstants.QUERY_SPILL_BLOCK_SIZE_DEFAULT);
+        }
+        return blockSize > 0 ?
+                blockSize :
+                Integer.parseInt(CarbonCommonConstants.QUERY_SPILL_BLOCK_SIZE_DEFAULT);
+    }
+
+    /**
+     * Below method will be used to write the total number of rows of the file
+     *
+     * @param totalRowCount
+     * @throws IOException
+     */
+    public void writeHeader(int totalRowCount) throws IOException {
+        dataOutput.writeInt(totalRowCount);
+    }
+
+    /**
+     * Below method will be used to add one row to the current block
+     *
+     * @param key   masked key
+     * @param value measures
+     * @throws IOException
+     */
+    public void addRow(byte[] key, MeasureAggregator[] value) throws IOException {
+        currentBlock.addRow(key, value);
+        if (currentBlock.isFull()) {
+            flushCurrentBlock();
+        }
+    }
+
+    /**
+     * Below method will be used to flush the remaining rows and wait till all
+     * the blocks are written
+     *
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        if (currentBlock.rowCount > 0) {
+            flushCurrentBlock();
+        }
+        waitForPendingFlush();
+    }
+
+    /**
+     * hand over the current block to flush thread and swap the buffers
+     *
+     * @throws IOException
+     */
+    private void flushCurrentBlock() throws IOException {
+        waitForPendingFlush();
+        final SpillBlock block = currentBlock;
+        currentBlock = flushingBlock;
+        flushingBlock = block;
+        pendingFlush = FLUSH_SERVICE.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                block.writeTo(dataOutput, keySize);
+                block.reset();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * wait till the previously submitted block is written
+     *
+     * @throws IOException
+     */
+    private void waitForPendingFlush() throws IOException {
+        if (null == pendingFlush) {
+            return;
+        }
+        try {
+            pendingFlush.get(1, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException(e);
+        } finally {
+            pendingFlush = null;
+        }
+    }
+
+    /**
+     * Holds the rows of one spill block in column wise buffers
+     */
+    private static final class SpillBlock {
+        /**
+         * keys of the block
+         */
+        private byte[] keys;
+
+        /**
+         * measure column buffers
+         */
+        private ByteArrayOutputStream[] measureBuffers;
+
+        /**
+         * measure column streams
+         */
+        private DataOutputStream[] measureStreams;
+
+        /**
+         * rowCount
+         */
+        private int rowCount;
+
+        /**
+         * blockSize
+         */
+        private int blockSize;
+
+        private SpillBlock(int blockSize, int keySize, int measureCount) {
+            this.blockSize = blockSize;
+            this.keys = new byte[blockSize * keySize];
+            this.measureBuffers = new ByteArrayOutputStream[measureCount];
+            this.measureStreams = new DataOutputStream[measureCount];
+            for (int i = 0; i < measureCount; i++) {
+                measureBuffers[i] = new ByteArrayOutputStream(
+                        blockSize * CarbonCommonConstants.DOUBLE_SIZE_IN_BYTE);
+                measureStreams[i] = new DataOutputStream(measureBuffers[i]);
+            }
+        }
+
+        private void addRow(byte[] key, MeasureAggregator[] value) throws IOException {
+            System.arraycopy(key, 0, keys, rowCount * key.length, key.length);
+            for (int i = 0; i < value.length; i++) {
+                value[i].writeData(measureStreams[i]);
+            }
+            rowCount++;
+        }
+
+        private boolean isFull() {
+            return rowCount == blockSize;
+        }
+
+        private void reset() {
+            rowCount = 0;
+            for (int i = 0; i < measureBuffers.length; i++) {
+                measureBuffers[i].reset();
+            }
+        }
+
+        /**
+         * Below method will be used to compress the block and write it to the stream
+         */
+        private void writeTo(DataOutputStream out, int keySize) throws IOException {
+            byte[] keyBlock = SnappyByteCompression.INSTANCE
+                    .compress(prefixCompressKeys(keys, rowCount, keySize));
+            out.writeInt(rowCount);
+            out.writeInt(keyBlock.length);
+            out.write(keyBlock);
+            for (int i = 0; i < measureStreams.length; i++) {
+                measureStreams[i].flush();
+                byte[] measureBlock =
+                        SnappyByteCompression.INSTANCE.compress(measureBuffers[i].toByteArray());
+                out.writeInt(measureBlock.length);
+                out.write(measureBlock);
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to prefix compress the sorted keys. Every key is
+     * written as [common prefix length with previous key][remaining bytes].
+     *
+     * @param keys     keys
+     * @param rowCount number of keys
+     * @param keySize  size of each key
+     * @return prefix compressed keys
+     */
+    public static byte[] prefixCompressKeys(byte[] keys, int rowCount, int keySize) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rowCount * keySize);
+        int previous = -1;
+        for (int row = 0; row < rowCount; row++) {
+            int offset = row * keySize;
+            int prefix = 0;
+            if (previous >= 0) {
+                while (prefix < keySize && keys[previous + prefix] == keys[offset + prefix]) {
+                    prefix++;
+                }
+            }
+            out.write(prefix >>> 8);
+            out.write(prefix);
+            out.write(keys, offset + prefix, keySize - prefix);
+            previous = offset;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Below method will be used to decode the keys written by
+     * {@link #prefixCompressKeys(byte[], int, int)}
+     *
+     * @param data     prefix compressed keys
+     * @param rowCount number of keys
+     * @param keySize  size of each key
+     * @return keys
+     */
+    public static byte[] prefixUnCompressKeys(byte[] data, int rowCount, int keySize) {
+        byte[] keys = new byte[rowCount * keySize];
+        int position = 0;
+        for (int row = 0; row < rowCount; row++) {
+            int offset = row * keySize;
+            int prefix = ((data[position++] & 0xFF) << 8) | (data[position++] & 0xFF);
+            if (prefix > 0) {
+                System.arraycopy(keys, offset - keySize, keys, offset, prefix);
+            }
+            System.arraycopy(data, position, keys, offset + prefix, keySize - prefix);
+            position += keySize - prefix;
+        }
+        return keys;
+    }
+}
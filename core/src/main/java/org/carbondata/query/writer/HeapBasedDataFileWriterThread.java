@@ -28,9 +28,7 @@ import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
-import org.carbondata.core.keygenerator.KeyGenException;
 import org.carbondata.core.util.CarbonUtil;
-import org.carbondata.query.aggregator.MeasureAggregator;
 import org.carbondata.query.executer.Tuple;
 import org.carbondata.query.schema.metadata.DataProcessorInfo;
 import org.carbondata.query.util.CarbonEngineLogEvent;
@@ -95,11 +93,12 @@ public class HeapBasedDataFileWriterThread extends ResultWriter {
                     CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR
                             * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR);
 
-            int size = this.dataHeap.size();
+            ColumnarSpillFileWriter spillWriter = new ColumnarSpillFileWriter(dataOutput,
+                    dataProcessorInfo.getKeySize(), dataProcessorInfo.getAggType().length);
 
-            dataOutput.writeInt(size);
+            spillWriter.writeHeader(this.dataHeap.size());
 
-            writeDataFromHeap(dataOutput);
+            writeDataFromHeap(spillWriter);
 
             File dest = new File(this.outLocation + File.separator + System.nanoTime()
                     + CarbonCommonConstants.QUERY_OUT_FILE_EXT);
@@ -117,22 +116,16 @@ public class HeapBasedDataFileWriterThread extends ResultWriter {
     /**
      * Below method will be used to write data from heap to file
      *
-     * @param dataOutput
+     * @param spillWriter
      * @throws IOException
-     * @throws KeyGenException
      */
-    private void writeDataFromHeap(DataOutputStream dataOutput)
-            throws IOException, KeyGenException {
+    private void writeDataFromHeap(ColumnarSpillFileWriter spillWriter) throws IOException {
         int size = dataHeap.size();
         for (int i = 0; i < size; i++) {
             Tuple poll = dataHeap.poll();
-            byte[] key = poll.getKey();
-            dataOutput.write(key);
-            MeasureAggregator[] value = poll.getMeasures();
-            for (int j = 0; j < value.length; j++) {
-                value[j].writeData(dataOutput);
-            }
+            spillWriter.addRow(poll.getKey(), poll.getMeasures());
         }
+        spillWriter.finish();
     }
 
 }
@@ -29,7 +29,6 @@ import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.filesystem.CarbonFile;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.util.CarbonUtil;
-import org.carbondata.query.aggregator.MeasureAggregator;
 import org.carbondata.query.executer.exception.QueryExecutionException;
 import org.carbondata.query.executer.pagination.impl.DataFileWriter;
 import org.carbondata.query.result.Result;
@@ -89,9 +88,10 @@ public class ScannedResultDataFileWriterThread extends ResultWriter {
             dataOutput =
                     FileFactory.getDataOutputStream(path, FileFactory.getFileType(path), (short) 1);
             carbonFile = FileFactory.getCarbonFile(path, FileFactory.getFileType(path));
-            dataOutput.writeInt(scannedResult.size());
-            /*int writenDataSize = */
-            writeScannedResult(dataOutput);
+            ColumnarSpillFileWriter spillWriter = new ColumnarSpillFileWriter(dataOutput,
+                    dataProcessorInfo.getKeySize(), dataProcessorInfo.getAggType().length);
+            spillWriter.writeHeader(scannedResult.size());
+            writeScannedResult(spillWriter);
             destPath = this.outLocation + '/' + System.nanoTime()
                     + CarbonCommonConstants.QUERY_OUT_FILE_EXT;
         } catch (IOException e) {
@@ -112,34 +112,22 @@ public class ScannedResultDataFileWriterThread extends ResultWriter {
     }
 
     /**
-     * This will write the scannedResult into the data stream.
+     * This will write the scannedResult using the columnar spill writer.
      *
-     * @param dataOutput
-     * @return
-     * @throws KeyGenException
-     * @throws IOException
+     * @param spillWriter
+     * @throws QueryExecutionException
      */
-    private void writeScannedResult(DataOutputStream dataOutput) throws QueryExecutionException {
-        DataFileWriter.KeyValueHolder[] holderArray;
-        try {
-            holderArray = ScannedResultProcessorUtil
-                    .getSortedResult(dataProcessorInfo, scannedResult, comparator);
-        } catch (QueryExecutionException e) {
-            throw e;
-        }
-        //int counter = 0;
+    private void writeScannedResult(ColumnarSpillFileWriter spillWriter)
+            throws QueryExecutionException {
+        DataFileWriter.KeyValueHolder[] holderArray = ScannedResultProcessorUtil
+                .getSortedResult(dataProcessorInfo, scannedResult, comparator);
         try {
             for (DataFileWriter.KeyValueHolder holder : holderArray) {
-                dataOutput.write(holder.key.getMaskedKey());
-                MeasureAggregator[] value = holder.value;
-                for (int i = 0; i < value.length; i++) {
-                    value[i].writeData(dataOutput);
-                }
-                // counter++;
+                spillWriter.addRow(holder.key.getMaskedKey(), holder.value);
             }
+            spillWriter.finish();
         } catch (IOException e) {
             throw new QueryExecutionException(e);
         }
-        //return counter;
     }
 }
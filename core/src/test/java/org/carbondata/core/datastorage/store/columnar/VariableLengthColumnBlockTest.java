@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.columnar;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the values of a no dictionary column are read back from plain,
+ * prefix encoded and older length prefixed blocks.
+ */
+public class VariableLengthColumnBlockTest {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    @Test public void valuesAreReadFromPlainBlock() {
+        byte[][] values = getLengthPrefixedValues("b", "", "xy", "z");
+        byte[] blockData = VariableLengthColumnBlock.getBlockData(values, 2, true);
+        Assert.assertEquals(VariableLengthColumnBlock.PLAIN_ENCODING, blockData[1]);
+        assertValues(values, VariableLengthColumnBlock.getColumnBlock(blockData));
+    }
+
+    @Test public void sharedPrefixesArePrefixEncoded() {
+        String[] members = new String[500];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = String.format("customer_name_%05d", i / 2);
+        }
+        byte[][] values = getLengthPrefixedValues(members);
+        byte[] plainData = VariableLengthColumnBlock.getBlockData(values, 2, false);
+        byte[] blockData = VariableLengthColumnBlock.getBlockData(values, 2, true);
+        Assert.assertEquals(VariableLengthColumnBlock.PREFIX_ENCODING, blockData[1]);
+        Assert.assertTrue(blockData.length < plainData.length / 2);
+        VariableLengthColumnBlock columnBlock =
+                VariableLengthColumnBlock.getColumnBlock(blockData);
+        assertValues(values, columnBlock);
+        Assert.assertEquals(20, columnBlock.getFirstPosition(members[21].getBytes(CHARSET)));
+        Assert.assertEquals(-1,
+                columnBlock.getFirstPosition("customer_name_9".getBytes(CHARSET)));
+    }
+
+    @Test public void valuesAreReadFromLengthPrefixedBlock() {
+        byte[][] values = getLengthPrefixedValues("abc", "abd", "", "q");
+        ByteBuffer buffer = ByteBuffer.allocate(4 * 2 + 7);
+        for (byte[] value : values) {
+            buffer.put(value);
+        }
+        assertValues(values, VariableLengthColumnBlock.getColumnBlock(buffer.array()));
+    }
+
+    private static void assertValues(byte[][] values, VariableLengthColumnBlock columnBlock) {
+        Assert.assertEquals(values.length, columnBlock.getNumberOfValues());
+        for (int i = 0; i < values.length; i++) {
+            byte[] value = Arrays.copyOfRange(values[i], 2, values[i].length);
+            Assert.assertArrayEquals(value, columnBlock.getValue(i));
+            Assert.assertEquals(value.length, columnBlock.getLength(i));
+            Assert.assertEquals(0, columnBlock.compareTo(i, value));
+        }
+    }
+
+    private static byte[][] getLengthPrefixedValues(String... members) {
+        byte[][] values = new byte[members.length][];
+        for (int i = 0; i < members.length; i++) {
+            byte[] bytes = members[i].getBytes(CHARSET);
+            values[i] = ByteBuffer.allocate(2 + bytes.length).putShort((short) bytes.length)
+                    .put(bytes).array();
+        }
+        return values;
+    }
+}
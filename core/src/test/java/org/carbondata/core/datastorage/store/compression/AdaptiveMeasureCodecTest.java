@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the encodings chosen by AdaptiveMeasureCodec and that the values are
+ * restored exactly.
+ */
+public class AdaptiveMeasureCodecTest {
+
+    private static final int LEAF_SIZE = 8000;
+
+    private Random random = new Random(7);
+
+    @Test public void chosenEncodingRestoresValues() {
+        long[] sequence = new long[LEAF_SIZE];
+        long[] timestamps = new long[LEAF_SIZE];
+        long[] accelerating = new long[LEAF_SIZE];
+        long[] lowCardinality = new long[LEAF_SIZE];
+        long[] runs = new long[LEAF_SIZE];
+        long[] smallRange = new long[LEAF_SIZE];
+        long[] wideRange = new long[LEAF_SIZE];
+        for (int i = 0; i < LEAF_SIZE; i++) {
+            sequence[i] = 1000000 + i * 3 + random.nextInt(4);
+            timestamps[i] = 1450000000000L + i * 60000L;
+            accelerating[i] = 5L * i * i;
+            lowCardinality[i] = (random.nextInt(6) - 3) * 1000000007L;
+            runs[i] = (i / 500) * 123456789L;
+            smallRange[i] = 5000 + random.nextInt(1000);
+            wideRange[i] = random.nextLong();
+        }
+        assertEncoding(AdaptiveMeasureCodec.DELTA, sequence);
+        assertEncoding(AdaptiveMeasureCodec.DELTA, timestamps);
+        assertEncoding(AdaptiveMeasureCodec.DELTA_OF_DELTA, accelerating);
+        assertEncoding(AdaptiveMeasureCodec.DICTIONARY, lowCardinality);
+        assertEncoding(AdaptiveMeasureCodec.RUN_LENGTH, runs);
+        assertEncoding(AdaptiveMeasureCodec.FRAME_OF_REFERENCE, smallRange);
+        assertEncoding(AdaptiveMeasureCodec.RAW_LONG, wideRange);
+    }
+
+    @Test public void extremeValuesAndWidths() {
+        assertEncoding(AdaptiveMeasureCodec.FRAME_OF_REFERENCE, new long[] { 4, 4, 4, 4, 4 });
+        long[] extremes = new long[] { Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, Long.MAX_VALUE };
+        byte[] data = AdaptiveMeasureCodec.encode(extremes);
+        Assert.assertArrayEquals(extremes, AdaptiveMeasureCodec.decodeLongs(data));
+        long[] few = new long[] { 3, -9 };
+        Assert.assertArrayEquals(few,
+                AdaptiveMeasureCodec.decodeLongs(AdaptiveMeasureCodec.encode(few)));
+        Assert.assertArrayEquals(new long[0],
+                AdaptiveMeasureCodec.decodeLongs(AdaptiveMeasureCodec.encode(new long[0])));
+    }
+
+    @Test public void decimalValuesAreScaled() {
+        double[] prices = new double[LEAF_SIZE];
+        double[] fractions = new double[LEAF_SIZE];
+        double expectedSum = 0;
+        int expectedCount = 0;
+        for (int i = 0; i < LEAF_SIZE; i++) {
+            prices[i] = (1000 + random.nextInt(50000)) / 100.0;
+            fractions[i] = random.nextDouble();
+            expectedSum += prices[i];
+        }
+        for (int i = 0; i < LEAF_SIZE; i++) {
+            if (prices[i] == prices[0]) {
+                expectedCount++;
+            }
+        }
+        byte[] data = AdaptiveMeasureCodec.encode(prices, 2);
+        Assert.assertEquals(AdaptiveMeasureCodec.FRAME_OF_REFERENCE,
+                AdaptiveMeasureCodec.getEncoding(data));
+        Assert.assertArrayEquals(prices, AdaptiveMeasureCodec.decodeDoubles(data), 0);
+        Assert.assertEquals(expectedSum, AdaptiveMeasureCodec.sum(data), 1e-6);
+        Assert.assertEquals(expectedCount, AdaptiveMeasureCodec.count(data, prices[0]));
+        Assert.assertEquals(0, AdaptiveMeasureCodec.count(data, prices[0] + 0.001));
+        Assert.assertTrue(data.length < LEAF_SIZE * 3);
+
+        data = AdaptiveMeasureCodec.encode(fractions, 2);
+        Assert.assertEquals(AdaptiveMeasureCodec.RAW_DOUBLE,
+                AdaptiveMeasureCodec.getEncoding(data));
+        Assert.assertArrayEquals(fractions, AdaptiveMeasureCodec.decodeDoubles(data), 0);
+    }
+
+    private void assertEncoding(byte expectedEncoding, long[] values) {
+        byte[] data = AdaptiveMeasureCodec.encode(values);
+        Assert.assertEquals(expectedEncoding, AdaptiveMeasureCodec.getEncoding(data));
+        Assert.assertArrayEquals(values, AdaptiveMeasureCodec.decodeLongs(data));
+        double[] doubleValues = AdaptiveMeasureCodec.decodeDoubles(data);
+        long sum = 0;
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals((double) values[i], doubleValues[i], 0);
+            sum += values[i];
+            if (values[i] == values[values.length - 1]) {
+                count++;
+            }
+        }
+        Assert.assertEquals((double) sum, AdaptiveMeasureCodec.sum(data), 0);
+        Assert.assertEquals(sum, AdaptiveMeasureCodec.sumLongs(data));
+        long last = values[values.length - 1];
+        Assert.assertEquals(count, AdaptiveMeasureCodec.countLongs(data, last));
+        Assert.assertEquals(count, AdaptiveMeasureCodec.count(data, (double) last));
+    }
+}
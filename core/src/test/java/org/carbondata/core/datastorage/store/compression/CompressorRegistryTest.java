@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the chunks of every codec are restored and the codec is recorded in
+ * the chunk. Compression ratio and decode speed are measured by
+ * ChunkCompressionBenchmark.
+ */
+public class CompressorRegistryTest {
+
+    private static final int LEAF_SIZE = 8000;
+
+    private Random random = new Random(11);
+
+    @Test public void chunksAreRestoredWithRecordedCodec() {
+        byte[][] samples = new byte[][] { new byte[0], new byte[] { 5 }, getKeyBlock(),
+                getMeasureBlock(), getRandomBlock(), getRunBlock() };
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            if (!codec.isAvailable()) {
+                continue;
+            }
+            for (byte[] sample : samples) {
+                byte[] chunk = CompressorRegistry.compress(codec, sample);
+                if (sample.length > 0) {
+                    Assert.assertEquals(codec, CompressorRegistry.getCodec(chunk));
+                }
+                Assert.assertArrayEquals(codec.name(), sample,
+                        CompressorRegistry.unCompress(chunk));
+            }
+        }
+    }
+
+    @Test public void codecIsRecordedInChunkHeader() {
+        byte[] data = getKeyBlock();
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            if (!codec.isAvailable()) {
+                continue;
+            }
+            byte[] chunk = CompressorRegistry.compress(codec, data);
+            if (CompressionCodec.SNAPPY == codec) {
+                // snappy chunks are written without header as by older versions
+                Assert.assertFalse(CompressorRegistry.isCodecChunk(chunk));
+                Assert.assertArrayEquals(
+                        SnappyCompression.SnappyByteCompression.INSTANCE.compress(data), chunk);
+            } else {
+                Assert.assertTrue(CompressorRegistry.isCodecChunk(chunk));
+                Assert.assertEquals(0, chunk[0]);
+                Assert.assertEquals(codec.getId(), chunk[1]);
+                Assert.assertArrayEquals(codec.getCompressor().compress(data),
+                        Arrays.copyOfRange(chunk, 2, chunk.length));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class) public void unknownCodecIsRejected() {
+        CompressorRegistry.unCompress(new byte[] { 0, 127, 1 });
+    }
+
+    @Test public void zstdChunkWithoutContentSizeIsRejected() {
+        if (!CompressionCodec.ZSTD.isAvailable()) {
+            return;
+        }
+        try {
+            CompressorRegistry.unCompress(new byte[] { 0, CompressionCodec.ZSTD.getId(), 1, 2 });
+            Assert.fail("chunk is not a zstd frame");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("zstd"));
+        }
+    }
+
+    @Test public void lz4RestoresAllLengths() {
+        Compressor<byte[]> compressor = CompressionCodec.LZ4.getCompressor();
+        for (int length = 0; length < 300; length++) {
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++) {
+                data[i] = (byte) (i % 7 == 0 ? random.nextInt(256) : i % 3);
+            }
+            Assert.assertArrayEquals(data, compressor.unCompress(compressor.compress(data)));
+        }
+        byte[] runs = getRunBlock();
+        byte[] compressed = compressor.compress(runs);
+        Assert.assertTrue(compressed.length < runs.length / 10);
+        Assert.assertArrayEquals(runs, compressor.unCompress(compressed));
+    }
+
+    /**
+     * sorted surrogate keys of a low cardinality dimension
+     */
+    private byte[] getKeyBlock() {
+        ByteBuffer buffer = ByteBuffer.allocate(LEAF_SIZE * 2);
+        for (int i = 0; i < LEAF_SIZE; i++) {
+            buffer.putShort((short) (1 + i * 50 / LEAF_SIZE));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * price like double values
+     */
+    private byte[] getMeasureBlock() {
+        ByteBuffer buffer = ByteBuffer.allocate(LEAF_SIZE * 8);
+        for (int i = 0; i < LEAF_SIZE; i++) {
+            buffer.putDouble(1 + random.nextInt(10000) / 100.0);
+        }
+        return buffer.array();
+    }
+
+    private byte[] getRandomBlock() {
+        byte[] data = new byte[LEAF_SIZE * 4];
+        random.nextBytes(data);
+        data[0] = 1;
+        return data;
+    }
+
+    private byte[] getRunBlock() {
+        byte[] data = new byte[LEAF_SIZE];
+        Arrays.fill(data, 0, LEAF_SIZE / 2, (byte) 3);
+        Arrays.fill(data, LEAF_SIZE / 2, LEAF_SIZE, (byte) 9);
+        return data;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.datastorage.store.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests positional reads and prefetch of HDFSFileHolderImpl on local file
+ * system. Remote reads are simulated by adding latency to every read.
+ */
+public class HDFSFileHolderImplTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int NUMBER_OF_CHUNKS = 32;
+
+    private static final long READ_LATENCY_MILLIS = 5;
+
+    private File file;
+
+    private byte[] data;
+
+    @Before public void setUp() throws IOException {
+        file = File.createTempFile("HDFSFileHolderImplTest", ".fact");
+        data = new byte[CHUNK_SIZE * NUMBER_OF_CHUNKS];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 + i / CHUNK_SIZE);
+        }
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            stream.write(data);
+        } finally {
+            stream.close();
+        }
+    }
+
+    @After public void tearDown() {
+        file.delete();
+    }
+
+    @Test public void positionalReadsReturnRequestedChunk() {
+        HDFSFileHolderImpl fileHolder = new HDFSFileHolderImpl();
+        try {
+            for (int i = NUMBER_OF_CHUNKS - 1; i >= 0; i--) {
+                assertChunk(i, fileHolder.readByteArray(file.getAbsolutePath(),
+                        (long) i * CHUNK_SIZE, CHUNK_SIZE));
+            }
+            Assert.assertEquals(readLongAt(CHUNK_SIZE),
+                    fileHolder.readLong(file.getAbsolutePath(), CHUNK_SIZE));
+        } finally {
+            fileHolder.finish();
+        }
+    }
+
+    @Test public void concurrentReadsOnSharedHolder() throws Exception {
+        final HDFSFileHolderImpl fileHolder = new LatencyFileHolder();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 4; t++) {
+                final int start = t;
+                results.add(executorService.submit(new Callable<Boolean>() {
+                    @Override public Boolean call() throws Exception {
+                        for (int i = start; i < NUMBER_OF_CHUNKS; i += 4) {
+                            assertChunk(i, fileHolder.readByteArray(file.getAbsolutePath(),
+                                    (long) i * CHUNK_SIZE, CHUNK_SIZE));
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+            fileHolder.finish();
+        }
+    }
+
+    @Test public void prefetchedChunkIsSameAsRead() {
+        HDFSFileHolderImpl fileHolder = new LatencyFileHolder();
+        try {
+            fileHolder.prefetch(file.getAbsolutePath(), CHUNK_SIZE * 3L, CHUNK_SIZE);
+            assertChunk(3, fileHolder.readByteArray(file.getAbsolutePath(), CHUNK_SIZE * 3L,
+                    CHUNK_SIZE));
+            // chunk is handed over only once
+            assertChunk(3, fileHolder.readByteArray(file.getAbsolutePath(), CHUNK_SIZE * 3L,
+                    CHUNK_SIZE));
+        } finally {
+            fileHolder.finish();
+        }
+    }
+
+    @Test public void scanWithPrefetchReadsEveryChunk() {
+        HDFSFileHolderImpl fileHolder = new LatencyFileHolder();
+        try {
+            scanChunks(fileHolder);
+        } finally {
+            fileHolder.finish();
+        }
+    }
+
+    @Test public void finishDoesNotStopPrefetchOfOtherHolder() {
+        HDFSFileHolderImpl finishedHolder = new LatencyFileHolder();
+        HDFSFileHolderImpl fileHolder = new LatencyFileHolder();
+        try {
+            for (int i = 0; i < NUMBER_OF_CHUNKS; i++) {
+                finishedHolder.prefetch(file.getAbsolutePath(), (long) i * CHUNK_SIZE,
+                        CHUNK_SIZE);
+            }
+            finishedHolder.finish();
+            scanChunks(fileHolder);
+        } finally {
+            finishedHolder.finish();
+            fileHolder.finish();
+        }
+    }
+
+    @Test public void finishedHolderCannotBeRead() {
+        HDFSFileHolderImpl fileHolder = new LatencyFileHolder();
+        scanChunks(fileHolder);
+        fileHolder.finish();
+        // prefetch of finished holder is ignored
+        fileHolder.prefetch(file.getAbsolutePath(), 0, CHUNK_SIZE);
+        try {
+            fileHolder.readByteArray(file.getAbsolutePath(), 0, CHUNK_SIZE);
+            Assert.fail("Finished holder must not open the file again");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains(file.getAbsolutePath()));
+        }
+    }
+
+    @Test public void prefetchedChunksAreReservedTillTheyAreRead() {
+        ExecutorMemoryManager memoryManager = ExecutorMemoryManager.getInstance();
+        long reserved = memoryManager.getReservedMemory();
+        HDFSFileHolderImpl fileHolder = new LatencyFileHolder();
+        try {
+            fileHolder.prefetch(file.getAbsolutePath(), 0, CHUNK_SIZE);
+            fileHolder.prefetch(file.getAbsolutePath(), CHUNK_SIZE, CHUNK_SIZE);
+            Assert.assertEquals(reserved + 2 * CHUNK_SIZE, memoryManager.getReservedMemory());
+            assertChunk(0, fileHolder.readByteArray(file.getAbsolutePath(), 0, CHUNK_SIZE));
+            Assert.assertEquals(reserved + CHUNK_SIZE, memoryManager.getReservedMemory());
+        } finally {
+            fileHolder.finish();
+        }
+        Assert.assertEquals(reserved, memoryManager.getReservedMemory());
+    }
+
+    /**
+     * scan all chunks like a leaf node scan, next chunk is prefetched before
+     * reading the current one
+     */
+    private void scanChunks(HDFSFileHolderImpl fileHolder) {
+        for (int i = 0; i < NUMBER_OF_CHUNKS; i++) {
+            if (i + 1 < NUMBER_OF_CHUNKS) {
+                fileHolder.prefetch(file.getAbsolutePath(), (long) (i + 1) * CHUNK_SIZE,
+                        CHUNK_SIZE);
+            }
+            assertChunk(i, fileHolder.readByteArray(file.getAbsolutePath(),
+                    (long) i * CHUNK_SIZE, CHUNK_SIZE));
+        }
+    }
+
+    private void assertChunk(int chunkIndex, byte[] chunk) {
+        Assert.assertEquals(CHUNK_SIZE, chunk.length);
+        int offset = chunkIndex * CHUNK_SIZE;
+        for (int i = 0; i < chunk.length; i++) {
+            if (data[offset + i] != chunk[i]) {
+                Assert.fail("Chunk " + chunkIndex + " differs at " + i);
+            }
+        }
+    }
+
+    private long readLongAt(int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * file holder which adds fixed latency to every read
+     */
+    private static class LatencyFileHolder extends HDFSFileHolderImpl {
+        @Override protected void readFully(FSDataInputStream channel, long position,
+                byte[] buffer) throws IOException {
+            try {
+                Thread.sleep(READ_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            super.readFully(channel, position, buffer);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.keygenerator.mdkey;
+
+import java.util.Random;
+
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests batch unpacking and packing of keys against the per key methods.
+ * Their speed is measured by KeyGeneratorBenchmark.
+ */
+public class MultiDimKeyVarLengthGeneratorTest {
+
+    private static final int NUMBER_OF_KEYS = 1000;
+
+    private static final int[][] DIMENSION_LENGTHS =
+            { { 8, 16, 24, 32 }, { 3, 5, 7, 11, 13 }, { 1, 2, 31, 9, 17, 20 }, { 48, 5, 40 },
+                    { 12 }, { 4, 4, 8, 8, 16, 16, 2, 30 } };
+
+    @Test public void batchUnpackIsSameAsPerKeyUnpack() throws KeyGenException {
+        for (int[] lens : DIMENSION_LENGTHS) {
+            KeyGenerator generator = new MultiDimKeyVarLengthGenerator(lens);
+            int keySize = generator.getKeySizeInBytes();
+            long[][] expected = new long[NUMBER_OF_KEYS][];
+            byte[] keys = new byte[3 + NUMBER_OF_KEYS * keySize];
+            Random random = new Random(lens.length);
+            for (int row = 0; row < NUMBER_OF_KEYS; row++) {
+                byte[] key = generator.generateKey(randomKey(lens, random));
+                System.arraycopy(key, 0, keys, 3 + row * keySize, keySize);
+                expected[row] = generator.getKeyArray(key);
+            }
+            int[][] columns = new int[lens.length][NUMBER_OF_KEYS];
+            generator.getKeyArrays(keys, 3, NUMBER_OF_KEYS, columns);
+            for (int row = 0; row < NUMBER_OF_KEYS; row++) {
+                for (int i = 0; i < lens.length; i++) {
+                    Assert.assertEquals((int) expected[row][i], columns[i][row]);
+                }
+            }
+        }
+    }
+
+    @Test public void batchPackIsSameAsPerKeyPack() throws KeyGenException {
+        for (int[] lens : DIMENSION_LENGTHS) {
+            KeyGenerator generator = new MultiDimKeyVarLengthGenerator(lens);
+            int keySize = generator.getKeySizeInBytes();
+            int[][] columns = new int[lens.length][NUMBER_OF_KEYS];
+            Random random = new Random(lens.length);
+            for (int row = 0; row < NUMBER_OF_KEYS; row++) {
+                int[] key = randomKey(lens, random);
+                for (int i = 0; i < lens.length; i++) {
+                    columns[i][row] = key[i];
+                }
+            }
+            byte[] keys = new byte[NUMBER_OF_KEYS * keySize];
+            // batch pack must not depend on the old content of buffer
+            new Random().nextBytes(keys);
+            generator.generateKeys(columns, NUMBER_OF_KEYS, keys, 0);
+            int[] key = new int[lens.length];
+            for (int row = 0; row < NUMBER_OF_KEYS; row++) {
+                for (int i = 0; i < lens.length; i++) {
+                    key[i] = columns[i][row];
+                }
+                byte[] expected = generator.generateKey(key);
+                for (int j = 0; j < keySize; j++) {
+                    Assert.assertEquals(expected[j], keys[row * keySize + j]);
+                }
+            }
+        }
+    }
+
+    @Test public void batchUnpackOverwritesColumnsOfPreviousBatch() throws KeyGenException {
+        int[] lens = { 8, 16, 5, 11, 20, 3 };
+        KeyGenerator generator = new MultiDimKeyVarLengthGenerator(lens);
+        int keySize = generator.getKeySizeInBytes();
+        int[][] columns = new int[lens.length][NUMBER_OF_KEYS];
+        Random random = new Random(1);
+        for (int batch = 0; batch < 3; batch++) {
+            byte[] keys = new byte[NUMBER_OF_KEYS * keySize];
+            for (int row = 0; row < NUMBER_OF_KEYS; row++) {
+                byte[] key = generator.generateKey(randomKey(lens, random));
+                System.arraycopy(key, 0, keys, row * keySize, keySize);
+            }
+            // columns still hold the keys of previous batch
+            generator.getKeyArrays(keys, 0, NUMBER_OF_KEYS, columns);
+            byte[] key = new byte[keySize];
+            for (int row = 0; row < NUMBER_OF_KEYS; row++) {
+                System.arraycopy(keys, row * keySize, key, 0, keySize);
+                long[] expected = generator.getKeyArray(key);
+                for (int i = 0; i < lens.length; i++) {
+                    Assert.assertEquals((int) expected[i], columns[i][row]);
+                }
+            }
+        }
+    }
+
+    private int[] randomKey(int[] lens, Random random) {
+        int[] key = new int[lens.length];
+        for (int i = 0; i < lens.length; i++) {
+            key[i] = lens[i] >= 31 ?
+                    random.nextInt(Integer.MAX_VALUE) :
+                    random.nextInt(1 << lens[i]);
+        }
+        return key;
+    }
+}
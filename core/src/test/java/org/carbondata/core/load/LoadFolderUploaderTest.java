@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.load;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LoadFolderUploaderTest {
+
+    private static final String LOAD_NAME = CarbonCommonConstants.LOAD_FOLDER + 0;
+
+    private static final String FACT_FILE_EXT = CarbonCommonConstants.FACT_FILE_EXT;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void closedFilesUploadedBeforeCommit() throws IOException {
+        File localTable = folder.newFolder("local", "table");
+        File inProgressLoad =
+                new File(localTable, LOAD_NAME + CarbonCommonConstants.FILE_INPROGRESS_STATUS);
+        File closedFact = createFile(inProgressLoad, "table_0" + FACT_FILE_EXT);
+        File openFact = createFile(inProgressLoad,
+                "table_1" + FACT_FILE_EXT + CarbonCommonConstants.FILE_INPROGRESS_STATUS);
+        File staging = new File(folder.getRoot(), "store/staging");
+        File target = new File(folder.getRoot(), "store/table/" + LOAD_NAME);
+
+        LoadFolderUploader uploader = new LoadFolderUploader(staging.getAbsolutePath(), 2);
+        uploader.uploadClosedFiles(localTable.getAbsolutePath());
+        File loadFolder = new File(localTable, LOAD_NAME);
+        // writer closes the last fact file and load folder is renamed
+        File lastFact = new File(inProgressLoad, "table_1" + FACT_FILE_EXT);
+        Assert.assertTrue(openFact.renameTo(lastFact));
+        Assert.assertTrue(inProgressLoad.renameTo(loadFolder));
+        createFile(loadFolder, "table.level");
+        uploader.commit(loadFolder.getAbsolutePath(), target.getAbsolutePath());
+
+        Assert.assertFalse(staging.exists());
+        Assert.assertTrue(new File(target, closedFact.getName()).isFile());
+        Assert.assertTrue(new File(target, lastFact.getName()).isFile());
+        Assert.assertTrue(new File(target, "table.level").isFile());
+    }
+
+    @Test
+    public void existingLoadFolderSwappedOnCommit() throws IOException {
+        File localTable = folder.newFolder("local", "table");
+        File loadFolder = new File(localTable, LOAD_NAME);
+        createFile(loadFolder, "table_0" + FACT_FILE_EXT);
+        File staging = new File(folder.getRoot(), "store/staging");
+        File target = new File(folder.getRoot(), "store/table/" + LOAD_NAME);
+        File oldFact = createFile(target, "table_0" + FACT_FILE_EXT);
+        Assert.assertTrue(oldFact.delete());
+        Assert.assertTrue(oldFact.createNewFile());
+        createFile(target, "table.level");
+
+        LoadFolderUploader uploader = new LoadFolderUploader(staging.getAbsolutePath(), 1);
+        uploader.commit(loadFolder.getAbsolutePath(), target.getAbsolutePath());
+
+        Assert.assertFalse(staging.exists());
+        Assert.assertEquals(0, new File(folder.getRoot(), "store").list(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith("staging");
+            }
+        }).length);
+        Assert.assertEquals(3, new File(target, "table_0" + FACT_FILE_EXT).length());
+        Assert.assertTrue(new File(target, "table.level").isFile());
+        Assert.assertEquals(2, target.list().length);
+    }
+
+    @Test
+    public void stagingFolderDeletedOnAbort() throws IOException {
+        File localTable = folder.newFolder("local", "table");
+        File inProgressLoad =
+                new File(localTable, LOAD_NAME + CarbonCommonConstants.FILE_INPROGRESS_STATUS);
+        createFile(inProgressLoad, "table_0" + FACT_FILE_EXT);
+        File staging = new File(folder.getRoot(), "store/staging");
+
+        LoadFolderUploader uploader = new LoadFolderUploader(staging.getAbsolutePath(), 1);
+        uploader.uploadClosedFiles(localTable.getAbsolutePath());
+        uploader.abort();
+
+        Assert.assertFalse(staging.exists());
+    }
+
+    private File createFile(File parent, String name) throws IOException {
+        Assert.assertTrue(parent.isDirectory() || parent.mkdirs());
+        File file = new File(parent, name);
+        FileOutputStream stream = new FileOutputStream(file);
+        try {
+            stream.write(new byte[] { 1, 2, 3 });
+        } finally {
+            stream.close();
+        }
+        return file;
+    }
+}
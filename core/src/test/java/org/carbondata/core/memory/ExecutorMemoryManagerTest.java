@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.memory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutorMemoryManagerTest {
+
+    @Test
+    public void reservationDeniedWhenBudgetExhausted() {
+        ExecutorMemoryManager memoryManager = new ExecutorMemoryManager(1000, 100, 0);
+        Assert.assertTrue(memoryManager.tryReserve("load", MemoryType.SORT_BUFFER, 800));
+        Assert.assertFalse(memoryManager.tryReserve("query", MemoryType.AGGREGATION_TABLE, 300));
+        memoryManager.forceReserve("query", MemoryType.AGGREGATION_TABLE, 300);
+        Assert.assertEquals(1100, memoryManager.getReservedMemory());
+        memoryManager.release("load", MemoryType.SORT_BUFFER, 500);
+        Assert.assertEquals(300, memoryManager.getReservedMemory("load"));
+        Assert.assertEquals(300, memoryManager.releaseAll("query"));
+        Assert.assertEquals(300, memoryManager.getReservedMemory());
+        Assert.assertEquals(1, memoryManager.getReservations().size());
+    }
+
+    @Test
+    public void consumersSpillForOtherOwners() {
+        final ExecutorMemoryManager memoryManager = new ExecutorMemoryManager(1000, 100, 0);
+        Assert.assertTrue(memoryManager.tryReserve("cache", MemoryType.CACHE, 900));
+        memoryManager.registerConsumer(new MemoryConsumer() {
+            @Override
+            public String getOwner() {
+                return "cache";
+            }
+
+            @Override
+            public long spill(long size) {
+                memoryManager.release("cache", MemoryType.CACHE, size);
+                return size;
+            }
+        });
+        Assert.assertFalse(memoryManager.tryReserve("cache", MemoryType.CACHE, 200));
+        Assert.assertTrue(memoryManager.tryReserve("query", MemoryType.AGGREGATION_TABLE, 300));
+        Assert.assertEquals(700, memoryManager.getReservedMemory("cache"));
+        Assert.assertEquals(1000, memoryManager.getReservedMemory());
+    }
+
+    @Test
+    public void queryWaitsForAdmissionTillMemoryIsReleased() throws InterruptedException {
+        final ExecutorMemoryManager memoryManager = new ExecutorMemoryManager(1000, 500, 10000);
+        Assert.assertTrue(memoryManager.admitQuery("query1"));
+        memoryManager.forceReserve("query1", MemoryType.AGGREGATION_TABLE, 800);
+        final boolean[] admitted = new boolean[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                admitted[0] = memoryManager.admitQuery("query2");
+            }
+        });
+        thread.start();
+        while (memoryManager.getQueuedQueries() == 0) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(800, memoryManager.finishQuery("query1"));
+        thread.join();
+        Assert.assertTrue(admitted[0]);
+        Assert.assertEquals(0, memoryManager.getReservedMemory());
+        Assert.assertEquals(1, memoryManager.getActiveQueries());
+    }
+
+    @Test
+    public void partitionOfAdmittedQueryDoesNotWait() {
+        ExecutorMemoryManager memoryManager = new ExecutorMemoryManager(1000, 500, 10);
+        Assert.assertTrue(memoryManager.admitQuery("query1"));
+        memoryManager.forceReserve("query1", MemoryType.AGGREGATION_TABLE, 800);
+        Assert.assertTrue(memoryManager.admitQuery("query1"));
+        Assert.assertEquals(1, memoryManager.getActiveQueries());
+        memoryManager.finishQuery("query1");
+        Assert.assertEquals(800, memoryManager.getReservedMemory());
+        memoryManager.finishQuery("query1");
+        Assert.assertEquals(0, memoryManager.getReservedMemory());
+        Assert.assertEquals(0, memoryManager.getActiveQueries());
+    }
+
+    @Test
+    public void queryNotAdmittedAfterTimeout() {
+        ExecutorMemoryManager memoryManager = new ExecutorMemoryManager(1000, 500, 10);
+        Assert.assertTrue(memoryManager.admitQuery("query1"));
+        memoryManager.forceReserve("query1", MemoryType.AGGREGATION_TABLE, 800);
+        Assert.assertFalse(memoryManager.admitQuery("query2"));
+        Assert.assertEquals(0, memoryManager.getQueuedQueries());
+        memoryManager.finishQuery("query1");
+        Assert.assertTrue(memoryManager.admitQuery("query2"));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.SortedMap;
+
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void bucketBoundsCoverValue() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(63));
+            int index = LatencyHistogram.getBucketIndex(value);
+            Assert.assertTrue(value <= LatencyHistogram.getBucketUpperBound(index));
+            if (index > 0) {
+                Assert.assertTrue(value > LatencyHistogram.getBucketUpperBound(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void percentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i * 1000);
+        }
+        Assert.assertEquals(100000, histogram.getCount());
+        Assert.assertEquals(100000000L, histogram.getMax());
+        assertWithinPrecision(50000000L, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(99000000L, histogram.getValueAtPercentile(99));
+        Assert.assertEquals(100000000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void metricsAreExposedThroughJmx() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.counter("test.counter").add(5);
+        registry.histogram("test.time").record(2000000);
+        registry.registerGauge("test.gauge", new Gauge() {
+            @Override
+            public long getValue() {
+                return 42;
+            }
+        });
+        SortedMap<String, Long> metrics = registry.snapshot();
+        Assert.assertEquals(Long.valueOf(5), metrics.get("test.counter"));
+        Assert.assertEquals(Long.valueOf(42), metrics.get("test.gauge"));
+        Assert.assertEquals(Long.valueOf(1), metrics.get("test.time.count"));
+        Assert.assertEquals(Long.valueOf(2000), metrics.get("test.time.max"));
+        Object value = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MetricsRegistry.OBJECT_NAME), "test.counter");
+        Assert.assertEquals(5L, value);
+    }
+
+    private void assertWithinPrecision(long expected, long actual) {
+        Assert.assertTrue("expected " + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected / 25);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.core.util;
+
+import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
+import org.carbondata.core.util.ValueCompressionUtil.COMPRESSION_TYPE;
+import org.carbondata.core.util.ValueCompressionUtil.DataType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests which measure compression models of a slice allow its leaves to be
+ * copied to the merged file without decoding.
+ */
+public class ValueCompressionUtilTest {
+
+    @Test public void sliceWithinMergedRangeIsCompatible() {
+        ValueCompressionModel merged = createModel(COMPRESSION_TYPE.NONE, 120.0, -1.0, -2.0, 0);
+        ValueCompressionModel slice = createModel(COMPRESSION_TYPE.NONE, 90.0, -1.0, -2.0, 0);
+        Assert.assertTrue(ValueCompressionUtil.isCompatibleCompressionModel(merged, slice));
+        Assert.assertTrue(ValueCompressionUtil.isCompatibleCompressionModel(merged, merged));
+    }
+
+    @Test public void sliceOutsideMergedRangeIsNotCompatible() {
+        ValueCompressionModel merged = createModel(COMPRESSION_TYPE.NONE, 90.0, -1.0, -2.0, 0);
+        ValueCompressionModel slice = createModel(COMPRESSION_TYPE.NONE, 120.0, -1.0, -2.0, 0);
+        Assert.assertFalse(ValueCompressionUtil.isCompatibleCompressionModel(merged, slice));
+    }
+
+    @Test public void maxBasedCompressionNeedsSameMax() {
+        ValueCompressionModel merged =
+                createModel(COMPRESSION_TYPE.MAX_MIN, 120.0, -1.0, -2.0, 0);
+        ValueCompressionModel slice = createModel(COMPRESSION_TYPE.MAX_MIN, 90.0, -1.0, -2.0, 0);
+        Assert.assertFalse(ValueCompressionUtil.isCompatibleCompressionModel(merged, slice));
+        slice = createModel(COMPRESSION_TYPE.MAX_MIN, 120.0, 10.0, -2.0, 0);
+        Assert.assertTrue(ValueCompressionUtil.isCompatibleCompressionModel(merged, slice));
+    }
+
+    @Test public void differentNullValueOrDecimalIsNotCompatible() {
+        ValueCompressionModel merged = createModel(COMPRESSION_TYPE.NONE, 120.0, -1.0, -2.0, 0);
+        Assert.assertFalse(ValueCompressionUtil.isCompatibleCompressionModel(merged,
+                createModel(COMPRESSION_TYPE.NONE, 90.0, 10.0, 9.0, 0)));
+        Assert.assertFalse(ValueCompressionUtil.isCompatibleCompressionModel(merged,
+                createModel(COMPRESSION_TYPE.NONE, 90.0, -1.0, -2.0, 2)));
+    }
+
+    private ValueCompressionModel createModel(COMPRESSION_TYPE compType, double max, double min,
+            double unique, int decimal) {
+        ValueCompressionModel model = new ValueCompressionModel();
+        model.setType(new char[] { 'n' });
+        model.setCompType(new COMPRESSION_TYPE[] { compType });
+        model.setChangedDataType(new DataType[] { DataType.DATA_BYTE });
+        model.setActualDataType(new DataType[] { DataType.DATA_DOUBLE });
+        model.setMaxValue(new Object[] { max });
+        model.setMinValue(new Object[] { min });
+        model.setUniqueValue(new Object[] { unique });
+        model.setDecimal(new int[] { decimal });
+        return model;
+    }
+}
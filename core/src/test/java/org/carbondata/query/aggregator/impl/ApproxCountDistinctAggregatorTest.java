@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.aggregator.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApproxCountDistinctAggregatorTest {
+
+    @Test
+    public void estimateWithinError() {
+        int[] cardinalities = { 10, 1000, 50000, 1000000 };
+        for (int cardinality : cardinalities) {
+            ApproxCountDistinctAggregator aggregator = new ApproxCountDistinctAggregator(14);
+            for (int i = 0; i < cardinality; i++) {
+                aggregator.agg((double) i);
+                aggregator.agg((double) i);
+            }
+            assertWithinError(cardinality, aggregator.getLongValue());
+        }
+    }
+
+    @Test
+    public void mergeGivesEstimateOfUnion() {
+        ApproxCountDistinctAggregator first = new ApproxCountDistinctAggregator(14);
+        ApproxCountDistinctAggregator second = new ApproxCountDistinctAggregator(14);
+        ApproxCountDistinctAggregator union = new ApproxCountDistinctAggregator(14);
+        for (int i = 0; i < 60000; i++) {
+            first.agg("value" + i);
+            union.agg("value" + i);
+        }
+        for (int i = 40000; i < 100000; i++) {
+            second.agg("value" + i);
+            union.agg("value" + i);
+        }
+        ApproxCountDistinctAggregator stored = new ApproxCountDistinctAggregator(14);
+        stored.merge(first.getByteArray());
+        stored.merge(second);
+        Assert.assertEquals(union.getLongValue(), stored.getLongValue());
+        assertWithinError(100000, stored.getLongValue());
+    }
+
+    @Test
+    public void mergeOfDifferentPrecision() {
+        ApproxCountDistinctAggregator high = new ApproxCountDistinctAggregator(16);
+        ApproxCountDistinctAggregator low = new ApproxCountDistinctAggregator(12);
+        ApproxCountDistinctAggregator expected = new ApproxCountDistinctAggregator(12);
+        for (int i = 0; i < 200000; i++) {
+            if (i % 2 == 0) {
+                high.agg((double) i);
+            } else {
+                low.agg((double) i);
+            }
+            expected.agg((double) i);
+        }
+        high.merge(low);
+        Assert.assertEquals(12, high.getPrecision());
+        Assert.assertEquals(expected.getLongValue(), high.getLongValue());
+    }
+
+    @Test
+    public void sketchIsWrittenAndRead() throws Exception {
+        int[] cardinalities = { 100, 100000 };
+        for (int cardinality : cardinalities) {
+            ApproxCountDistinctAggregator aggregator = new ApproxCountDistinctAggregator(14);
+            for (int i = 0; i < cardinality; i++) {
+                aggregator.agg((long) i);
+            }
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            aggregator.writeData(new DataOutputStream(stream));
+            ApproxCountDistinctAggregator read = new ApproxCountDistinctAggregator(14);
+            read.readData(new DataInputStream(new ByteArrayInputStream(stream.toByteArray())));
+            Assert.assertEquals(aggregator.getLongValue(), read.getLongValue());
+
+            stream = new ByteArrayOutputStream();
+            ObjectOutputStream objectStream = new ObjectOutputStream(stream);
+            objectStream.writeObject(aggregator);
+            objectStream.close();
+            read = (ApproxCountDistinctAggregator) new ObjectInputStream(
+                    new ByteArrayInputStream(stream.toByteArray())).readObject();
+            Assert.assertEquals(aggregator.getLongValue(), read.getLongValue());
+        }
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        // about 5 times the standard error of precision 14
+        Assert.assertTrue("expected " + expected + " but was " + actual,
+                Math.abs(actual - expected) <= Math.max(1, expected * 0.04));
+    }
+}
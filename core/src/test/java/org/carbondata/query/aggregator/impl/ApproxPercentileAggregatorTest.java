@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.aggregator.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApproxPercentileAggregatorTest {
+
+    private static final int NUMBER_OF_VALUES = 100000;
+
+    @Test
+    public void quantilesWithinRankError() {
+        ApproxPercentileAggregator aggregator = new ApproxPercentileAggregator(200);
+        // values 0 to n-1 in a scrambled order
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            aggregator.agg((double) ((i * 7919L) % NUMBER_OF_VALUES));
+        }
+        Assert.assertEquals(NUMBER_OF_VALUES, aggregator.getCount());
+        assertRankWithinError(0.5, aggregator.getQuantile(0.5));
+        assertRankWithinError(0.95, aggregator.getQuantile(0.95));
+        assertRankWithinError(0.99, aggregator.getQuantile(0.99));
+        Assert.assertEquals(0.0, aggregator.getQuantile(0), 0);
+        Assert.assertEquals(NUMBER_OF_VALUES - 1, aggregator.getQuantile(1), 0);
+        Assert.assertEquals(aggregator.getQuantile(0.5), aggregator.getDoubleValue());
+    }
+
+    @Test
+    public void mergedSketchGivesQuantilesOfAllValues() throws Exception {
+        ApproxPercentileAggregator merged = new ApproxPercentileAggregator(200);
+        for (int part = 0; part < 10; part++) {
+            ApproxPercentileAggregator partAggregator = new ApproxPercentileAggregator(200);
+            for (int i = part; i < NUMBER_OF_VALUES; i += 10) {
+                partAggregator.agg((double) i);
+            }
+            if (part % 2 == 0) {
+                merged.merge(partAggregator.getByteArray());
+            } else {
+                merged.merge(partAggregator);
+            }
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        merged.writeData(new DataOutputStream(stream));
+        ApproxPercentileAggregator read = new ApproxPercentileAggregator(200);
+        read.readData(new DataInputStream(new ByteArrayInputStream(stream.toByteArray())));
+        Assert.assertEquals(NUMBER_OF_VALUES, read.getCount());
+        Assert.assertEquals(merged.getQuantile(0.9), read.getQuantile(0.9));
+        assertRankWithinError(0.9, read.getQuantile(0.9));
+    }
+
+    @Test
+    public void emptySketchHasNoValue() {
+        ApproxPercentileAggregator aggregator = new ApproxPercentileAggregator(200);
+        Assert.assertTrue(aggregator.isFirstTime());
+        Assert.assertNull(aggregator.getQuantile(0.5));
+        Assert.assertEquals(0, aggregator.getByteArray().length);
+    }
+
+    private static void assertRankWithinError(double quantile, double value) {
+        double rank = value / NUMBER_OF_VALUES;
+        Assert.assertTrue("quantile " + quantile + " but rank was " + rank,
+                Math.abs(rank - quantile) <= 0.02);
+    }
+}
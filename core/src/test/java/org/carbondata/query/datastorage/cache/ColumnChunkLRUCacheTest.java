@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.datastorage.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ColumnChunkLRUCacheTest {
+
+    private static final String FILE_1 = "/store/Load_0/fact_1.fact";
+
+    private static final String FILE_2 = "/store/Load_1/fact_1.fact";
+
+    @Test
+    public void leastRecentlyUsedChunkIsEvicted() {
+        ColumnChunkLRUCache cache = new ColumnChunkLRUCache(100);
+        cache.put(FILE_1, 0, new byte[40]);
+        cache.put(FILE_1, 40, new byte[40]);
+        Assert.assertNotNull(cache.get(FILE_1, 0, 40));
+        cache.put(FILE_1, 80, new byte[40]);
+        Assert.assertTrue(cache.contains(FILE_1, 0, 40));
+        Assert.assertFalse(cache.contains(FILE_1, 40, 40));
+        Assert.assertTrue(cache.contains(FILE_1, 80, 40));
+        Assert.assertEquals(80, cache.getCurrentSize());
+        Assert.assertNull(cache.get(FILE_1, 40, 40));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void chunkBiggerThanCacheIsNotCached() {
+        ColumnChunkLRUCache cache = new ColumnChunkLRUCache(100);
+        cache.put(FILE_1, 0, new byte[101]);
+        Assert.assertFalse(cache.contains(FILE_1, 0, 101));
+        Assert.assertEquals(0, cache.getCurrentSize());
+    }
+
+    @Test
+    public void removeFileInvalidatesOnlyItsChunks() {
+        ColumnChunkLRUCache cache = new ColumnChunkLRUCache(1000);
+        cache.put(FILE_1, 0, new byte[10]);
+        cache.put(FILE_1, 10, new byte[20]);
+        cache.put(FILE_2, 0, new byte[30]);
+        cache.removeFile(FILE_1);
+        Assert.assertFalse(cache.contains(FILE_1, 0, 10));
+        Assert.assertFalse(cache.contains(FILE_1, 10, 20));
+        Assert.assertTrue(cache.contains(FILE_2, 0, 30));
+        Assert.assertEquals(30, cache.getCurrentSize());
+    }
+
+    @Test
+    public void spillEvictsLeastRecentlyUsedChunks() {
+        ColumnChunkLRUCache cache = new ColumnChunkLRUCache(1000);
+        cache.put(FILE_1, 0, new byte[10]);
+        cache.put(FILE_2, 0, new byte[10]);
+        cache.put(FILE_2, 10, new byte[10]);
+        Assert.assertEquals(20, cache.spill(15));
+        Assert.assertFalse(cache.contains(FILE_1, 0, 10));
+        Assert.assertFalse(cache.contains(FILE_2, 0, 10));
+        Assert.assertTrue(cache.contains(FILE_2, 10, 10));
+        Assert.assertEquals(10, cache.getCurrentSize());
+    }
+
+    @Test
+    public void disabledCacheHoldsNothing() {
+        ColumnChunkLRUCache cache = new ColumnChunkLRUCache(0);
+        cache.put(FILE_1, 0, new byte[10]);
+        cache.removeFile(FILE_1);
+        Assert.assertFalse(cache.isEnabled());
+        Assert.assertNull(cache.get(FILE_1, 0, 10));
+        Assert.assertEquals(0, cache.spill(10));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.merger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.carbondata.core.keygenerator.mdkey.MultiDimKeyVarLengthGenerator;
+import org.carbondata.core.metadata.CarbonMetadata.Dimension;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.executer.pagination.impl.DataFileWriter;
+import org.carbondata.query.result.Result;
+import org.carbondata.query.result.impl.ListBasedResult;
+import org.carbondata.query.schema.metadata.DataProcessorInfo;
+import org.carbondata.query.util.ScannedResultProcessorUtil;
+import org.carbondata.query.wrappers.ByteArrayWrapper;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for merging of sorted runs of one dimension query sorted in
+ * ascending order
+ */
+public class SortedRunMergerTest {
+
+    private DataProcessorInfo dataProcessorInfo;
+
+    private Comparator<DataFileWriter.KeyValueHolder> comparator;
+
+    @Before
+    public void setUp() {
+        KeyGenerator keyGenerator = new MultiDimKeyVarLengthGenerator(new int[] { 8 });
+        dataProcessorInfo = new DataProcessorInfo();
+        dataProcessorInfo.setQueryDims(new Dimension[] { new Dimension("country", 0, "country") });
+        dataProcessorInfo.setKeyGenerator(keyGenerator);
+        dataProcessorInfo.setSortedDimensionIndex(new byte[] { 0 });
+        dataProcessorInfo.setMaskedByteRange(new int[] { 0 });
+        dataProcessorInfo.setActualMaskByteRanges(new int[] { 0 });
+        dataProcessorInfo.setKeySize(1);
+        dataProcessorInfo.setMaxKey(new byte[] { (byte) 0xFF });
+        comparator = ScannedResultProcessorUtil
+                .getMergerChainComparator(new int[][] { { 0 } }, new byte[] { 0 },
+                        new byte[][] { { (byte) 0xFF } });
+    }
+
+    private static Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>> getRun(
+            int... surrogates) {
+        List<ByteArrayWrapper> keys = new ArrayList<ByteArrayWrapper>(surrogates.length);
+        List<MeasureAggregator[]> values = new ArrayList<MeasureAggregator[]>(surrogates.length);
+        for (int surrogate : surrogates) {
+            ByteArrayWrapper key = new ByteArrayWrapper();
+            key.setMaskedKey(new byte[] { (byte) surrogate });
+            keys.add(key);
+            values.add(new MeasureAggregator[0]);
+        }
+        Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>> run = new ListBasedResult();
+        run.addScannedResult(keys, values);
+        return run;
+    }
+
+    private List<Integer> merge(
+            List<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>> runs, int limit)
+            throws Exception {
+        SortedRunMerger merger = new SortedRunMerger(dataProcessorInfo, runs, comparator);
+        List<Integer> mergedKeys = new ArrayList<Integer>();
+        while (merger.hasNext() && mergedKeys.size() != limit) {
+            mergedKeys.add(merger.next().key.getMaskedKey()[0] & 0xFF);
+        }
+        return mergedKeys;
+    }
+
+    private static List<Integer> asList(int... values) {
+        List<Integer> list = new ArrayList<Integer>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Test
+    public void runsAreMergedInSortOrder() throws Exception {
+        List<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>> runs =
+                new ArrayList<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>>();
+        runs.add(getRun(1, 4, 7, 200));
+        runs.add(getRun());
+        runs.add(getRun(2, 2, 5, 130));
+        runs.add(getRun(3, 6));
+        Assert.assertEquals(asList(1, 2, 2, 3, 4, 5, 6, 7, 130, 200), merge(runs, -1));
+    }
+
+    @Test
+    public void limitRowsOfEachRunGiveLimitRowsOfMergedResult() throws Exception {
+        // every task stops once it has at least limit rows, after the leaf
+        // node which completes the limit
+        List<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>> runs =
+                new ArrayList<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>>();
+        runs.add(getRun(1, 5, 9, 10));
+        runs.add(getRun(2, 3, 4));
+        runs.add(getRun(6, 7, 8, 11, 12));
+        Assert.assertEquals(asList(1, 2, 3), merge(runs, 3));
+    }
+
+    @Test
+    public void noRunsGiveNoRows() throws Exception {
+        List<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>> runs =
+                new ArrayList<Result<List<ByteArrayWrapper>, List<MeasureAggregator[]>>>();
+        Assert.assertTrue(merge(runs, -1).isEmpty());
+    }
+}
@@ -19,6 +19,7 @@
 
 package org.carbondata.query.querystats;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 public class PartitionAccumulatorTest {
@@ -49,6 +50,24 @@ public class PartitionAccumulatorTest {
         pac.addAccumulator(partDetail1, null);
     }
 
+    @Test
+    public void testProfileIsMerged() {
+        PartitionAccumulator pac = new PartitionAccumulator();
+        PartitionDetail partDetail1 = createPartitionDetail();
+        PartitionDetail partDetail2 = createPartitionDetail();
+        partDetail1.getProfile().add(QueryProfile.Counter.LEAF_NODES_PRUNED, 3);
+        partDetail2.getProfile().add(QueryProfile.Counter.FILTER_TIME, 1000);
+        partDetail1.getProfile().max(QueryProfile.Counter.PEAK_MEMORY_RESERVED, 500);
+        partDetail2.getProfile().max(QueryProfile.Counter.PEAK_MEMORY_RESERVED, 300);
+        PartitionDetail merged = pac.addInPlace(partDetail1, partDetail2);
+        Assert.assertEquals(4664, merged.getNumberOfNodesScanned());
+        Assert.assertEquals(646, merged.getNoOfRowsScanned());
+        Assert.assertEquals(3, merged.getProfile().get(QueryProfile.Counter.LEAF_NODES_PRUNED));
+        Assert.assertEquals(1000, merged.getProfile().get(QueryProfile.Counter.FILTER_TIME));
+        Assert.assertEquals(500,
+                merged.getProfile().get(QueryProfile.Counter.PEAK_MEMORY_RESERVED));
+    }
+
     private PartitionDetail createPartitionDetail() {
         PartitionDetail partDetail = new PartitionDetail();
         partDetail.addNumberOfNodesScanned(2332);
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.result.iterator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryType;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.aggregator.impl.SumDoubleAggregator;
+import org.carbondata.query.datastorage.cache.QueryResultCache;
+import org.carbondata.query.datastorage.cache.QueryResultCache.SegmentResult;
+import org.carbondata.query.result.ChunkResult;
+import org.carbondata.query.result.RowResult;
+import org.carbondata.query.scanner.impl.CarbonKey;
+import org.carbondata.query.scanner.impl.CarbonValue;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CachedQueryResultIteratorTest {
+
+    private static final String QUERY_ID = "queryId";
+
+    private static QueryResultCache cache;
+
+    @BeforeClass
+    public static void setUp() {
+        CarbonProperties.getInstance()
+                .addProperty(CarbonCommonConstants.CARBON_MAX_QUERY_RESULT_CACHE_SIZE, "1");
+        cache = QueryResultCache.getInstance();
+    }
+
+    @Test
+    public void onlyNewSegmentsAreScannedAndCached() {
+        Map<String, Long> oldSegments = segments("Load_0", 1L, "Load_1", 1L);
+        consume(new CachedQueryResultIterator(cache, "query1", QUERY_ID,
+                new ArrayList<SegmentResult>(), rows("a", 1.0, "b", 2.0), oldSegments));
+
+        Map<String, Long> allSegments = segments("Load_0", 1L, "Load_1", 1L, "Load_2", 1L);
+        List<SegmentResult> cachedResults = cache.get("query1", allSegments);
+        Assert.assertEquals(1, cachedResults.size());
+        Assert.assertEquals(oldSegments, cachedResults.get(0).getSegments());
+        List<RowResult> result = consume(new CachedQueryResultIterator(cache, "query1", QUERY_ID,
+                cachedResults, rows("a", 3.0), segments("Load_2", 1L)));
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals("a", result.get(0).getKey().getKey()[0]);
+        Assert.assertEquals(1.0, result.get(0).getValue().getValues()[0].getDoubleValue(), 0);
+        Assert.assertEquals("b", result.get(1).getKey().getKey()[0]);
+        Assert.assertEquals(3.0, result.get(2).getValue().getValues()[0].getDoubleValue(), 0);
+
+        Assert.assertEquals(2, cache.get("query1", allSegments).size());
+        Assert.assertEquals(3,
+                consume(new CachedQueryResultIterator(cache, "query1", QUERY_ID,
+                        cache.get("query1", allSegments), null,
+                        new LinkedHashMap<String, Long>())).size());
+    }
+
+    @Test
+    public void resultsOfChangedSegmentsAreRemoved() {
+        consume(new CachedQueryResultIterator(cache, "query2", QUERY_ID,
+                new ArrayList<SegmentResult>(), rows("a", 1.0),
+                segments("Load_0", 1L, "Load_1", 1L)));
+        consume(new CachedQueryResultIterator(cache, "query2", QUERY_ID,
+                new ArrayList<SegmentResult>(), rows("a", 1.0), segments("Load_2", 1L)));
+        // Load_0 and Load_1 are merged into a new load
+        List<SegmentResult> cachedResults =
+                cache.get("query2", segments("Load_0_1", 2L, "Load_2", 1L));
+        Assert.assertEquals(1, cachedResults.size());
+        Assert.assertEquals(segments("Load_2", 1L), cachedResults.get(0).getSegments());
+        // Load_2 is updated
+        Assert.assertTrue(cache.get("query2", segments("Load_0_1", 2L, "Load_2", 3L)).isEmpty());
+        long size = cache.getCurrentSize();
+        // same segments cached again by a parallel query are not added
+        consume(new CachedQueryResultIterator(cache, "query2", QUERY_ID,
+                new ArrayList<SegmentResult>(), rows("a", 1.0), segments("Load_2", 3L)));
+        consume(new CachedQueryResultIterator(cache, "query2", QUERY_ID,
+                new ArrayList<SegmentResult>(), rows("a", 1.0), segments("Load_2", 3L)));
+        Assert.assertEquals(1, cache.get("query2", segments("Load_2", 3L)).size());
+        Assert.assertTrue(cache.getCurrentSize() > size);
+        Assert.assertEquals(0, ExecutorMemoryManager.getInstance().getReservedMemory(QUERY_ID));
+    }
+
+    @Test
+    public void resultIsNotCachedWhenMemoryIsNotSufficient() {
+        ExecutorMemoryManager memoryManager = ExecutorMemoryManager.getInstance();
+        long budget = memoryManager.getBudget();
+        memoryManager.forceReserve("other", MemoryType.AGGREGATION_TABLE, budget);
+        try {
+            Assert.assertEquals(1, consume(new CachedQueryResultIterator(cache, "query3",
+                    QUERY_ID, new ArrayList<SegmentResult>(), rows("a", 1.0),
+                    segments("Load_0", 1L))).size());
+        } finally {
+            memoryManager.release("other", MemoryType.AGGREGATION_TABLE, budget);
+        }
+        Assert.assertTrue(cache.get("query3", segments("Load_0", 1L)).isEmpty());
+        Assert.assertEquals(0, memoryManager.getReservedMemory(QUERY_ID));
+    }
+
+    private static Map<String, Long> segments(Object... nameAndTimes) {
+        Map<String, Long> segments = new LinkedHashMap<String, Long>();
+        for (int i = 0; i < nameAndTimes.length; i += 2) {
+            segments.put((String) nameAndTimes[i], (Long) nameAndTimes[i + 1]);
+        }
+        return segments;
+    }
+
+    private static ChunkResult rows(Object... keyAndValues) {
+        List<CarbonKey> keys = new ArrayList<CarbonKey>();
+        List<CarbonValue> values = new ArrayList<CarbonValue>();
+        for (int i = 0; i < keyAndValues.length; i += 2) {
+            keys.add(new CarbonKey(new Object[] { keyAndValues[i] }));
+            MeasureAggregator aggregator = new SumDoubleAggregator();
+            aggregator.agg(((Double) keyAndValues[i + 1]).doubleValue());
+            values.add(new CarbonValue(new MeasureAggregator[] { aggregator }));
+        }
+        ChunkResult chunkResult = new ChunkResult();
+        chunkResult.setKeys(keys);
+        chunkResult.setValues(values);
+        return chunkResult;
+    }
+
+    private static List<RowResult> consume(CachedQueryResultIterator iterator) {
+        List<RowResult> rows = new ArrayList<RowResult>();
+        while (iterator.hasNext()) {
+            rows.add(iterator.next());
+        }
+        return rows;
+    }
+}
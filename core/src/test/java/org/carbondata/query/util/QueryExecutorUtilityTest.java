@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.query.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.carbondata.query.expression.ColumnExpression;
+import org.carbondata.query.expression.DataType;
+import org.carbondata.query.expression.Expression;
+import org.carbondata.query.expression.LiteralExpression;
+import org.carbondata.query.expression.conditional.EqualToExpression;
+import org.carbondata.query.expression.conditional.GreaterThanExpression;
+import org.carbondata.query.expression.logical.AndExpression;
+import org.carbondata.query.filters.measurefilter.GroupMeasureFilterModel;
+import org.carbondata.query.filters.measurefilter.MeasureFilterModel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class for the measure filter check which decides whether an ordered
+ * aggregate query with limit can stop scanning once limit groups are
+ * complete
+ */
+public class QueryExecutorUtilityTest {
+
+    private static ColumnExpression getColumn(String name, boolean isDimension) {
+        ColumnExpression column = new ColumnExpression(name, DataType.IntegerType);
+        column.setDimension(isDimension);
+        return column;
+    }
+
+    private static Expression getDimensionFilter() {
+        return new EqualToExpression(getColumn("country", true),
+                new LiteralExpression(1, DataType.IntegerType));
+    }
+
+    @Test
+    public void dimensionFilterIsNotMeasureFilter() {
+        List<GroupMeasureFilterModel> msrFilters = new ArrayList<GroupMeasureFilterModel>();
+        Assert.assertFalse(
+                QueryExecutorUtility.isMeasureFilterPresent(null, msrFilters, msrFilters));
+        Assert.assertFalse(QueryExecutorUtility
+                .isMeasureFilterPresent(getDimensionFilter(), msrFilters, null));
+    }
+
+    @Test
+    public void measureInFilterExpressionIsMeasureFilter() {
+        Expression measureFilter = new GreaterThanExpression(getColumn("salary", false),
+                new LiteralExpression(10, DataType.IntegerType));
+        Assert.assertTrue(QueryExecutorUtility
+                .isMeasureFilterPresent(new AndExpression(getDimensionFilter(), measureFilter),
+                        null, null));
+    }
+
+    @Test
+    public void measureConstraintOnGroupsIsMeasureFilter() {
+        List<GroupMeasureFilterModel> msrFilters = new ArrayList<GroupMeasureFilterModel>();
+        msrFilters.add(new GroupMeasureFilterModel(new MeasureFilterModel[0][0], null));
+        Assert.assertTrue(QueryExecutorUtility
+                .isMeasureFilterPresent(getDimensionFilter(), msrFilters, null));
+        Assert.assertTrue(QueryExecutorUtility
+                .isMeasureFilterPresent(null, new ArrayList<GroupMeasureFilterModel>(),
+                        msrFilters));
+    }
+}
@@ -70,6 +70,9 @@ enum SortState{
 */
 enum CompressionCodec{
 	SNAPPY = 0;
+	LZ4 = 1;
+	ZSTD = 2;
+	NONE = 3;
 }
 
 /**
@@ -281,6 +281,38 @@ public class CarbonLoadModel implements Serializable {
         this.driverClass = driverClass;
     }
 
+    /**
+     * @return copy of this model, the names of schema and cube are not changed
+     */
+    public CarbonLoadModel getCopy() {
+        CarbonLoadModel copy = new CarbonLoadModel();
+        copy.schemaName = schemaName;
+        copy.cubeName = cubeName;
+        copy.tableName = tableName;
+        copy.factFilePath = factFilePath;
+        copy.dimFolderPath = dimFolderPath;
+        copy.jdbcUrl = jdbcUrl;
+        copy.dbUserName = dbUserName;
+        copy.dbPwd = dbPwd;
+        copy.schemaPath = schemaPath;
+        copy.driverClass = driverClass;
+        copy.partitionId = partitionId;
+        copy.schema = schema;
+        copy.aggTables = aggTables;
+        copy.aggTableName = aggTableName;
+        copy.aggLoadRequest = aggLoadRequest;
+        copy.factStoreLocation = factStoreLocation;
+        copy.isRetentionRequest = isRetentionRequest;
+        copy.factFilesToProcess = factFilesToProcess;
+        copy.csvHeader = csvHeader;
+        copy.csvDelimiter = csvDelimiter;
+        copy.complexDelimiterLevel1 = complexDelimiterLevel1;
+        copy.complexDelimiterLevel2 = complexDelimiterLevel2;
+        copy.isDirectLoad = isDirectLoad;
+        copy.loadMetadataDetails = loadMetadataDetails;
+        return copy;
+    }
+
     public CarbonLoadModel getCopyWithPartition(String uniqueId) {
         CarbonLoadModel copy = new CarbonLoadModel();
         copy.cubeName = cubeName + '_' + uniqueId;
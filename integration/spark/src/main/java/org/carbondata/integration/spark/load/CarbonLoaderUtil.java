@@ -25,6 +25,7 @@ package org.carbondata.integration.spark.load;
 import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.gson.Gson;
 import org.apache.hadoop.fs.FileSystem;
@@ -41,6 +42,7 @@ import org.carbondata.core.datastorage.store.filesystem.CarbonFile;
 import org.carbondata.core.datastorage.store.filesystem.CarbonFileFilter;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.datastorage.store.impl.FileFactory.FileType;
+import org.carbondata.core.load.LoadFolderUploader;
 import org.carbondata.core.load.LoadMetadataDetails;
 import org.carbondata.core.metadata.CarbonMetadata;
 import org.carbondata.core.metadata.CarbonMetadata.Cube;
@@ -52,9 +54,11 @@ import org.carbondata.core.util.CarbonUtilException;
 import org.carbondata.integration.spark.util.CarbonSparkInterFaceLogEvent;
 import org.carbondata.processing.api.dataloader.DataLoadModel;
 import org.carbondata.processing.api.dataloader.SchemaInfo;
+import org.carbondata.processing.constants.DataProcessorConstants;
 import org.carbondata.processing.csvload.DataGraphExecuter;
 import org.carbondata.processing.dataprocessor.DataProcessTaskStatus;
 import org.carbondata.processing.dataprocessor.IDataProcessStatus;
+import org.carbondata.processing.etl.DataLoadingException;
 import org.carbondata.processing.globalsurrogategenerator.GlobalSurrogateGenerator;
 import org.carbondata.processing.globalsurrogategenerator.GlobalSurrogateGeneratorInfo;
 import org.carbondata.processing.graphgenerator.GraphGenerator;
@@ -70,6 +74,18 @@ public final class CarbonLoaderUtil {
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(CarbonLoaderUtil.class.getName());
 
+    /**
+     * folder of the cube in store where load files are uploaded till the
+     * load is committed
+     */
+    private static final String UPLOAD_STAGING_FOLDER = "upload_staging";
+
+    /**
+     * uploaders of the loads in progress, key is the local table folder
+     */
+    private static final Map<String, LoadFolderUploader> LOAD_UPLOADERS =
+            new ConcurrentHashMap<String, LoadFolderUploader>();
+
     private CarbonLoaderUtil() {
 
     }
@@ -158,10 +174,86 @@ public final class CarbonLoaderUtil {
                 loadModel.getSchema(), loadModel.getFactStoreLocation(), currentRestructNumber,
                 loadModel.getLoadMetadataDetails());
 
+        String localTablePath = getLocalTablePath(storeLocation, schemaName, cubeName, tableName,
+                currentRestructNumber);
+        LoadFolderUploader uploader = null;
+        if (!loadModel.isAggLoadRequest()) {
+            uploader = startLoadUpload(localTablePath, storeLocation, hdfsStoreLocation,
+                    schemaName, cubeName, tableName);
+        }
         DataGraphExecuter graphExecuter = new DataGraphExecuter(schmaModel);
-        graphExecuter.executeGraph(graphPath,
-                new ArrayList<String>(CarbonCommonConstants.CONSTANT_SIZE_TEN), info,
-                loadModel.getPartitionId(), loadModel.getSchema());
+        boolean isGraphExecuted = false;
+        try {
+            graphExecuter.executeGraph(graphPath,
+                    new ArrayList<String>(CarbonCommonConstants.CONSTANT_SIZE_TEN), info,
+                    loadModel.getPartitionId(), loadModel.getSchema());
+            isGraphExecuted = true;
+        } catch (DataLoadingException e) {
+            // load with bad records is partially successful and still copied
+            isGraphExecuted = e.getErrorCode() == DataProcessorConstants.BAD_REC_FOUND;
+            throw e;
+        } finally {
+            if (null != uploader) {
+                uploader.stop();
+                if (!isGraphExecuted) {
+                    LOAD_UPLOADERS.remove(localTablePath);
+                    uploader.abort();
+                }
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to start uploading the fact files of the load
+     * to the store while the graph is executed, if the store is on another
+     * location than the local store
+     *
+     * @return uploader or null if files are copied after the load
+     */
+    private static LoadFolderUploader startLoadUpload(String localTablePath, String storeLocation,
+            String hdfsStoreLocation, String schemaName, String cubeName, String tableName) {
+        CarbonProperties properties = CarbonProperties.getInstance();
+        boolean copyStore = Boolean.valueOf(properties.getProperty("dataload.hdfs.copy", "true"));
+        boolean isStreamingUpload = Boolean.valueOf(
+                properties.getProperty(CarbonCommonConstants.CARBON_LOAD_STREAMING_UPLOAD,
+                        CarbonCommonConstants.CARBON_LOAD_STREAMING_UPLOAD_DEFAULT));
+        if (!copyStore || !isStreamingUpload || null == hdfsStoreLocation || hdfsStoreLocation
+                .equals(storeLocation)) {
+            return null;
+        }
+        int numberOfThreads;
+        try {
+            numberOfThreads = Integer.parseInt(
+                    properties.getProperty(CarbonCommonConstants.CARBON_LOAD_UPLOAD_THREADS,
+                            CarbonCommonConstants.CARBON_LOAD_UPLOAD_THREADS_DEFAULT));
+        } catch (NumberFormatException e) {
+            numberOfThreads =
+                    Integer.parseInt(CarbonCommonConstants.CARBON_LOAD_UPLOAD_THREADS_DEFAULT);
+        }
+        // staging folder is outside the table folder, so it is not taken as
+        // a load folder
+        String stagingFolder =
+                hdfsStoreLocation + '/' + schemaName + '/' + cubeName + '/' + UPLOAD_STAGING_FOLDER
+                        + '/' + tableName + '_' + System.nanoTime();
+        try {
+            LoadFolderUploader uploader = new LoadFolderUploader(stagingFolder, numberOfThreads);
+            uploader.start(localTablePath);
+            LOAD_UPLOADERS.put(localTablePath, uploader);
+            return uploader;
+        } catch (IOException e) {
+            LOGGER.error(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG, e,
+                    "Load files are copied after the load as upload could not be started");
+            return null;
+        }
+    }
+
+    private static String getLocalTablePath(String localStore, String schemaName,
+            String cubeName, String tableName, int restructNumber) {
+        String localTablePath =
+                localStore + File.separator + schemaName + File.separator + cubeName
+                        + File.separator + CarbonCommonConstants.RESTRUCTRE_FOLDER + restructNumber
+                        + File.separator + tableName;
+        return localTablePath.replace("\\", "/");
     }
 
     public static String[] getStorelocs(String schemaName, String cubeName, String factTableName,
@@ -310,6 +402,29 @@ public final class CarbonLoaderUtil {
         }
     }
 
+    /**
+     * Below method will be used to delete the merged load of a table from the
+     * local and hdfs store, when the merge fails after the load is partly
+     * written or copied
+     *
+     * @param loadModel             load model of the partition
+     * @param tableName             fact or aggregate table name
+     * @param storeLocation         local store location
+     * @param hdfsStoreLocation     hdfs store location
+     * @param currentRestructNumber restructure number of the load
+     * @param mergedLoadName        name of the merged load
+     */
+    public static void deleteMergedLoad(CarbonLoadModel loadModel, String tableName,
+            String storeLocation, String hdfsStoreLocation, int currentRestructNumber,
+            String mergedLoadName) {
+        String loadFolder = CarbonCommonConstants.LOAD_FOLDER + mergedLoadName;
+        deleteStorePath(getTableLocation(loadModel.getSchemaName(), loadModel.getCubeName(),
+                tableName, storeLocation, currentRestructNumber) + File.separator + loadFolder);
+        deleteStorePath(getTableLocation(loadModel.getSchemaName(), loadModel.getCubeName(),
+                tableName, hdfsStoreLocation, currentRestructNumber) + File.separator
+                + loadFolder);
+    }
+
     public static void deleteStorePath(String path) {
         try {
             FileType fileType = FileFactory.getFileType(path);
@@ -396,6 +511,7 @@ public final class CarbonLoaderUtil {
             slice = sliceItr.next();
             if (loadName.equals(slice.getLoadName())) {
                 sliceItr.remove();
+                slice.removeFromColumnChunkCache();
             }
         }
     }
@@ -487,27 +603,59 @@ public final class CarbonLoaderUtil {
         String factTable = loadModel.getTableName();
         String aggTableName = loadModel.getAggTableName();
 
-        if (copyStore) {
-            String hdfsLocation = CarbonProperties.getInstance()
-                    .getProperty(CarbonCommonConstants.STORE_LOCATION_HDFS);
-            String tempLocationKey = schemaName + '_' + cubeName;
-            String localStore = CarbonProperties.getInstance()
-                    .getProperty(tempLocationKey, CarbonCommonConstants.STORE_LOCATION_DEFAULT_VAL);
-            if (!loadModel.isAggLoadRequest()) {
-                copyToHDFS(loadName, schemaName, cubeName, factTable, hdfsLocation, localStore,
-                        currentRestructNumber, false, sliceRestructNumber);
-            }
-            if (null != aggTableName) {
-                String sliceNumber = loadName.substring(CarbonCommonConstants.LOAD_FOLDER.length());
-                boolean isUpdate = false;
-                if (updatedSlices.contains(sliceNumber)) {
-                    isUpdate = true;
+        String tempLocationKey = schemaName + '_' + cubeName;
+        String localStore = CarbonProperties.getInstance()
+                .getProperty(tempLocationKey, CarbonCommonConstants.STORE_LOCATION_DEFAULT_VAL);
+        try {
+            if (copyStore) {
+                String hdfsLocation = CarbonProperties.getInstance()
+                        .getProperty(CarbonCommonConstants.STORE_LOCATION_HDFS);
+                if (!loadModel.isAggLoadRequest()) {
+                    copyToHDFS(loadName, schemaName, cubeName, factTable, hdfsLocation,
+                            localStore, currentRestructNumber, false, sliceRestructNumber);
                 }
-                copyToHDFS(loadName, schemaName, cubeName, aggTableName, hdfsLocation, localStore,
-                        currentRestructNumber, isUpdate, sliceRestructNumber);
+                if (null != aggTableName) {
+                    String sliceNumber =
+                            loadName.substring(CarbonCommonConstants.LOAD_FOLDER.length());
+                    boolean isUpdate = false;
+                    if (updatedSlices.contains(sliceNumber)) {
+                        isUpdate = true;
+                    }
+                    copyToHDFS(loadName, schemaName, cubeName, aggTableName, hdfsLocation,
+                            localStore, currentRestructNumber, isUpdate, sliceRestructNumber);
+                }
+                CarbonUtil.deleteFoldersAndFiles(new File[] { new File(
+                        localStore + File.separator + schemaName + File.separator + cubeName) });
             }
-            CarbonUtil.deleteFoldersAndFiles(new File[] { new File(
-                    localStore + File.separator + schemaName + File.separator + cubeName) });
+        } finally {
+            // upload is committed and removed by copyToHDFS, it is left only
+            // if the copy failed before
+            if (!loadModel.isAggLoadRequest()) {
+                abortLoadUpload(getLocalTablePath(localStore, schemaName, cubeName, factTable,
+                        currentRestructNumber));
+            }
+        }
+    }
+
+    /**
+     * Below method will be used to cancel the upload of the fact files of the
+     * load and to delete its uploaded files, when the load fails after the
+     * graph is executed and before the load is copied to the store
+     *
+     * @param loadModel             load model
+     * @param storeLocation         local store location
+     * @param currentRestructNumber restructure number of the load
+     */
+    public static void abortLoadUpload(CarbonLoadModel loadModel, String storeLocation,
+            int currentRestructNumber) {
+        abortLoadUpload(getLocalTablePath(storeLocation, loadModel.getSchemaName(),
+                loadModel.getCubeName(), loadModel.getTableName(), currentRestructNumber));
+    }
+
+    private static void abortLoadUpload(String localTablePath) {
+        LoadFolderUploader uploader = LOAD_UPLOADERS.remove(localTablePath);
+        if (null != uploader) {
+            uploader.abort();
         }
     }
 
@@ -546,17 +694,16 @@ public final class CarbonLoaderUtil {
                 return;
             }
             String localLoadedTable =
-                    currentloadedStore + File.separator + CarbonCommonConstants.RESTRUCTRE_FOLDER
-                            + rsCounter + File.separator + factTable;
-
-            localLoadedTable = localLoadedTable.replace("\\", "/");
+                    getLocalTablePath(localStore, schemaName, cubeName, factTable, rsCounter);
+            // uploader is removed only after commit, on failure it is aborted
+            // by the caller
+            LoadFolderUploader uploader = LOAD_UPLOADERS.get(localLoadedTable);
 
             int loadCounter = CarbonUtil.checkAndReturnCurrentLoadFolderNumber(localLoadedTable);
 
             if (loadCounter == -1) {
                 LOGGER.info(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
                         "Unable to find the local store details (Load_-1) " + currentloadedStore);
-
                 return;
             }
 
@@ -609,7 +756,11 @@ public final class CarbonLoaderUtil {
 
             FileSystem fs = path.getFileSystem(FileFactory.getConfiguration());
             FileType fileType = FileFactory.getFileType(hdfsStoreLoadFolder);
-            if (FileFactory.isFileExist(hdfsStoreLoadFolder, fileType)) {
+            if (null != uploader) {
+                // fact files are already uploaded during the load
+                uploader.commit(localLoadFolder, hdfsStoreLoadFolder);
+                LOAD_UPLOADERS.remove(localLoadedTable);
+            } else if (FileFactory.isFileExist(hdfsStoreLoadFolder, fileType)) {
                 CarbonFile carbonFile = FileFactory
                         .getCarbonFile(localLoadFolder, FileFactory.getFileType(localLoadFolder));
                 CarbonFile[] listFiles = carbonFile.listFiles();
@@ -46,6 +46,7 @@ import org.carbondata.core.util.CarbonCoreLogEvent;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.integration.spark.util.LoadMetadataUtil;
 import org.carbondata.integration.spark.util.CarbonSparkInterFaceLogEvent;
+import org.carbondata.query.datastorage.cache.ColumnChunkLRUCache;
 
 public final class DeleteLoadFolders {
 
@@ -148,6 +149,8 @@ public final class DeleteLoadFolders {
                         LOGGER.warn(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
                                 "Unable to delete the file as per delete command " + loadFolder
                                         .getAbsolutePath());
+                    } else if (eachFile.getName().endsWith(CarbonCommonConstants.FACT_FILE_EXT)) {
+                        ColumnChunkLRUCache.getInstance().removeFile(eachFile.getAbsolutePath());
                     }
                 }
             }
@@ -184,6 +187,8 @@ public final class DeleteLoadFolders {
                                             .getAbsolutePath());
                             status = false;
                         } else {
+                            ColumnChunkLRUCache.getInstance()
+                                    .removeFile(eachFile.getAbsolutePath());
                             status = true;
                         }
                     }
@@ -257,12 +262,18 @@ public final class DeleteLoadFolders {
                 });
 
                 for (CarbonFile file : listFiles) {
+                    String updatedFilePath = file.getAbsolutePath();
+                    String factFilePath = updatedFilePath.substring(0,
+                            updatedFilePath.length() - CarbonCommonConstants.FACT_FILE_UPDATED
+                                    .length());
                     if (!file.renameTo(file.getName().substring(0,
                             file.getName().length() - CarbonCommonConstants.FACT_FILE_UPDATED
                                     .length()))) {
                         LOGGER.warn(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
                                 "could not rename the updated fact file.");
                     }
+                    // updated fact file replaces the old one
+                    ColumnChunkLRUCache.getInstance().removeFile(factFilePath);
                 }
 
             }
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.merger;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonCoreLogEvent;
+import org.carbondata.core.util.CarbonProperties;
+
+/**
+ * Runs compaction of cubes in background. A cube is compacted when its task
+ * is submitted after a load and again at every configured interval. At most
+ * one compaction of a cube is queued or running at a time and the number of
+ * cubes compacted in parallel is limited.
+ */
+public final class CarbonCompactionScheduler {
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(CarbonCompactionScheduler.class.getName());
+
+    /**
+     * instance
+     */
+    private static final CarbonCompactionScheduler INSTANCE = new CarbonCompactionScheduler();
+
+    /**
+     * compaction task of each cube
+     */
+    private ConcurrentHashMap<String, CompactionTask> compactionTasks;
+
+    /**
+     * cubes whose compaction is queued or running
+     */
+    private Set<String> pendingCubes;
+
+    /**
+     * compaction statistics of each cube
+     */
+    private ConcurrentHashMap<String, CompactionStatistics> statistics;
+
+    /**
+     * executes the compactions
+     */
+    private ExecutorService compactionService;
+
+    /**
+     * triggers the periodic compaction
+     */
+    private ScheduledExecutorService triggerService;
+
+    private CarbonCompactionScheduler() {
+        compactionTasks = new ConcurrentHashMap<String, CompactionTask>(
+                CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        pendingCubes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(
+                CarbonCommonConstants.DEFAULT_COLLECTION_SIZE));
+        statistics = new ConcurrentHashMap<String, CompactionStatistics>(
+                CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    }
+
+    /**
+     * @return instance
+     */
+    public static CarbonCompactionScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true if compaction should run in background instead of in the
+     * load request
+     */
+    public static boolean isBackgroundCompactionEnabled() {
+        return Boolean.parseBoolean(CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.COMPACTION_BACKGROUND_ENABLED,
+                        CarbonCommonConstants.COMPACTION_BACKGROUND_ENABLED_DEFAULT));
+    }
+
+    /**
+     * Below method will be used to register the compaction task of a cube and
+     * trigger it. Task replaces the previous task of the cube and is executed
+     * again at every configured interval till the cube is removed.
+     *
+     * @param cubeMetadataPath metadata path of cube
+     * @param task           compaction task
+     */
+    public void submit(String cubeMetadataPath, CompactionTask task) {
+        startServices();
+        compactionTasks.put(cubeMetadataPath, task);
+        trigger(cubeMetadataPath);
+    }
+
+    /**
+     * Below method will be used to stop the compaction of a cube, for example
+     * when it is dropped. Running compaction is not interrupted.
+     *
+     * @param cubeMetadataPath metadata path of cube
+     */
+    public void remove(String cubeMetadataPath) {
+        compactionTasks.remove(cubeMetadataPath);
+        statistics.remove(cubeMetadataPath);
+    }
+
+    /**
+     * @param cubeMetadataPath metadata path of cube
+     * @return compaction statistics of the cube
+     */
+    public CompactionStatistics getStatistics(String cubeMetadataPath) {
+        CompactionStatistics cubeStatistics = statistics.get(cubeMetadataPath);
+        if (null == cubeStatistics) {
+            cubeStatistics = new CompactionStatistics(cubeMetadataPath);
+            CompactionStatistics existing =
+                    statistics.putIfAbsent(cubeMetadataPath, cubeStatistics);
+            if (null != existing) {
+                cubeStatistics = existing;
+            }
+        }
+        return cubeStatistics;
+    }
+
+    /**
+     * @param cubeMetadataPath metadata path of cube
+     * @return true if compaction of the cube is queued or running
+     */
+    public boolean isCompactionPending(String cubeMetadataPath) {
+        return pendingCubes.contains(cubeMetadataPath);
+    }
+
+    private void trigger(final String cubeMetadataPath) {
+        ExecutorService service = getCompactionService();
+        if (null == service || !pendingCubes.add(cubeMetadataPath)) {
+            return;
+        }
+        try {
+            service.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        CompactionTask task = compactionTasks.get(cubeMetadataPath);
+                        if (null != task) {
+                            task.compact();
+                        }
+                    } catch (Throwable e) {
+                        getStatistics(cubeMetadataPath).recordFailure();
+                        LOGGER.error(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG, e,
+                                "Background compaction failed for cube " + cubeMetadataPath);
+                    } finally {
+                        pendingCubes.remove(cubeMetadataPath);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // scheduler is shutdown
+            pendingCubes.remove(cubeMetadataPath);
+        }
+    }
+
+    private synchronized ExecutorService getCompactionService() {
+        return compactionService;
+    }
+
+    private synchronized void startServices() {
+        if (null != compactionService) {
+            return;
+        }
+        int maxConcurrentCompactions;
+        try {
+            maxConcurrentCompactions = Integer.parseInt(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.COMPACTION_MAX_CONCURRENT,
+                            CarbonCommonConstants.COMPACTION_MAX_CONCURRENT_DEFAULT));
+        } catch (NumberFormatException e) {
+            maxConcurrentCompactions =
+                    Integer.parseInt(CarbonCommonConstants.COMPACTION_MAX_CONCURRENT_DEFAULT);
+        }
+        long interval;
+        try {
+            interval = Long.parseLong(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.BACKGROUND_MERGER_TIME_INTERVAL_IN_MINUTE,
+                            CarbonCommonConstants
+                                    .BACKGROUND_MERGER_TIME_INTERVAL_IN_MINUTE_DEFAULT_VALUE));
+        } catch (NumberFormatException e) {
+            interval = Long.parseLong(
+                    CarbonCommonConstants.BACKGROUND_MERGER_TIME_INTERVAL_IN_MINUTE_DEFAULT_VALUE);
+        }
+        ThreadFactory threadFactory = new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread =
+                        new Thread(runnable, CarbonCommonConstants.BACKGROUND_MERGER_TASK_ID);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        compactionService = Executors
+                .newFixedThreadPool(Math.max(1, maxConcurrentCompactions), threadFactory);
+        if (interval > 0) {
+            triggerService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            triggerService.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    for (String cubeMetadataPath : compactionTasks.keySet()) {
+                        trigger(cubeMetadataPath);
+                    }
+                }
+            }, interval, interval, TimeUnit.MINUTES);
+        }
+        LOGGER.info(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                "Background compaction started with " + maxConcurrentCompactions
+                        + " concurrent compactions and interval of " + interval + " minutes");
+    }
+
+    /**
+     * Below method will be used to stop the background compaction, running
+     * compactions are interrupted
+     */
+    public synchronized void shutdown() {
+        if (null != triggerService) {
+            triggerService.shutdownNow();
+            triggerService = null;
+        }
+        if (null != compactionService) {
+            compactionService.shutdownNow();
+            compactionService = null;
+        }
+        compactionTasks.clear();
+        pendingCubes.clear();
+    }
+}
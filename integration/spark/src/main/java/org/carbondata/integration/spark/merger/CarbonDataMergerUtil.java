@@ -20,6 +20,8 @@
 package org.carbondata.integration.spark.merger;
 
 import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
@@ -42,6 +44,7 @@ import org.carbondata.integration.spark.load.DeleteLoadFolders;
 import org.carbondata.integration.spark.util.LoadMetadataUtil;
 import org.carbondata.processing.merger.CarbonColumnarSliceMerger;
 import org.carbondata.processing.merger.CarbonSliceMergerInfo;
+import org.carbondata.query.datastorage.cache.ColumnChunkLRUCache;
 
 /**
  * utility class for load merging.
@@ -57,6 +60,31 @@ public final class CarbonDataMergerUtil {
     public static boolean executeMerging(CarbonLoadModel carbonLoadModel, String storeLocation,
             String hdfsStoreLocation, int currentRestructNumber, String metadataFilePath,
             List<String> loadsToMerge, String mergedLoadName) throws Exception {
+        return executeMerging(carbonLoadModel, carbonLoadModel.getTableName(), storeLocation,
+                hdfsStoreLocation, currentRestructNumber, metadataFilePath, loadsToMerge,
+                mergedLoadName);
+    }
+
+    /**
+     * Below method will be used to merge the loads of an aggregate table which
+     * belong to the fact loads being merged. Aggregated values of the loads
+     * are merged, so fact data is not read again.
+     *
+     * @return false if the loads of aggregate table cannot be merged, then
+     * aggregate table has to be loaded from the merged fact load
+     */
+    public static boolean executeAggregateTableMerging(CarbonLoadModel carbonLoadModel,
+            String aggTableName, String storeLocation, String hdfsStoreLocation,
+            int currentRestructNumber, String metadataFilePath, List<String> loadsToMerge,
+            String mergedLoadName) throws Exception {
+        return executeMerging(carbonLoadModel, aggTableName, storeLocation, hdfsStoreLocation,
+                currentRestructNumber, metadataFilePath, loadsToMerge, mergedLoadName);
+    }
+
+    private static boolean executeMerging(CarbonLoadModel carbonLoadModel, String tableName,
+            String storeLocation, String hdfsStoreLocation, int currentRestructNumber,
+            String metadataFilePath, List<String> loadsToMerge, String mergedLoadName)
+            throws Exception {
         CarbonProperties.getInstance()
                 .addProperty(CarbonCommonConstants.STORE_LOCATION, storeLocation);
         CarbonProperties.getInstance()
@@ -68,7 +96,7 @@ public final class CarbonDataMergerUtil {
         carbonSliceMergerInfo.setSchema(carbonLoadModel.getSchema());
         carbonSliceMergerInfo.setSchemaName(carbonLoadModel.getSchemaName());
         carbonSliceMergerInfo.setSchemaPath(carbonLoadModel.getSchemaPath());
-        carbonSliceMergerInfo.setTableName(carbonLoadModel.getTableName());
+        carbonSliceMergerInfo.setTableName(tableName);
         carbonSliceMergerInfo.setMetadataPath(metadataFilePath);
         carbonSliceMergerInfo.setLoadsToBeMerged(loadsToMerge);
         carbonSliceMergerInfo.setMergedLoadName(mergedLoadName);
@@ -81,9 +109,6 @@ public final class CarbonDataMergerUtil {
     public static List<String> getLoadsToMergeFromHDFS(String storeLocation, FileType fileType,
             String metadataPath, CarbonLoadModel carbonLoadModel, int currentRestructNumber,
             int partitionCount) {
-        List<String> loadNames =
-                new ArrayList<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-
         try {
             if (!FileFactory.isFileExist(storeLocation, fileType)) {
                 return null;
@@ -93,52 +118,122 @@ public final class CarbonDataMergerUtil {
                     "Error occurred :: " + e.getMessage());
         }
 
-        int toLoadMergeMaxSize;
+        long toLoadMergeMaxSize;
         try {
-            toLoadMergeMaxSize = Integer.parseInt(CarbonProperties.getInstance()
+            toLoadMergeMaxSize = Long.parseLong(CarbonProperties.getInstance()
                     .getProperty(CarbonCommonConstants.TO_LOAD_MERGE_MAX_SIZE,
                             CarbonCommonConstants.TO_LOAD_MERGE_MAX_SIZE_DEFAULT));
         } catch (NumberFormatException e) {
             toLoadMergeMaxSize =
-                    Integer.parseInt(CarbonCommonConstants.TO_LOAD_MERGE_MAX_SIZE_DEFAULT);
+                    Long.parseLong(CarbonCommonConstants.TO_LOAD_MERGE_MAX_SIZE_DEFAULT);
         }
+        // configured in GB
+        toLoadMergeMaxSize = toLoadMergeMaxSize * 1024 * 1024 * 1024;
 
         LoadMetadataDetails[] loadDetails = CarbonUtil.readLoadMetadata(metadataPath);
-
-        for (LoadMetadataDetails loadDetail : loadDetails) {
-            if (loadNames.size() < 2) {
-                // check if load is not deleted.
-                if (checkIfLoadIsNotDeleted(loadDetail)) {
-                    // check if load is merged
-                    if (checkIfLoadIsMergedAlready(loadDetail)) {
-                        if (checkSizeOfloadToMerge(loadDetail, toLoadMergeMaxSize, carbonLoadModel,
-                                partitionCount, storeLocation, currentRestructNumber,
-                                loadDetail.getMergedLoadName())) {
-                            if (!loadNames.contains(loadDetail.getMergedLoadName())) {
-                                loadNames.add(loadDetail.getMergedLoadName());
-                            }
-                        }
-                    } else
-                    // take this load as To Load.
-                    {
-                        if (checkSizeOfloadToMerge(loadDetail, toLoadMergeMaxSize, carbonLoadModel,
-                                partitionCount, storeLocation, currentRestructNumber,
-                                loadDetail.getLoadName())) {
-                            loadNames.add(loadDetail.getLoadName());
-                        }
-                    }
-                }
-            } else {
-                break;
+        List<String> loadNames = new ArrayList<String>(loadDetails.length);
+        List<CompactionCandidate> candidates =
+                new ArrayList<CompactionCandidate>(loadDetails.length);
+        for (int i = 0; i < loadDetails.length; i++) {
+            LoadMetadataDetails loadDetail = loadDetails[i];
+            // check if load is not deleted.
+            if (!checkIfLoadIsNotDeleted(loadDetail)) {
+                continue;
             }
+            // merged load is taken in place of the loads merged into it
+            String loadName = checkIfLoadIsMergedAlready(loadDetail) ?
+                    loadDetail.getMergedLoadName() :
+                    loadDetail.getLoadName();
+            if (loadNames.contains(loadName)) {
+                continue;
+            }
+            long loadSize = getSizeOfLoadToMerge(carbonLoadModel, partitionCount, storeLocation,
+                    currentRestructNumber, loadName);
+            if (loadSize < 0 || loadSize >= toLoadMergeMaxSize) {
+                continue;
+            }
+            loadNames.add(loadName);
+            candidates.add(new CompactionCandidate(loadName, loadSize,
+                    getLoadStartTime(loadDetail), i));
         }
 
-        return loadNames;
+        List<String> loadsToMerge = getCompactionPolicy().selectLoadsToMerge(candidates);
+        LOGGER.info(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                "Loads selected for merging out of " + candidates.size() + " eligible loads: "
+                        + loadsToMerge);
+        return loadsToMerge;
+
+    }
+
+    /**
+     * Below method will be used to get the compaction policy configured
+     *
+     * @return compaction policy
+     */
+    public static CompactionPolicy getCompactionPolicy() {
+        CarbonProperties properties = CarbonProperties.getInstance();
+        int minLoads = parseInt(properties, CarbonCommonConstants.COMPACTION_MIN_LOADS,
+                CarbonCommonConstants.COMPACTION_MIN_LOADS_DEFAULT);
+        int maxLoads = parseInt(properties, CarbonCommonConstants.COMPACTION_MAX_LOADS,
+                CarbonCommonConstants.COMPACTION_MAX_LOADS_DEFAULT);
+        double bucketLow;
+        double bucketHigh;
+        try {
+            bucketLow = Double.parseDouble(properties
+                    .getProperty(CarbonCommonConstants.COMPACTION_BUCKET_LOW,
+                            CarbonCommonConstants.COMPACTION_BUCKET_LOW_DEFAULT));
+            bucketHigh = Double.parseDouble(properties
+                    .getProperty(CarbonCommonConstants.COMPACTION_BUCKET_HIGH,
+                            CarbonCommonConstants.COMPACTION_BUCKET_HIGH_DEFAULT));
+        } catch (NumberFormatException e) {
+            bucketLow = Double.parseDouble(CarbonCommonConstants.COMPACTION_BUCKET_LOW_DEFAULT);
+            bucketHigh = Double.parseDouble(CarbonCommonConstants.COMPACTION_BUCKET_HIGH_DEFAULT);
+        }
+        long minLoadSize = (long) parseInt(properties,
+                CarbonCommonConstants.COMPACTION_MIN_LOAD_SIZE,
+                CarbonCommonConstants.COMPACTION_MIN_LOAD_SIZE_DEFAULT) * 1024 * 1024;
+        SizeTieredCompactionPolicy sizeTieredPolicy =
+                new SizeTieredCompactionPolicy(bucketLow, bucketHigh, minLoadSize, minLoads,
+                        maxLoads);
+        String policy = properties.getProperty(CarbonCommonConstants.COMPACTION_POLICY,
+                CarbonCommonConstants.COMPACTION_POLICY_SIZE_TIERED);
+        if (CarbonCommonConstants.COMPACTION_POLICY_TIME_WINDOW.equalsIgnoreCase(policy)) {
+            long windowSize = (long) parseInt(properties,
+                    CarbonCommonConstants.COMPACTION_TIME_WINDOW_IN_MINUTE,
+                    CarbonCommonConstants.COMPACTION_TIME_WINDOW_IN_MINUTE_DEFAULT) * 60 * 1000;
+            return new TimeWindowCompactionPolicy(windowSize, maxLoads, sizeTieredPolicy);
+        }
+        return sizeTieredPolicy;
+    }
+
+    private static int parseInt(CarbonProperties properties, String key, String defaultValue) {
+        try {
+            return Integer.parseInt(properties.getProperty(key, defaultValue));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(defaultValue);
+        }
+    }
 
+    private static long getLoadStartTime(LoadMetadataDetails loadDetail) {
+        if (null == loadDetail.getLoadStartTime()) {
+            return -1;
+        }
+        try {
+            return new SimpleDateFormat(CarbonCommonConstants.CARBON_TIMESTAMP)
+                    .parse(loadDetail.getLoadStartTime()).getTime();
+        } catch (ParseException e) {
+            return -1;
+        }
     }
 
-    private static boolean checkSizeOfloadToMerge(final LoadMetadataDetails loadDetail,
-            int toLoadMergeMaxSize, CarbonLoadModel carbonLoadModel, int partitionCount,
+    /**
+     * Below method will be used to get the size of the fact files of a load
+     * across partitions
+     *
+     * @return size in bytes or -1 if load is not present in all partitions of
+     * current restructure folder
+     */
+    private static long getSizeOfLoadToMerge(CarbonLoadModel carbonLoadModel, int partitionCount,
             String storeLocation, int currentRestructNumber, final String loadNameToMatch) {
 
         long factSizeAcrossPartition = 0;
@@ -164,20 +259,16 @@ public final class CarbonDataMergerUtil {
 
             // no found load folder in current RS
             if (loadFiles.length == 0) {
-                return false;
+                return -1;
             }
 
             // check if fact file is present or not. this is in case of Restructure folder.
             if (!isFactFilePresent(loadFiles[0])) {
-                return false;
+                return -1;
             }
             factSizeAcrossPartition += getSizeOfFactFileInLoad(loadFiles[0]);
         }
-        // check avg fact size if less than configured max size of to load.
-        if (factSizeAcrossPartition < toLoadMergeMaxSize * 1024 * 1024 * 1024) {
-            return true;
-        }
-        return false;
+        return factSizeAcrossPartition;
     }
 
     private static long getSizeOfFactFileInLoad(CarbonFile carbonFile) {
@@ -286,6 +377,26 @@ public final class CarbonDataMergerUtil {
         }
     }
 
+    /**
+     * Below method will be used to get the number of slices of a cube, i.e.
+     * the loads which are not deleted or merged into other loads
+     *
+     * @param metadataFilePath load metadata path
+     * @return number of slices
+     */
+    public static int getNumberOfSlices(String metadataFilePath) {
+        int slices = 0;
+        for (LoadMetadataDetails load : CarbonUtil.readLoadMetadata(metadataFilePath)) {
+            if (load.getLoadStatus().equalsIgnoreCase(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS)
+                    || load.getLoadStatus()
+                    .equalsIgnoreCase(CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS) || load
+                    .getLoadStatus().equalsIgnoreCase(CarbonCommonConstants.MARKED_FOR_UPDATE)) {
+                slices++;
+            }
+        }
+        return slices;
+    }
+
     private static int getNumberOfValidLoads(LoadMetadataDetails[] details, CarbonFile[] loadFiles) {
         int validLoads = 0;
 
@@ -351,6 +462,39 @@ public final class CarbonDataMergerUtil {
 
     }
 
+    /**
+     * Below method will be used to check whether all the merged loads are
+     * still valid. Must be called under metadata lock before updating the
+     * merge status, as a load can be deleted while it is being merged.
+     *
+     * @param loadsToMerge     loads which are merged
+     * @param metaDataFilepath metadata path of cube
+     * @return false if any of the loads is deleted or marked for delete
+     */
+    public static boolean isLoadsValidForMerge(List<String> loadsToMerge,
+            String metaDataFilepath) {
+        LoadMetadataDetails[] loadDetails = CarbonUtil.readLoadMetadata(metaDataFilepath);
+        for (String loadToMerge : loadsToMerge) {
+            boolean isValid = false;
+            for (LoadMetadataDetails loadDetail : loadDetails) {
+                String loadName = null != loadDetail.getMergedLoadName() ?
+                        loadDetail.getMergedLoadName() :
+                        loadDetail.getLoadName();
+                if (loadToMerge.equals(loadName) && !CarbonCommonConstants.MARKED_FOR_DELETE
+                        .equals(loadDetail.getLoadStatus())) {
+                    isValid = true;
+                    break;
+                }
+            }
+            if (!isValid) {
+                LOGGER.warn(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
+                        "Load " + loadToMerge + " is deleted while merging");
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static void updateLoadMetadataWithMergeStatus(List<String> loadsToMerge,
             String metaDataFilepath, String MergedLoadName, CarbonLoadModel carbonLoadModel) {
         LoadMetadataDetails[] loadDetails = CarbonUtil.readLoadMetadata(metaDataFilepath);
@@ -434,6 +578,10 @@ public final class CarbonDataMergerUtil {
                                 LOGGER.warn(CarbonCoreLogEvent.UNIBI_CARBONCORE_MSG,
                                         "Unable to delete the file." + loadFolder
                                                 .getAbsolutePath());
+                            } else if (eachFile.getName()
+                                    .endsWith(CarbonCommonConstants.FACT_FILE_EXT)) {
+                                ColumnChunkLRUCache.getInstance()
+                                        .removeFile(eachFile.getAbsolutePath());
                             }
                         }
 
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.merger;
+
+/**
+ * Load which can be merged, along with the details used by compaction policy
+ */
+public class CompactionCandidate {
+    /**
+     * load name, merged load name in case load is already merged
+     */
+    private String loadName;
+
+    /**
+     * size of fact files of the load across partitions in bytes
+     */
+    private long size;
+
+    /**
+     * load start time in milliseconds, -1 if not known
+     */
+    private long loadStartTime;
+
+    /**
+     * position of the load in load metadata
+     */
+    private int order;
+
+    public CompactionCandidate(String loadName, long size, long loadStartTime, int order) {
+        this.loadName = loadName;
+        this.size = size;
+        this.loadStartTime = loadStartTime;
+        this.order = order;
+    }
+
+    public String getLoadName() {
+        return loadName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLoadStartTime() {
+        return loadStartTime;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.merger;
+
+/**
+ * Compaction metrics of one cube
+ */
+public class CompactionStatistics {
+    /**
+     * cube unique name
+     */
+    private String cubeUniqueName;
+
+    /**
+     * number of successful compactions
+     */
+    private long compactionCount;
+
+    /**
+     * number of failed compactions
+     */
+    private long failedCompactionCount;
+
+    /**
+     * total number of loads merged
+     */
+    private long mergedLoadCount;
+
+    /**
+     * total time taken by successful compactions in milliseconds
+     */
+    private long totalCompactionTime;
+
+    /**
+     * number of slices before last compaction
+     */
+    private int slicesBeforeLastCompaction = -1;
+
+    /**
+     * number of slices after last compaction
+     */
+    private int slicesAfterLastCompaction = -1;
+
+    public CompactionStatistics(String cubeUniqueName) {
+        this.cubeUniqueName = cubeUniqueName;
+    }
+
+    /**
+     * Below method will be used to record a successful compaction
+     *
+     * @param slicesBefore   number of slices before compaction
+     * @param slicesAfter    number of slices after compaction
+     * @param loadsMerged    number of loads merged
+     * @param compactionTime time taken in milliseconds
+     */
+    public synchronized void recordCompaction(int slicesBefore, int slicesAfter, int loadsMerged,
+            long compactionTime) {
+        compactionCount++;
+        mergedLoadCount += loadsMerged;
+        totalCompactionTime += compactionTime;
+        slicesBeforeLastCompaction = slicesBefore;
+        slicesAfterLastCompaction = slicesAfter;
+    }
+
+    /**
+     * Below method will be used to record a failed compaction
+     */
+    public synchronized void recordFailure() {
+        failedCompactionCount++;
+    }
+
+    public String getCubeUniqueName() {
+        return cubeUniqueName;
+    }
+
+    public synchronized long getCompactionCount() {
+        return compactionCount;
+    }
+
+    public synchronized long getFailedCompactionCount() {
+        return failedCompactionCount;
+    }
+
+    public synchronized long getMergedLoadCount() {
+        return mergedLoadCount;
+    }
+
+    public synchronized long getTotalCompactionTime() {
+        return totalCompactionTime;
+    }
+
+    public synchronized int getSlicesBeforeLastCompaction() {
+        return slicesBeforeLastCompaction;
+    }
+
+    public synchronized int getSlicesAfterLastCompaction() {
+        return slicesAfterLastCompaction;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Cube " + cubeUniqueName + ": compactions " + compactionCount + ", failed "
+                + failedCompactionCount + ", loads merged " + mergedLoadCount + ", time taken "
+                + totalCompactionTime + " ms, slices before last compaction "
+                + slicesBeforeLastCompaction + ", after " + slicesAfterLastCompaction;
+    }
+}
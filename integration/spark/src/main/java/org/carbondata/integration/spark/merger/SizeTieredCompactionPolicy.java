@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.merger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Size tiered compaction policy. Loads are grouped into buckets of similar
+ * size, a load belongs to a bucket if its size is within bucketLow and
+ * bucketHigh times the average size of the bucket, loads smaller than
+ * minLoadSize are always grouped together. The bucket with the smallest
+ * average size which has at least minLoads loads is merged, so small loads
+ * are merged often and big loads are rewritten rarely.
+ */
+public class SizeTieredCompactionPolicy implements CompactionPolicy {
+    /**
+     * lower bound of the size of a load with respect to bucket average
+     */
+    private double bucketLow;
+
+    /**
+     * upper bound of the size of a load with respect to bucket average
+     */
+    private double bucketHigh;
+
+    /**
+     * loads smaller than this size in bytes are put in the same bucket
+     */
+    private long minLoadSize;
+
+    /**
+     * min number of loads to be merged together
+     */
+    private int minLoads;
+
+    /**
+     * max number of loads to be merged together
+     */
+    private int maxLoads;
+
+    public SizeTieredCompactionPolicy(double bucketLow, double bucketHigh, long minLoadSize,
+            int minLoads, int maxLoads) {
+        this.bucketLow = bucketLow;
+        this.bucketHigh = bucketHigh;
+        this.minLoadSize = minLoadSize;
+        this.minLoads = Math.max(2, minLoads);
+        this.maxLoads = Math.max(this.minLoads, maxLoads);
+    }
+
+    /**
+     * Below method will be used to get the names of the loads in load
+     * metadata order
+     *
+     * @param candidates loads
+     * @return load names
+     */
+    static List<String> getLoadNames(List<CompactionCandidate> candidates) {
+        List<CompactionCandidate> sortedCandidates =
+                new ArrayList<CompactionCandidate>(candidates);
+        Collections.sort(sortedCandidates, new Comparator<CompactionCandidate>() {
+            @Override
+            public int compare(CompactionCandidate o1, CompactionCandidate o2) {
+                return o1.getOrder() - o2.getOrder();
+            }
+        });
+        List<String> loadNames = new ArrayList<String>(sortedCandidates.size());
+        for (CompactionCandidate candidate : sortedCandidates) {
+            loadNames.add(candidate.getLoadName());
+        }
+        return loadNames;
+    }
+
+    @Override
+    public List<String> selectLoadsToMerge(List<CompactionCandidate> candidates) {
+        List<CompactionCandidate> selectedBucket = null;
+        double selectedAverage = 0;
+        for (List<CompactionCandidate> bucket : getBuckets(candidates)) {
+            if (bucket.size() < minLoads) {
+                continue;
+            }
+            double average = getAverageSize(bucket);
+            if (null == selectedBucket || average < selectedAverage) {
+                selectedBucket = bucket;
+                selectedAverage = average;
+            }
+        }
+        if (null == selectedBucket) {
+            return new ArrayList<String>(0);
+        }
+        // bucket is sorted on size, so smallest loads are merged first
+        return getLoadNames(selectedBucket.subList(0, Math.min(maxLoads, selectedBucket.size())));
+    }
+
+    /**
+     * Below method will be used to group the loads into buckets of similar
+     * size
+     *
+     * @param candidates loads
+     * @return buckets, each sorted on load size
+     */
+    List<List<CompactionCandidate>> getBuckets(List<CompactionCandidate> candidates) {
+        List<CompactionCandidate> sortedCandidates =
+                new ArrayList<CompactionCandidate>(candidates);
+        Collections.sort(sortedCandidates, new Comparator<CompactionCandidate>() {
+            @Override
+            public int compare(CompactionCandidate o1, CompactionCandidate o2) {
+                return o1.getSize() < o2.getSize() ? -1 : (o1.getSize() == o2.getSize() ? 0 : 1);
+            }
+        });
+        List<List<CompactionCandidate>> buckets = new ArrayList<List<CompactionCandidate>>(
+                sortedCandidates.size());
+        List<CompactionCandidate> currentBucket = null;
+        double currentAverage = 0;
+        for (CompactionCandidate candidate : sortedCandidates) {
+            long size = candidate.getSize();
+            if (null != currentBucket && ((size >= currentAverage * bucketLow
+                    && size <= currentAverage * bucketHigh) || (size < minLoadSize
+                    && currentAverage < minLoadSize))) {
+                currentBucket.add(candidate);
+                currentAverage = getAverageSize(currentBucket);
+            } else {
+                currentBucket = new ArrayList<CompactionCandidate>(maxLoads);
+                currentBucket.add(candidate);
+                currentAverage = size;
+                buckets.add(currentBucket);
+            }
+        }
+        return buckets;
+    }
+
+    private double getAverageSize(List<CompactionCandidate> bucket) {
+        double totalSize = 0;
+        for (CompactionCandidate candidate : bucket) {
+            totalSize += candidate.getSize();
+        }
+        return totalSize / bucket.size();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.merger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Time window compaction policy. Loads are grouped by the time window in
+ * which they are started. Loads of a window which is already closed are
+ * merged together, oldest window first, and loads of the current window are
+ * merged using size tiered policy. This keeps the data of a time range in few
+ * slices, which suits cubes loaded periodically with time series data.
+ */
+public class TimeWindowCompactionPolicy implements CompactionPolicy {
+    /**
+     * size of the time window in milliseconds
+     */
+    private long windowSize;
+
+    /**
+     * max number of loads to be merged together
+     */
+    private int maxLoads;
+
+    /**
+     * policy used for the loads of current window
+     */
+    private SizeTieredCompactionPolicy currentWindowPolicy;
+
+    public TimeWindowCompactionPolicy(long windowSize, int maxLoads,
+            SizeTieredCompactionPolicy currentWindowPolicy) {
+        this.windowSize = Math.max(1, windowSize);
+        this.maxLoads = Math.max(2, maxLoads);
+        this.currentWindowPolicy = currentWindowPolicy;
+    }
+
+    @Override
+    public List<String> selectLoadsToMerge(List<CompactionCandidate> candidates) {
+        return selectLoadsToMerge(candidates, System.currentTimeMillis());
+    }
+
+    /**
+     * @param candidates  eligible loads in load metadata order
+     * @param currentTime current time in milliseconds
+     * @return names of the loads to be merged
+     */
+    List<String> selectLoadsToMerge(List<CompactionCandidate> candidates, long currentTime) {
+        long currentWindow = currentTime / windowSize;
+        Map<Long, List<CompactionCandidate>> windows =
+                new TreeMap<Long, List<CompactionCandidate>>();
+        List<CompactionCandidate> currentWindowCandidates =
+                new ArrayList<CompactionCandidate>(candidates.size());
+        for (CompactionCandidate candidate : candidates) {
+            long window = candidate.getLoadStartTime() < 0 ?
+                    currentWindow :
+                    candidate.getLoadStartTime() / windowSize;
+            if (window >= currentWindow) {
+                currentWindowCandidates.add(candidate);
+                continue;
+            }
+            List<CompactionCandidate> windowCandidates = windows.get(window);
+            if (null == windowCandidates) {
+                windowCandidates = new ArrayList<CompactionCandidate>(maxLoads);
+                windows.put(window, windowCandidates);
+            }
+            windowCandidates.add(candidate);
+        }
+        for (List<CompactionCandidate> windowCandidates : windows.values()) {
+            if (windowCandidates.size() > 1) {
+                return SizeTieredCompactionPolicy.getLoadNames(
+                        windowCandidates.subList(0, Math.min(maxLoads, windowCandidates.size())));
+            }
+        }
+        return currentWindowPolicy.selectLoadsToMerge(currentWindowCandidates);
+    }
+}
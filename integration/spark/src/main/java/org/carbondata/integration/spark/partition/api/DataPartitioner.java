@@ -29,6 +29,7 @@
 package org.carbondata.integration.spark.partition.api;
 
 import java.util.List;
+import java.util.Map;
 
 import org.carbondata.integration.spark.query.CarbonQueryPlan;
 
@@ -37,9 +38,11 @@ import org.apache.spark.sql.cubemodel.Partitioner;
 
 public interface DataPartitioner {
     /**
-     * Initialise the partitioner based on the given columns
+     * Initialise the partitioner based on the given columns and the
+     * partitioner details stored with the cube schema
      */
-    void initialize(String basePath, String[] columns, Partitioner partitioner);
+    void initialize(String basePath, String[] columns, Partitioner partitioner,
+            Map<String, String> partitionDetails);
 
     /**
      * All the partitions built by the Partitioner
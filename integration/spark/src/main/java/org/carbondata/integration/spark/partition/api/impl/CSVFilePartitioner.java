@@ -33,6 +33,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
@@ -67,6 +68,10 @@ public class CSVFilePartitioner {
     private String partitionerClass;
     private String sourceFilesBasePath;
     private boolean partialSuccess;
+    /**
+     * partitioner details stored with the cube schema
+     */
+    private Map<String, String> partitionDetails;
     /**
      * badRecordslogger
      */
@@ -74,10 +79,13 @@ public class CSVFilePartitioner {
 
     /**
      * @param partitionerClass
+     * @param partitionDetails partitioner details stored with the cube schema
      */
-    public CSVFilePartitioner(String partitionerClass, String sourceFilesBasePath) {
+    public CSVFilePartitioner(String partitionerClass, String sourceFilesBasePath,
+            Map<String, String> partitionDetails) {
         this.partitionerClass = partitionerClass;
         this.sourceFilesBasePath = sourceFilesBasePath;
+        this.partitionDetails = partitionDetails;
     }
 
     public boolean isPartialSuccess() {
@@ -270,7 +278,7 @@ public class CSVFilePartitioner {
         Partitioner partitioner = new Partitioner(partitionerClass, partitionColumn, partitionCount,
                 nodes.toArray(new String[nodes.size()]));
         //Initialise the partitioner
-        dataPartitioner.initialize(targetFolder, headerColumns, partitioner);
+        dataPartitioner.initialize(targetFolder, headerColumns, partitioner, partitionDetails);
         return dataPartitioner;
     }
 
@@ -36,6 +36,8 @@ import java.util.*;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.metadata.CarbonMetadata;
+import org.carbondata.core.metadata.CarbonMetadata.Cube;
 import org.carbondata.integration.spark.partition.api.DataPartitioner;
 import org.carbondata.integration.spark.partition.api.Partition;
 import org.carbondata.integration.spark.query.CarbonQueryPlan;
@@ -119,7 +121,10 @@ public final class QueryPartitionHelper {
             try {
                 dataPartitioner =
                         (DataPartitioner) Class.forName(partitioner.partitionClass()).newInstance();
-                dataPartitioner.initialize("", new String[0], partitioner);
+                Cube cube = CarbonMetadata.getInstance().getCube(cubeUniqueName);
+                dataPartitioner.initialize("", new String[0], partitioner,
+                        RangeDataPartitionerImpl
+                                .getPartitionDetails(null == cube ? null : cube.getCube()));
 
                 List<Partition> partitions = dataPartitioner.getAllPartitions();
                 DefaultLoadBalancer loadBalancer =
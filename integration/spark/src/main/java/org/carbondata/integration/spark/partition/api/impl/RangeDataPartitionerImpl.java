@@ -0,0 +1,590 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.partition.api.impl;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.carbon.CarbonDef;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.integration.spark.partition.api.DataPartitioner;
+import org.carbondata.integration.spark.partition.api.Partition;
+import org.carbondata.integration.spark.query.CarbonQueryPlan;
+import org.carbondata.integration.spark.query.metadata.CarbonDimension;
+import org.carbondata.integration.spark.query.metadata.CarbonDimensionFilter;
+import org.carbondata.integration.spark.util.CarbonSparkInterFaceLogEvent;
+import org.carbondata.query.expression.ColumnExpression;
+import org.carbondata.query.expression.DataType;
+import org.carbondata.query.expression.Expression;
+import org.carbondata.query.expression.ExpressionResult;
+import org.carbondata.query.expression.LiteralExpression;
+import org.carbondata.query.expression.conditional.EqualToExpression;
+import org.carbondata.query.expression.conditional.GreaterThanEqualToExpression;
+import org.carbondata.query.expression.conditional.GreaterThanExpression;
+import org.carbondata.query.expression.conditional.InExpression;
+import org.carbondata.query.expression.conditional.LessThanEqualToExpression;
+import org.carbondata.query.expression.conditional.LessThanExpression;
+import org.carbondata.query.expression.conditional.ListExpression;
+import org.carbondata.query.expression.exception.FilterUnsupportedException;
+import org.carbondata.query.expression.logical.AndExpression;
+import org.carbondata.query.expression.logical.BinaryLogicalExpression;
+import org.carbondata.query.expression.logical.OrExpression;
+import org.carbondata.query.queryinterface.query.metadata.CarbonDimensionLevelFilter;
+
+import org.apache.spark.sql.cubemodel.Partitioner;
+
+/**
+ * Partition based on value ranges of one column. Bounds of the ranges are
+ * configured, or derived from a start time and an interval so that every
+ * partition holds one hour, day, month or year of data, and are stored with
+ * the cube schema when the cube is created. Query is pruned to
+ * the partitions whose range can match the equals, range and in filters on
+ * the partition column.
+ */
+public class RangeDataPartitionerImpl implements DataPartitioner {
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(RangeDataPartitionerImpl.class.getName());
+
+    private Partitioner partitioner;
+
+    private String partitionColumn;
+
+    private int partitionColumnIndex = -1;
+
+    /**
+     * ascending bounds, partition i holds the values from bounds[i - 1]
+     * (inclusive) to bounds[i] (exclusive), first and last partition are open
+     */
+    private double[] bounds;
+
+    /**
+     * parser of time values, null if partition column is numeric
+     */
+    private SimpleDateFormat dateParser;
+
+    private List<Partition> allPartitions;
+
+    /**
+     * Below method will be used to store the bounds of the range partitions
+     * with the cube schema. Bounds are resolved from the range partition
+     * properties once, when the cube is created, so that loads and queries
+     * use the same bounds even if the properties change later.
+     *
+     * @param cube           schema of the cube
+     * @param partitionCount number of partitions
+     * @throws IllegalArgumentException if range partition properties are
+     *                                  missing or not valid
+     */
+    public static void addPartitionDetails(CarbonDef.Cube cube, int partitionCount) {
+        CarbonProperties properties = CarbonProperties.getInstance();
+        String interval =
+                properties.getProperty(CarbonCommonConstants.CARBON_RANGE_PARTITION_INTERVAL);
+        String dateFormat =
+                properties.getProperty(CarbonCommonConstants.CARBON_RANGE_PARTITION_DATE_FORMAT);
+        if (null == dateFormat && null != interval) {
+            dateFormat = properties.getProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT,
+                    CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT);
+        }
+        SimpleDateFormat dateParser = null == dateFormat ? null : getDateParser(dateFormat);
+        String configuredBounds =
+                properties.getProperty(CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS);
+        double[] bounds;
+        try {
+            if (null != configuredBounds) {
+                bounds = getConfiguredBounds(configuredBounds, dateParser);
+            } else if (null != interval) {
+                bounds = getIntervalBounds(interval,
+                        properties.getProperty(CarbonCommonConstants.CARBON_RANGE_PARTITION_START),
+                        partitionCount, dateParser);
+            } else {
+                throw new IllegalArgumentException(
+                        "Range partition bounds or interval is not configured");
+            }
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(
+                    "Invalid range partition configuration: " + e.getMessage(), e);
+        }
+        if (bounds.length + 1 != partitionCount) {
+            throw new IllegalArgumentException(
+                    "Range partition bounds give " + (bounds.length + 1)
+                            + " partitions instead of partitionCount " + partitionCount);
+        }
+        StringBuilder storedBounds = new StringBuilder();
+        for (int i = 0; i < bounds.length; i++) {
+            if (i > 0) {
+                storedBounds.append(',');
+            }
+            storedBounds.append(bounds[i]);
+        }
+        setAnnotation(cube, CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS,
+                storedBounds.toString());
+        if (null != dateFormat) {
+            setAnnotation(cube, CarbonCommonConstants.CARBON_RANGE_PARTITION_DATE_FORMAT,
+                    dateFormat);
+        }
+    }
+
+    private static void setAnnotation(CarbonDef.Cube cube, String name, String value) {
+        if (null == cube.annotations) {
+            cube.annotations = new CarbonDef.Annotations();
+        }
+        CarbonDef.Annotation[] annotations = cube.annotations.array;
+        if (null == annotations) {
+            annotations = new CarbonDef.Annotation[0];
+        }
+        for (CarbonDef.Annotation annotation : annotations) {
+            if (name.equals(annotation.name)) {
+                annotation.cdata = value;
+                return;
+            }
+        }
+        CarbonDef.Annotation annotation = new CarbonDef.Annotation();
+        annotation.name = name;
+        annotation.cdata = value;
+        cube.annotations.array = Arrays.copyOf(annotations, annotations.length + 1);
+        cube.annotations.array[annotations.length] = annotation;
+    }
+
+    private static String getAnnotation(CarbonDef.Cube cube, String name) {
+        if (null == cube || null == cube.annotations || null == cube.annotations.array) {
+            return null;
+        }
+        for (CarbonDef.Annotation annotation : cube.annotations.array) {
+            if (name.equals(annotation.name)) {
+                return annotation.cdata;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Below method will be used to get the range partition details stored
+     * with the cube schema, so that only they are sent to the executors
+     *
+     * @param cube schema of the cube, can be null
+     * @return bounds and date format of the range partitions, empty if not
+     * stored with the cube
+     */
+    public static HashMap<String, String> getPartitionDetails(CarbonDef.Cube cube) {
+        HashMap<String, String> partitionDetails = new HashMap<String, String>(2);
+        String storedBounds =
+                getAnnotation(cube, CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS);
+        if (null != storedBounds) {
+            partitionDetails.put(CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS, storedBounds);
+        }
+        String dateFormat =
+                getAnnotation(cube, CarbonCommonConstants.CARBON_RANGE_PARTITION_DATE_FORMAT);
+        if (null != dateFormat) {
+            partitionDetails
+                    .put(CarbonCommonConstants.CARBON_RANGE_PARTITION_DATE_FORMAT, dateFormat);
+        }
+        return partitionDetails;
+    }
+
+    /**
+     * @see RangeDataPartitionerImpl#addPartitionDetails(CarbonDef.Cube, int)
+     * @see RangeDataPartitionerImpl#getPartitionDetails(CarbonDef.Cube)
+     */
+    @Override
+    public void initialize(String basePath, String[] columns, Partitioner partitioner,
+            Map<String, String> partitionDetails) {
+        this.partitioner = partitioner;
+        partitionColumn = partitioner.partitionColumn()[0];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equalsIgnoreCase(partitionColumn)) {
+                partitionColumnIndex = i;
+                break;
+            }
+        }
+
+        String storedBounds = null == partitionDetails ?
+                null :
+                partitionDetails.get(CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS);
+        if (null == storedBounds) {
+            throw new IllegalArgumentException(
+                    "Range partition bounds are not stored with the cube schema");
+        }
+        String dateFormat =
+                partitionDetails.get(CarbonCommonConstants.CARBON_RANGE_PARTITION_DATE_FORMAT);
+        if (null != dateFormat) {
+            dateParser = getDateParser(dateFormat);
+        }
+        String[] values = storedBounds.isEmpty() ? new String[0] : storedBounds.split(",");
+        bounds = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bounds[i] = Double.parseDouble(values[i]);
+        }
+        LOGGER.info(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
+                "RangeDataPartitionerImpl initializing with partitionColumn: " + partitionColumn
+                        + " bounds: " + Arrays.toString(bounds) + " basePath: " + basePath);
+
+        allPartitions = new ArrayList<Partition>(bounds.length + 1);
+        for (int partitionCounter = 0; partitionCounter <= bounds.length; partitionCounter++) {
+            PartitionImpl partitionImpl =
+                    new PartitionImpl("" + partitionCounter, basePath + '/' + partitionCounter);
+            // bounds of the partition are recorded as include filter of
+            // partition column, null for the open end of first and last partition
+            CarbonDimensionLevelFilter filter = new CarbonDimensionLevelFilter();
+            List<Object> partitionBounds = new ArrayList<Object>(2);
+            partitionBounds.add(partitionCounter == 0 ? null : bounds[partitionCounter - 1]);
+            partitionBounds
+                    .add(partitionCounter == bounds.length ? null : bounds[partitionCounter]);
+            filter.setIncludeFilter(partitionBounds);
+            partitionImpl.setPartitionDetails(partitionColumn, filter);
+            allPartitions.add(partitionImpl);
+        }
+    }
+
+    private static SimpleDateFormat getDateParser(String dateFormat) {
+        SimpleDateFormat parser = new SimpleDateFormat(dateFormat);
+        parser.setLenient(false);
+        return parser;
+    }
+
+    /**
+     * Below method will be used to parse the configured bounds
+     *
+     * @param configuredBounds comma separated bounds
+     * @param dateParser       parser of time values, null for numbers
+     * @return ascending bounds
+     * @throws ParseException if a bound is not valid
+     */
+    private static double[] getConfiguredBounds(String configuredBounds,
+            SimpleDateFormat dateParser) throws ParseException {
+        String[] values = configuredBounds.split(",");
+        double[] parsedBounds = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parsedBounds[i] = getKey(values[i].trim(), dateParser);
+            if (i > 0 && parsedBounds[i] <= parsedBounds[i - 1]) {
+                throw new IllegalArgumentException(
+                        "Range partition bounds are not in ascending order: " + configuredBounds);
+            }
+        }
+        return parsedBounds;
+    }
+
+    /**
+     * Below method will be used to get the bounds of partitions of one time
+     * interval each, starting from the start time
+     *
+     * @param interval           HOUR, DAY, MONTH or YEAR
+     * @param startTime          start time of the first interval
+     * @param numberOfPartitions number of partitions
+     * @param dateParser         parser of the start time
+     * @return ascending bounds
+     * @throws ParseException if start time is not valid
+     */
+    private static double[] getIntervalBounds(String interval, String startTime,
+            int numberOfPartitions, SimpleDateFormat dateParser) throws ParseException {
+        int field;
+        if ("HOUR".equalsIgnoreCase(interval)) {
+            field = Calendar.HOUR_OF_DAY;
+        } else if ("DAY".equalsIgnoreCase(interval)) {
+            field = Calendar.DAY_OF_MONTH;
+        } else if ("MONTH".equalsIgnoreCase(interval)) {
+            field = Calendar.MONTH;
+        } else if ("YEAR".equalsIgnoreCase(interval)) {
+            field = Calendar.YEAR;
+        } else {
+            throw new IllegalArgumentException("Invalid range partition interval: " + interval);
+        }
+        if (null == startTime) {
+            throw new IllegalArgumentException("Range partition start time is not configured");
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis((long) getKey(startTime, dateParser));
+        double[] intervalBounds = new double[Math.max(numberOfPartitions - 1, 0)];
+        for (int i = 0; i < intervalBounds.length; i++) {
+            calendar.add(field, 1);
+            intervalBounds[i] = calendar.getTimeInMillis();
+        }
+        return intervalBounds;
+    }
+
+    /**
+     * Below method will be used to get the key of a value of partition
+     * column, time in milliseconds for time values
+     *
+     * @param value      value
+     * @param dateParser parser of time values, null for numbers
+     * @return key
+     * @throws ParseException if value is not a valid time
+     */
+    private static double getKey(String value, SimpleDateFormat dateParser)
+            throws ParseException {
+        if (null == dateParser) {
+            return Double.parseDouble(value);
+        }
+        synchronized (dateParser) {
+            return dateParser.parse(value).getTime();
+        }
+    }
+
+    private double getKey(String value) throws ParseException {
+        return getKey(value, dateParser);
+    }
+
+    /**
+     * Below method will be used to get the partition of a key
+     *
+     * @param key key
+     * @return partition index
+     */
+    private int getPartitionIndex(double key) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public Partition getPartionForTuple(Object[] tuple, long rowCounter) {
+        if (partitionColumnIndex == -1 || null == tuple[partitionColumnIndex]) {
+            return allPartitions.get(0);
+        }
+        try {
+            double key = getKey(tuple[partitionColumnIndex].toString());
+            return allPartitions.get(getPartitionIndex(key));
+        } catch (ParseException e) {
+            return allPartitions.get(0);
+        } catch (NumberFormatException e) {
+            return allPartitions.get(0);
+        }
+    }
+
+    @Override
+    public List<Partition> getAllPartitions() {
+        return allPartitions;
+    }
+
+    /**
+     * @see DataPartitioner#getPartitions(CarbonQueryPlan)
+     */
+    @Override
+    public List<Partition> getPartitions(CarbonQueryPlan queryPlan) {
+        BitSet selectedPartitions = getAllPartitionIndexes();
+        Map<CarbonDimension, CarbonDimensionFilter> filterMap = queryPlan.getDimensionFilters();
+        for (Map.Entry<CarbonDimension, CarbonDimensionFilter> entry : filterMap.entrySet()) {
+            if (partitionColumn.equalsIgnoreCase(entry.getKey().getDimensionUniqueName())
+                    && entry.getValue().getIncludeFilters().size() > 0) {
+                selectedPartitions.and(getIncludeFilterPartitions(entry.getValue()));
+            }
+        }
+        if (null != queryPlan.getFilterExpression()) {
+            selectedPartitions.and(getPartitions(queryPlan.getFilterExpression()));
+        }
+        if (selectedPartitions.cardinality() == allPartitions.size()) {
+            return allPartitions;
+        }
+        List<Partition> allowedPartitions =
+                new ArrayList<Partition>(selectedPartitions.cardinality());
+        for (int i = selectedPartitions.nextSetBit(0); i >= 0;
+             i = selectedPartitions.nextSetBit(i + 1)) {
+            allowedPartitions.add(allPartitions.get(i));
+        }
+        LOGGER.info(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
+                "Range partitioner pruned query to " + allowedPartitions.size() + " of "
+                        + allPartitions.size() + " partitions");
+        return allowedPartitions;
+    }
+
+    private BitSet getAllPartitionIndexes() {
+        BitSet partitionIndexes = new BitSet(allPartitions.size());
+        partitionIndexes.set(0, allPartitions.size());
+        return partitionIndexes;
+    }
+
+    /**
+     * Below method will be used to get the partitions of the include filter
+     * values of partition column
+     */
+    private BitSet getIncludeFilterPartitions(CarbonDimensionFilter filter) {
+        BitSet partitionIndexes = new BitSet(allPartitions.size());
+        for (String includeFilter : filter.getIncludeFilters()) {
+            try {
+                partitionIndexes.set(getPartitionIndex(getKey(includeFilter)));
+            } catch (ParseException e) {
+                return getAllPartitionIndexes();
+            } catch (NumberFormatException e) {
+                return getAllPartitionIndexes();
+            }
+        }
+        return partitionIndexes;
+    }
+
+    /**
+     * Below method will be used to get the partitions which can have rows
+     * matching the filter expression. And and or of filters are intersected
+     * and merged, all partitions are selected for the filters which cannot be
+     * used for pruning.
+     *
+     * @param expression filter expression
+     * @return partition indexes
+     */
+    private BitSet getPartitions(Expression expression) {
+        if (expression instanceof AndExpression || expression instanceof OrExpression) {
+            BinaryLogicalExpression logicalExpression = (BinaryLogicalExpression) expression;
+            BitSet partitionIndexes = getPartitions(logicalExpression.getLeft());
+            if (expression instanceof AndExpression) {
+                partitionIndexes.and(getPartitions(logicalExpression.getRight()));
+            } else {
+                partitionIndexes.or(getPartitions(logicalExpression.getRight()));
+            }
+            return partitionIndexes;
+        }
+        try {
+            if (expression instanceof InExpression) {
+                return getInFilterPartitions((InExpression) expression);
+            }
+            if (expression instanceof EqualToExpression
+                    || expression instanceof GreaterThanExpression
+                    || expression instanceof GreaterThanEqualToExpression
+                    || expression instanceof LessThanExpression
+                    || expression instanceof LessThanEqualToExpression) {
+                return getRangeFilterPartitions((BinaryLogicalExpression) expression);
+            }
+        } catch (ParseException e) {
+            LOGGER.debug(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
+                    "Filter value is not valid for range partition: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            LOGGER.debug(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
+                    "Filter value is not valid for range partition: " + e.getMessage());
+        } catch (FilterUnsupportedException e) {
+            LOGGER.debug(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
+                    "Filter value is not valid for range partition: " + e.getMessage());
+        }
+        return getAllPartitionIndexes();
+    }
+
+    private BitSet getInFilterPartitions(InExpression expression)
+            throws ParseException, FilterUnsupportedException {
+        if (!isPartitionColumn(expression.getLeft())
+                || !(expression.getRight() instanceof ListExpression)) {
+            return getAllPartitionIndexes();
+        }
+        BitSet partitionIndexes = new BitSet(allPartitions.size());
+        for (Expression child : expression.getRight().getChildren()) {
+            if (!(child instanceof LiteralExpression)) {
+                return getAllPartitionIndexes();
+            }
+            Double key = getKey((LiteralExpression) child);
+            if (null != key) {
+                partitionIndexes.set(getPartitionIndex(key));
+            }
+        }
+        return partitionIndexes;
+    }
+
+    private BitSet getRangeFilterPartitions(BinaryLogicalExpression expression)
+            throws ParseException, FilterUnsupportedException {
+        boolean isColumnOnLeft;
+        LiteralExpression literal;
+        if (isPartitionColumn(expression.getLeft())
+                && expression.getRight() instanceof LiteralExpression) {
+            isColumnOnLeft = true;
+            literal = (LiteralExpression) expression.getRight();
+        } else if (isPartitionColumn(expression.getRight())
+                && expression.getLeft() instanceof LiteralExpression) {
+            isColumnOnLeft = false;
+            literal = (LiteralExpression) expression.getLeft();
+        } else {
+            return getAllPartitionIndexes();
+        }
+        Double key = getKey(literal);
+        BitSet partitionIndexes = new BitSet(allPartitions.size());
+        if (null == key) {
+            // comparison with null does not match any row
+            return partitionIndexes;
+        }
+        int partitionIndex = getPartitionIndex(key);
+        if (expression instanceof EqualToExpression) {
+            partitionIndexes.set(partitionIndex);
+            return partitionIndexes;
+        }
+        // column > value and value < column are same
+        boolean isGreater = (expression instanceof GreaterThanExpression
+                || expression instanceof GreaterThanEqualToExpression) == isColumnOnLeft;
+        boolean isInclusive = expression instanceof GreaterThanEqualToExpression
+                || expression instanceof LessThanEqualToExpression;
+        if (isGreater) {
+            partitionIndexes.set(partitionIndex, allPartitions.size());
+        } else {
+            // values less than the lower bound of partition are not in partition
+            if (!isInclusive && partitionIndex > 0 && bounds[partitionIndex - 1] == key) {
+                partitionIndex--;
+            }
+            partitionIndexes.set(0, partitionIndex + 1);
+        }
+        return partitionIndexes;
+    }
+
+    private boolean isPartitionColumn(Expression expression) {
+        return expression instanceof ColumnExpression && partitionColumn
+                .equalsIgnoreCase(((ColumnExpression) expression).getColumnName());
+    }
+
+    /**
+     * Below method will be used to get the key of a filter value, spark
+     * gives timestamp literals in microseconds
+     *
+     * @param literal filter value
+     * @return key or null if value is null
+     */
+    private Double getKey(LiteralExpression literal)
+            throws ParseException, FilterUnsupportedException {
+        ExpressionResult result = literal.evaluate(null);
+        if (null == result.getString()) {
+            return null;
+        }
+        if (DataType.TimestampType == result.getDataType()) {
+            return (double) (result.getLong() / 1000);
+        }
+        return getKey(result.getString());
+    }
+
+    @Override
+    public String[] getPartitionedColumns() {
+        return new String[] { partitionColumn };
+    }
+
+    @Override
+    public Partitioner getPartitioner() {
+        return partitioner;
+    }
+
+}
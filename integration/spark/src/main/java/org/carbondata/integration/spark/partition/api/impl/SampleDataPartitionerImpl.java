@@ -65,7 +65,8 @@ public class SampleDataPartitionerImpl implements DataPartitioner {
     public SampleDataPartitionerImpl() {
     }
 
-    public void initialize(String basePath, String[] columns, Partitioner partitioner) {
+    public void initialize(String basePath, String[] columns, Partitioner partitioner,
+            Map<String, String> partitionDetails) {
         this.partitioner = partitioner;
         numberOfPartitions = partitioner.partitionCount();
 
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.carbondata.integration.spark.query.metadata.CarbonColumn;
+import org.carbondata.integration.spark.query.metadata.CarbonDimension;
+import org.carbondata.integration.spark.query.metadata.CarbonMeasure;
+import org.carbondata.integration.spark.query.metadata.CarbonQueryExpression;
+import org.carbondata.query.aggregator.dimension.DimensionAggregatorInfo;
+import org.carbondata.query.expression.ColumnExpression;
+import org.carbondata.query.expression.Expression;
+import org.carbondata.query.expression.ExpressionResult;
+import org.carbondata.query.expression.LiteralExpression;
+import org.carbondata.query.expression.conditional.ListExpression;
+import org.carbondata.query.expression.logical.AndExpression;
+import org.carbondata.query.expression.logical.OrExpression;
+
+/**
+ * Builds the normalized form of a query plan which is used as key of the
+ * query result cache. Two plans have the same key if they select the same
+ * dimensions, measures and expressions in the same order with the same
+ * filter, sort and limit. Column names are compared ignoring case, and the
+ * order of the conditions of and/or filters and of the values of in filters
+ * is ignored.
+ */
+public final class QueryPlanNormalizer {
+
+    /**
+     * package of the filter expressions which can be normalized
+     */
+    private static final String EXPRESSION_PACKAGE = "org.carbondata.query.expression.";
+
+    private QueryPlanNormalizer() {
+
+    }
+
+    /**
+     * Below method will be used to get the normalized plan. Detail queries and
+     * queries with limit or top n are not cached as rows of different segments
+     * cannot be combined for them, and neither are queries with filters which
+     * are evaluated by spark.
+     *
+     * @param plan query plan
+     * @return normalized plan, null if result of query cannot be cached
+     */
+    public static String normalize(CarbonQueryPlan plan) {
+        if (plan.isDetailQuery() || plan.getLimit() != -1 || null != plan.getTopOrBottomFilter()
+                || !plan.getDimensionFilters().isEmpty() || !plan.getDimensionLikeFilters()
+                .isEmpty() || !plan.getMeasureFilters().isEmpty()) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        key.append(toKey(plan.getSchemaName())).append('.').append(toKey(plan.getCubeName()));
+        key.append("|dims=");
+        for (CarbonDimension dimension : plan.getDimensions()) {
+            appendDimension(key, dimension);
+        }
+        key.append("|msrs=");
+        for (CarbonMeasure measure : plan.getMeasures()) {
+            key.append(toKey(measure.getMeasure())).append(':')
+                    .append(measure.getAggregatorType()).append(':')
+                    .append(measure.getQueryOrder()).append(':')
+                    .append(measure.getSortOrderType()).append(':')
+                    .append(measure.isQueryDistinctCount()).append(',');
+        }
+        key.append("|exprs=");
+        for (CarbonQueryExpression expression : plan.getExpressions()) {
+            key.append(expression.getExpression()).append(':').append(expression.getUsageType())
+                    .append(':').append(expression.getQueryOrder()).append(':')
+                    .append(expression.getSortOrderType()).append('(');
+            for (CarbonColumn column : expression.getColumns()) {
+                if (column instanceof CarbonDimension) {
+                    key.append(toKey(((CarbonDimension) column).getDimensionUniqueName()));
+                } else {
+                    key.append(toKey(((CarbonMeasure) column).getMeasure()));
+                }
+                key.append(',');
+            }
+            key.append("),");
+        }
+        key.append("|dimaggs=");
+        for (DimensionAggregatorInfo aggregatorInfo : plan.getDimAggregatorInfos().values()) {
+            key.append(toKey(aggregatorInfo.getColumnName())).append(':')
+                    .append(aggregatorInfo.getAggList()).append(':')
+                    .append(aggregatorInfo.getOrderList()).append(',');
+        }
+        key.append("|sort=");
+        if (null != plan.getSortedDimemsions()) {
+            for (CarbonDimension dimension : plan.getSortedDimemsions()) {
+                appendDimension(key, dimension);
+            }
+        }
+        key.append("|countstar=").append(plan.isCountStartQuery());
+        key.append("|filter=");
+        if (null != plan.getFilterExpression()) {
+            String filter = normalize(plan.getFilterExpression());
+            if (null == filter) {
+                return null;
+            }
+            key.append(filter);
+        }
+        return key.toString();
+    }
+
+    private static void appendDimension(StringBuilder key, CarbonDimension dimension) {
+        key.append(toKey(dimension.getDimensionUniqueName())).append(':')
+                .append(dimension.getQueryOrder()).append(':')
+                .append(dimension.getSortOrderType()).append(':')
+                .append(dimension.isDistinctCountQuery()).append(',');
+    }
+
+    /**
+     * @return normalized expression, null if expression cannot be normalized
+     */
+    private static String normalize(Expression expression) {
+        if (!expression.getClass().getName().startsWith(EXPRESSION_PACKAGE)) {
+            return null;
+        }
+        if (expression instanceof ColumnExpression) {
+            return "Column(" + toKey(((ColumnExpression) expression).getColumnName()) + ')';
+        }
+        if (expression instanceof LiteralExpression) {
+            ExpressionResult value = ((LiteralExpression) expression).evaluate(null);
+            return "Literal(" + value.getDataType() + ',' + value.getString() + ')';
+        }
+        List<String> children = new ArrayList<String>(expression.getChildren().size());
+        if (!addChildren(expression, expression.getClass(), children)) {
+            return null;
+        }
+        // conditions of and/or and values of in list can be in any order
+        if (expression instanceof AndExpression || expression instanceof OrExpression
+                || expression instanceof ListExpression) {
+            Collections.sort(children);
+        }
+        StringBuilder normalized = new StringBuilder(expression.getClass().getSimpleName());
+        normalized.append('(');
+        for (String child : children) {
+            normalized.append(child).append(',');
+        }
+        return normalized.append(')').toString();
+    }
+
+    /**
+     * Below method will be used to add the normalized children of expression,
+     * children of nested and/or of the same type are added as children of the
+     * outer expression
+     */
+    private static boolean addChildren(Expression expression, Class<?> expressionType,
+            List<String> children) {
+        for (Expression child : expression.getChildren()) {
+            if ((child instanceof AndExpression || child instanceof OrExpression)
+                    && child.getClass() == expressionType) {
+                if (!addChildren(child, expressionType, children)) {
+                    return false;
+                }
+                continue;
+            }
+            String normalizedChild = normalize(child);
+            if (null == normalizedChild) {
+                return false;
+            }
+            children.add(normalizedChild);
+        }
+        return true;
+    }
+
+    private static String toKey(String name) {
+        return null == name ? "" : name.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -162,7 +162,8 @@ public class CarbonMeasure implements CarbonColumn, Serializable {
 
     public enum AggregatorType {
         SUM("SUM"), COUNT("COUNT"), AVG("AVG"), MAX("MAX"), MIN("MIN"), DISTINCT_COUNT(
-                "DISTINCT-COUNT"), SUM_DISTINCT("SUM-DISTINCT"), INSTANCE("INSTANCE"), CUSTOM(
+                "DISTINCT-COUNT"), APPROX_COUNT_DISTINCT("APPROX-COUNT-DISTINCT"), APPROX_PERCENTILE(
+                "APPROX-PERCENTILE"), SUM_DISTINCT("SUM-DISTINCT"), INSTANCE("INSTANCE"), CUSTOM(
                 "CUSTOM");
 
         private String name;
@@ -186,6 +187,12 @@ public class CarbonMeasure implements CarbonColumn, Serializable {
             } else if (aggType.equalsIgnoreCase("CountDistinctCarbon") || aggType
                     .equalsIgnoreCase("distinct_count")) {
                 return DISTINCT_COUNT;
+            } else if (aggType.equalsIgnoreCase("ApproxCountDistinctCarbon") || aggType
+                    .equalsIgnoreCase("approx_count_distinct")) {
+                return APPROX_COUNT_DISTINCT;
+            } else if (aggType.equalsIgnoreCase("ApproxPercentileCarbon") || aggType
+                    .equalsIgnoreCase("percentile_approx")) {
+                return APPROX_PERCENTILE;
             } else if (("MinCarbon").equalsIgnoreCase(aggType) || ("min")
                     .equalsIgnoreCase(aggType)) {
                 return MIN;
@@ -46,6 +46,17 @@ public class TableSplit implements Serializable, Writable {
 
     private Partition partition;
 
+    /**
+     * index of the sub split of partition, each sub split scans a range of
+     * the leaf nodes of partition
+     */
+    private int subSplitIndex;
+
+    /**
+     * number of sub splits the partition is divided into
+     */
+    private int numberOfSubSplits = 1;
+
     /**
      * @return the locations
      */
@@ -74,6 +85,34 @@ public class TableSplit implements Serializable, Writable {
         this.partition = partition;
     }
 
+    /**
+     * @return index of the sub split of partition
+     */
+    public int getSubSplitIndex() {
+        return subSplitIndex;
+    }
+
+    /**
+     * @param subSplitIndex index of the sub split of partition
+     */
+    public void setSubSplitIndex(int subSplitIndex) {
+        this.subSplitIndex = subSplitIndex;
+    }
+
+    /**
+     * @return number of sub splits the partition is divided into
+     */
+    public int getNumberOfSubSplits() {
+        return numberOfSubSplits;
+    }
+
+    /**
+     * @param numberOfSubSplits number of sub splits the partition is divided into
+     */
+    public void setNumberOfSubSplits(int numberOfSubSplits) {
+        this.numberOfSubSplits = numberOfSubSplits;
+    }
+
     @Override
     public void readFields(DataInput in) throws IOException {
 
@@ -94,6 +133,8 @@ public class TableSplit implements Serializable, Writable {
             LOGGER.error(CarbonEngineLogEvent.UNIBI_CARBONENGINE_MSG, e, e.getMessage());
         }
         ois.close();
+        subSplitIndex = in.readInt();
+        numberOfSubSplits = in.readInt();
     }
 
     @Override
@@ -115,9 +156,15 @@ public class TableSplit implements Serializable, Writable {
         byte[] byteArray = bos.toByteArray();
         out.writeInt(byteArray.length);
         out.write(byteArray);
+        out.writeInt(subSplitIndex);
+        out.writeInt(numberOfSubSplits);
     }
 
     public String toString() {
+        if (numberOfSubSplits > 1) {
+            return partition.getUniqueID() + ' ' + (subSplitIndex + 1) + '/' + numberOfSubSplits
+                    + ' ' + locations;
+        }
         return partition.getUniqueID() + ' ' + locations;
     }
 }
@@ -43,6 +43,7 @@ import org.carbondata.core.datastorage.store.filesystem.CarbonFile;
 import org.carbondata.core.datastorage.store.filesystem.CarbonFileFilter;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.datastorage.store.impl.FileFactory.FileType;
+import org.carbondata.core.iterator.CarbonIterator;
 import org.carbondata.core.load.LoadMetadataDetails;
 import org.carbondata.core.metadata.CarbonMetadata;
 import org.carbondata.core.metadata.CarbonMetadata.Cube;
@@ -56,17 +57,22 @@ import org.carbondata.integration.spark.partition.api.impl.DefaultLoadBalancer;
 import org.carbondata.integration.spark.partition.api.impl.PartitionMultiFileImpl;
 import org.carbondata.integration.spark.partition.api.impl.QueryPartitionHelper;
 import org.carbondata.integration.spark.query.CarbonQueryPlan;
+import org.carbondata.integration.spark.query.QueryPlanNormalizer;
 import org.carbondata.integration.spark.query.metadata.*;
 import org.carbondata.integration.spark.splits.TableSplit;
 import org.carbondata.processing.util.CarbonSchemaParser;
 import org.carbondata.query.aggregator.CustomCarbonAggregateExpression;
 import org.carbondata.query.aggregator.CustomMeasureAggregator;
 import org.carbondata.query.aggregator.dimension.DimensionAggregatorInfo;
+import org.carbondata.query.datastorage.InMemoryTable;
 import org.carbondata.query.datastorage.InMemoryTableStore;
+import org.carbondata.query.datastorage.cache.QueryResultCache;
+import org.carbondata.query.datastorage.cache.QueryResultCache.SegmentResult;
 import org.carbondata.query.directinterface.impl.CarbonQueryParseUtil;
 import org.carbondata.query.directinterface.impl.MeasureSortModel;
 import org.carbondata.query.executer.CarbonQueryExecutorModel;
 import org.carbondata.query.executer.QueryExecutor;
+import org.carbondata.query.executer.exception.QueryExecutionException;
 import org.carbondata.query.executer.impl.QueryExecutorImpl;
 import org.carbondata.query.expression.ColumnExpression;
 import org.carbondata.query.expression.Expression;
@@ -75,6 +81,8 @@ import org.carbondata.query.filters.likefilters.FilterLikeExpressionIntf;
 import org.carbondata.query.filters.metadata.ContentMatchFilterInfo;
 import org.carbondata.query.holders.CarbonResultHolder;
 import org.carbondata.query.queryinterface.filter.CarbonFilterInfo;
+import org.carbondata.query.result.RowResult;
+import org.carbondata.query.result.iterator.CachedQueryResultIterator;
 import org.carbondata.query.scope.QueryScopeObject;
 
 /**
@@ -260,6 +268,7 @@ public final class CarbonQueryUtil {
         executorModel.setDetailQuery(logicalPlan.isDetailQuery());
         executorModel.setQueryId(logicalPlan.getQueryId());
         executorModel.setOutLocation(logicalPlan.getOutLocationPath());
+        executorModel.setResultCacheKey(QueryPlanNormalizer.normalize(logicalPlan));
         return executorModel;
     }
 
@@ -683,6 +692,45 @@ public final class CarbonQueryUtil {
         return splits;
     }
 
+    /**
+     * Below method will be used to divide each partition split of a query
+     * into sub splits, so that a partition is scanned by many tasks. Sub
+     * splits keep the locations of their partition.
+     *
+     * @param splits      partition splits
+     * @param parallelism default parallelism of the cluster, used when number
+     *                    of sub splits per partition is not configured
+     * @return sub splits
+     */
+    public static TableSplit[] getQuerySubSplits(TableSplit[] splits, int parallelism) {
+        int numberOfSubSplits;
+        try {
+            numberOfSubSplits = Integer.parseInt(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.CARBON_QUERY_SUB_SPLITS_PER_PARTITION,
+                            CarbonCommonConstants.CARBON_QUERY_SUB_SPLITS_PER_PARTITION_DEFAULT));
+        } catch (NumberFormatException e) {
+            numberOfSubSplits = 0;
+        }
+        if (numberOfSubSplits < 1 && splits.length > 0) {
+            numberOfSubSplits = (parallelism + splits.length - 1) / splits.length;
+        }
+        if (numberOfSubSplits <= 1) {
+            return splits;
+        }
+        TableSplit[] subSplits = new TableSplit[splits.length * numberOfSubSplits];
+        for (int i = 0; i < splits.length; i++) {
+            for (int j = 0; j < numberOfSubSplits; j++) {
+                TableSplit subSplit = new TableSplit();
+                subSplit.setPartition(splits[i].getPartition());
+                subSplit.setLocations(splits[i].getLocations());
+                subSplit.setSubSplitIndex(j);
+                subSplit.setNumberOfSubSplits(numberOfSubSplits);
+                subSplits[i * numberOfSubSplits + j] = subSplit;
+            }
+        }
+        return subSplits;
+    }
+
     /**
      * It creates the one split for each region server.
      */
@@ -880,6 +928,84 @@ public final class CarbonQueryUtil {
         return executer;
     }
 
+    /**
+     * Below method will be used to execute the query on the partition of the
+     * model. If query result cache is enabled, cached rows of the query on
+     * segments which are not changed since they were cached are returned and
+     * only the other segments are scanned.
+     *
+     * @param queryModel            query model
+     * @param cubeCreationTime      cube creation time
+     * @param schemaLastUpdatedTime schema last updated time
+     * @return rows
+     * @throws QueryExecutionException
+     */
+    public static CarbonIterator<RowResult> executeQuery(CarbonQueryExecutorModel queryModel,
+            long cubeCreationTime, long schemaLastUpdatedTime) throws QueryExecutionException {
+        QueryResultCache cache = QueryResultCache.getInstance();
+        QueryScopeObject queryScopeObject = queryModel.getQueryScopeObject();
+        if (null == queryModel.getResultCacheKey() || !cache.isEnabled()
+                || null == queryScopeObject || null == queryScopeObject.getQuerySlices()
+                || queryScopeObject.getQuerySlices().isEmpty()) {
+            return executeQuery(queryModel, queryScopeObject);
+        }
+        String key = queryModel.getResultCacheKey() + "|table=" + queryModel.getFactTable()
+                + "|partition=" + queryModel.getPartitionId() + "|split="
+                + queryModel.getSubSplitIndex() + '/' + queryModel.getNumberOfSubSplits()
+                + "|created=" + cubeCreationTime + "|updated=" + schemaLastUpdatedTime;
+        Map<String, Long> segments = new LinkedHashMap<String, Long>(
+                CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        for (InMemoryTable slice : queryScopeObject.getQuerySlices()) {
+            segments.put(getSegmentName(slice), slice.getModificationTime());
+        }
+        List<SegmentResult> cachedResults = cache.get(key, segments);
+        Set<String> cachedSegments = new HashSet<String>(segments.size());
+        for (SegmentResult cachedResult : cachedResults) {
+            cachedSegments.addAll(cachedResult.getSegments().keySet());
+        }
+        List<InMemoryTable> slicesToScan = new ArrayList<InMemoryTable>(segments.size());
+        Map<String, Long> scannedSegments = new LinkedHashMap<String, Long>(segments.size());
+        for (InMemoryTable slice : queryScopeObject.getQuerySlices()) {
+            String segmentName = getSegmentName(slice);
+            if (!cachedSegments.contains(segmentName)) {
+                slicesToScan.add(slice);
+                scannedSegments.put(segmentName, slice.getModificationTime());
+            }
+        }
+        LOGGER.info(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG,
+                "Query result of " + cachedSegments.size() + " of " + segments.size()
+                        + " segments is taken from query result cache");
+        CarbonIterator<RowResult> scanIterator = null;
+        if (!slicesToScan.isEmpty()) {
+            scanIterator = executeQuery(queryModel,
+                    new QueryScopeObject(queryScopeObject.getLoadNameAndModificationTimeMap(),
+                            slicesToScan));
+        }
+        return new CachedQueryResultIterator(cache, key, queryModel.getQueryId(), cachedResults,
+                scanIterator, scannedSegments);
+    }
+
+    private static CarbonIterator<RowResult> executeQuery(CarbonQueryExecutorModel queryModel,
+            QueryScopeObject queryScopeObject) throws QueryExecutionException {
+        QueryExecutor executor =
+                getQueryExecuter(queryModel.getCube(), queryModel.getFactTable(), queryScopeObject);
+        if (isQuickFilter(queryModel)) {
+            return executor.executeDimension(queryModel);
+        }
+        return executor.execute(queryModel);
+    }
+
+    /**
+     * @return load folder path of slice, which is unique across restructure
+     * folders and tables
+     */
+    private static String getSegmentName(InMemoryTable slice) {
+        if (null != slice.getTableSlicePathInfo()) {
+            return slice.getTableSlicePathInfo().getLoadPath();
+        }
+        return slice.getTableName() + '/' + slice.getLoadName();
+    }
+
     public static void updateDimensionWithHighCardinalityVal(CarbonDef.Schema schema,
             CarbonQueryExecutorModel queryModel) {
 
@@ -40,6 +40,7 @@ import org.carbondata.integration.spark.agg._
 import scala.collection.mutable.MutableList
 import org.apache.spark.sql.cubemodel.CubeModel
 import org.apache.spark.sql.hive.HiveContext
+import org.apache.spark.sql.hive.PercentileApprox
 
 /**
   * Top command
@@ -339,6 +340,8 @@ object PartialAggregation {
         case a@MaxCarbon(_, _) => a
         case a@SumDistinctCarbon(_, _) => a
         case a@CountDistinctCarbon(_) => a
+        case a@ApproxCountDistinctCarbon(_) => a
+        case a@ApproxPercentileCarbon(_, _) => a
         case a@CountCarbon(_) => a
         case anyAggr: AggregateExpression1 => anyAggr
       }
@@ -360,6 +363,10 @@ object PartialAggregation {
             case attr: AttributeReference => CountDistinctCarbon(makePositionLiteral(attr, index))
             case _ => a
           }
+        case a@ApproxCountDistinct(attr: AttributeReference, _) =>
+          ApproxCountDistinctCarbon(makePositionLiteral(attr, index))
+        case a@PercentileApprox(attr: AttributeReference, quantile) =>
+          ApproxPercentileCarbon(makePositionLiteral(attr, index), quantile)
         case a@Count(s@Literal(_, _)) =>
           CountCarbon(makePositionLiteral(s, index))
         case a@Count(attr: AttributeReference) =>
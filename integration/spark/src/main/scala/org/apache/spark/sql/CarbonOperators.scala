@@ -143,6 +143,43 @@ case class CarbonCubeScan(
         posLiteral.setPosition(queryOrder)
         queryOrder + 1
 
+      case ApproxCountDistinctCarbon(posLiteral@PositionLiteral(attr: AttributeReference, _)) =>
+        val msrs = selectedMsrs.filter(m => m.getMeasure().equalsIgnoreCase(attr.name))
+        if (msrs.length > 0) {
+          val m1 = new CarbonMeasure(attr.name)
+          m1.setAggregatorType(CarbonMeasure.AggregatorType.APPROX_COUNT_DISTINCT)
+          m1.setQueryOrder(queryOrder)
+          plan.addMeasure(m1)
+        } else {
+          val dims = selectedDims.filter(m => m.getDimensionUniqueName.equalsIgnoreCase(attr.name))
+          if (dims.length > 0) {
+            val d1 = new CarbonDimension(attr.name)
+            d1.setQueryOrder(queryOrder)
+            plan.addAggDimAggInfo(d1.getDimensionUniqueName, "approx-count-distinct",
+              d1.getQueryOrder)
+          }
+        }
+        posLiteral.setPosition(queryOrder)
+        queryOrder + 1
+
+      case ApproxPercentileCarbon(posLiteral@PositionLiteral(attr: AttributeReference, _), _) =>
+        val msrs = selectedMsrs.filter(m => m.getMeasure().equalsIgnoreCase(attr.name))
+        if (msrs.length > 0) {
+          val m1 = new CarbonMeasure(attr.name)
+          m1.setAggregatorType(CarbonMeasure.AggregatorType.APPROX_PERCENTILE)
+          m1.setQueryOrder(queryOrder)
+          plan.addMeasure(m1)
+        } else {
+          val dims = selectedDims.filter(m => m.getDimensionUniqueName.equalsIgnoreCase(attr.name))
+          if (dims.length > 0) {
+            val d1 = new CarbonDimension(attr.name)
+            d1.setQueryOrder(queryOrder)
+            plan.addAggDimAggInfo(d1.getDimensionUniqueName, "approx-percentile", d1.getQueryOrder)
+          }
+        }
+        posLiteral.setPosition(queryOrder)
+        queryOrder + 1
+
       case AverageCarbon(posLiteral@PositionLiteral(attr: AttributeReference, _), _) =>
         val msrs = selectedMsrs.filter(m => m.getMeasure().equalsIgnoreCase(attr.name))
         if (msrs.length > 0) {
@@ -307,6 +344,7 @@ case class CarbonCubeScan(
           case SortOrder(SumCarbon(attr: AttributeReference, _), order) => plan.getMeasures().filter(m => m.getMeasure().equalsIgnoreCase(attr.name))(0).setSortOrderType(getSortDirection(order))
           case SortOrder(CountCarbon(attr: AttributeReference), order) => plan.getMeasures().filter(m => m.getMeasure().equalsIgnoreCase(attr.name))(0).setSortOrderType(getSortDirection(order))
           case SortOrder(CountDistinctCarbon(attr: AttributeReference), order) => plan.getMeasures().filter(m => m.getMeasure().equalsIgnoreCase(attr.name))(0).setSortOrderType(getSortDirection(order))
+          case SortOrder(ApproxCountDistinctCarbon(attr: AttributeReference), order) => plan.getMeasures().filter(m => m.getMeasure().equalsIgnoreCase(attr.name))(0).setSortOrderType(getSortDirection(order))
           case SortOrder(AverageCarbon(attr: AttributeReference, _), order) => plan.getMeasures().filter(m => m.getMeasure().equalsIgnoreCase(attr.name))(0).setSortOrderType(getSortDirection(order))
           case SortOrder(attr: AttributeReference, order) =>
             val dim = plan.getDimensions.filter(m => m.getDimensionUniqueName.equalsIgnoreCase(attr.name))
@@ -422,7 +460,9 @@ case class CarbonCubeScan(
 
     val conf = new Configuration();
     val model = CarbonQueryUtil.createModel(buildCarbonPlan, relation.cubeMeta.schema, relation.metaData.cube, relation.cubeMeta.dataPath, relation.cubeMeta.partitioner.partitionCount) //parseQuery(buildCarbonPlan, relation.getSchemaPath)
-    val splits = CarbonQueryUtil.getTableSplits(relation.schemaName, cubeName, buildCarbonPlan, relation.cubeMeta.partitioner)
+    val partitionSplits = CarbonQueryUtil.getTableSplits(relation.schemaName, cubeName, buildCarbonPlan, relation.cubeMeta.partitioner)
+    // scan each partition with many tasks, each task scans a range of its leaf nodes
+    val splits = CarbonQueryUtil.getQuerySubSplits(partitionSplits, oc.sparkContext.defaultParallelism)
     val kv: KeyVal[CarbonKey, CarbonValue] = new KeyValImpl()
     //setting queryid
     buildCarbonPlan.setQueryId(oc.getConf("queryId", System.nanoTime() + ""))
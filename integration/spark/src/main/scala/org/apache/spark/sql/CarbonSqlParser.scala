@@ -123,6 +123,10 @@ class CarbonSqlDDLParser()
   protected val MIN = Keyword("min")
   protected val DISTINCT = Keyword("distinct")
   protected val DISTINCT_COUNT = Keyword("distinct-count")
+  protected val APPROXIMATE = Keyword("approximate")
+  protected val APPROX_COUNT_DISTINCT = Keyword("approx-count-distinct")
+  protected val PERCENTILE_APPROX = Keyword("percentile_approx")
+  protected val APPROX_PERCENTILE = Keyword("approx-percentile")
   protected val SUM_DISTINCT = Keyword("sum-distinct")
   protected val ABS = Keyword("abs")
 
@@ -197,6 +201,8 @@ class CarbonSqlDDLParser()
       MAX ~> "(" ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, MAX.str) } |
       MIN ~> "(" ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, MIN.str) } |
       COUNT ~> "(" ~> DISTINCT ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, DISTINCT_COUNT.str) } |
+      APPROXIMATE ~> COUNT ~> "(" ~> DISTINCT ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, APPROX_COUNT_DISTINCT.str) } |
+      PERCENTILE_APPROX ~> "(" ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, APPROX_PERCENTILE.str) } |
       DISTINCT ~> COUNT ~> "(" ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, COUNT.str) } |
       SUM ~> "(" ~> DISTINCT ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, SUM_DISTINCT.str) } |
       AVG ~> "(" ~> (ident | stringLit) <~ ")" ^^ { case e1 => AggregateTableAttributes(e1, AVG.str) }
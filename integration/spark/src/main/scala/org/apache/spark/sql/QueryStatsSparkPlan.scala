@@ -76,6 +76,7 @@ case class QueryStatsSparkPlan(child: SparkPlan) extends UnaryNode {
       if (null != partAcc && null != partAcc.value) {
         queryDetail.setNoOfNodesScanned(partAcc.value.getNumberOfNodesScanned)
         queryDetail.setNoOfRowsScanned(partAcc.value.getNoOfRowsScanned)
+        queryStatsCollector.logQueryProfile(queryId, timeTaken, partAcc.value.getProfile)
         //log query stats only if there is dimensions included in query
         if (null != queryDetail.getDimOrdinals && queryDetail.getDimOrdinals.length > 0) {
           queryStatsCollector.logQueryStats(queryDetail);
@@ -35,6 +35,7 @@ import org.carbondata.core.carbon.CarbonDef
 import org.carbondata.core.carbon.CarbonDef.{AggTable, CubeDimension}
 import org.carbondata.core.util.{CarbonProperties, CarbonUtil}
 import org.carbondata.integration.spark.load.{DeleteLoadFromMetadata, CarbonLoadModel, CarbonLoaderUtil}
+import org.carbondata.integration.spark.merger.CarbonCompactionScheduler
 import org.carbondata.integration.spark.partition.api.impl.QueryPartitionHelper
 import org.carbondata.integration.spark.rdd.CarbonDataRDDFactory
 import org.carbondata.integration.spark.util.{CarbonQueryUtil, CarbonScalaUtil, CarbonSparkInterFaceLogEvent}
@@ -1979,7 +1980,9 @@ private[sql] case class MergeCube(schemaName: String, cubeName: String, tableNam
     carbonLoadModel.setSchema(relation.cubeMeta.schema);
     var storeLocation = CarbonProperties.getInstance.getProperty(CarbonCommonConstants.STORE_LOCATION_TEMP_PATH, System.getProperty("java.io.tmpdir"))
     storeLocation = storeLocation + "/carbonstore/" + System.currentTimeMillis()
-    CarbonDataRDDFactory.mergeCarbonData(sqlContext, carbonLoadModel, storeLocation, relation.cubeMeta.dataPath, relation.cubeMeta.partitioner)
+    val kettleHomePath = sqlContext.getConf("carbon.kettle.home", null)
+    if (kettleHomePath == null) sys.error(s"carbon.kettle.home is not set")
+    CarbonDataRDDFactory.mergeCarbonData(sqlContext, carbonLoadModel, storeLocation, relation.cubeMeta.dataPath, kettleHomePath, relation.cubeMeta.partitioner)
     Seq.empty
   }
 }
@@ -2023,6 +2026,7 @@ private[sql] case class DropCubeCommand(ifExistsSet: Boolean, schemaNameOp: Opti
             relation.cubeMeta.dataPath,
             relation.cubeMeta.schemaName,
             relation.cubeMeta.cubeName)(sqlContext)
+          CarbonCompactionScheduler.getInstance().remove(tmpCube.getMetaDataFilepath())
           CarbonDataRDDFactory.dropCube(sqlContext.sparkContext, schemaName, cubeName, relation.cubeMeta.partitioner)
           QueryPartitionHelper.getInstance().removePartition(schemaName, cubeName);
 
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.spark.sql.hive
+
+import org.apache.spark.sql.catalyst.expressions.{Expression, Literal}
+import org.apache.spark.sql.types.Decimal
+
+/**
+ * Matches percentile_approx(column, quantile) of hive, so that it can be
+ * pushed down to carbon as approximate percentile. Hive aggregate functions
+ * are only visible inside the hive package.
+ */
+object PercentileApprox {
+  def unapply(expr: Expression): Option[(Expression, Double)] = expr match {
+    case HiveGenericUDAF(funcWrapper, Seq(child, Literal(quantile, _), _*))
+      if funcWrapper.functionClassName.endsWith("GenericUDAFPercentileApprox") =>
+      quantile match {
+        case n: Number => Some((child, n.doubleValue))
+        case d: Decimal => Some((child, d.toDouble))
+        case _ => None
+      }
+    case _ => None
+  }
+}
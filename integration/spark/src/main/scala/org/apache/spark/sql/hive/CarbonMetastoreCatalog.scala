@@ -40,6 +40,7 @@ import org.carbondata.core.metadata.CarbonMetadata.{Dimension, Cube}
 import org.carbondata.core.carbon.CarbonDef
 import org.carbondata.core.util.{CarbonUtil, CarbonVersion, CarbonProperties}
 import org.carbondata.integration.spark.load.CarbonLoaderUtil
+import org.carbondata.integration.spark.partition.api.impl.RangeDataPartitionerImpl
 import org.carbondata.integration.spark.util.CarbonScalaUtil.CarbonSparkUtil
 import org.carbondata.processing.util.CarbonDataProcessorUtil
 import org.carbondata.query.util.CarbonEngineLogEvent
@@ -355,6 +356,10 @@ class CarbonMetastoreCatalog(hive: HiveContext, val metadataPath: String,client:
       sys.error(s"Cube [$cubeName] already exists under schema [$schemaName]")
     var cube = CarbonMetadata.getInstance().getCube(schemaName + "_" + cubeName)
     var schema = CarbonMetastoreCatalog.parseStringToSchema(schemaXML)
+    if (classOf[RangeDataPartitionerImpl].getName.equals(partitioner.partitionClass)) {
+      // range bounds are resolved once and persisted with the cube schema
+      RangeDataPartitionerImpl.addPartitionDetails(schema.cubes(0), partitioner.partitionCount)
+    }
     //Remove the cube and load again for aggregates.
     CarbonMetadata.getInstance().loadSchema(schema)
     cube = CarbonMetadata.getInstance().getCube(schemaName + "_" + cubeName)
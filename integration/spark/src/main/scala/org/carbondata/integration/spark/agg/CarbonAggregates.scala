@@ -91,6 +91,70 @@ case class CountDistinctCarbonFinal(inputSet: Expression, origDataType: DataType
   override def newInstance() = new CountDistinctFunctionCarbonFinal(inputSet, this)
 }
 
+case class ApproxCountDistinctCarbon(child: Expression) extends PartialAggregate1 {
+  override def children = child :: Nil
+
+  override def nullable = false
+
+  override def dataType = MeasureAggregatorUDT
+
+  override def toString = s"APPROXIMATE COUNT(DISTINCT ($child)"
+
+  override def asPartial = {
+    val partialSketch = Alias(ApproxCountDistinctCarbon(child), "partialSketches")()
+    SplitEvaluation(
+      ApproxCountDistinctCarbonFinal(partialSketch.toAttribute, LongType),
+      partialSketch :: Nil)
+  }
+
+  override def newInstance() = new ApproxCountDistinctFunctionCarbon(child, this, false)
+}
+
+case class ApproxCountDistinctCarbonFinal(inputSketch: Expression, origDataType: DataType)
+  extends AggregateExpression1 {
+  override def children = inputSketch :: Nil
+
+  override def nullable = false
+
+  override def dataType = origDataType
+
+  override def toString = s"APPROXIMATE COUNTFINAL(DISTINCT ${inputSketch})"
+
+  override def newInstance() = new ApproxCountDistinctFunctionCarbon(inputSketch, this, true)
+}
+
+case class ApproxPercentileCarbon(child: Expression, quantile: Double) extends PartialAggregate1 {
+  override def children = child :: Nil
+
+  override def nullable = true
+
+  override def dataType = MeasureAggregatorUDT
+
+  override def toString = s"PERCENTILE_APPROX($child, $quantile)"
+
+  override def asPartial = {
+    val partialSketch = Alias(ApproxPercentileCarbon(child, quantile), "partialQuantileSketches")()
+    SplitEvaluation(
+      ApproxPercentileCarbonFinal(partialSketch.toAttribute, quantile, DoubleType),
+      partialSketch :: Nil)
+  }
+
+  override def newInstance() = new ApproxPercentileFunctionCarbon(child, this, quantile, false)
+}
+
+case class ApproxPercentileCarbonFinal(inputSketch: Expression, quantile: Double,
+    origDataType: DataType) extends AggregateExpression1 {
+  override def children = inputSketch :: Nil
+
+  override def nullable = true
+
+  override def dataType = origDataType
+
+  override def toString = s"PERCENTILE_APPROXFINAL(${inputSketch}, $quantile)"
+
+  override def newInstance() = new ApproxPercentileFunctionCarbon(inputSketch, this, quantile, true)
+}
+
 case class AverageCarbon(child: Expression, castedDataType: DataType = null) extends UnaryExpression with PartialAggregate1 {
   override def references = child.references
 
@@ -627,6 +691,84 @@ case class CountDistinctFunctionCarbonFinal(expr: Expression, base: AggregateExp
       Cast(Literal(count.getDoubleValue), base.dataType).eval(null)
 }
 
+/**
+ * Merges the hyperloglog sketches computed by carbon, values which are not
+ * sketches are added to the sketch of this function
+ */
+case class ApproxCountDistinctFunctionCarbon(expr: Expression, base: AggregateExpression1,
+    finalAgg: Boolean) extends AggregateFunction1 {
+
+  def this() = this(null, null, false) // Required for serialization.
+
+  private var sketch: MeasureAggregator = null
+
+  override def update(input: InternalRow): Unit = {
+    val br = expr.collectFirst({ case a@BoundReference(_, _, _) => a })
+    val resolution =
+      if (br.isDefined) {
+        input.get(br.get.ordinal, MeasureAggregatorUDT)
+      } else {
+        expr.eval(input)
+      }
+    resolution match {
+      case null =>
+      case s: MeasureAggregator =>
+        if (sketch == null) sketch = s else sketch.merge(s)
+      case s =>
+        if (sketch == null) sketch = new ApproxCountDistinctAggregator
+        sketch.agg(s.asInstanceOf[AnyRef])
+    }
+  }
+
+  override def eval(input: InternalRow): Any =
+    if (!finalAgg) {
+      sketch
+    } else if (sketch == null) {
+      Cast(Literal(0), base.dataType).eval(null)
+    } else {
+      Cast(Literal(sketch.getLongValue), base.dataType).eval(null)
+    }
+}
+
+/**
+ * Merges the quantile sketches computed by carbon, values which are not
+ * sketches are added to the sketch of this function
+ */
+case class ApproxPercentileFunctionCarbon(expr: Expression, base: AggregateExpression1,
+    quantile: Double, finalAgg: Boolean) extends AggregateFunction1 {
+
+  def this() = this(null, null, 0.5, false) // Required for serialization.
+
+  private var sketch: ApproxPercentileAggregator = null
+
+  override def update(input: InternalRow): Unit = {
+    val br = expr.collectFirst({ case a@BoundReference(_, _, _) => a })
+    val resolution =
+      if (br.isDefined) {
+        input.get(br.get.ordinal, MeasureAggregatorUDT)
+      } else {
+        expr.eval(input)
+      }
+    resolution match {
+      case null =>
+      case s: ApproxPercentileAggregator =>
+        if (sketch == null) sketch = s else sketch.merge(s)
+      case s =>
+        if (sketch == null) sketch = new ApproxPercentileAggregator
+        sketch.agg(s.asInstanceOf[AnyRef])
+    }
+  }
+
+  override def eval(input: InternalRow): Any =
+    if (!finalAgg) {
+      sketch
+    } else if (sketch == null || sketch.isFirstTime) {
+      null
+    } else {
+      Cast(Literal(sketch.getQuantile(quantile).doubleValue), base.dataType).eval(null)
+    }
+}
+
 case class FirstFunctionCarbon(expr: Expression, base: AggregateExpression1) extends AggregateFunction1 {
   def this() = this(null, null) // Required for serialization.
 
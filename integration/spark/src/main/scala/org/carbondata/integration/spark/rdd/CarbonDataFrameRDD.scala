@@ -48,6 +48,7 @@ class CarbonDataFrameRDD(val sql: String, val sc: CarbonContext, logicalPlan: Lo
       if (null != partAcc && null != partAcc.value) {
         queryDetail.setNoOfNodesScanned(partAcc.value.getNumberOfNodesScanned)
         queryDetail.setNoOfRowsScanned(partAcc.value.getNoOfRowsScanned)
+        queryStatsCollector.logQueryProfile(queryId, timeTaken, partAcc.value.getProfile)
       }
 
 
@@ -167,6 +167,8 @@ class CarbonDataLoadRDD[K, V](
                 logInfo("Data Loaded successfully with LoadCount:" + loadCount)
               }
             } else {
+              // fact files uploaded during the failed load are not committed
+              CarbonLoaderUtil.abortLoadUpload(model, storeLocation, currentRestructNumber)
               logInfo("DataLoad failure")
             }
           }
@@ -24,8 +24,9 @@ import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.cubemodel.Partitioner
 import org.apache.spark.{Logging, Partition, SerializableWritable, SparkContext, TaskContext}
 import org.carbondata.common.logging.impl.StandardLogService
+import org.carbondata.core.metadata.CarbonMetadata
 import org.carbondata.integration.spark.PartitionResult
-import org.carbondata.integration.spark.partition.api.impl.CSVFilePartitioner
+import org.carbondata.integration.spark.partition.api.impl.{CSVFilePartitioner, RangeDataPartitionerImpl}
 import org.carbondata.integration.spark.splits.TableSplit
 import org.carbondata.integration.spark.util.CarbonQueryUtil
 
@@ -67,6 +68,13 @@ class CarbonDataPartitionRDD[K, V](
 
   sc.setLocalProperty("spark.scheduler.pool", "DDL")
 
+  // partitioner details are stored with the cube schema, executors may not have it loaded,
+  // so they are read on the driver and only they are sent with the tasks
+  private val partitionDetails = {
+    val carbonCube = CarbonMetadata.getInstance().getCube(schemaName + "_" + cubeName)
+    RangeDataPartitionerImpl.getPartitionDetails(if (null == carbonCube) null else carbonCube.getCube)
+  }
+
   override def getPartitions: Array[Partition] = {
     val splits = CarbonQueryUtil.getPartitionSplits(sourcePath, partitioner.nodeList, partitioner.partitionCount)
     //
@@ -87,7 +95,7 @@ class CarbonDataPartitionRDD[K, V](
       StandardLogService.setThreadName(split.serializableHadoopSplit.value.getPartition().getUniqueID(), null);
       logInfo("Input split: " + split.serializableHadoopSplit.value)
 
-      val csvPart = new CSVFilePartitioner(partitioner.partitionClass, sourcePath)
+      val csvPart = new CSVFilePartitioner(partitioner.partitionClass, sourcePath, partitionDetails)
       csvPart.splitFile(schemaName, cubeName, split.serializableHadoopSplit.value.getPartition().getFilesPath, targetFolder, partitioner.nodeList.toList, partitioner.partitionCount, partitioner.partitionColumn, requiredColumns, delimiter, quoteChar, headers, escapeChar, multiLine)
 
       var finished = false
@@ -28,6 +28,7 @@ import org.apache.spark.rdd.RDD
 import org.apache.spark.{Logging, Partition, SerializableWritable, SparkContext, TaskContext}
 import org.carbondata.common.logging.LogServiceFactory
 import org.carbondata.core.iterator.CarbonIterator
+import org.carbondata.core.memory.ExecutorMemoryManager
 import org.carbondata.core.carbon.CarbonDef
 import org.carbondata.core.util.{CarbonProperties, CarbonUtil}
 import org.carbondata.integration.spark.KeyVal
@@ -35,7 +36,7 @@ import org.carbondata.integration.spark.splits.TableSplit
 import org.carbondata.integration.spark.util.{CarbonQueryUtil, CarbonSparkInterFaceLogEvent}
 import org.carbondata.query.datastorage.InMemoryTableStore
 import org.carbondata.query.executer.CarbonQueryExecutorModel
-import org.carbondata.query.querystats.{PartitionDetail, PartitionStatsCollector}
+import org.carbondata.query.querystats.{PartitionDetail, PartitionStatsCollector, QueryProfile}
 import org.carbondata.query.result.RowResult
 
 import scala.collection.JavaConversions._
@@ -87,6 +88,12 @@ class CarbonDataRDD[K, V](
       var partitionDetail: PartitionDetail = _
       var partitionStatsCollector: PartitionStatsCollector = _
       var queryStartTime: Long = 0
+      val memoryManager = ExecutorMemoryManager.getInstance
+      var isAdmitted = false
+      var closed = false
+      // slot and reservations of the query are released even if the task is
+      // stopped before the iterator is consumed
+      context.addOnCompleteCallback(() => close())
       try {
         //Below code is To collect statistics for partition
         val split = theSplit.asInstanceOf[CarbonPartition]
@@ -102,6 +109,8 @@ class CarbonDataRDD[K, V](
         }
         queryStartTime = System.currentTimeMillis
         carbonQueryModel.setPartitionId(part)
+        carbonQueryModel.setSubSplitIndex(split.serializableHadoopSplit.value.getSubSplitIndex)
+        carbonQueryModel.setNumberOfSubSplits(split.serializableHadoopSplit.value.getNumberOfSubSplits)
 
         logInfo("Input split: " + split.serializableHadoopSplit.value)
 
@@ -136,15 +145,19 @@ class CarbonDataRDD[K, V](
         }
         CarbonQueryUtil.updateDimensionWithHighCardinalityVal(schema, carbonQueryModel)
 
-        if (CarbonQueryUtil.isQuickFilter(carbonQueryModel)) {
-          rowIterator = CarbonQueryUtil.getQueryExecuter(carbonQueryModel.getCube(), carbonQueryModel.getFactTable(), carbonQueryModel.getQueryScopeObject).executeDimension(carbonQueryModel);
-        } else {
-          rowIterator = CarbonQueryUtil.getQueryExecuter(carbonQueryModel.getCube(), carbonQueryModel.getFactTable(), carbonQueryModel.getQueryScopeObject).execute(carbonQueryModel);
+        // wait till executor has memory for the query
+        isAdmitted = memoryManager.admitQuery(carbonQueryModel.getQueryId)
+        if (!isAdmitted) {
+          sys.error("Query is not admitted as executor memory is exhausted")
         }
+
+        // rows of segments which are in query result cache are not scanned again
+        rowIterator = CarbonQueryUtil.executeQuery(carbonQueryModel, cubeCreationTime,
+          schemaLastUpdatedTime)
       } catch {
         case e: Exception =>
           LOGGER.error(CarbonSparkInterFaceLogEvent.UNIBI_CARBON_SPARK_INTERFACE_MSG, e)
-          updateCubeAndLevelCacheStatus(levelCacheKeys)
+          close()
           if (null != e.getMessage) {
             sys.error("Exception occurred in query execution :: " + e.getMessage)
           } else {
@@ -158,6 +171,37 @@ class CarbonDataRDD[K, V](
         }
       }
 
+      def finishQuery() = {
+        if (isAdmitted) {
+          isAdmitted = false
+          memoryManager.finishQuery(carbonQueryModel.getQueryId)
+        }
+      }
+
+      def close() = {
+        if (!closed) {
+          closed = true
+          // peak is taken before the reservations of the query are released
+          if (null != partitionDetail) {
+            partitionDetail.getProfile.max(QueryProfile.Counter.PEAK_MEMORY_RESERVED,
+              memoryManager.getPeakReservedMemory(carbonQueryModel.getQueryId))
+          }
+          updateCubeAndLevelCacheStatus(levelCacheKeys)
+          finishQuery()
+          if (null != partitionDetail) {
+            //merging partition stats to accumulator
+            val partAcc = carbonQueryModel.getPartitionAccumulator
+            val queryProfile = partitionDetail.getProfile
+            queryProfile.add(QueryProfile.Counter.EXECUTION_TIME,
+              (System.currentTimeMillis - queryStartTime) * 1000000L)
+            partAcc.add(partitionDetail)
+            partitionStatsCollector.removePartitionDetail(carbonQueryModel.getQueryId)
+            logInfo("Total Time Taken to execute the query in Carbon Side: " +
+              (System.currentTimeMillis - queryStartTime) + " ms, profile: " + queryProfile)
+          }
+        }
+      }
+
       var havePair = false
       var finished = false
 
@@ -168,7 +212,7 @@ class CarbonDataRDD[K, V](
           havePair = !finished
         }
         if (finished) {
-          updateCubeAndLevelCacheStatus(levelCacheKeys)
+          close()
         }
         !finished
       }
@@ -183,13 +227,6 @@ class CarbonDataRDD[K, V](
         val value = row.getValue()
         keyClass.getKey(key, value)
       }
-
-      //merging partition stats to accumulator
-      val partAcc = carbonQueryModel.getPartitionAccumulator
-      partAcc.add(partitionDetail)
-      partitionStatsCollector.removePartitionDetail(carbonQueryModel.getQueryId)
-      println("*************************** Total Time Taken to execute the query in Carbon Side: " +
-        (System.currentTimeMillis - queryStartTime))
     }
     iter
   }
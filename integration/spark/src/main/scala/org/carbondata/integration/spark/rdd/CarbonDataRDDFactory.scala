@@ -38,7 +38,7 @@ import org.carbondata.core.carbon.CarbonDef.Schema
 import org.carbondata.core.util.{CarbonProperties, CarbonUtil}
 import org.carbondata.integration.spark._
 import org.carbondata.integration.spark.load.{DeleteLoadFolders, CarbonLoadModel, CarbonLoaderUtil}
-import org.carbondata.integration.spark.merger.CarbonDataMergerUtil
+import org.carbondata.integration.spark.merger.{CarbonCompactionScheduler, CarbonDataMergerUtil, CompactionTask}
 import org.carbondata.integration.spark.util.LoadMetadataUtil
 import org.carbondata.processing.util.CarbonDataProcessorUtil
 import org.carbondata.query.scanner.impl.{CarbonKey, CarbonValue}
@@ -95,14 +95,121 @@ object CarbonDataRDDFactory extends Logging {
                       carbonLoadModel: CarbonLoadModel,
                       storeLocation: String,
                       hdfsStoreLocation: String,
+                      kettleHomePath: String,
                       partitioner: Partitioner) {
-    val kv: KeyVal[CarbonKey, CarbonValue] = new KeyValImpl();
     val cube = CarbonMetadata.getInstance().getCubeWithCubeName(carbonLoadModel.getCubeName(), carbonLoadModel.getSchemaName());
     val metaDataPath: String = cube.getMetaDataFilepath()
     var currentRestructNumber = CarbonUtil.checkAndReturnCurrentRestructFolderNumber(metaDataPath, "RS_", false)
     if (-1 == currentRestructNumber) {
       currentRestructNumber = 0
     }
+    compactLoads(sc, carbonLoadModel, storeLocation, hdfsStoreLocation, kettleHomePath, partitioner, currentRestructNumber)
+  }
+
+  /**
+   * Merges the loads of the cube if the number of loads crossed the merge
+   * threshold, in background if background compaction is enabled.
+   */
+  def triggerCompaction(
+                         sc: SQLContext,
+                         carbonLoadModel: CarbonLoadModel,
+                         storeLocation: String,
+                         hdfsStoreLocation: String,
+                         kettleHomePath: String,
+                         partitioner: Partitioner) {
+    val cube = CarbonMetadata.getInstance().getCubeWithCubeName(carbonLoadModel.getCubeName(), carbonLoadModel.getSchemaName());
+    val compactionTask = new CompactionTask {
+      override def compact() {
+        var currentRestructNumber = CarbonUtil.checkAndReturnCurrentRestructFolderNumber(cube.getMetaDataFilepath(), "RS_", false)
+        if (-1 == currentRestructNumber) {
+          currentRestructNumber = 0
+        }
+        if (CarbonDataMergerUtil.checkIfLoadMergingRequired(cube.getMetaDataFilepath(), carbonLoadModel, hdfsStoreLocation, partitioner.partitionCount, currentRestructNumber)) {
+          compactLoads(sc, carbonLoadModel, storeLocation, hdfsStoreLocation, kettleHomePath, partitioner, currentRestructNumber)
+        }
+      }
+    }
+    if (CarbonCompactionScheduler.isBackgroundCompactionEnabled()) {
+      CarbonCompactionScheduler.getInstance().submit(cube.getMetaDataFilepath(), compactionTask)
+    } else {
+      compactionTask.compact()
+    }
+  }
+
+  /**
+   * Merges the loads selected by the configured compaction policy and records
+   * the slice count of the cube before and after merging.
+   */
+  private def compactLoads(
+                            sc: SQLContext,
+                            carbonLoadModel: CarbonLoadModel,
+                            storeLocation: String,
+                            hdfsStoreLocation: String,
+                            kettleHomePath: String,
+                            partitioner: Partitioner,
+                            currentRestructNumber: Int): Boolean = {
+    val cube = CarbonMetadata.getInstance().getCubeWithCubeName(carbonLoadModel.getCubeName(), carbonLoadModel.getSchemaName());
+    val statistics =
+      CarbonCompactionScheduler.getInstance().getStatistics(cube.getMetaDataFilepath())
+    val compactionStartTime = System.currentTimeMillis()
+    val slicesBefore = CarbonDataMergerUtil.getNumberOfSlices(cube.getMetaDataFilepath())
+    val loadsToMerge = CarbonDataMergerUtil.getLoadsToMergeFromHDFS(
+      hdfsStoreLocation, FileFactory.getFileType(hdfsStoreLocation),
+      cube.getMetaDataFilepath(), carbonLoadModel, currentRestructNumber,
+      partitioner.partitionCount);
+
+    if (null == loadsToMerge || loadsToMerge.length < 2) {
+      return false
+    }
+    val cubeCreationTime = CarbonEnv.getInstance(sc).carbonCatalog.getCubeCreationTime(carbonLoadModel.getSchemaName, carbonLoadModel.getCubeName)
+    val MergedLoadName = CarbonDataMergerUtil.getMergedLoadName(loadsToMerge)
+    var finalMergeStatus = true
+    val mergeStatus = new CarbonMergerRDD(
+      sc.sparkContext,
+      new MergeResultImpl(),
+      carbonLoadModel,
+      storeLocation,
+      hdfsStoreLocation,
+      partitioner,
+      currentRestructNumber,
+      cube.getMetaDataFilepath(),
+      loadsToMerge,
+      MergedLoadName,
+      kettleHomePath,
+      cubeCreationTime).collect
+
+    mergeStatus.foreach { eachMergeStatus =>
+      val state = eachMergeStatus._2
+      if (!state) {
+        finalMergeStatus = false
+      }
+    }
+    if (!finalMergeStatus) {
+      statistics.recordFailure()
+      logError("Merging of loads " + loadsToMerge + " failed")
+      return false
+    }
+    val carbonLock = new MetadataLock(cube.getMetaDataFilepath())
+    try {
+      if (!carbonLock.lockWithRetries()) {
+        statistics.recordFailure()
+        logError("Unable to get the cube metadata file lock to update merge status")
+        return false
+      }
+      // a load can be deleted while merging, merged load folder is removed by clean files
+      if (!CarbonDataMergerUtil.isLoadsValidForMerge(loadsToMerge, cube.getMetaDataFilepath())) {
+        statistics.recordFailure()
+        logError("Merging of loads " + loadsToMerge + " is discarded as some loads are deleted")
+        return false
+      }
+      CarbonDataMergerUtil.updateLoadMetadataWithMergeStatus(loadsToMerge, cube.getMetaDataFilepath(), MergedLoadName, carbonLoadModel)
+    } finally {
+      carbonLock.unlock()
+    }
+    val slicesAfter = CarbonDataMergerUtil.getNumberOfSlices(cube.getMetaDataFilepath())
+    statistics.recordCompaction(slicesBefore, slicesAfter, loadsToMerge.length, System.currentTimeMillis() - compactionStartTime)
+    logInfo("Merged loads " + loadsToMerge + " into " + MergedLoadName + ", " + statistics)
+    true
   }
 
   def deleteLoadByDate(
@@ -357,41 +464,7 @@ object CarbonDataRDDFactory extends Logging {
           logInfo("********schema updated**********")
         }
         logger.audit("The data loading is successful.")
-        if (CarbonDataMergerUtil.checkIfLoadMergingRequired(cube.getMetaDataFilepath(), carbonLoadModel, hdfsStoreLocation, partitioner.partitionCount, currentRestructNumber)) {
-
-          val loadsToMerge = CarbonDataMergerUtil.getLoadsToMergeFromHDFS(
-            hdfsStoreLocation, FileFactory.getFileType(hdfsStoreLocation),
-            cube.getMetaDataFilepath(), carbonLoadModel, currentRestructNumber,
-            partitioner.partitionCount);
-
-          if (loadsToMerge.length == 2) {
-            val MergedLoadName = CarbonDataMergerUtil.getMergedLoadName(loadsToMerge)
-            var finalMergeStatus = true
-            val mergeStatus = new CarbonMergerRDD(
-              sc.sparkContext,
-              new MergeResultImpl(),
-              carbonLoadModel,
-              storeLocation,
-              hdfsStoreLocation,
-              partitioner,
-              currentRestructNumber,
-              cube.getMetaDataFilepath(),
-              loadsToMerge,
-              MergedLoadName,
-              kettleHomePath,
-              cubeCreationTime).collect
-
-            mergeStatus.foreach { eachMergeStatus =>
-              val state = eachMergeStatus._2
-              if (!state) {
-                finalMergeStatus = false
-              }
-            }
-            if (finalMergeStatus) {
-              CarbonDataMergerUtil.updateLoadMetadataWithMergeStatus(loadsToMerge, cube.getMetaDataFilepath(), MergedLoadName, carbonLoadModel)
-            }
-          }
-        }
+        triggerCompaction(sc, carbonLoadModel, storeLocation, hdfsStoreLocation, kettleHomePath, partitioner)
       }
     }
 
@@ -37,6 +37,7 @@ import org.carbondata.integration.spark.util.CarbonQueryUtil
 import org.carbondata.query.datastorage.InMemoryTableStore
 
 import scala.collection.JavaConversions._
+import scala.collection.mutable.ArrayBuffer
 
 class CarbonMergerRDD[K, V](
                             sc: SparkContext,
@@ -113,7 +114,20 @@ class CarbonMergerRDD[K, V](
       def checkAndLoadAggregationTable(): String = {
         var dataloadStatus = CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS
         val schema = model.getSchema
-        val aggTables = schema.cubes(0).fact.asInstanceOf[CarbonDef.Table].aggTables
+        // loads of aggregate tables are merged like the fact loads, only the
+        // aggregate tables which cannot be merged are loaded from merged fact load
+        val allAggTables = schema.cubes(0).fact.asInstanceOf[CarbonDef.Table].aggTables
+        val aggTables = if (null == allAggTables) {
+          allAggTables
+        } else {
+          val notMergedAggTables = new ArrayBuffer[CarbonDef.AggTable]
+          for (aggTable <- allAggTables) {
+            if (!mergeAggregationTable(aggTable)) {
+              notMergedAggTables += aggTable
+            }
+          }
+          notMergedAggTables.toArray
+        }
         if (null != aggTables && !aggTables.isEmpty) {
           val details = model.getLoadMetadataDetails.toSeq.toArray
           val newSlice = CarbonCommonConstants.LOAD_FOLDER + mergedLoadName
@@ -142,6 +156,35 @@ class CarbonMergerRDD[K, V](
         dataloadStatus
       }
 
+      def mergeAggregationTable(aggTable: CarbonDef.AggTable): Boolean = {
+        val aggTableName = CarbonLoaderUtil.getAggregateTableName(aggTable)
+        // each aggregate table is merged with its own copy of the model so that
+        // the fact load model is not changed
+        val aggModel = model.getCopy
+        val isMerged = try {
+          val isMerged = CarbonDataMergerUtil.executeAggregateTableMerging(aggModel, aggTableName,
+            storeLocation, hdfsStoreLocation, currentRestructNumber, metadataFilePath,
+            loadsToMerge, mergedLoadName)
+          if (isMerged) {
+            aggModel.setAggLoadRequest(true)
+            aggModel.setAggTableName(aggTableName)
+            CarbonLoaderUtil.copyMergedLoadToHDFS(aggModel, currentRestructNumber, mergedLoadName)
+            logInfo(s"Aggregate table loads merged :: $aggTableName")
+          }
+          isMerged
+        } catch {
+          case e: Exception =>
+            logWarning(s"Aggregate table loads merging failed :: $aggTableName", e)
+            false
+        }
+        if (!isMerged) {
+          // merged load can be partly written or copied, it is removed so that
+          // it is loaded again from the merged fact load into an empty folder
+          CarbonLoaderUtil.deleteMergedLoad(aggModel, aggTableName, storeLocation,
+            hdfsStoreLocation, currentRestructNumber, mergedLoadName)
+        }
+        isMerged
+      }
 
       def loadCubeSlices(listOfLoadFolders: java.util.List[String], deatails: Array[LoadMetadataDetails]) = {
         CarbonProperties.getInstance().addProperty("carbon.cache.used", "false");
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.merger
+
+import java.util.Arrays
+
+import scala.collection.JavaConversions._
+
+import org.scalatest.FunSuite
+
+/**
+ * Test Class for the loads selected by size tiered and time window
+ * compaction policies
+ */
+class CompactionPolicyTestCase extends FunSuite {
+
+  private def sizeTieredPolicy = new SizeTieredCompactionPolicy(0.5, 1.5, 100, 2, 3)
+
+  private def candidate(order: Int, size: Long, loadStartTime: Long = -1) =
+    new CompactionCandidate("Load_" + order, size, loadStartTime, order)
+
+  private def candidates(loads: CompactionCandidate*) = Arrays.asList(loads: _*)
+
+  test("size tiered policy merges the bucket with smallest average size") {
+    val loads = candidates(candidate(0, 1000), candidate(1, 1100), candidate(2, 10),
+      candidate(3, 20), candidate(4, 5000))
+    assert(sizeTieredPolicy.selectLoadsToMerge(loads).toList == List("Load_2", "Load_3"))
+  }
+
+  test("size tiered policy groups loads of similar size") {
+    val loads = candidates(candidate(0, 1000), candidate(1, 1400), candidate(2, 10),
+      candidate(3, 3000))
+    val buckets = sizeTieredPolicy.getBuckets(loads).map(_.map(_.getLoadName).toList).toList
+    assert(buckets == List(List("Load_2"), List("Load_0", "Load_1"), List("Load_3")))
+  }
+
+  test("size tiered policy merges smallest loads first up to max loads") {
+    val loads = candidates(candidate(0, 1040), candidate(1, 1030), candidate(2, 1020),
+      candidate(3, 1010), candidate(4, 1000))
+    assert(sizeTieredPolicy.selectLoadsToMerge(loads).toList ==
+      List("Load_2", "Load_3", "Load_4"))
+  }
+
+  test("size tiered policy merges nothing without a bucket of min loads") {
+    val loads = candidates(candidate(0, 10), candidate(1, 1000), candidate(2, 100000))
+    assert(sizeTieredPolicy.selectLoadsToMerge(loads).isEmpty)
+  }
+
+  test("time window policy merges oldest closed window first") {
+    val policy = new TimeWindowCompactionPolicy(1000, 3, sizeTieredPolicy)
+    val loads = candidates(candidate(0, 10, 3100), candidate(1, 10, 3200),
+      candidate(2, 5000, 2100), candidate(3, 10, 5000), candidate(4, 10, 2900),
+      candidate(5, 10, 10100), candidate(6, 10, 10200))
+    assert(policy.selectLoadsToMerge(loads, 10500).toList == List("Load_2", "Load_4"))
+  }
+
+  test("time window policy merges at most max loads of a window") {
+    val policy = new TimeWindowCompactionPolicy(1000, 3, sizeTieredPolicy)
+    val loads = candidates(candidate(0, 10, 2000), candidate(1, 10, 2100),
+      candidate(2, 10, 2200), candidate(3, 10, 2300))
+    assert(policy.selectLoadsToMerge(loads, 10500).toList ==
+      List("Load_0", "Load_1", "Load_2"))
+  }
+
+  test("time window policy uses size tiered policy for current window") {
+    val policy = new TimeWindowCompactionPolicy(1000, 3, sizeTieredPolicy)
+    val loads = candidates(candidate(0, 10, 5000), candidate(1, 5000, 10100),
+      candidate(2, 10, 10200), candidate(3, 20))
+    assert(policy.selectLoadsToMerge(loads, 10500).toList == List("Load_2", "Load_3"))
+  }
+}
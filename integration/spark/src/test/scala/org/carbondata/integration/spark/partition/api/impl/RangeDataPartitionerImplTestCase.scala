@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.integration.spark.partition.api.impl
+
+import java.util.Arrays
+
+import scala.collection.JavaConversions._
+
+import org.apache.spark.sql.cubemodel.Partitioner
+import org.carbondata.core.carbon.CarbonDef
+import org.carbondata.core.constants.CarbonCommonConstants
+import org.carbondata.core.util.CarbonProperties
+import org.carbondata.integration.spark.query.CarbonQueryPlan
+import org.carbondata.query.expression.{ColumnExpression, DataType, Expression, LiteralExpression}
+import org.carbondata.query.expression.conditional._
+import org.carbondata.query.expression.logical.{AndExpression, OrExpression}
+import org.scalatest.{BeforeAndAfterAll, FunSuite}
+
+/**
+ * Test Class for range partitioner, bounds are 10, 20 and 30
+ */
+class RangeDataPartitionerImplTestCase extends FunSuite with BeforeAndAfterAll {
+
+  var cube: CarbonDef.Cube = _
+
+  var partitioner: RangeDataPartitionerImpl = _
+
+  override def beforeAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS, "10,20,30")
+    cube = new CarbonDef.Cube
+    RangeDataPartitionerImpl.addPartitionDetails(cube, 4)
+    // bounds stored with the cube are not changed by later configuration
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_RANGE_PARTITION_BOUNDS, "5")
+    partitioner = new RangeDataPartitionerImpl
+    partitioner.initialize("/store", Array("id", "amount"),
+      Partitioner(classOf[RangeDataPartitionerImpl].getName, Array("amount"), 4, Array()),
+      RangeDataPartitionerImpl.getPartitionDetails(cube))
+  }
+
+  private def column = new ColumnExpression("amount", DataType.IntegerType)
+
+  private def literal(value: Int) = new LiteralExpression(value, DataType.IntegerType)
+
+  private def getPartitions(filter: Expression): Seq[String] = {
+    val queryPlan = new CarbonQueryPlan("default", "rangecube")
+    queryPlan.setFilterExpression(filter)
+    partitioner.getPartitions(queryPlan).map(_.getUniqueID)
+  }
+
+  test("bounds are read from cube schema") {
+    assert(partitioner.getAllPartitions.size() == 4)
+    assert(partitioner.getPartionForTuple(Array("1", "20"), 0).getUniqueID == "2")
+    assert(partitioner.getPartionForTuple(Array("1", "9"), 0).getUniqueID == "0")
+    assert(partitioner.getPartionForTuple(Array("1", "30"), 0).getUniqueID == "3")
+  }
+
+  test("equals filter selects partition of the value") {
+    assert(getPartitions(new EqualToExpression(column, literal(15))) == Seq("1"))
+    assert(getPartitions(new EqualToExpression(column, literal(10))) == Seq("1"))
+  }
+
+  test("range filters select partitions on one side of the value") {
+    assert(getPartitions(new GreaterThanExpression(column, literal(20))) == Seq("2", "3"))
+    assert(getPartitions(new GreaterThanEqualToExpression(column, literal(25))) == Seq("2", "3"))
+    assert(getPartitions(new LessThanExpression(column, literal(20))) == Seq("0", "1"))
+    assert(getPartitions(new LessThanEqualToExpression(column, literal(20))) == Seq("0", "1", "2"))
+    // value on left side of the column
+    assert(getPartitions(new GreaterThanExpression(literal(20), column)) == Seq("0", "1"))
+    assert(getPartitions(new LessThanEqualToExpression(literal(31), column)) == Seq("3"))
+  }
+
+  test("and filters are intersected and or filters are merged") {
+    val between = new AndExpression(new GreaterThanEqualToExpression(column, literal(12)),
+      new LessThanEqualToExpression(column, literal(25)))
+    assert(getPartitions(between) == Seq("1", "2"))
+    val or = new OrExpression(new EqualToExpression(column, literal(5)),
+      new EqualToExpression(column, literal(35)))
+    assert(getPartitions(or) == Seq("0", "3"))
+  }
+
+  test("in filter selects partitions of the values") {
+    val values = new ListExpression(Arrays.asList[Expression](literal(15), literal(31)))
+    assert(getPartitions(new InExpression(column, values)) == Seq("1", "3"))
+  }
+
+  test("filters on other columns select all partitions") {
+    val filter =
+      new EqualToExpression(new ColumnExpression("id", DataType.IntegerType), literal(15))
+    assert(getPartitions(filter) == Seq("0", "1", "2", "3"))
+  }
+
+  test("bounds not matching partition count are not stored") {
+    intercept[IllegalArgumentException] {
+      RangeDataPartitionerImpl.addPartitionDetails(new CarbonDef.Cube, 3)
+    }
+  }
+
+  test("partitioner is not initialized without stored bounds") {
+    intercept[IllegalArgumentException] {
+      new RangeDataPartitionerImpl().initialize("/store", Array("id", "amount"),
+        Partitioner(classOf[RangeDataPartitionerImpl].getName, Array("amount"), 4, Array()),
+        RangeDataPartitionerImpl.getPartitionDetails(new CarbonDef.Cube))
+    }
+  }
+}
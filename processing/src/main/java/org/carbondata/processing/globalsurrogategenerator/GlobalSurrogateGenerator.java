@@ -19,8 +19,12 @@
 
 package org.carbondata.processing.globalsurrogategenerator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.carbondata.common.logging.LogService;
@@ -30,6 +34,7 @@ import org.carbondata.core.datastorage.store.impl.FileFactory;
 import org.carbondata.core.carbon.CarbonDef.Cube;
 import org.carbondata.core.carbon.CarbonDef.CubeDimension;
 import org.carbondata.core.carbon.CarbonDef.Schema;
+import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 import org.carbondata.processing.util.CarbonSchemaParser;
@@ -86,21 +91,54 @@ public class GlobalSurrogateGenerator {
                     .getSlices(storeLocation.toString(), generatorInfo.getTableName(),
                             FileFactory.getFileType(storeLocation.toString()));
         }
-        ExecutorService writerExecutorService = Executors.newFixedThreadPool(20);
-        LevelGlobalSurrogateGeneratorThread generatorThread = null;
         CubeDimension[] cubeDims = generatorInfo.getCubeDimensions();
+        if (cubeDims.length < 1) {
+            return;
+        }
+        ExecutorService writerExecutorService =
+                Executors.newFixedThreadPool(Math.min(cubeDims.length, getNumberOfThreads()));
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(cubeDims.length);
+        LevelGlobalSurrogateGeneratorThread generatorThread = null;
         for (int i = 0; i < cubeDims.length; i++) {
             generatorThread =
                     new LevelGlobalSurrogateGeneratorThread(partitionLocation, cubeDims[i], schema,
                             generatorInfo.getTableName(), generatorInfo.getPartiontionColumnName());
-            writerExecutorService.submit(generatorThread);
+            futures.add(writerExecutorService.submit(generatorThread));
         }
         writerExecutorService.shutdown();
         try {
             writerExecutorService.awaitTermination(2, TimeUnit.DAYS);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, e,
+                            "Problem while generating global surrogate of dimension "
+                                    + cubeDims[i].name);
+                }
+            }
         } catch (InterruptedException e) {
             LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, e,
                     e.getMessage());
         }
     }
+
+    /**
+     * Below method will be used to get the number of levels processed in
+     * parallel, each level is read, sorted and merged by one thread so it is
+     * scaled on the number of cores of the loading
+     *
+     * @return number of threads
+     */
+    private int getNumberOfThreads() {
+        int numberOfCores;
+        try {
+            numberOfCores = Integer.parseInt(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.NUM_CORES_LOADING,
+                            String.valueOf(Runtime.getRuntime().availableProcessors())));
+        } catch (NumberFormatException e) {
+            numberOfCores = Runtime.getRuntime().availableProcessors();
+        }
+        return Math.max(1, numberOfCores);
+    }
 }
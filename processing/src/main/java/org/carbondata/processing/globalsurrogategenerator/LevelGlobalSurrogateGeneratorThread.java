@@ -21,17 +21,13 @@ package org.carbondata.processing.globalsurrogategenerator;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.*;
+import java.util.concurrent.Callable;
 
-import org.apache.commons.codec.binary.Base64;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
@@ -41,21 +37,38 @@ import org.carbondata.core.datastorage.store.impl.FileFactory.FileType;
 import org.carbondata.core.carbon.CarbonDef.*;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
+import org.carbondata.core.util.CarbonUtilException;
 import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 import org.carbondata.processing.util.CarbonSchemaParser;
 
+/**
+ * Generates the global surrogate keys of one level. Level file of each
+ * partition is read as a stream and cut into sorted runs of at most sort
+ * size members, runs beyond the first are written to temp files. All runs
+ * are merged in one pass in member order, so equal members of different
+ * partitions come together and get the same global key, members of the
+ * partition column get a key per partition. Only the sort buffer and the
+ * remap table of local to global key, one int per member, are held in
+ * memory.
+ */
 public class LevelGlobalSurrogateGeneratorThread implements Callable<Void> {
     /**
      * LOGGER
      */
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(LevelGlobalSurrogateGeneratorThread.class.getName());
+
     private String[][] partitionLocation;
     private CubeDimension dimension;
     private Schema schema;
     private String tableName;
     private String partitionColumn;
 
+    /**
+     * number of members sorted in memory
+     */
+    private int sortSize;
+
     public LevelGlobalSurrogateGeneratorThread(final String[][] partitionLocation,
             final CubeDimension dimension, final Schema schema, final String tableName,
             final String partitionColumn) {
@@ -64,52 +77,18 @@ public class LevelGlobalSurrogateGeneratorThread implements Callable<Void> {
         this.schema = schema;
         this.tableName = tableName;
         this.partitionColumn = partitionColumn;
-    }
-
-    public static Map<String, Integer> readLevelFileAndUpdateCache(CarbonFile memberFile)
-            throws IOException {
-        DataInputStream inputStream = null;
-        Map<String, Integer> localMemberMap =
-                new HashMap<String, Integer>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-
         try {
-            inputStream = FileFactory.getDataInputStream(memberFile.getPath(),
-                    FileFactory.getFileType(memberFile.getPath()));
-
-            long currentPosition = 4;
-            long size = memberFile.getSize() - 4;
-
-            boolean enableEncoding = Boolean.valueOf(CarbonProperties.getInstance()
-                    .getProperty(CarbonCommonConstants.ENABLE_BASE64_ENCODING,
-                            CarbonCommonConstants.ENABLE_BASE64_ENCODING_DEFAULT));
-            int surrogateValue = inputStream.readInt();
-            while (currentPosition < size) {
-                int len = inputStream.readInt();
-                currentPosition += 4;
-                byte[] rowBytes = new byte[len];
-
-                inputStream.readFully(rowBytes);
-                currentPosition += len;
-                String decodedValue = null;
-
-                if (enableEncoding) {
-                    decodedValue =
-                            new String(Base64.decodeBase64(rowBytes), Charset.defaultCharset());
-                } else {
-                    decodedValue = new String(rowBytes, Charset.defaultCharset());
-                }
-                localMemberMap.put(decodedValue, surrogateValue);
-                surrogateValue++;
-            }
-
-        } catch (Exception e) {
-            LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, e,
-                    e.getMessage());
-            CarbonUtil.closeStreams(inputStream);
-        } finally {
-            CarbonUtil.closeStreams(inputStream);
+            this.sortSize = Integer.parseInt(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.CARBON_GLOBAL_SURROGATE_SORT_SIZE,
+                            CarbonCommonConstants.CARBON_GLOBAL_SURROGATE_SORT_SIZE_DEFAULT));
+        } catch (NumberFormatException e) {
+            this.sortSize = Integer.parseInt(
+                    CarbonCommonConstants.CARBON_GLOBAL_SURROGATE_SORT_SIZE_DEFAULT);
+        }
+        if (this.sortSize < 1) {
+            this.sortSize = Integer.parseInt(
+                    CarbonCommonConstants.CARBON_GLOBAL_SURROGATE_SORT_SIZE_DEFAULT);
         }
-        return localMemberMap;
     }
 
     @Override
@@ -121,201 +100,122 @@ public class LevelGlobalSurrogateGeneratorThread implements Callable<Void> {
         Hierarchy[] extractHierarchies = CarbonSchemaParser.extractHierarchies(schema, dimension);
         Level cubeLevel = extractHierarchies[0].levels[0];
         boolean isPartitionColumn = partitionColumn.equals(cubeLevel.name);
-        if (partitionColumn.equals(cubeLevel.name)) {
-            isPartitionColumn = true;
-        }
 
         RelationOrJoin relation = extractHierarchies[0].relation;
         String hierarchyTable =
                 relation == null ? tableName : ((Table) extractHierarchies[0].relation).name;
         String levelFileName = hierarchyTable + '_' + cubeLevel.name;
 
-        List<PartitionMemberVo> partitionMemberVoList =
-                new ArrayList<PartitionMemberVo>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
-
-        ExecutorService ex = Executors.newFixedThreadPool(10);
-
-        PartitionMemberVo memberVo = null;
-
-        List<Future<Map<String, Integer>>> submitList =
-                new ArrayList<Future<Map<String, Integer>>>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
-
-        for (int i = 0; i < partitionLocation.length; i++) {
-
-            int partitionLength = partitionLocation[i].length;
-            if (partitionLength == 0) {
-                LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
-                        "partition length is 0");
-                continue;
+        List<String> partitionPaths = new ArrayList<String>(partitionLocation.length);
+        List<int[]> partitionKeyRanges = new ArrayList<int[]>(partitionLocation.length);
+        List<SortedLevelMemberRun> runs =
+                new ArrayList<SortedLevelMemberRun>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
+        File tempFolder = getTempFolder(levelFileName);
+        try {
+            for (int i = 0; i < partitionLocation.length; i++) {
+                int partitionLength = partitionLocation[i].length;
+                if (partitionLength == 0) {
+                    LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                            "partition length is 0");
+                    continue;
+                }
+                String path =
+                        partitionLocation[i][partitionLength - 1] + '/' + levelFileName + ".level";
+
+                FileType fileType = FileFactory.getFileType(path);
+                if (!FileFactory.isFileExist(path, fileType)) {
+                    LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                            "File does not exist at path :: " + path);
+                    continue;
+                }
+                CarbonFile carbonFile = FileFactory.getCarbonFile(path, fileType);
+                partitionKeyRanges.add(readLevelFileToSortedRuns(carbonFile,
+                        partitionPaths.size(), tempFolder, runs));
+                partitionPaths.add(partitionLocation[i][partitionLength - 1]);
             }
-            String path =
-                    partitionLocation[i][partitionLength - 1] + '/' + levelFileName + ".level";
-
-            FileType fileType = FileFactory.getFileType(path);
-            if (!FileFactory.isFileExist(path, fileType)) {
-                LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
-                        "File does not exist at path :: " + path);
-                continue;
+            if (partitionPaths.size() < 1) {
+                return null;
             }
-            CarbonFile carbonFile = FileFactory.getCarbonFile(path, fileType);
-
-            memberVo = new PartitionMemberVo();
-            memberVo.setPath(partitionLocation[i][partitionLength - 1]);
-            partitionMemberVoList.add(memberVo);
-            Future<Map<String, Integer>> submit = ex.submit(new ReaderThread(carbonFile));
-            submitList.add(submit);
-        }
-
-        ex.shutdown();
-        ex.awaitTermination(1, TimeUnit.DAYS);
-        if (partitionMemberVoList.size() < 1) {
-            return null;
-        }
-        int maxSeqenceKey = getMaxSequenceKeyAssigned(levelFileName + ".globallevel");
-        int index = 0;
-        for (Future<Map<String, Integer>> future : submitList) {
-            partitionMemberVoList.get(index).setMembersMap(future.get());
-            index++;
-        }
-
-        LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
-                "Time Taken to read surrogate for Level: " + levelFileName + " : " + (
-                        System.currentTimeMillis() - currentTimeMillis));
-
-        currentTimeMillis = System.currentTimeMillis();
-
-        ex = Executors.newFixedThreadPool(5);
-
-        createGlobalSurrogateKey(currentTimeMillis, currentTimeMillis1, isPartitionColumn,
-                levelFileName, partitionMemberVoList, ex, maxSeqenceKey);
-
-        return null;
-    }
-
-    private void createGlobalSurrogateKey(long currentTimeMillis, long currentTimeMillis1,
-            boolean isPartitionColumn, String levelFileName,
-            List<PartitionMemberVo> partitionMemberVoList, ExecutorService ex, int maxSeqenceKey)
-            throws InterruptedException {
-        int[] key = new int[partitionMemberVoList.get(0).getMembersMap().size()];
-        int[] value = new int[partitionMemberVoList.get(0).getMembersMap().size()];
+            LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                    "Time Taken to read and sort members for Level: " + levelFileName + " : " + (
+                            System.currentTimeMillis() - currentTimeMillis) + ", sorted runs: "
+                            + runs.size());
+            currentTimeMillis = System.currentTimeMillis();
 
-        int[] localKey = null;
-        int[] localValue = null;
-        int countVal = 0;
-        int minSeqenceKey = Integer.MAX_VALUE;
-        if (!isPartitionColumn) {
-            for (Entry<String, Integer> entryInfo : partitionMemberVoList.get(0).getMembersMap()
-                    .entrySet()) {
-                if (minSeqenceKey > entryInfo.getValue()) {
-                    minSeqenceKey = entryInfo.getValue();
-                }
-                key[countVal] = entryInfo.getValue();
-                value[countVal] = ++maxSeqenceKey;
-                countVal++;
+            int maxSeqenceKey = getMaxSequenceKeyAssigned(levelFileName + ".globallevel");
+            int[][] globalKeys = new int[partitionKeyRanges.size()][];
+            for (int i = 0; i < globalKeys.length; i++) {
+                globalKeys[i] = new int[partitionKeyRanges.get(i)[1]];
             }
-
-            localKey = key;
-            localValue = value;
+            maxSeqenceKey = SortedLevelMemberRun
+                    .mergeRuns(runs, isPartitionColumn, partitionKeyRanges, globalKeys,
+                            maxSeqenceKey);
             LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                     "Time Taken to generate global surrogate for Level: " + levelFileName + " : "
                             + (System.currentTimeMillis() - currentTimeMillis));
 
-            currentTimeMillis = System.currentTimeMillis();
-
-            ex.submit(new WriterThread(localKey, localValue, partitionMemberVoList.get(0).getPath(),
-                    levelFileName + ".globallevel", maxSeqenceKey, minSeqenceKey));
-
-            processNonPartitionedColumn(currentTimeMillis, levelFileName, partitionMemberVoList, ex,
-                    maxSeqenceKey);
-        } else {
-            for (int i = 0; i < partitionMemberVoList.size(); i++) {
-                countVal = 0;
-                minSeqenceKey = Integer.MAX_VALUE;
-                key = new int[partitionMemberVoList.get(i).getMembersMap().size()];
-                value = new int[partitionMemberVoList.get(i).getMembersMap().size()];
-                for (Entry<String, Integer> entry : partitionMemberVoList.get(i).getMembersMap()
-                        .entrySet()) {
-                    if (minSeqenceKey > entry.getValue()) {
-                        minSeqenceKey = entry.getValue();
-                    }
-                    key[countVal] = entry.getValue();
-                    value[countVal] = ++maxSeqenceKey;
-                    countVal++;
-                }
-
-                localKey = key;
-                localValue = value;
-                LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
-                        "Time Taken to generate global surrogate for Level: " + levelFileName
-                                + " : " + (System.currentTimeMillis() - currentTimeMillis));
-                currentTimeMillis = System.currentTimeMillis();
-                ex.submit(new WriterThread(localKey, localValue,
-                        partitionMemberVoList.get(i).getPath(), levelFileName + ".globallevel",
-                        maxSeqenceKey, minSeqenceKey));
+            for (int i = 0; i < globalKeys.length; i++) {
+                writeGlobalSurrogateKeyFile(partitionPaths.get(i), globalKeys[i],
+                        levelFileName + ".globallevel", maxSeqenceKey,
+                        partitionKeyRanges.get(i)[0]);
+            }
+        } finally {
+            for (SortedLevelMemberRun run : runs) {
+                run.close();
             }
+            deleteTempFolder(tempFolder);
         }
-
         LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                 "Time Taken to write global surrogate for Level: " + levelFileName + " : " + (
                         System.currentTimeMillis() - currentTimeMillis1));
-
-        ex.shutdown();
-        ex.awaitTermination(1, TimeUnit.DAYS);
+        return null;
     }
 
-    private void processNonPartitionedColumn(long currentTimeMillis, String levelFileName,
-            List<PartitionMemberVo> partitionMemberVoList, ExecutorService ex, int maxSeqenceKey) {
-        int[] key;
-        int[] value;
-        int[] localKey;
-        int[] localValue;
-        int counter;
-        int minSeqenceKey;
-        Integer surrogateKey = null;
-        boolean isFound = false;
-        List<Integer> notFoundSurrogateKeys = null;
-        for (int i = 1; i < partitionMemberVoList.size(); i++) {
-            counter = 0;
-            minSeqenceKey = Integer.MAX_VALUE;
-            key = new int[partitionMemberVoList.get(i).getMembersMap().size()];
-            value = new int[partitionMemberVoList.get(i).getMembersMap().size()];
+    /**
+     * Below method will be used to read the level file of a partition and cut
+     * it into sorted runs
+     *
+     * @param memberFile     level file
+     * @param partitionIndex index of the partition
+     * @param tempFolder     folder of temp files
+     * @param runs           list to which runs are added
+     * @return min surrogate key and number of members of the level file
+     * @throws IOException if level file cannot be read or temp file written
+     */
+    private int[] readLevelFileToSortedRuns(CarbonFile memberFile, int partitionIndex,
+            File tempFolder, List<SortedLevelMemberRun> runs) throws IOException {
+        DataInputStream inputStream = null;
+        try {
+            inputStream = FileFactory.getDataInputStream(memberFile.getPath(),
+                    FileFactory.getFileType(memberFile.getPath()));
+            return SortedLevelMemberRun
+                    .readSortedRuns(inputStream, memberFile.getSize(), partitionIndex, sortSize,
+                            tempFolder, runs);
+        } finally {
+            CarbonUtil.closeStreams(inputStream);
+        }
+    }
 
-            notFoundSurrogateKeys = new ArrayList<Integer>();
-            for (Entry<String, Integer> entry : partitionMemberVoList.get(i).getMembersMap()
-                    .entrySet()) {
-                surrogateKey = null;
-                isFound = false;
-                for (int j = 0; j < i; j++) {
-                    surrogateKey = partitionMemberVoList.get(j).getMembersMap().get(entry.getKey());
-                    if (null != surrogateKey) {
-                        isFound = true;
-                        if (minSeqenceKey > entry.getValue()) {
-                            minSeqenceKey = entry.getValue();
-                        }
-                        key[counter] = entry.getValue();
-                        value[counter] = surrogateKey;
-                        counter++;
-                        break;
-                    }
-                }
-                if (!isFound) {
-                    notFoundSurrogateKeys.add(entry.getValue());
-                }
-            }
-            for (Integer notFoundSurrgates : notFoundSurrogateKeys) {
-                key[counter] = notFoundSurrgates;
-                value[counter] = ++maxSeqenceKey;
-                counter++;
-            }
-            localKey = key;
-            localValue = value;
-            ex.submit(new WriterThread(localKey, localValue, partitionMemberVoList.get(i).getPath(),
-                    levelFileName + ".globallevel", maxSeqenceKey, minSeqenceKey));
+    private File getTempFolder(String levelFileName) {
+        String baseLocation = CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.STORE_LOCATION_TEMP_PATH,
+                        System.getProperty("java.io.tmpdir"));
+        File tempFolder = new File(baseLocation + File.separator
+                + CarbonCommonConstants.GLOBAL_SURROGATE_TEMP_FILE_LOCATION + File.separator
+                + schema.name + '_' + levelFileName + '_' + System.nanoTime());
+        if (!tempFolder.mkdirs()) {
             LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
-                    "Time Taken to generate global surrogate for Level: " + levelFileName + " : "
-                            + (System.currentTimeMillis() - currentTimeMillis));
+                    "Global surrogate temp location already exists: " + tempFolder);
+        }
+        return tempFolder;
+    }
 
-            currentTimeMillis = System.currentTimeMillis();
+    private void deleteTempFolder(File tempFolder) {
+        try {
+            CarbonUtil.deleteFoldersAndFiles(tempFolder);
+        } catch (CarbonUtilException e) {
+            LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, e,
+                    "Not able to delete global surrogate temp location " + tempFolder);
         }
     }
 
@@ -361,19 +261,23 @@ public class LevelGlobalSurrogateGeneratorThread implements Callable<Void> {
 
     }
 
-    private void writeGlobalSurrogateKeyFile(String string, int[] key, int[] value, String fileName,
+    /**
+     * Below method will be used to write the remap table of a partition, it
+     * holds the global key of each surrogate key of the level file
+     */
+    private void writeGlobalSurrogateKeyFile(String string, int[] globalKeys, String fileName,
             int currentMaxKey, int minValue) {
         DataOutputStream stream = null;
         try {
             stream = FileFactory.getDataOutputStream(string + '/' + fileName,
                     FileFactory.getFileType(string + '/' + fileName), 10240);
-            int size = key.length;
+            int size = globalKeys.length;
             stream.writeInt(currentMaxKey);
             stream.writeInt(minValue);
             stream.writeInt(size);
             for (int i = 0; i < size; i++) {
-                stream.writeInt(key[i]);
-                stream.writeInt(value[i]);
+                stream.writeInt(minValue + i);
+                stream.writeInt(globalKeys[i]);
             }
         } catch (FileNotFoundException e) {
             LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, e,
@@ -386,30 +290,4 @@ public class LevelGlobalSurrogateGeneratorThread implements Callable<Void> {
         }
     }
 
-    private final class WriterThread implements Callable<Void> {
-        int currentMaxKey;
-        int minValue;
-        private int[] key;
-        private int[] value;
-        private String path;
-        private String fileName;
-
-        private WriterThread(int[] key, int[] value, String path, String fileName,
-                int currentMaxKey, int minValue) {
-            this.key = key;
-            this.value = value;
-            this.path = path;
-            this.fileName = fileName;
-            this.currentMaxKey = currentMaxKey;
-            this.minValue = minValue;
-        }
-
-        @Override
-        public Void call() throws Exception {
-            writeGlobalSurrogateKeyFile(path, key, value, fileName, currentMaxKey, minValue);
-            return null;
-        }
-
-    }
-
 }
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.processing.globalsurrogategenerator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.ByteUtil;
+import org.carbondata.core.util.CarbonUtil;
+import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
+
+/**
+ * Members of a level file of one partition sorted on the member bytes. A run
+ * is kept in memory if the whole level file fits in the sort size, otherwise
+ * it is written to a temp file. Runs of all partitions are read in member
+ * order while they are merged to assign the global surrogate keys.
+ */
+public class SortedLevelMemberRun {
+
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(SortedLevelMemberRun.class.getName());
+
+    /**
+     * buffer size of temp file streams
+     */
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * orders the members on their bytes, members are compared as stored in
+     * level file as equal members have equal bytes
+     */
+    private static final Comparator<LevelMember> MEMBER_COMPARATOR =
+            new Comparator<LevelMember>() {
+                @Override
+                public int compare(LevelMember member1, LevelMember member2) {
+                    return ByteUtil.UnsafeComparer.INSTANCE
+                            .compareTo(member1.value, member2.value);
+                }
+            };
+
+    /**
+     * orders the runs on current member, then on partition
+     */
+    private static final Comparator<SortedLevelMemberRun> RUN_COMPARATOR =
+            new Comparator<SortedLevelMemberRun>() {
+                @Override
+                public int compare(SortedLevelMemberRun run1, SortedLevelMemberRun run2) {
+                    int compare = ByteUtil.UnsafeComparer.INSTANCE
+                            .compareTo(run1.getValue(), run2.getValue());
+                    if (compare == 0) {
+                        return run1.getPartitionIndex() - run2.getPartitionIndex();
+                    }
+                    return compare;
+                }
+            };
+
+    /**
+     * index of the partition of level file
+     */
+    private int partitionIndex;
+
+    /**
+     * sorted members of in memory run
+     */
+    private LevelMember[] members;
+
+    /**
+     * number of members in the run
+     */
+    private int size;
+
+    /**
+     * number of members already read
+     */
+    private int position;
+
+    /**
+     * temp file of the run, null for in memory run
+     */
+    private File file;
+
+    private DataInputStream stream;
+
+    private byte[] currentValue;
+
+    private int currentKey;
+
+    private SortedLevelMemberRun(int partitionIndex, int size) {
+        this.partitionIndex = partitionIndex;
+        this.size = size;
+    }
+
+    /**
+     * Below method will be used to sort the members and create the run, the
+     * members are written to a temp file if temp folder is given
+     *
+     * @param members        members, only first size are used
+     * @param size           number of members
+     * @param partitionIndex index of the partition
+     * @param tempFolder     folder of the temp file, null to keep the run in memory
+     * @return run
+     * @throws IOException if temp file cannot be written
+     */
+    public static SortedLevelMemberRun create(LevelMember[] members, int size, int partitionIndex,
+            File tempFolder) throws IOException {
+        Arrays.sort(members, 0, size, MEMBER_COMPARATOR);
+        SortedLevelMemberRun run = new SortedLevelMemberRun(partitionIndex, size);
+        if (null == tempFolder) {
+            run.members = Arrays.copyOf(members, size);
+            return run;
+        }
+        run.file = File.createTempFile("levelmembers_" + partitionIndex + '_', ".run", tempFolder);
+        DataOutputStream outputStream = null;
+        try {
+            outputStream = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(run.file), FILE_BUFFER_SIZE));
+            for (int i = 0; i < size; i++) {
+                outputStream.writeInt(members[i].value.length);
+                outputStream.write(members[i].value);
+                outputStream.writeInt(members[i].key);
+            }
+        } finally {
+            CarbonUtil.closeStreams(outputStream);
+        }
+        return run;
+    }
+
+    /**
+     * Below method will be used to read the level file of a partition and cut
+     * it into sorted runs. If the level file fits in one run it is kept in
+     * memory, otherwise all runs are written to temp files.
+     *
+     * @param inputStream    stream of level file
+     * @param fileSize       size of level file
+     * @param partitionIndex index of the partition
+     * @param sortSize       max number of members of a run
+     * @param tempFolder     folder of temp files
+     * @param runs           list to which runs are added
+     * @return min surrogate key and number of members of the level file
+     * @throws IOException if level file cannot be read or temp file written
+     */
+    public static int[] readSortedRuns(DataInputStream inputStream, long fileSize,
+            int partitionIndex, int sortSize, File tempFolder, List<SortedLevelMemberRun> runs)
+            throws IOException {
+        LevelMember[] buffer = new LevelMember[CarbonCommonConstants.CONSTANT_SIZE_TEN];
+        int bufferSize = 0;
+        int numberOfMembers = 0;
+        boolean isRunWritten = false;
+        long currentPosition = 4;
+        long size = fileSize - 4;
+        int minSurrogate = inputStream.readInt();
+        int surrogateValue = minSurrogate;
+        while (currentPosition < size) {
+            int len = inputStream.readInt();
+            currentPosition += 4;
+            byte[] rowBytes = new byte[len];
+            inputStream.readFully(rowBytes);
+            currentPosition += len;
+            if (bufferSize == sortSize) {
+                runs.add(create(buffer, bufferSize, partitionIndex, tempFolder));
+                isRunWritten = true;
+                bufferSize = 0;
+            } else if (bufferSize == buffer.length) {
+                LevelMember[] newBuffer =
+                        new LevelMember[Math.min(sortSize, buffer.length * 2)];
+                System.arraycopy(buffer, 0, newBuffer, 0, bufferSize);
+                buffer = newBuffer;
+            }
+            buffer[bufferSize++] = new LevelMember(rowBytes, surrogateValue);
+            surrogateValue++;
+            numberOfMembers++;
+        }
+        if (bufferSize > 0) {
+            runs.add(create(buffer, bufferSize, partitionIndex,
+                    isRunWritten ? tempFolder : null));
+        }
+        return new int[] { minSurrogate, numberOfMembers };
+    }
+
+    /**
+     * Below method will be used to merge the sorted runs of all partitions
+     * and fill the global key of each member in the remap table of its
+     * partition
+     *
+     * @param runs               sorted runs
+     * @param isPartitionColumn  true if members of different partitions are
+     *                           never same
+     * @param partitionKeyRanges min surrogate key of each partition
+     * @param globalKeys         remap table of each partition, filled
+     * @param maxSeqenceKey      max global key assigned by previous loads
+     * @return max global key assigned
+     * @throws IOException if temp file cannot be read
+     */
+    public static int mergeRuns(List<SortedLevelMemberRun> runs, boolean isPartitionColumn,
+            List<int[]> partitionKeyRanges, int[][] globalKeys, int maxSeqenceKey)
+            throws IOException {
+        PriorityQueue<SortedLevelMemberRun> queue =
+                new PriorityQueue<SortedLevelMemberRun>(Math.max(1, runs.size()), RUN_COMPARATOR);
+        for (SortedLevelMemberRun run : runs) {
+            if (run.next()) {
+                queue.add(run);
+            }
+        }
+        byte[] previousValue = null;
+        while (!queue.isEmpty()) {
+            SortedLevelMemberRun run = queue.poll();
+            if (isPartitionColumn || null == previousValue
+                    || ByteUtil.UnsafeComparer.INSTANCE.compareTo(previousValue, run.getValue())
+                    != 0) {
+                maxSeqenceKey++;
+                previousValue = run.getValue();
+            }
+            int partitionIndex = run.getPartitionIndex();
+            globalKeys[partitionIndex][run.getKey() - partitionKeyRanges.get(partitionIndex)[0]] =
+                    maxSeqenceKey;
+            if (run.next()) {
+                queue.add(run);
+            } else {
+                run.close();
+            }
+        }
+        return maxSeqenceKey;
+    }
+
+    /**
+     * Below method will be used to move to the next member of the run
+     *
+     * @return false if all members are read
+     * @throws IOException if temp file cannot be read
+     */
+    public boolean next() throws IOException {
+        if (position >= size) {
+            return false;
+        }
+        if (null == file) {
+            currentValue = members[position].value;
+            currentKey = members[position].key;
+            members[position] = null;
+        } else {
+            if (null == stream) {
+                stream = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(file), FILE_BUFFER_SIZE));
+            }
+            currentValue = new byte[stream.readInt()];
+            stream.readFully(currentValue);
+            currentKey = stream.readInt();
+        }
+        position++;
+        return true;
+    }
+
+    /**
+     * @return bytes of current member
+     */
+    public byte[] getValue() {
+        return currentValue;
+    }
+
+    /**
+     * @return surrogate key of current member in its partition
+     */
+    public int getKey() {
+        return currentKey;
+    }
+
+    public int getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    /**
+     * Below method will be used to release the run and delete its temp file
+     */
+    public void close() {
+        members = null;
+        CarbonUtil.closeStreams(stream);
+        stream = null;
+        if (null != file && file.exists() && !file.delete()) {
+            LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                    "Not able to delete level member temp file " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Member of level file with its surrogate key in the partition
+     */
+    public static final class LevelMember {
+        private byte[] value;
+
+        private int key;
+
+        public LevelMember(byte[] value, int key) {
+            this.value = value;
+            this.key = key;
+        }
+    }
+}
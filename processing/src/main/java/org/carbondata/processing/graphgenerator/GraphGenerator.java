@@ -55,6 +55,7 @@ import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 import org.carbondata.processing.util.CarbonDataProcessorUtil;
 import org.carbondata.processing.util.CarbonSchemaParser;
 import org.carbondata.processing.util.RemoveDictionaryUtil;
+import org.carbondata.query.aggregator.util.AggUtil;
 import org.pentaho.di.core.KettleEnvironment;
 import org.pentaho.di.core.database.DatabaseMeta;
 import org.pentaho.di.core.exception.KettleException;
@@ -1783,7 +1784,7 @@ public class GraphGenerator {
         char[] type = new char[aggtable.getAggregator().length];
         Arrays.fill(type, 'n');
         for (int i = 0; i < type.length; i++) {
-            if (aggtable.getAggregator()[i].equals(CarbonCommonConstants.DISTINCT_COUNT) || aggtable
+            if (AggUtil.isByteArrayAggregator(aggtable.getAggregator()[i]) || aggtable
                     .getAggregator()[i].equals(CarbonCommonConstants.CUSTOM)) {
                 type[i] = 'c';
             }
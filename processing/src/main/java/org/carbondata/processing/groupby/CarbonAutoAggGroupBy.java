@@ -223,8 +223,8 @@ public class CarbonAutoAggGroupBy {
         this.type = new char[this.aggType.length];
         Arrays.fill(type, 'n');
         for (int i = 0; i < this.aggType.length; i++) {
-            if (aggType[i].equals(CarbonCommonConstants.CUSTOM) || aggType[i]
-                    .equals(CarbonCommonConstants.DISTINCT_COUNT)) {
+            if (aggType[i].equals(CarbonCommonConstants.CUSTOM) || AggUtil
+                    .isByteArrayAggregator(aggType[i])) {
                 this.type[i] = 'c';
             }
         }
@@ -720,13 +720,30 @@ public class CarbonMDKeyGenStep extends BaseStep implements StepInterface {
     private void processRows(DataProcessorRecordHolder oriRecords, double[] msrs)
             throws KettleException {
         Object[][] originalRow = oriRecords.getOriginalRow();
-
-        for (int i = 0; i < checkPointSize; i++) {
-            if (null == originalRow[i]) {
-                break;
+        int numberOfRows = 0;
+        while (numberOfRows < checkPointSize && null != originalRow[numberOfRows]) {
+            numberOfRows++;
+        }
+        // generate the mdkeys of all the rows in one batch
+        int[][] columns = new int[this.dimensionLength][numberOfRows];
+        for (int i = 0; i < numberOfRows; i++) {
+            for (int j = 0; j < this.dimensionLength; j++) {
+                columns[j][i] = (Integer) originalRow[i][j];
             }
+        }
+        int keySize = data.generator.getKeySizeInBytes();
+        byte[] mdKeys = new byte[numberOfRows * keySize];
+        try {
+            data.generator.generateKeys(columns, numberOfRows, mdKeys, 0);
+        } catch (KeyGenException e) {
+            throw new KettleException("Unbale to generate the mdkey", e);
+        }
+
+        for (int i = 0; i < numberOfRows; i++) {
             Object[] outputRow = new Object[data.outputRowMeta.size()];
-            process(originalRow[i], outputRow, msrs);
+            byte[] k = new byte[keySize];
+            System.arraycopy(mdKeys, i * keySize, k, 0, keySize);
+            process(originalRow[i], outputRow, msrs, k);
 
             originalRow[i] = null;
 
@@ -850,6 +867,30 @@ public class CarbonMDKeyGenStep extends BaseStep implements StepInterface {
     private void process(Object[] row, Object[] outputRow, double[] measures)
             throws KettleException {
         int[] keys = new int[this.dimensionLength];
+        // copy all the dimension to keys Array. This key array will be used to
+        // generate id
+        for (int i = 0; i < this.dimensionLength; i++) {
+            Object key = row[i];
+            keys[i] = (Integer) key;
+        }
+        try {
+            // generate byte array from id.
+            process(row, outputRow, measures, data.generator.generateKey(keys));
+        } catch (KeyGenException e) {
+            throw new KettleException("Unbale to generate the mdkey", e);
+        }
+    }
+
+    /**
+     * This method will be used to fill the output row with the measures of
+     * the row and its mdkey
+     *
+     * @param row       input row
+     * @param outputRow output row
+     * @param measures  measures of the row
+     * @param k         mdkey of the row
+     */
+    private void process(Object[] row, Object[] outputRow, double[] measures, byte[] k) {
         int l = 0;
         // copy all the measures to output row;
         int measureSize = this.dimensionLength + measureCount;
@@ -863,23 +904,11 @@ public class CarbonMDKeyGenStep extends BaseStep implements StepInterface {
             }
             l++;
         }
-        // copy all the dimension to keys Array. This key array will be used to
-        // generate id
-        for (int i = 0; i < this.dimensionLength; i++) {
-            Object key = row[i];
-            keys[i] = (Integer) key;
-        }
-        try {
-            // generate byte array from id.
-            byte[] k = data.generator.generateKey(keys);
-            if (meta.isFactMdKeyInInputRow() && meta.isAutoAggRequest()) {
-                outputRow[outputRow.length - 2] = k;
-                outputRow[outputRow.length - 1] = row[row.length - 1];
-            } else {
-                outputRow[outputRow.length - 1 - checkPoint.getCheckPointInfoFieldCount()] = k;
-            }
-        } catch (KeyGenException e) {
-            throw new KettleException("Unbale to generate the mdkey", e);
+        if (meta.isFactMdKeyInInputRow() && meta.isAutoAggRequest()) {
+            outputRow[outputRow.length - 2] = k;
+            outputRow[outputRow.length - 1] = row[row.length - 1];
+        } else {
+            outputRow[outputRow.length - 1 - checkPoint.getCheckPointInfoFieldCount()] = k;
         }
         checkPoint.updateInfoFields(row, outputRow);
     }
@@ -45,6 +45,7 @@ import org.carbondata.processing.merger.exeception.SliceMergerException;
 import org.carbondata.processing.schema.metadata.CarbonColumnarFactMergerInfo;
 import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 import org.carbondata.processing.util.CarbonSchemaParser;
+import org.carbondata.query.aggregator.util.AggUtil;
 
 public class CarbonColumnarSliceMerger implements CarbonSliceMerger {
     /**
@@ -127,6 +128,19 @@ public class CarbonColumnarSliceMerger implements CarbonSliceMerger {
         if (slicesFromHDFS.isEmpty()) {
             return false;
         }
+        SliceMetaData sliceMetaData =
+                CarbonUtil.readSliceMetaDataFile(hdfsLocation, restrctFolderCount);
+        if (isAggregateTable()) {
+            // each load of aggregate table is aggregated from its fact load only,
+            // so the loads can be merged only if every load to merge has one and
+            // all measures can be merged from their aggregated values
+            if (slicesFromHDFS.size() != loadsToBeMerged.size()
+                    || null == getAggregatorsForMerge(sliceMetaData)) {
+                LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                        "Loads of aggregate table cannot be merged: " + tableName);
+                return false;
+            }
+        }
 
         localStore =
                 localStore + '/' + CarbonCommonConstants.RESTRUCTRE_FOLDER + restrctFolderCount + '/'
@@ -139,9 +153,7 @@ public class CarbonColumnarSliceMerger implements CarbonSliceMerger {
                     "Problem while creating the destination location for slicemerging");
 
         }
-        startMerge(slicesFromHDFS,
-                CarbonUtil.readSliceMetaDataFile(hdfsLocation, restrctFolderCount),
-                file.getAbsolutePath(), restrctFolderCount);
+        startMerge(slicesFromHDFS, sliceMetaData, file.getAbsolutePath(), restrctFolderCount);
 
         if (!file.renameTo(new File(localStore))) {
             throw new SliceMergerException(
@@ -158,11 +170,53 @@ public class CarbonColumnarSliceMerger implements CarbonSliceMerger {
      */
     public void startMerge(List<CarbonSliceAndFiles> slicesFromHDFS, SliceMetaData sliceMetaData,
             String destinationLocation, int currentRestructNumber) throws SliceMergerException {
-        String factTableName = CarbonSchemaParser.getFactTableName(this.cube);
-        if (factTableName.equals(this.tableName)) {
+        if (!isAggregateTable()) {
             mergerSlice(slicesFromHDFS, sliceMetaData, null, null, destinationLocation,
                     currentRestructNumber);
+            return;
+        }
+        String[] aggType = getAggregatorsForMerge(sliceMetaData);
+        if (null == aggType) {
+            throw new SliceMergerException(
+                    "Measures of aggregate table cannot be merged: " + tableName);
+        }
+        mergerSlice(slicesFromHDFS, sliceMetaData, aggType, new String[aggType.length],
+                destinationLocation, currentRestructNumber);
+    }
+
+    private boolean isAggregateTable() {
+        return !CarbonSchemaParser.getFactTableName(this.cube).equals(this.tableName);
+    }
+
+    /**
+     * Below method will be used to get the aggregators which merge the
+     * aggregated measure values of aggregate table loads, count is merged as
+     * sum of counts. Average, sum distinct and custom measures cannot be
+     * merged from their aggregated values.
+     *
+     * @param sliceMetaData slice metadata of aggregate table
+     * @return aggregators or null if a measure cannot be merged
+     */
+    static String[] getAggregatorsForMerge(SliceMetaData sliceMetaData) {
+        String[] measuresAggregator = sliceMetaData.getMeasuresAggregator();
+        if (null == measuresAggregator
+                || measuresAggregator.length != sliceMetaData.getMeasures().length) {
+            return null;
+        }
+        String[] aggType = new String[measuresAggregator.length];
+        for (int i = 0; i < measuresAggregator.length; i++) {
+            String aggregator = measuresAggregator[i];
+            if (CarbonCommonConstants.COUNT.equals(aggregator)) {
+                aggType[i] = CarbonCommonConstants.SUM;
+            } else if (CarbonCommonConstants.SUM.equals(aggregator) || CarbonCommonConstants.MAX
+                    .equals(aggregator) || CarbonCommonConstants.MIN.equals(aggregator) || AggUtil
+                    .isByteArrayAggregator(aggregator)) {
+                aggType[i] = aggregator;
+            } else {
+                return null;
+            }
         }
+        return aggType;
     }
 
     private CarbonColumnarFactMergerInfo getCarbonColumnarFactMergerInfo(
@@ -176,7 +230,7 @@ public class CarbonColumnarSliceMerger implements CarbonSliceMerger {
         columnarFactMergerInfo.setGroupByEnabled(null != aggType ? true : false);
         if (null != aggType) {
             for (int i = 0; i < aggType.length; i++) {
-                if (aggType[i].equals(CarbonCommonConstants.DISTINCT_COUNT) || aggType[i]
+                if (AggUtil.isByteArrayAggregator(aggType[i]) || aggType[i]
                         .equals(CarbonCommonConstants.CUSTOM)) {
                     columnarFactMergerInfo.setMergingRequestForCustomAgg(true);
                     break;
@@ -198,7 +252,7 @@ public class CarbonColumnarSliceMerger implements CarbonSliceMerger {
         Arrays.fill(type, 'n');
         if (null != aggType) {
             for (int i = 0; i < type.length; i++) {
-                if (aggType[i].equals(CarbonCommonConstants.DISTINCT_COUNT) || aggType[i]
+                if (AggUtil.isByteArrayAggregator(aggType[i]) || aggType[i]
                         .equals(CarbonCommonConstants.CUSTOM)) {
                     type[i] = 'c';
                 } else {
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.processing.merger;
+
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
+
+/**
+ * Limits the rate at which slice mergers of a process read the slices, so
+ * that background compaction does not starve the queries and loads of disk
+ * and network bandwidth. Rate is shared by all the mergers of the process.
+ */
+public final class CarbonMergerIOThrottle {
+    /**
+     * Attribute for Carbon LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(CarbonMergerIOThrottle.class.getName());
+
+    /**
+     * constant for converting MB into bytes
+     */
+    private static final int BYTE_CONVERSION_CONSTANT = 1024 * 1024;
+
+    /**
+     * instance
+     */
+    private static final CarbonMergerIOThrottle INSTANCE = new CarbonMergerIOThrottle(
+            getConfiguredRate());
+
+    /**
+     * max bytes per second, not limited if not positive
+     */
+    private long bytesPerSecond;
+
+    /**
+     * time in nano seconds from which next request can read
+     */
+    private long nextFreeTime;
+
+    /**
+     * total time spent waiting in nano seconds
+     */
+    private long totalWaitTime;
+
+    CarbonMergerIOThrottle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * @return instance
+     */
+    public static CarbonMergerIOThrottle getInstance() {
+        return INSTANCE;
+    }
+
+    private static long getConfiguredRate() {
+        long rate;
+        try {
+            rate = Long.parseLong(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.COMPACTION_IO_MAX_MB_PER_SEC,
+                            CarbonCommonConstants.COMPACTION_IO_MAX_MB_PER_SEC_DEFAULT));
+        } catch (NumberFormatException e) {
+            rate = Long.parseLong(CarbonCommonConstants.COMPACTION_IO_MAX_MB_PER_SEC_DEFAULT);
+        }
+        if (rate > 0) {
+            LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                    "Merger read rate is limited to " + rate + " MB per second");
+        }
+        return rate * BYTE_CONVERSION_CONSTANT;
+    }
+
+    /**
+     * Below method will be used to wait till the given number of bytes can be
+     * read without exceeding the configured rate
+     *
+     * @param bytes number of bytes going to be read
+     */
+    public void acquire(long bytes) {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return;
+        }
+        long waitTime;
+        synchronized (this) {
+            long currentTime = System.nanoTime();
+            if (nextFreeTime < currentTime) {
+                nextFreeTime = currentTime;
+            }
+            waitTime = nextFreeTime - currentTime;
+            nextFreeTime += (long) (bytes * 1000000000.0 / bytesPerSecond);
+            totalWaitTime += waitTime;
+        }
+        if (waitTime > 0) {
+            try {
+                Thread.sleep(waitTime / 1000000, (int) (waitTime % 1000000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return total time in milliseconds for which mergers are throttled
+     */
+    public synchronized long getTotalWaitTime() {
+        return totalWaitTime / 1000000;
+    }
+}
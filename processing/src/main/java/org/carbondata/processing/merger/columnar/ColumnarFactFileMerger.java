@@ -24,6 +24,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
+import org.carbondata.core.metadata.LeafNodeInfoColumnar;
 import org.carbondata.core.util.CarbonSliceAndFiles;
 import org.carbondata.processing.factreader.FactReaderInfo;
 import org.carbondata.processing.factreader.CarbonSurrogateTupleHolder;
@@ -33,15 +35,15 @@ import org.carbondata.processing.merger.columnar.iterator.impl.CarbonLeafTupleWr
 import org.carbondata.processing.merger.exeception.SliceMergerException;
 import org.carbondata.processing.schema.metadata.CarbonColumnarFactMergerInfo;
 import org.carbondata.processing.store.CarbonFactDataHandlerColumnarMerger;
-import org.carbondata.processing.store.CarbonFactHandler;
 import org.carbondata.processing.store.writer.exception.CarbonDataWriterException;
+import org.carbondata.query.aggregator.util.AggUtil;
 
 public abstract class ColumnarFactFileMerger {
 
     /**
      * dataHandler
      */
-    public CarbonFactHandler dataHandler;
+    public CarbonFactDataHandlerColumnarMerger dataHandler;
     /**
      * otherMeasureIndex
      */
@@ -57,6 +59,16 @@ public abstract class ColumnarFactFileMerger {
 
     protected List<CarbonDataIterator<CarbonSurrogateTupleHolder>> leafTupleIteratorList;
 
+    /**
+     * carbonColumnarFactMergerInfo
+     */
+    protected CarbonColumnarFactMergerInfo carbonColumnarFactMergerInfo;
+
+    /**
+     * factReaderInfo
+     */
+    private FactReaderInfo factReaderInfo;
+
     public ColumnarFactFileMerger(CarbonColumnarFactMergerInfo carbonColumnarFactMergerInfo,
             int currentRestructNumber) {
         this.mdkeyLength = carbonColumnarFactMergerInfo.getMdkeyLength();
@@ -80,6 +92,19 @@ public abstract class ColumnarFactFileMerger {
             customMeasureIndex[i] = customMeasureIndexList.get(i);
         }
 
+        this.carbonColumnarFactMergerInfo = carbonColumnarFactMergerInfo;
+        this.factReaderInfo = getFactReaderInfo(carbonColumnarFactMergerInfo);
+        dataHandler = new CarbonFactDataHandlerColumnarMerger(carbonColumnarFactMergerInfo,
+                currentRestructNumber);
+    }
+
+    public abstract void mergerSlice() throws SliceMergerException;
+
+    /**
+     * Below method will be used to create the row iterators of all the slices,
+     * first row of each iterator is fetched
+     */
+    protected void initialiseLeafTupleIterators() {
         this.leafTupleIteratorList = new ArrayList<CarbonDataIterator<CarbonSurrogateTupleHolder>>(
                 carbonColumnarFactMergerInfo.getSlicesFromHDFS().size());
         CarbonDataIterator<CarbonSurrogateTupleHolder> leaftTupleIterator = null;
@@ -88,18 +113,31 @@ public abstract class ColumnarFactFileMerger {
             leaftTupleIterator = new CarbonLeafTupleWrapperIterator(sliceInfo.getKeyGen(),
                     carbonColumnarFactMergerInfo.getGlobalKeyGen(),
                     new CarbonColumnarLeafTupleDataIterator(sliceInfo.getPath(),
-                            sliceInfo.getSliceFactFilesList(),
-                            getFactReaderInfo(carbonColumnarFactMergerInfo), mdkeyLength));
+                            sliceInfo.getSliceFactFilesList(), factReaderInfo, mdkeyLength));
             if (leaftTupleIterator.hasNext()) {
                 leaftTupleIterator.fetchNextData();
                 leafTupleIteratorList.add(leaftTupleIterator);
             }
         }
-        dataHandler = new CarbonFactDataHandlerColumnarMerger(carbonColumnarFactMergerInfo,
-                currentRestructNumber);
     }
 
-    public abstract void mergerSlice() throws SliceMergerException;
+    /**
+     * Below method will be used to get the row iterator of one leaf of a slice,
+     * keys returned by iterator are generated using global key generator
+     *
+     * @param sliceInfo        slice
+     * @param compressionModel compression model of slice
+     * @param leafNodeInfo     leaf
+     * @return row iterator
+     */
+    protected CarbonDataIterator<CarbonSurrogateTupleHolder> getLeafTupleIterator(
+            CarbonSliceAndFiles sliceInfo, ValueCompressionModel compressionModel,
+            LeafNodeInfoColumnar leafNodeInfo) {
+        return new CarbonLeafTupleWrapperIterator(sliceInfo.getKeyGen(),
+                carbonColumnarFactMergerInfo.getGlobalKeyGen(),
+                new CarbonColumnarLeafTupleDataIterator(sliceInfo.getSliceFactFilesList(),
+                        factReaderInfo, mdkeyLength, compressionModel, leafNodeInfo));
+    }
 
     private FactReaderInfo getFactReaderInfo(
             CarbonColumnarFactMergerInfo carbonColumnarFactMergerInfo) {
@@ -110,8 +148,8 @@ public abstract class ColumnarFactFileMerger {
         if (null != carbonColumnarFactMergerInfo.getAggregators()) {
             for (int i = 0; i < aggType.length; i++) {
                 if (carbonColumnarFactMergerInfo.getAggregators()[i]
-                        .equals(CarbonCommonConstants.CUSTOM) || carbonColumnarFactMergerInfo
-                        .getAggregators()[i].equals(CarbonCommonConstants.DISTINCT_COUNT)) {
+                        .equals(CarbonCommonConstants.CUSTOM) || AggUtil
+                        .isByteArrayAggregator(carbonColumnarFactMergerInfo.getAggregators()[i])) {
                     aggType[i] = "c";
                 } else {
                     aggType[i] = "n";
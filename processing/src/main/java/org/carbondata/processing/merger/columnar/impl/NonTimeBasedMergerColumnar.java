@@ -20,70 +20,84 @@
 package org.carbondata.processing.merger.columnar.impl;
 
 import java.util.AbstractQueue;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.PriorityQueue;
 
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.FileHolder;
+import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
+import org.carbondata.core.datastorage.store.filesystem.CarbonFile;
+import org.carbondata.core.datastorage.store.impl.FileFactory;
+import org.carbondata.core.keygenerator.KeyGenException;
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.carbondata.core.metadata.LeafNodeInfoColumnar;
 import org.carbondata.core.util.ByteUtil;
+import org.carbondata.core.util.CarbonProperties;
+import org.carbondata.core.util.CarbonSliceAndFiles;
+import org.carbondata.core.util.CarbonUtil;
+import org.carbondata.core.util.ValueCompressionUtil;
 import org.carbondata.processing.factreader.CarbonSurrogateTupleHolder;
+import org.carbondata.processing.merger.CarbonMergerIOThrottle;
 import org.carbondata.processing.merger.columnar.ColumnarFactFileMerger;
 import org.carbondata.processing.merger.columnar.iterator.CarbonDataIterator;
 import org.carbondata.processing.merger.exeception.SliceMergerException;
 import org.carbondata.processing.schema.metadata.CarbonColumnarFactMergerInfo;
 import org.carbondata.processing.store.writer.exception.CarbonDataWriterException;
+import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 
 public class NonTimeBasedMergerColumnar extends ColumnarFactFileMerger {
 
+    /**
+     * LOGGER
+     */
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(NonTimeBasedMergerColumnar.class.getName());
+
     /**
      * record holder heap
      */
     private AbstractQueue<CarbonDataIterator<CarbonSurrogateTupleHolder>> recordHolderHeap;
 
+    /**
+     * number of leaves copied without decoding
+     */
+    private int copiedLeafCount;
+
+    /**
+     * number of bytes copied without decoding
+     */
+    private long copiedBytes;
+
+    /**
+     * number of leaves merged row by row
+     */
+    private int reEncodedLeafCount;
+
+    /**
+     * number of bytes of leaves merged row by row
+     */
+    private long reEncodedBytes;
+
     public NonTimeBasedMergerColumnar(CarbonColumnarFactMergerInfo carbonColumnarFactMergerInfo,
             int currentRestructNumber) {
         super(carbonColumnarFactMergerInfo, currentRestructNumber);
-        if (leafTupleIteratorList.size() > 0) {
-            recordHolderHeap = new PriorityQueue<CarbonDataIterator<CarbonSurrogateTupleHolder>>(
-                    leafTupleIteratorList.size(), new CarbonMdkeyComparator());
-        }
     }
 
     @Override
     public void mergerSlice() throws SliceMergerException {
-        // index
-        int index = 0;
         try {
             dataHandler.initialise();
-            // add first record from each file
-            for (CarbonDataIterator<CarbonSurrogateTupleHolder> leaftTupleIterator : this.leafTupleIteratorList) {
-                this.recordHolderHeap.add(leaftTupleIterator);
-                index++;
-            }
-            CarbonDataIterator<CarbonSurrogateTupleHolder> poll = null;
-            while (index > 1) {
-                // poll the top record
-                poll = this.recordHolderHeap.poll();
-                // get the mdkey
-                addRow(poll.getNextData());
-                // if there is no record in the leaf and all then decrement the
-                // index
-                if (!poll.hasNext()) {
-                    index--;
-                    continue;
-                }
-                poll.fetchNextData();
-                // add record to heap
-                this.recordHolderHeap.add(poll);
-            }
-            // if record holder is not empty then poll the slice holder from
-            // heap
-            poll = this.recordHolderHeap.poll();
-            while (true) {
-                addRow(poll.getNextData());
-                // check if leaf contains no record
-                if (!poll.hasNext()) {
-                    break;
-                }
-                poll.fetchNextData();
+            if (Boolean.parseBoolean(CarbonProperties.getInstance()
+                    .getProperty(CarbonCommonConstants.MERGER_LEAF_COPY_ENABLED,
+                            CarbonCommonConstants.MERGER_LEAF_COPY_ENABLED_DEFAULT))
+                    && !carbonColumnarFactMergerInfo.isGroupByEnabled()) {
+                mergeLeaves();
+            } else {
+                mergeRows();
             }
             this.dataHandler.finish();
 
@@ -95,6 +109,180 @@ public class NonTimeBasedMergerColumnar extends ColumnarFactFileMerger {
         }
     }
 
+    /**
+     * Below method will be used to merge the slices row by row
+     *
+     * @throws SliceMergerException
+     */
+    private void mergeRows() throws SliceMergerException {
+        initialiseLeafTupleIterators();
+        if (leafTupleIteratorList.size() < 1) {
+            return;
+        }
+        recordHolderHeap = new PriorityQueue<CarbonDataIterator<CarbonSurrogateTupleHolder>>(
+                leafTupleIteratorList.size(), new CarbonMdkeyComparator());
+        // index
+        int index = 0;
+        // add first record from each file
+        for (CarbonDataIterator<CarbonSurrogateTupleHolder> leaftTupleIterator : this.leafTupleIteratorList) {
+            this.recordHolderHeap.add(leaftTupleIterator);
+            index++;
+        }
+        CarbonDataIterator<CarbonSurrogateTupleHolder> poll = null;
+        while (index > 1) {
+            // poll the top record
+            poll = this.recordHolderHeap.poll();
+            // get the mdkey
+            addRow(poll.getNextData());
+            // if there is no record in the leaf and all then decrement the
+            // index
+            if (!poll.hasNext()) {
+                index--;
+                continue;
+            }
+            poll.fetchNextData();
+            // add record to heap
+            this.recordHolderHeap.add(poll);
+        }
+        // if record holder is not empty then poll the slice holder from
+        // heap
+        poll = this.recordHolderHeap.poll();
+        while (true) {
+            addRow(poll.getNextData());
+            // check if leaf contains no record
+            if (!poll.hasNext()) {
+                break;
+            }
+            poll.fetchNextData();
+        }
+    }
+
+    /**
+     * Below method will be used to merge the slices leaf by leaf. A leaf whose
+     * key range does not overlap with any leaf of other slices is copied to the
+     * merged file as it is, other leaves are merged row by row.
+     *
+     * @throws SliceMergerException
+     * @throws CarbonDataWriterException
+     */
+    private void mergeLeaves() throws SliceMergerException, CarbonDataWriterException {
+        List<SliceLeafSource> sources = new ArrayList<SliceLeafSource>(
+                carbonColumnarFactMergerInfo.getSlicesFromHDFS().size());
+        for (CarbonSliceAndFiles sliceInfo : carbonColumnarFactMergerInfo.getSlicesFromHDFS()) {
+            if (null != sliceInfo.getSliceFactFilesList()
+                    && sliceInfo.getSliceFactFilesList().length > 0) {
+                sources.add(new SliceLeafSource(sliceInfo));
+            }
+        }
+        for (SliceLeafSource source : sources) {
+            source.findCopyableLeaves(sources);
+        }
+        AbstractQueue<SliceLeafSource> sourceHeap = new PriorityQueue<SliceLeafSource>(
+                Math.max(1, sources.size()), new Comparator<SliceLeafSource>() {
+                    @Override
+                    public int compare(SliceLeafSource o1, SliceLeafSource o2) {
+                        return ByteUtil.UnsafeComparer.INSTANCE
+                                .compareTo(o1.getCurrentKey(), o2.getCurrentKey());
+                    }
+                });
+        for (SliceLeafSource source : sources) {
+            if (source.moveToLeaf(0)) {
+                sourceHeap.add(source);
+            }
+        }
+        FileHolder fileHolder = null;
+        try {
+            SliceLeafSource source = null;
+            while (!sourceHeap.isEmpty()) {
+                source = sourceHeap.poll();
+                if (null == source.currentRow) {
+                    LeafNodeInfoColumnar leafNodeInfo = source.leaves.get(source.leafIndex);
+                    if (null == fileHolder) {
+                        fileHolder = FileFactory
+                                .getFileHolder(FileFactory.getFileType(leafNodeInfo.getFileName()));
+                    }
+                    int leafLength = (int) source.leafLengths[source.leafIndex];
+                    CarbonMergerIOThrottle.getInstance().acquire(leafLength);
+                    dataHandler.addCompressedLeaf(leafNodeInfo, fileHolder
+                            .readByteArray(leafNodeInfo.getFileName(),
+                                    leafNodeInfo.getKeyOffSets()[0], leafLength));
+                    copiedLeafCount++;
+                    copiedBytes += leafLength;
+                } else {
+                    addRow(source.currentRow);
+                }
+                if (source.next()) {
+                    sourceHeap.add(source);
+                }
+            }
+        } finally {
+            if (null != fileHolder) {
+                fileHolder.finish();
+            }
+        }
+        LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                "Leaves copied: " + copiedLeafCount + " (" + copiedBytes + " bytes), leaves "
+                        + "re-encoded: " + reEncodedLeafCount + " (" + reEncodedBytes + " bytes)");
+    }
+
+    /**
+     * Below method will be used to get the length of the leaf data if key
+     * blocks, measures and indexes of the leaf are stored one after the other
+     *
+     * @param leafNodeInfo leaf
+     * @return length of leaf or -1 if leaf data is not contiguous
+     */
+    private long getContiguousLeafLength(LeafNodeInfoColumnar leafNodeInfo) {
+        if (leafNodeInfo.getKeyOffSets().length < 1) {
+            return -1;
+        }
+        long start = leafNodeInfo.getKeyOffSets()[0];
+        long offset = getNextOffset(start, leafNodeInfo.getKeyOffSets(),
+                leafNodeInfo.getKeyLengths());
+        offset = getNextOffset(offset, leafNodeInfo.getMeasureOffset(),
+                leafNodeInfo.getMeasureLength());
+        offset = getNextOffset(offset, leafNodeInfo.getKeyBlockIndexOffSets(),
+                leafNodeInfo.getKeyBlockIndexLength());
+        offset = getNextOffset(offset, leafNodeInfo.getDataIndexMapOffsets(),
+                leafNodeInfo.getDataIndexMapLength());
+        if (offset < 0 || offset - start > Integer.MAX_VALUE) {
+            return -1;
+        }
+        return offset - start;
+    }
+
+    /**
+     * @param leafNodeInfo leaf
+     * @return total length of key blocks, measures and indexes of the leaf
+     */
+    private long getLeafDataLength(LeafNodeInfoColumnar leafNodeInfo) {
+        long length = 0;
+        int[][] allLengths = { leafNodeInfo.getKeyLengths(), leafNodeInfo.getMeasureLength(),
+                leafNodeInfo.getKeyBlockIndexLength(), leafNodeInfo.getDataIndexMapLength() };
+        for (int[] lengths : allLengths) {
+            if (null == lengths) {
+                continue;
+            }
+            for (int i = 0; i < lengths.length; i++) {
+                length += lengths[i];
+            }
+        }
+        return length;
+    }
+
+    private long getNextOffset(long offset, long[] offsets, int[] lengths) {
+        if (offset < 0) {
+            return offset;
+        }
+        for (int i = 0; i < offsets.length; i++) {
+            if (offsets[i] != offset) {
+                return -1;
+            }
+            offset += lengths[i];
+        }
+        return offset;
+    }
+
     private class CarbonMdkeyComparator
             implements Comparator<CarbonDataIterator<CarbonSurrogateTupleHolder>> {
 
@@ -106,4 +294,166 @@ public class NonTimeBasedMergerColumnar extends ColumnarFactFileMerger {
         }
 
     }
+
+    /**
+     * Leaves of one slice in key order. Current position of the slice is
+     * either a leaf which will be copied or a row of a leaf which is merged
+     * row by row.
+     */
+    private final class SliceLeafSource {
+        private CarbonSliceAndFiles sliceInfo;
+
+        private ValueCompressionModel compressionModel;
+
+        private List<LeafNodeInfoColumnar> leaves;
+
+        /**
+         * start key of each leaf as per global key generator
+         */
+        private byte[][] startKeys;
+
+        /**
+         * end key of each leaf as per global key generator
+         */
+        private byte[][] endKeys;
+
+        /**
+         * length of each leaf which can be copied, -1 for others
+         */
+        private long[] leafLengths;
+
+        private int leafIndex;
+
+        private CarbonDataIterator<CarbonSurrogateTupleHolder> rowIterator;
+
+        /**
+         * current row, null if current leaf is copied
+         */
+        private CarbonSurrogateTupleHolder currentRow;
+
+        private SliceLeafSource(CarbonSliceAndFiles sliceInfo) throws SliceMergerException {
+            this.sliceInfo = sliceInfo;
+            this.compressionModel = ValueCompressionUtil.getValueCompressionModel(
+                    sliceInfo.getPath() + CarbonCommonConstants.MEASURE_METADATA_FILE_NAME
+                            + carbonColumnarFactMergerInfo.getTableName()
+                            + CarbonCommonConstants.MEASUREMETADATA_FILE_EXT,
+                    carbonColumnarFactMergerInfo.getMeasureCount());
+            this.leaves =
+                    new ArrayList<LeafNodeInfoColumnar>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
+            for (CarbonFile factFile : sliceInfo.getSliceFactFilesList()) {
+                leaves.addAll(CarbonUtil.getLeafNodeInfoColumnar(factFile,
+                        carbonColumnarFactMergerInfo.getMeasureCount(), mdkeyLength));
+            }
+            KeyGenerator globalKeyGen = carbonColumnarFactMergerInfo.getGlobalKeyGen();
+            boolean isSameKeyGen = globalKeyGen.equals(sliceInfo.getKeyGen());
+            this.startKeys = new byte[leaves.size()][];
+            this.endKeys = new byte[leaves.size()][];
+            try {
+                for (int i = 0; i < leaves.size(); i++) {
+                    startKeys[i] = isSameKeyGen ?
+                            leaves.get(i).getStartKey() :
+                            globalKeyGen.generateKey(
+                                    sliceInfo.getKeyGen().getKeyArray(leaves.get(i).getStartKey()));
+                    endKeys[i] = isSameKeyGen ?
+                            leaves.get(i).getEndKey() :
+                            globalKeyGen.generateKey(
+                                    sliceInfo.getKeyGen().getKeyArray(leaves.get(i).getEndKey()));
+                }
+            } catch (KeyGenException e) {
+                throw new SliceMergerException("Problem while generating the leaf keys", e);
+            }
+            this.leafLengths = new long[leaves.size()];
+            boolean isCopySupported =
+                    isSameKeyGen && dataHandler.isLeafCopySupported(compressionModel);
+            for (int i = 0; i < leaves.size(); i++) {
+                leafLengths[i] = isCopySupported ? getContiguousLeafLength(leaves.get(i)) : -1;
+            }
+        }
+
+        /**
+         * Below method will be used to keep copy length only for the leaves
+         * which do not overlap with any leaf of other slices
+         *
+         * @param sources all slices
+         */
+        private void findCopyableLeaves(List<SliceLeafSource> sources) {
+            for (int i = 0; i < leaves.size(); i++) {
+                if (leafLengths[i] < 0) {
+                    continue;
+                }
+                for (SliceLeafSource other : sources) {
+                    if (other != this && other.isOverlapping(startKeys[i], endKeys[i])) {
+                        leafLengths[i] = -1;
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return true if any leaf of this slice has keys in the range
+         */
+        private boolean isOverlapping(byte[] startKey, byte[] endKey) {
+            // leaves are in key order, so find the first leaf ending at or
+            // after start key
+            int low = 0;
+            int high = leaves.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(endKeys[mid], startKey) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low < leaves.size()
+                    && ByteUtil.UnsafeComparer.INSTANCE.compareTo(startKeys[low], endKey) <= 0;
+        }
+
+        /**
+         * Below method will be used to move to the leaf, if leaf is not copied
+         * then its first row will be the current row
+         *
+         * @return false if slice is finished
+         */
+        private boolean moveToLeaf(int index) {
+            for (leafIndex = index; leafIndex < leaves.size(); leafIndex++) {
+                rowIterator = null;
+                currentRow = null;
+                if (leafLengths[leafIndex] >= 0) {
+                    return true;
+                }
+                reEncodedLeafCount++;
+                long leafLength = getLeafDataLength(leaves.get(leafIndex));
+                reEncodedBytes += leafLength;
+                CarbonMergerIOThrottle.getInstance().acquire(leafLength);
+                rowIterator =
+                        getLeafTupleIterator(sliceInfo, compressionModel, leaves.get(leafIndex));
+                if (rowIterator.hasNext()) {
+                    rowIterator.fetchNextData();
+                    currentRow = rowIterator.getNextData();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Below method will be used to move to the next row or leaf
+         *
+         * @return false if slice is finished
+         */
+        private boolean next() {
+            if (null != rowIterator && rowIterator.hasNext()) {
+                rowIterator.fetchNextData();
+                currentRow = rowIterator.getNextData();
+                return true;
+            }
+            return moveToLeaf(leafIndex + 1);
+        }
+
+        private byte[] getCurrentKey() {
+            return null == currentRow ? startKeys[leafIndex] : currentRow.getMdKey();
+        }
+    }
 }
@@ -22,6 +22,7 @@ package org.carbondata.processing.merger.columnar.iterator.impl;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.filesystem.CarbonFile;
+import org.carbondata.core.metadata.LeafNodeInfoColumnar;
 import org.carbondata.core.util.ValueCompressionUtil;
 import org.carbondata.processing.factreader.FactReaderInfo;
 import org.carbondata.processing.factreader.CarbonSurrogateTupleHolder;
@@ -92,6 +93,28 @@ public class CarbonColumnarLeafTupleDataIterator
         this.isMeasureUpdateResuired = factItreatorInfo.isUpdateMeasureRequired();
     }
 
+    /**
+     * constructor to iterate over the rows of one leaf
+     *
+     * @param factFiles           fact files of slice
+     * @param factItreatorInfo    fact reader info
+     * @param mdkeyLength         mdkey length
+     * @param compressionModelObj compression model of slice
+     * @param leafNodeInfo        leaf to be read
+     */
+    public CarbonColumnarLeafTupleDataIterator(CarbonFile[] factFiles,
+            FactReaderInfo factItreatorInfo, int mdkeyLength,
+            ValueCompressionModel compressionModelObj, LeafNodeInfoColumnar leafNodeInfo) {
+        this.measureCount = factItreatorInfo.getMeasureCount();
+        this.uniqueValue = compressionModelObj.getUniqueValue();
+        this.leafNodeIterator =
+                new CarbonColumnarLeafNodeIterator(factFiles, mdkeyLength, compressionModelObj,
+                        factItreatorInfo, leafNodeInfo);
+        this.aggType = compressionModelObj.getType();
+        initialise();
+        this.isMeasureUpdateResuired = factItreatorInfo.isUpdateMeasureRequired();
+    }
+
     /**
      * below method will be used to initialise
      */
@@ -32,6 +32,11 @@ import java.util.concurrent.TimeUnit;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.memory.ExecutorMemoryManager;
+import org.carbondata.core.memory.MemoryType;
+import org.carbondata.core.metrics.Counter;
+import org.carbondata.core.metrics.LatencyHistogram;
+import org.carbondata.core.metrics.MetricsRegistry;
 import org.carbondata.core.util.DataTypeUtil;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
@@ -48,6 +53,29 @@ public class SortDataRows {
      */
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(SortDataRows.class.getName());
+    /**
+     * rows sorted and written to sort temp files, across all loads
+     */
+    private static final Counter ROWS_COUNTER =
+            MetricsRegistry.getInstance().counter("load.sort.rows");
+    /**
+     * time taken to sort and write one sort temp file
+     */
+    private static final LatencyHistogram TEMP_FILE_TIME =
+            MetricsRegistry.getInstance().histogram("load.sort.temp.file.time");
+    /**
+     * min number of rows of a sort buffer when executor memory is not
+     * sufficient for configured sort size
+     */
+    private static final int MIN_SORT_BUFFER_SIZE = 500;
+    /**
+     * estimated bytes of a row in sort buffer besides its columns
+     */
+    private static final int ROW_OVERHEAD = 64;
+    /**
+     * estimated bytes of one column value of a row in sort buffer
+     */
+    private static final int COLUMN_SIZE = 24;
     /**
      * lockObject
      */
@@ -169,6 +197,16 @@ public class SortDataRows {
 
     private char[] aggType;
 
+    /**
+     * owner of the sort buffers in executor memory budget
+     */
+    private String memoryOwner;
+
+    /**
+     * estimated bytes of a row in sort buffer
+     */
+    private long bytesPerRow;
+
     /**
      * To know how many columns are of high cardinality.
      */
@@ -217,7 +255,11 @@ public class SortDataRows {
         // create holder list which will hold incoming rows
         // size of list will be sort buffer size + 1 to avoid creation of new
         // array in list array
-        this.recordHolderList = new Object[this.sortBufferSize][];
+        this.memoryOwner = schemaName + '_' + cubeName + '_' + tableName + '_' + System.nanoTime();
+        this.bytesPerRow = ROW_OVERHEAD
+                + (dimColCount + complexDimColCount + highCardinalityCount + measureColCount)
+                * COLUMN_SIZE;
+        this.recordHolderList = createRecordHolderList();
         updateSortTempFileLocation(carbonProperties);
 
         // Delete if any older file exists in sort temp folder
@@ -323,7 +365,7 @@ public class SortDataRows {
         // sort the list and then write current list data to file
         int currentSize = entryCount;
 
-        if (sortBufferSize == currentSize) {
+        if (recordHolderList.length == currentSize) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                         "************ Writing to temp file ********** ");
@@ -350,9 +392,9 @@ public class SortDataRows {
             Object[][] recordHolderListLocal = recordHolderList;
 
             // create the new holder Array
-            this.recordHolderList = new Object[this.sortBufferSize][];
+            this.recordHolderList = createRecordHolderList();
 
-            sortAndWriteToFile(destFile, recordHolderListLocal, sortBufferSize);
+            sortAndWriteToFile(destFile, recordHolderListLocal, currentSize);
             this.entryCount = 0;
 
         }
@@ -360,6 +402,42 @@ public class SortDataRows {
         recordHolderList[entryCount++] = row;
     }
 
+    /**
+     * Below method will be used to create a sort buffer. Memory of the buffer
+     * is reserved from executor memory budget, when it is not sufficient the
+     * buffer is made smaller so that rows are spilled to sort temp files
+     * earlier.
+     *
+     * @return sort buffer
+     */
+    private Object[][] createRecordHolderList() {
+        ExecutorMemoryManager memoryManager = ExecutorMemoryManager.getInstance();
+        int size = sortBufferSize;
+        while (!memoryManager.tryReserve(memoryOwner, MemoryType.SORT_BUFFER, size * bytesPerRow)) {
+            if (size <= MIN_SORT_BUFFER_SIZE) {
+                memoryManager.forceReserve(memoryOwner, MemoryType.SORT_BUFFER, size * bytesPerRow);
+                break;
+            }
+            size = Math.max(size / 2, MIN_SORT_BUFFER_SIZE);
+        }
+        if (size < sortBufferSize) {
+            LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                    "Sort buffer size reduced to " + size
+                            + " as executor memory is not sufficient");
+        }
+        return new Object[size][];
+    }
+
+    /**
+     * Below method will be used to release the memory of a sort buffer
+     *
+     * @param recordHolder sort buffer
+     */
+    private void releaseRecordHolderList(Object[][] recordHolder) {
+        ExecutorMemoryManager.getInstance()
+                .release(memoryOwner, MemoryType.SORT_BUFFER, recordHolder.length * bytesPerRow);
+    }
+
     /**
      * Below method will be used to start storing process This method will get
      * all the temp files present in sort temp folder then it will create the
@@ -371,7 +449,9 @@ public class SortDataRows {
     public void startSorting() throws CarbonSortKeyAndGroupByException {
         LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                 "File based sorting will be used");
+        Object[][] sortBuffer = recordHolderList;
         if (this.entryCount > 0) {
+            long startTime = System.nanoTime();
             Object[][] toSort;// = null;
             toSort = new Object[entryCount][];
             System.arraycopy(recordHolderList, 0, toSort, 0, entryCount);
@@ -384,8 +464,10 @@ public class SortDataRows {
                     this.tempFileLocation + File.separator + this.tableName + System.nanoTime() +
                             CarbonCommonConstants.SORT_TEMP_FILE_EXT);
             writeDataTofile(recordHolderList, this.entryCount, file);
-
+            TEMP_FILE_TIME.recordSince(startTime);
+            ROWS_COUNTER.add(this.entryCount);
         }
+        releaseRecordHolderList(sortBuffer);
 
         procFiles = null;
         this.recordHolderList = null;
@@ -406,11 +488,14 @@ public class SortDataRows {
                 String newFileName = "";
                 File finalFile = null;
                 try {
+                    long startTime = System.nanoTime();
                     // sort the record holder list
                     Arrays.sort(recordHolderListLocal, new RowComparator(dimColCount));
 
                     // write data to file
                     writeDataTofile(recordHolderListLocal, entryCountLocal, destFile);
+                    TEMP_FILE_TIME.recordSince(startTime);
+                    ROWS_COUNTER.add(entryCountLocal);
 
                     newFileName = destFile.getAbsolutePath();
                     finalFile = new File(newFileName);
@@ -418,6 +503,8 @@ public class SortDataRows {
                     threadStatusObserver.notifyFailed(e);
                     LOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                             e.getMessage());
+                } finally {
+                    releaseRecordHolderList(recordHolderListLocal);
                 }
                 synchronized (lockObject) {
                     procFiles.add(finalFile);
@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.processing.sortandgroupby.sortKey;
+
+import java.util.Arrays;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.keygenerator.KeyGenerator;
+import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.aggregator.util.AggUtil;
+
+/**
+ * Open addressing hash table which aggregates the rows of one hash partition
+ * on their mdkey. Keys are probed linearly in flat arrays and sum, count,
+ * max and min of double measures are kept in primitive slots per group, other
+ * measures fall back to measure aggregator objects. A table is used by one
+ * thread at a time.
+ */
+public class CarbonHashAggregationTable {
+    /**
+     * measure aggregated by aggregator object
+     */
+    private static final byte OBJECT_SLOT = 0;
+    private static final byte SUM_SLOT = 1;
+    private static final byte COUNT_SLOT = 2;
+    private static final byte MAX_SLOT = 3;
+    private static final byte MIN_SLOT = 4;
+
+    /**
+     * max load factor of the hash table
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private String[] aggType;
+
+    private String[] aggClassName;
+
+    private KeyGenerator factKeyGenerator;
+
+    private char[] type;
+
+    private Object[] mergedMinValue;
+
+    /**
+     * index of mdkey in row, measures are before it
+     */
+    private int keyIndex;
+
+    /**
+     * slot kind of each measure
+     */
+    private byte[] slotKind;
+
+    /**
+     * true if any measure needs an aggregator object
+     */
+    private boolean hasObjectSlot;
+
+    /**
+     * group of each hash slot plus one, 0 for empty slot
+     */
+    private int[] slotGroups;
+
+    /**
+     * hash of each hash slot
+     */
+    private int[] slotHashes;
+
+    private int mask;
+
+    /**
+     * mdkey of each group
+     */
+    private byte[][] groupKeys;
+
+    /**
+     * primitive values, values[measure][group]
+     */
+    private double[][] values;
+
+    /**
+     * false till a value is aggregated, isSet[measure][group]
+     */
+    private boolean[][] isSet;
+
+    /**
+     * aggregator objects, objectAggregators[group][measure]
+     */
+    private MeasureAggregator[][] objectAggregators;
+
+    /**
+     * number of groups
+     */
+    private int size;
+
+    public CarbonHashAggregationTable(String[] aggType, String[] aggClassName,
+            KeyGenerator factKeyGenerator, char[] type, Object[] mergedMinValue,
+            int expectedSize) {
+        this.aggType = aggType;
+        this.aggClassName = aggClassName;
+        this.factKeyGenerator = factKeyGenerator;
+        this.type = type;
+        this.mergedMinValue = mergedMinValue;
+        this.keyIndex = aggType.length;
+        this.slotKind = new byte[aggType.length];
+        for (int i = 0; i < aggType.length; i++) {
+            slotKind[i] = getSlotKind(aggType[i], type[i]);
+            hasObjectSlot |= slotKind[i] == OBJECT_SLOT;
+        }
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)));
+        if (capacity < expectedSize / LOAD_FACTOR) {
+            capacity <<= 1;
+        }
+        this.slotGroups = new int[capacity];
+        this.slotHashes = new int[capacity];
+        this.mask = capacity - 1;
+        int groupCapacity = Math.max(16, expectedSize);
+        this.groupKeys = new byte[groupCapacity][];
+        this.values = new double[aggType.length][];
+        this.isSet = new boolean[aggType.length][];
+        for (int i = 0; i < aggType.length; i++) {
+            if (slotKind[i] != OBJECT_SLOT) {
+                values[i] = new double[groupCapacity];
+                isSet[i] = new boolean[groupCapacity];
+            }
+        }
+        if (hasObjectSlot) {
+            objectAggregators = new MeasureAggregator[groupCapacity][];
+        }
+    }
+
+    /**
+     * Below method will be used to get the slot kind of a measure, only the
+     * aggregators whose result is a plain double or count are kept primitive
+     */
+    private static byte getSlotKind(String aggType, char type) {
+        if (CarbonCommonConstants.COUNT.equalsIgnoreCase(aggType) && (type == 'n'
+                || type == 'l')) {
+            return COUNT_SLOT;
+        }
+        if (type != 'n') {
+            return OBJECT_SLOT;
+        }
+        if (CarbonCommonConstants.SUM.equalsIgnoreCase(aggType)) {
+            return SUM_SLOT;
+        } else if (CarbonCommonConstants.MAX.equalsIgnoreCase(aggType)) {
+            return MAX_SLOT;
+        } else if (CarbonCommonConstants.MIN.equalsIgnoreCase(aggType)) {
+            return MIN_SLOT;
+        }
+        return OBJECT_SLOT;
+    }
+
+    /**
+     * Below method will be used to get the hash of a mdkey, it is mixed so
+     * that both high bits, used to pick the partition, and low bits, used to
+     * pick the hash slot, are well distributed
+     *
+     * @param key mdkey
+     * @return hash
+     */
+    public static int hash(byte[] key) {
+        int hash = 1;
+        for (int i = 0; i < key.length; i++) {
+            hash = 31 * hash + key[i];
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /**
+     * Below method will be used to aggregate the rows
+     *
+     * @param rows   rows
+     * @param hashes hash of the mdkey of each row
+     * @param count  number of rows
+     */
+    public void addRows(Object[][] rows, int[] hashes, int count) {
+        for (int i = 0; i < count; i++) {
+            addRow(rows[i], hashes[i]);
+        }
+    }
+
+    /**
+     * Below method will be used to aggregate a row
+     *
+     * @param row  row
+     * @param hash hash of the mdkey of the row
+     */
+    public void addRow(Object[] row, int hash) {
+        byte[] key = (byte[]) row[keyIndex];
+        int slot = hash & mask;
+        int group;
+        while (true) {
+            group = slotGroups[slot] - 1;
+            if (group < 0) {
+                group = addGroup(key, hash, slot);
+                break;
+            }
+            if (slotHashes[slot] == hash && Arrays.equals(groupKeys[group], key)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        updateMeasureValue(row, group);
+    }
+
+    private int addGroup(byte[] key, int hash, int slot) {
+        if (size == groupKeys.length) {
+            growGroups();
+        }
+        int group = size++;
+        groupKeys[group] = key;
+        slotGroups[slot] = group + 1;
+        slotHashes[slot] = hash;
+        if (hasObjectSlot) {
+            objectAggregators[group] = AggUtil.getAggregators(Arrays.asList(aggType),
+                    Arrays.asList(aggClassName), false, factKeyGenerator, null, mergedMinValue,
+                    type);
+        }
+        if (size > slotGroups.length * LOAD_FACTOR) {
+            rehash();
+        }
+        return group;
+    }
+
+    private void updateMeasureValue(Object[] row, int group) {
+        for (int i = 0; i < keyIndex; i++) {
+            if (null == row[i]) {
+                continue;
+            }
+            switch (slotKind[i]) {
+            case SUM_SLOT:
+                values[i][group] += (Double) row[i];
+                isSet[i][group] = true;
+                break;
+            case COUNT_SLOT:
+                values[i][group]++;
+                break;
+            case MAX_SLOT:
+                double maxValue = (Double) row[i];
+                if (!isSet[i][group] || values[i][group] < maxValue) {
+                    values[i][group] = maxValue;
+                    isSet[i][group] = true;
+                }
+                break;
+            case MIN_SLOT:
+                double minValue = (Double) row[i];
+                if (!isSet[i][group] || values[i][group] > minValue) {
+                    values[i][group] = minValue;
+                    isSet[i][group] = true;
+                }
+                break;
+            default:
+                if (type[i] == 'c' && row[i] instanceof byte[]) {
+                    objectAggregators[group][i].agg(row[i]);
+                } else {
+                    objectAggregators[group][i].agg((double) (Double) row[i]);
+                }
+            }
+        }
+    }
+
+    private void growGroups() {
+        int newCapacity = groupKeys.length * 2;
+        groupKeys = Arrays.copyOf(groupKeys, newCapacity);
+        for (int i = 0; i < keyIndex; i++) {
+            if (null != values[i]) {
+                values[i] = Arrays.copyOf(values[i], newCapacity);
+                isSet[i] = Arrays.copyOf(isSet[i], newCapacity);
+            }
+        }
+        if (hasObjectSlot) {
+            objectAggregators = Arrays.copyOf(objectAggregators, newCapacity);
+        }
+    }
+
+    private void rehash() {
+        int[] oldGroups = slotGroups;
+        int[] oldHashes = slotHashes;
+        slotGroups = new int[oldGroups.length * 2];
+        slotHashes = new int[oldGroups.length * 2];
+        mask = slotGroups.length - 1;
+        for (int i = 0; i < oldGroups.length; i++) {
+            if (oldGroups[i] == 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (slotGroups[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slotGroups[slot] = oldGroups[i];
+            slotHashes[slot] = oldHashes[i];
+        }
+    }
+
+    /**
+     * @return number of groups
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Below method will be used to get the aggregated rows, in the row format
+     * of the sort temp file, measures followed by mdkey
+     *
+     * @return rows
+     */
+    public Object[][] getResult() {
+        Object[][] rows = new Object[size][];
+        for (int group = 0; group < size; group++) {
+            Object[] row = new Object[keyIndex + 1];
+            row[keyIndex] = groupKeys[group];
+            for (int i = 0; i < keyIndex; i++) {
+                switch (slotKind[i]) {
+                case COUNT_SLOT:
+                    if (type[i] == 'l') {
+                        row[i] = (long) values[i][group];
+                    } else {
+                        row[i] = values[i][group];
+                    }
+                    break;
+                case SUM_SLOT:
+                case MAX_SLOT:
+                case MIN_SLOT:
+                    row[i] = isSet[i][group] ? values[i][group] : null;
+                    break;
+                default:
+                    row[i] = getObjectValue(objectAggregators[group][i], type[i]);
+                }
+            }
+            rows[group] = row;
+        }
+        return rows;
+    }
+
+    private Object getObjectValue(MeasureAggregator aggregator, char measureType) {
+        if (measureType == 'c') {
+            return aggregator.getByteArray();
+        }
+        if (aggregator.isFirstTime()) {
+            return null;
+        }
+        switch (measureType) {
+        case 'l':
+            return aggregator.getLongValue();
+        case 'b':
+            return aggregator.getBigDecimalValue();
+        default:
+            return aggregator.getDoubleValue();
+        }
+    }
+
+    /**
+     * Below method will be used to remove all groups, allocated arrays are
+     * kept for the next rows
+     */
+    public void clear() {
+        Arrays.fill(slotGroups, 0);
+        Arrays.fill(groupKeys, 0, size, null);
+        for (int i = 0; i < keyIndex; i++) {
+            if (null != values[i]) {
+                Arrays.fill(values[i], 0, size, 0);
+                Arrays.fill(isSet[i], 0, size, false);
+            }
+        }
+        if (hasObjectSlot) {
+            Arrays.fill(objectAggregators, 0, size, null);
+        }
+        size = 0;
+    }
+}
@@ -164,7 +164,7 @@ public class CarbonSortKeyAggregator {
                 this.type);
         isNotNullValue = new boolean[this.aggType.length];
         for (int i = 0; i < aggType.length; i++) {
-            if (aggType[i].equals(CarbonCommonConstants.DISTINCT_COUNT)) {
+            if (AggUtil.isByteArrayAggregator(aggType[i])) {
                 isNotNullValue[i] = true;
             }
 
@@ -19,50 +19,76 @@
 
 package org.carbondata.processing.sortandgroupby.sortKey;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import net.jpountz.xxhash.XXHash32;
-import net.jpountz.xxhash.XXHashFactory;
+import org.carbondata.common.logging.LogService;
+import org.carbondata.common.logging.LogServiceFactory;
+import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.keygenerator.KeyGenerator;
 import org.carbondata.core.util.CarbonProperties;
-import org.carbondata.query.aggregator.MeasureAggregator;
-import org.carbondata.query.aggregator.util.AggUtil;
-import org.carbondata.query.wrappers.ByteArrayWrapper;
+import org.carbondata.processing.sortandgroupby.exception.CarbonSortKeyAndGroupByException;
+import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 
+/**
+ * Hash based aggregator of the rows of an aggregate table while sorting.
+ * Rows are hash partitioned on their mdkey, each partition is aggregated in
+ * its own open addressing table. With more than one thread the rows are
+ * buffered per partition and the partitions of a batch are aggregated in
+ * parallel, as partitions never share a key their results are only
+ * concatenated.
+ */
 public class CarbonSortKeyHashbasedAggregator {
-    protected ByteArrayWrapper dimensionsRowWrapper;
+    private static final LogService LOGGER =
+            LogServiceFactory.getLogService(CarbonSortKeyHashbasedAggregator.class.getName());
+
+    /**
+     * number of rows buffered per partition before a batch is aggregated
+     */
+    private static final int BATCH_SIZE_PER_PARTITION = 4096;
+
     /**
      * keyIndex
      */
     private int keyIndex;
+
     /**
-     * aggType
+     * aggregation table of each partition
      */
-    private String[] aggType;
+    private CarbonHashAggregationTable[] tables;
+
     /**
-     * aggClassName
+     * buffered rows of each partition
      */
-    private String[] aggClassName;
+    private Object[][][] batchRows;
+
+    /**
+     * hash of buffered rows of each partition
+     */
+    private int[][] batchHashes;
+
     /**
-     * factKeyGenerator
+     * number of buffered rows of each partition
      */
-    private KeyGenerator factKeyGenerator;
+    private int[] batchCount;
+
     /**
-     * max value for each measure
+     * number of buffered rows of all partitions
      */
-    private char[] type;
-    private int resultSize;
+    private int pendingRows;
+
     /**
-     * aggergatorMap
+     * executor of partition aggregation, null if only one partition
      */
-    private Map<ByteArrayWrapper, MeasureAggregator[]> aggergatorMap;
-    private XXHash32 xxHash32;
-    private int counter;
-    private int numberOfRows;
-    private Object[] mergedMinValue;
+    private ExecutorService executorService;
 
     /**
      * constructer.
@@ -75,109 +101,168 @@ public class CarbonSortKeyHashbasedAggregator {
     public CarbonSortKeyHashbasedAggregator(String[] aggType, String[] aggClassName,
             KeyGenerator factKeyGenerator, char[] type, int numberOfRows, Object[] mergedMinValue) {
         this.keyIndex = aggType.length;
-        this.aggType = aggType;
-        this.aggClassName = aggClassName;
-        this.factKeyGenerator = factKeyGenerator;
-        resultSize = aggType.length + 1;
-        this.type = type;
-        //        this.xxHash32 = null;
-        boolean useXXHASH = Boolean.valueOf(
-                CarbonProperties.getInstance().getProperty("carbon.enableXXHash", "false"));
-        if (useXXHASH) {
-            xxHash32 = XXHashFactory.fastestInstance().hash32();
+        int numberOfPartitions = getNumberOfThreads();
+        this.tables = new CarbonHashAggregationTable[numberOfPartitions];
+        for (int i = 0; i < numberOfPartitions; i++) {
+            tables[i] = new CarbonHashAggregationTable(aggType, aggClassName, factKeyGenerator,
+                    type, mergedMinValue, numberOfRows / numberOfPartitions + 1);
         }
-        this.numberOfRows = numberOfRows;
-        aggergatorMap = new HashMap<ByteArrayWrapper, MeasureAggregator[]>(numberOfRows + 1, 1.0f);
-        dimensionsRowWrapper = new ByteArrayWrapper(xxHash32);
-        this.mergedMinValue = mergedMinValue;
-    }
+        if (numberOfPartitions > 1) {
+            LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
+                    "Hash based aggregation with partitions: " + numberOfPartitions);
+            batchRows = new Object[numberOfPartitions][BATCH_SIZE_PER_PARTITION][];
+            batchHashes = new int[numberOfPartitions][BATCH_SIZE_PER_PARTITION];
+            batchCount = new int[numberOfPartitions];
+            executorService =
+                    Executors.newFixedThreadPool(numberOfPartitions, new ThreadFactory() {
+                        private final AtomicInteger threadNumber = new AtomicInteger();
 
-    public void addData(Object[] row) {
-        dimensionsRowWrapper.setMaskedKey((byte[]) row[this.keyIndex]);
-        MeasureAggregator[] data = aggergatorMap.get(dimensionsRowWrapper);
-        if (null == data) {
-            data = getAggregators();
-            updateMeasureValue(row, data);
-            aggergatorMap.put(dimensionsRowWrapper, data);
-            dimensionsRowWrapper = new ByteArrayWrapper(xxHash32);
-            counter++;
-        } else {
-            updateMeasureValue(row, data);
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable,
+                                    "CarbonHashAggregator-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
         }
     }
 
-    public int getSize() {
-        return counter;
+    private static int getNumberOfThreads() {
+        CarbonProperties carbonProperties = CarbonProperties.getInstance();
+        int numberOfThreads;
+        try {
+            numberOfThreads = Integer.parseInt(carbonProperties
+                    .getProperty(CarbonCommonConstants.CARBON_HASH_AGG_THREADS,
+                            carbonProperties.getProperty(CarbonCommonConstants.NUM_CORES_LOADING,
+                                    CarbonCommonConstants.NUM_CORES_DEFAULT_VAL)));
+        } catch (NumberFormatException e) {
+            numberOfThreads = Integer.parseInt(CarbonCommonConstants.NUM_CORES_DEFAULT_VAL);
+        }
+        return Math.max(1, numberOfThreads);
     }
 
-    public void reset() {
-        aggergatorMap = new HashMap<ByteArrayWrapper, MeasureAggregator[]>(numberOfRows + 1, 1.0f);
-        counter++;
+    public void addData(Object[] row) throws CarbonSortKeyAndGroupByException {
+        int hash = CarbonHashAggregationTable.hash((byte[]) row[this.keyIndex]);
+        if (null == executorService) {
+            tables[0].addRow(row, hash);
+            return;
+        }
+        int partition = (int) (((hash & 0xFFFFFFFFL) * tables.length) >>> 32);
+        int count = batchCount[partition];
+        batchRows[partition][count] = row;
+        batchHashes[partition][count] = hash;
+        batchCount[partition] = count + 1;
+        pendingRows++;
+        if (count + 1 == BATCH_SIZE_PER_PARTITION) {
+            aggregateBatch();
+        }
     }
 
-    public Object[][] getResult() {
-        Object[][] rows = new Object[aggergatorMap.size()][];
-        Object[] row = null;
-        int index = 0;
-        for (Entry<ByteArrayWrapper, MeasureAggregator[]> entry : aggergatorMap.entrySet()) {
-            row = new Object[resultSize];
-            row[this.keyIndex] = entry.getKey().getMaskedKey();
-            MeasureAggregator[] value = entry.getValue();
-            for (int i = 0; i < value.length; i++) {
-                if (type[i] != 'c') {
-                    if (!value[i].isFirstTime()) {
-                        switch (type[i]) {
-                        case 'l':
-                            row[i] = value[i].getLongValue();
-                            break;
-                        case 'b':
-                            row[i] = value[i].getBigDecimalValue();
-                            break;
-                        default:
-                            row[i] = value[i].getDoubleValue();
-                        }
-                    } else {
-                        row[i] = null;
+    /**
+     * Below method will be used to aggregate the buffered rows of all
+     * partitions in parallel
+     *
+     * @throws CarbonSortKeyAndGroupByException
+     */
+    private void aggregateBatch() throws CarbonSortKeyAndGroupByException {
+        if (pendingRows == 0) {
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(tables.length);
+        for (int i = 0; i < tables.length; i++) {
+            if (batchCount[i] > 0) {
+                final int partition = i;
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        tables[partition].addRows(batchRows[partition], batchHashes[partition],
+                                batchCount[partition]);
+                        return null;
                     }
-                } else {
-                    row[i] = value[i].getByteArray();
-                }
+                });
             }
-            rows[index++] = row;
         }
-        return rows;
+        invokeAll(tasks);
+        for (int i = 0; i < tables.length; i++) {
+            Arrays.fill(batchRows[i], 0, batchCount[i], null);
+            batchCount[i] = 0;
+        }
+        pendingRows = 0;
     }
 
-    private MeasureAggregator[] getAggregators() {
-        MeasureAggregator[] aggregators = AggUtil.getAggregators(Arrays.asList(this.aggType),
-                Arrays.asList(this.aggClassName), false, factKeyGenerator, null, mergedMinValue,
-                this.type);
-        return aggregators;
+    private <T> List<T> invokeAll(List<Callable<T>> tasks)
+            throws CarbonSortKeyAndGroupByException {
+        List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            for (Future<T> future : executorService.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            throw new CarbonSortKeyAndGroupByException("Problem while hash based aggregation", e);
+        } catch (ExecutionException e) {
+            throw new CarbonSortKeyAndGroupByException("Problem while hash based aggregation", e);
+        }
+        return results;
     }
 
     /**
-     * This method will be used to update the measure value based on aggregator
-     * type
-     *
-     * @param row row
+     * @return number of groups, buffered rows are counted as new groups
      */
-    private void updateMeasureValue(Object[] row, MeasureAggregator[] aggregators) {
-        for (int i = 0; i < aggregators.length; i++) {
-            if (null != row[i]) {
-                if (type[i] != 'c') {
-                    double value = (Double) row[i];
-                    aggregators[i].agg(value);
-                } else {
-                    if (row[i] instanceof byte[]) {
-                        aggregators[i].agg(row[i]);
-                    } else {
-                        double value = (Double) row[i];
-                        aggregators[i].agg(value);
+    public int getSize() {
+        int size = pendingRows;
+        for (int i = 0; i < tables.length; i++) {
+            size += tables[i].getSize();
+        }
+        return size;
+    }
+
+    public void reset() {
+        for (int i = 0; i < tables.length; i++) {
+            tables[i].clear();
+        }
+    }
+
+    public Object[][] getResult() throws CarbonSortKeyAndGroupByException {
+        List<Object[][]> partitionResults;
+        if (null == executorService) {
+            partitionResults = new ArrayList<Object[][]>(1);
+            partitionResults.add(tables[0].getResult());
+        } else {
+            aggregateBatch();
+            List<Callable<Object[][]>> tasks = new ArrayList<Callable<Object[][]>>(tables.length);
+            for (int i = 0; i < tables.length; i++) {
+                final CarbonHashAggregationTable table = tables[i];
+                tasks.add(new Callable<Object[][]>() {
+                    @Override
+                    public Object[][] call() throws Exception {
+                        return table.getResult();
                     }
-                }
+                });
             }
+            partitionResults = invokeAll(tasks);
+        }
+        int size = 0;
+        for (Object[][] partitionResult : partitionResults) {
+            size += partitionResult.length;
+        }
+        Object[][] rows = new Object[size][];
+        int index = 0;
+        for (Object[][] partitionResult : partitionResults) {
+            System.arraycopy(partitionResult, 0, rows, index, partitionResult.length);
+            index += partitionResult.length;
         }
+        return rows;
+    }
 
+    /**
+     * Below method will be used to stop the aggregation threads, can be
+     * called more than once
+     */
+    public void close() {
+        if (null != executorService) {
+            executorService.shutdownNow();
+        }
     }
 
 }
@@ -43,6 +43,7 @@ import org.carbondata.processing.sortandgroupby.exception.CarbonSortKeyAndGroupB
 import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 import org.carbondata.processing.util.CarbonDataProcessorUtil;
 import org.carbondata.query.aggregator.MeasureAggregator;
+import org.carbondata.query.aggregator.util.AggUtil;
 
 public class CarbonSortKeys {
 
@@ -444,7 +445,7 @@ public class CarbonSortKeys {
     private void updateAggTypeForDistinctCount(boolean groupByInSort) {
         if (isAutoAggRequest && (groupByInSort || isUpdateMemberRequest)) {
             for (int i = 0; i < type.length; i++) {
-                if (aggregators[i].equals(CarbonCommonConstants.DISTINCT_COUNT)) {
+                if (AggUtil.isByteArrayAggregator(aggregators[i])) {
                     type[i] = CarbonCommonConstants.BYTE_VALUE_MEASURE;
                 }
             }
@@ -620,11 +621,22 @@ public class CarbonSortKeys {
 
             }
         }
+        closeHashBasedAggregator();
         procFiles = null;
         this.recordHolderList = null;
         startFileBasedMerge();
     }
 
+    /**
+     * Below method will be used to stop the threads of hash based aggregator,
+     * called after sorting and also when the load fails or is stopped before
+     */
+    public void closeHashBasedAggregator() {
+        if (null != hashedBasedAgg) {
+            hashedBasedAgg.close();
+        }
+    }
+
     /**
      * Below method will be used to start file based merge
      *
@@ -654,7 +666,7 @@ public class CarbonSortKeys {
         if (null != hashedBasedAgg) {
             currentSize = hashedBasedAgg.getSize();
         }
-        if (sortBufferSize == currentSize) {
+        if (currentSize >= sortBufferSize) {
             if (SORTKEYLOGGER.isDebugEnabled()) {
                 SORTKEYLOGGER.debug(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                         "************ Writing to temp file ********** ");
@@ -686,14 +698,14 @@ public class CarbonSortKeys {
                     || isUpdateMemberRequest)) {
                 localCheckPointMap = new HashMap<String, Long>(checkPointMap);
             }
-            sortAndWriteToFile(destFile, recordHolderListLocal, sortBufferSize, mdKeyIndex,
-                    localCheckPointMap);
+            sortAndWriteToFile(destFile, recordHolderListLocal, recordHolderListLocal.length,
+                    mdKeyIndex, localCheckPointMap);
             this.entryCount = 0;
         }
         addRecord(row);
     }
 
-    private void addRecord(Object[] row) {
+    private void addRecord(Object[] row) throws CarbonSortKeyAndGroupByException {
         if (null != hashedBasedAgg) {
             entryCount++;
             hashedBasedAgg.addData(row);
@@ -950,6 +962,7 @@ public class CarbonSortKeys {
         public void notifyFailed(Throwable exception) throws CarbonSortKeyAndGroupByException {
             writerExecutorService.shutdownNow();
             executorService.shutdownNow();
+            closeHashBasedAggregator();
             observer.setFailed(true);
             SORTKEYLOGGER.error(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, exception);
             throw new CarbonSortKeyAndGroupByException(exception);
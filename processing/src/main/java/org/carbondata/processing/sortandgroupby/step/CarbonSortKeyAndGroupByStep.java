@@ -580,6 +580,9 @@ public class CarbonSortKeyAndGroupByStep extends BaseStep {
     public void dispose(StepMetaInterface smi, StepDataInterface sdi) {
         this.meta = ((CarbonSortKeyAndGroupByStepMeta) smi);
         this.data = ((CarbonSortKeyAndGroupByStepData) sdi);
+        if (null != this.carbonSortKeys) {
+            this.carbonSortKeys.closeHashBasedAggregator();
+        }
         this.carbonSortKeys = null;
         super.dispose(smi, sdi);
         this.meta = null;
@@ -46,6 +46,7 @@ import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.NodeMeasureDataStore;
 import org.carbondata.core.datastorage.store.columnar.BlockIndexerStorageForInt;
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.dataholder.CarbonWriteDataHolder;
 import org.carbondata.core.datastorage.util.StoreFactory;
@@ -57,6 +58,9 @@ import org.carbondata.core.keygenerator.KeyGenerator;
 import org.carbondata.core.keygenerator.columnar.ColumnarSplitter;
 import org.carbondata.core.keygenerator.columnar.impl.MultiDimKeyVarLengthVariableSplitGenerator;
 import org.carbondata.core.keygenerator.factory.KeyGeneratorFactory;
+import org.carbondata.core.metrics.Counter;
+import org.carbondata.core.metrics.LatencyHistogram;
+import org.carbondata.core.metrics.MetricsRegistry;
 import org.carbondata.core.util.DataTypeUtil;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
@@ -88,6 +92,16 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
      */
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(CarbonFactDataHandlerColumnar.class.getName());
+    /**
+     * rows written to fact files, across all loads
+     */
+    private static final Counter ROWS_COUNTER =
+            MetricsRegistry.getInstance().counter("load.fact.rows");
+    /**
+     * time taken to index, compress and write one leaf node
+     */
+    private static final LatencyHistogram LEAF_NODE_TIME =
+            MetricsRegistry.getInstance().histogram("load.fact.leaf.node.time");
 
     /**
      * data writer
@@ -946,6 +960,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
             this.dataWriter.writeDataToFile(blockStorage,
                     this.dataStore.getWritableMeasureDataArray(dataHolder), this.entryCount,
                     this.startKey, this.endKey);
+            ROWS_COUNTER.add(entryCount);
 
             processedDataCount += entryCount;
             LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
@@ -1100,6 +1115,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         numberOfColumns = keyBlockHolder.length;
 
         // create data store
+        compressionModel.setMeasureCodec(
+                CompressorRegistry.getMeasureCodecs(this.tableName, this.measureCount));
         this.dataStore = StoreFactory.createDataStore(compressionModel);
         // agg type
         type = compressionModel.getType();
@@ -1154,6 +1171,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         this.dataWriter = getFactDataWriter(this.storeLocation, this.measureCount, this.mdkeyLength,
                 this.tableName, true, fileManager, keyBlockSize);
         this.dataWriter.setIsNoDictionary(isNoDictionary);
+        this.dataWriter.setKeyBlockCodec(
+                CompressorRegistry.getKeyBlockCodecs(this.tableName, isNoDictionary.length));
         // initialize the channel;
         this.dataWriter.initializeWriter();
 
@@ -1294,8 +1313,11 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         @Override
         public IndexStorage call() throws Exception {
             //            writeDataToFile(this.data,dataHolderLocal, entryCountLocal,startkeyLocal,endKeyLocal);
+            long startTime = System.nanoTime();
             writeDataToFile(this.data, dataHolderLocal, columnData, entryCountLocal, startkeyLocal,
                     endKeyLocal);
+            LEAF_NODE_TIME.recordSince(startTime);
+            ROWS_COUNTER.add(entryCountLocal);
             return null;
         }
 
@@ -33,6 +33,7 @@ import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.NodeMeasureDataStore;
 import org.carbondata.core.datastorage.store.columnar.BlockIndexerStorageForInt;
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 import org.carbondata.core.datastorage.store.compression.ValueCompressionModel;
 import org.carbondata.core.datastorage.store.dataholder.CarbonWriteDataHolder;
 import org.carbondata.core.datastorage.store.impl.FileFactory;
@@ -42,6 +43,7 @@ import org.carbondata.core.file.manager.composite.IFileManagerComposite;
 import org.carbondata.core.file.manager.composite.LoadFolderData;
 import org.carbondata.core.keygenerator.columnar.ColumnarSplitter;
 import org.carbondata.core.keygenerator.columnar.impl.MultiDimKeyVarLengthEquiSplitGenerator;
+import org.carbondata.core.metadata.LeafNodeInfoColumnar;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
 import org.carbondata.core.util.ValueCompressionUtil;
@@ -160,6 +162,11 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
 
     private int currentRestructNumber;
 
+    /**
+     * leaves submitted to writer executor which may not be written yet
+     */
+    private List<Future<IndexStorage>> pendingLeafWrites;
+
     public CarbonFactDataHandlerColumnarMerger(CarbonColumnarFactMergerInfo carbonFactDataMergerInfo,
             int currentRestructNum) {
         this.carbonFactDataMergerInfo = carbonFactDataMergerInfo;
@@ -187,7 +194,8 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
         LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                 "Initializing writer executers");
         writerExecutorService = Executors.newFixedThreadPool(3);
-
+        pendingLeafWrites =
+                new ArrayList<Future<IndexStorage>>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
     }
 
     /**
@@ -290,9 +298,9 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
             byte[] endKeyLocal = endKey;
             startKey = new byte[carbonFactDataMergerInfo.getMdkeyLength()];
             endKey = new byte[carbonFactDataMergerInfo.getMdkeyLength()];
-            writerExecutorService
+            pendingLeafWrites.add(writerExecutorService
                     .submit(new DataWriterThread(byteArrayValues, writableMeasureDataArray,
-                            entryCountLocal, startKeyLocal, endKeyLocal));
+                            entryCountLocal, startKeyLocal, endKeyLocal)));
             // set the entry count to zero
             processedDataCount += entryCount;
             LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
@@ -305,6 +313,82 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
         }
     }
 
+    /**
+     * Below method will be used to check whether leaves of a slice can be
+     * copied to the merged file without decoding. This is possible only when
+     * rows are not grouped and the measures of the slice can be read with the
+     * compression model of the merged file.
+     *
+     * @param sliceCompressionModel compression model of the slice
+     * @return true if leaves of slice can be copied
+     */
+    public boolean isLeafCopySupported(ValueCompressionModel sliceCompressionModel) {
+        return !carbonFactDataMergerInfo.isGroupByEnabled() && null != dataWriter && dataWriter
+                .isCompressedLeafWriteSupported() && ValueCompressionUtil
+                .isCompatibleCompressionModel(compressionModel, sliceCompressionModel);
+    }
+
+    /**
+     * Below method will be used to copy a leaf of an existing fact file to the
+     * merged file. Rows added before this leaf are written first, so all of
+     * them must have smaller keys than the leaf and all rows added after it
+     * must have bigger keys.
+     *
+     * @param leafNodeInfo metadata of the leaf in existing fact file
+     * @param leafData     complete leaf data read from existing fact file
+     * @throws CarbonDataWriterException
+     */
+    public void addCompressedLeaf(LeafNodeInfoColumnar leafNodeInfo, byte[] leafData)
+            throws CarbonDataWriterException {
+        writeCurrentLeaf();
+        NodeHolder holder = new NodeHolder();
+        holder.setCompressedLeafData(leafData);
+        holder.setEntryCount(leafNodeInfo.getNumberOfKeys());
+        holder.setStartKey(leafNodeInfo.getStartKey());
+        holder.setEndKey(leafNodeInfo.getEndKey());
+        holder.setKeyLengths(leafNodeInfo.getKeyLengths());
+        holder.setIsSortedKeyBlock(leafNodeInfo.getIsSortedKeyColumn());
+        holder.setMeasureLenght(leafNodeInfo.getMeasureLength());
+        holder.setKeyBlockIndexLength(leafNodeInfo.getKeyBlockIndexLength());
+        holder.setDataIndexMapLength(leafNodeInfo.getDataIndexMapLength());
+        holder.setColumnMinMaxData(leafNodeInfo.getColumnMinMaxData());
+        synchronized (lock) {
+            this.dataWriter.writeCompressedLeaf(holder);
+        }
+        processedDataCount += leafNodeInfo.getNumberOfKeys();
+    }
+
+    /**
+     * Below method will be used to write the rows added till now as a leaf,
+     * after all the leaves submitted to writer executor are written
+     *
+     * @throws CarbonDataWriterException
+     */
+    private void writeCurrentLeaf() throws CarbonDataWriterException {
+        try {
+            for (Future<IndexStorage> pendingLeafWrite : pendingLeafWrites) {
+                pendingLeafWrite.get();
+            }
+        } catch (InterruptedException e) {
+            throw new CarbonDataWriterException("Problem while writing the leaf node", e);
+        } catch (ExecutionException e) {
+            throw new CarbonDataWriterException("Problem while writing the leaf node", e);
+        }
+        pendingLeafWrites.clear();
+        if (this.entryCount > 0) {
+            writeDataToFile(keyDataHolder.getByteArrayValues(),
+                    this.dataStore.getWritableMeasureDataArray(dataHolder), entryCount, startKey,
+                    endKey);
+            processedDataCount += entryCount;
+            this.entryCount = 0;
+            startKey = new byte[carbonFactDataMergerInfo.getMdkeyLength()];
+            endKey = new byte[carbonFactDataMergerInfo.getMdkeyLength()];
+            resetKeyBlockHolder();
+            // holders are trimmed to entry count while getting the values
+            initialiseWriteDataHolders();
+        }
+    }
+
     private void writeDataToFile(byte[][] data, byte[][] dataHolderLocal, int entryCountLocal,
             byte[] startkeyLocal, byte[] endKeyLocal) throws CarbonDataWriterException {
         ExecutorService executorService = Executors.newFixedThreadPool(5);
@@ -423,8 +507,12 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
                     "*******************************************Number Of records processed: "
                             + processedDataCount);
             this.dataWriter.writeleafMetaDataToFile();
-        } else if (null != this.dataWriter && this.dataWriter.getLeafMetadataSize() > 0) {
-            this.dataWriter.writeleafMetaDataToFile();
+        } else if (null != this.dataWriter) {
+            // leaves submitted to writer executor must be written before meta data
+            writeCurrentLeaf();
+            if (this.dataWriter.getLeafMetadataSize() > 0) {
+                this.dataWriter.writeleafMetaDataToFile();
+            }
         }
     }
 
@@ -522,6 +610,9 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
         numberOfColumns = keyBlockHolder.length;
 
         // create data store
+        compressionModel.setMeasureCodec(CompressorRegistry
+                .getMeasureCodecs(carbonFactDataMergerInfo.getTableName(),
+                        carbonFactDataMergerInfo.getMeasureCount()));
         this.dataStore = StoreFactory.createDataStore(compressionModel);
         // agg type
         char[] type = compressionModel.getType();
@@ -545,6 +636,21 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
             customMeasureIndex[i] = customMeasureIndexList.get(i);
         }
 
+        initialiseWriteDataHolders();
+
+        this.dataWriter = getFactDataWriter(carbonFactDataMergerInfo.getDestinationLocation(),
+                carbonFactDataMergerInfo.getMeasureCount(), carbonFactDataMergerInfo.getMdkeyLength(),
+                carbonFactDataMergerInfo.getTableName(), true, fileManager,
+                this.columnarSplitter.getBlockKeySize(), carbonFactDataMergerInfo.isUpdateFact());
+        this.dataWriter.setKeyBlockCodec(CompressorRegistry
+                .getKeyBlockCodecs(carbonFactDataMergerInfo.getTableName(),
+                        this.columnarSplitter.getBlockKeySize().length));
+        // initialize the channel;
+        this.dataWriter.initializeWriter();
+
+    }
+
+    private void initialiseWriteDataHolders() {
         this.dataHolder = new CarbonWriteDataHolder[carbonFactDataMergerInfo.getMeasureCount()];
         for (int i = 0; i < otherMeasureIndex.length; i++) {
             this.dataHolder[otherMeasureIndex[i]] = new CarbonWriteDataHolder();
@@ -557,15 +663,6 @@ public class CarbonFactDataHandlerColumnarMerger implements CarbonFactHandler {
 
         keyDataHolder = new CarbonWriteDataHolder();
         keyDataHolder.initialiseByteArrayValues(leafNodeSize);
-        initialisedataHolder();
-
-        this.dataWriter = getFactDataWriter(carbonFactDataMergerInfo.getDestinationLocation(),
-                carbonFactDataMergerInfo.getMeasureCount(), carbonFactDataMergerInfo.getMdkeyLength(),
-                carbonFactDataMergerInfo.getTableName(), true, fileManager,
-                this.columnarSplitter.getBlockKeySize(), carbonFactDataMergerInfo.isUpdateFact());
-        // initialize the channel;
-        this.dataWriter.initializeWriter();
-
     }
 
     private void resetKeyBlockHolder() {
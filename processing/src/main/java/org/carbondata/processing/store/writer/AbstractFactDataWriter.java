@@ -31,6 +31,8 @@ import java.util.concurrent.*;
 import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.datastorage.store.compression.CompressionCodec;
+import org.carbondata.core.datastorage.store.compression.CompressorRegistry;
 import org.carbondata.core.file.manager.composite.FileData;
 import org.carbondata.core.file.manager.composite.IFileManagerComposite;
 import org.carbondata.core.metadata.LeafNodeInfoColumnar;
@@ -74,6 +76,10 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
      */
     protected int[] keyBlockSize;
     protected boolean[] isNoDictionary;
+    /**
+     * compression codec of every key block, snappy if not set
+     */
+    protected CompressionCodec[] keyBlockCodec;
     /**
      * mdkeySize
      */
@@ -169,6 +175,28 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
         this.isNoDictionary = isNoDictionary;
     }
 
+    /**
+     * @param keyBlockCodec the keyBlockCodec to set
+     */
+    public void setKeyBlockCodec(CompressionCodec[] keyBlockCodec) {
+        this.keyBlockCodec = keyBlockCodec;
+    }
+
+    /**
+     * Below method will be used to compress the key block with the codec
+     * configured for it
+     *
+     * @param blockIndex key block index
+     * @param keyBlock   key block data
+     * @return compressed key block
+     */
+    protected byte[] compressKeyBlock(int blockIndex, byte[] keyBlock) {
+        CompressionCodec codec = null != keyBlockCodec && blockIndex < keyBlockCodec.length ?
+                keyBlockCodec[blockIndex] :
+                CompressionCodec.SNAPPY;
+        return CompressorRegistry.compress(codec, keyBlock);
+    }
+
     /**
      * This method will be used to update the file channel with new file; new
      * file will be created once existing file reached the file size limit This
@@ -531,6 +559,49 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
         // calculate the current size of the file
     }
 
+    @Override
+    public void writeCompressedLeaf(NodeHolder nodeHolder) throws CarbonDataWriterException {
+        if (!isCompressedLeafWriteSupported()) {
+            throw new CarbonDataWriterException(
+                    "Compressed leaf write is not supported by " + getClass().getName());
+        }
+        updateLeafNodeFileChannel();
+        this.currentFileSize += nodeHolder.getCompressedLeafData().length;
+        if (!this.isNodeHolderRequired) {
+            writeDataToFile(nodeHolder);
+        } else {
+            nodeHolderList.add(nodeHolder);
+        }
+    }
+
+    @Override
+    public boolean isCompressedLeafWriteSupported() {
+        return false;
+    }
+
+    /**
+     * Below method will be used to write the compressed leaf data as it is
+     *
+     * @param nodeHolder node holder
+     * @param channel    channel
+     * @return offset of the leaf in file
+     * @throws CarbonDataWriterException
+     */
+    protected long writeCompressedLeafData(NodeHolder nodeHolder, FileChannel channel)
+            throws CarbonDataWriterException {
+        long offset = 0;
+        try {
+            offset = channel.size();
+            ByteBuffer byteBuffer = ByteBuffer.wrap(nodeHolder.getCompressedLeafData());
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        } catch (IOException exception) {
+            throw new CarbonDataWriterException("Problem in writing Leaf Node File: ", exception);
+        }
+        return offset;
+    }
+
     protected abstract long writeDataToFile(NodeHolder nodeHolder, FileChannel channel)
             throws CarbonDataWriterException;
 
@@ -20,6 +20,7 @@
 package org.carbondata.processing.store.writer;
 
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
+import org.carbondata.core.datastorage.store.compression.CompressionCodec;
 import org.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 
 public interface CarbonFactDataWriter<T> {
@@ -39,6 +40,21 @@ public interface CarbonFactDataWriter<T> {
     void writeDataToFile(IndexStorage<T>[] keyStorageArray, byte[][] dataArray, int entryCount,
             byte[] startKey, byte[] endKey) throws CarbonDataWriterException;
 
+    /**
+     * Below method will be used to write a leaf whose data is already
+     * compressed in the format of this writer, see
+     * {@link NodeHolder#getCompressedLeafData()}
+     *
+     * @param nodeHolder leaf data and its lengths
+     * @throws CarbonDataWriterException
+     */
+    void writeCompressedLeaf(NodeHolder nodeHolder) throws CarbonDataWriterException;
+
+    /**
+     * @return true if writer supports {@link #writeCompressedLeaf(NodeHolder)}
+     */
+    boolean isCompressedLeafWriteSupported();
+
     /**
      * Below method will be used to write the leaf meta data to file
      *
@@ -73,4 +89,9 @@ public interface CarbonFactDataWriter<T> {
      */
     void setIsNoDictionary(boolean[] isNoDictionary);
 
+    /**
+     * @param keyBlockCodec compression codec of every key block
+     */
+    void setKeyBlockCodec(CompressionCodec[] keyBlockCodec);
+
 }
@@ -25,7 +25,6 @@ import java.nio.channels.FileChannel;
 
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
-import org.carbondata.core.datastorage.store.compression.SnappyCompression.SnappyByteCompression;
 import org.carbondata.core.file.manager.composite.IFileManagerComposite;
 import org.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 
@@ -140,7 +139,7 @@ public class CarbonFactDataWriterImpl extends AbstractFactDataWriter<short[]> {
                         keyBlockSize[i]);
                 destPos += keyBlockSize[i];
             }
-            keyBlockData[i] = SnappyByteCompression.INSTANCE.compress(keyBlockData[i]);
+            keyBlockData[i] = compressKeyBlock(i, keyBlockData[i]);
         }
         return keyBlockData;
     }
@@ -27,7 +27,6 @@ import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
-import org.carbondata.core.datastorage.store.compression.SnappyCompression.SnappyByteCompression;
 import org.carbondata.core.file.manager.composite.IFileManagerComposite;
 import org.carbondata.core.keygenerator.mdkey.NumberCompressor;
 import org.carbondata.core.util.CarbonProperties;
@@ -159,7 +158,7 @@ public class CarbonFactDataWriterImplForIntIndex extends AbstractFactDataWriter<
                         destPos, keyBlockSize[i]);
                 destPos += keyBlockSize[i];
             }
-            keyBlockDataArray[i] = SnappyByteCompression.INSTANCE.compress(keyBlockDataArray[i]);
+            keyBlockDataArray[i] = compressKeyBlock(i, keyBlockDataArray[i]);
         }
         return keyBlockDataArray;
     }
@@ -28,7 +28,7 @@ import org.carbondata.common.logging.LogService;
 import org.carbondata.common.logging.LogServiceFactory;
 import org.carbondata.core.constants.CarbonCommonConstants;
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
-import org.carbondata.core.datastorage.store.compression.SnappyCompression.SnappyByteCompression;
+import org.carbondata.core.datastorage.store.columnar.VariableLengthColumnBlock;
 import org.carbondata.core.file.manager.composite.IFileManagerComposite;
 import org.carbondata.core.keygenerator.mdkey.NumberCompressor;
 import org.carbondata.core.metadata.LeafNodeInfoColumnar;
@@ -39,10 +39,18 @@ import org.carbondata.processing.util.CarbonDataProcessorLogEvent;
 public class CarbonFactDataWriterImplForIntIndexAndAggBlock extends AbstractFactDataWriter<int[]> {
     private static final LogService LOGGER = LogServiceFactory
             .getLogService(CarbonFactDataWriterImplForIntIndexAndAggBlock.class.getName());
+    /**
+     * size of the length before each high cardinality dimension value
+     */
+    private static final int HIGH_CARD_LENGTH_SIZE = 2;
     protected boolean[] aggBlocks;
     private NumberCompressor numberCompressor;
     private boolean[] isComplexType;
     private int highCardCount;
+    /**
+     * whether values of high cardinality dimensions can be prefix encoded
+     */
+    private boolean isPrefixEncodingEnabled;
 
     public CarbonFactDataWriterImplForIntIndexAndAggBlock(String storeLocation, int measureCount,
             int mdKeyLength, String tableName, boolean isNodeHolder,
@@ -64,6 +72,9 @@ public class CarbonFactDataWriterImplForIntIndexAndAggBlock extends AbstractFact
         this.numberCompressor = new NumberCompressor(Integer.parseInt(CarbonProperties.getInstance()
                 .getProperty(CarbonCommonConstants.LEAFNODE_SIZE,
                         CarbonCommonConstants.LEAFNODE_SIZE_DEFAULT_VAL)));
+        this.isPrefixEncodingEnabled = Boolean.parseBoolean(CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.CARBON_NO_DICTIONARY_PREFIX_ENCODING,
+                        CarbonCommonConstants.CARBON_NO_DICTIONARY_PREFIX_ENCODING_DEFAULT));
     }
 
     @Override
@@ -212,28 +223,22 @@ public class CarbonFactDataWriterImplForIntIndexAndAggBlock extends AbstractFact
         }
     }
 
+    @Override
+    public boolean isCompressedLeafWriteSupported() {
+        return true;
+    }
+
     protected byte[][] fillAndCompressedKeyBlockData(IndexStorage<int[]>[] keyStorageArray,
             int entryCount) {
         byte[][] keyBlockData = new byte[keyStorageArray.length][];
         int destPos = 0;
         for (int i = 0; i < keyStorageArray.length; i++) {
             destPos = 0;
-            //handling for high card dims
+            //handling for high card dims, values are sorted and each starts with its length
             if (i >= keyBlockSize.length && !isComplexType[i]) {
-                int totalLength = 0;
-                // calc size of the total bytes in all the colmns.
-                for (int k = 0; k < keyStorageArray[i].getKeyBlock().length; k++) {
-                    byte[] colValue = keyStorageArray[i].getKeyBlock()[k];
-                    totalLength += colValue.length;
-                }
-                keyBlockData[i] = new byte[totalLength];
-
-                for (int j = 0; j < keyStorageArray[i].getKeyBlock().length; j++) {
-                    int length = keyStorageArray[i].getKeyBlock()[j].length;
-                    System.arraycopy(keyStorageArray[i].getKeyBlock()[j], 0, keyBlockData[i],
-                            destPos, length);
-                    destPos += length;
-                }
+                keyBlockData[i] = VariableLengthColumnBlock
+                        .getBlockData(keyStorageArray[i].getKeyBlock(), HIGH_CARD_LENGTH_SIZE,
+                                isPrefixEncodingEnabled);
             } else {
                 if (aggBlocks[i]) {
                     keyBlockData[i] = new byte[keyStorageArray[i].getTotalSize()];
@@ -256,7 +261,7 @@ public class CarbonFactDataWriterImplForIntIndexAndAggBlock extends AbstractFact
                     }
                 }
             }
-            keyBlockData[i] = SnappyByteCompression.INSTANCE.compress(keyBlockData[i]);
+            keyBlockData[i] = compressKeyBlock(i, keyBlockData[i]);
         }
         return keyBlockData;
     }
@@ -273,6 +278,9 @@ public class CarbonFactDataWriterImplForIntIndexAndAggBlock extends AbstractFact
      */
     protected long writeDataToFile(NodeHolder nodeHolder, FileChannel channel)
             throws CarbonDataWriterException {
+        if (null != nodeHolder.getCompressedLeafData()) {
+            return writeCompressedLeafData(nodeHolder, channel);
+        }
         // create byte buffer
         byte[][] compressedIndex = nodeHolder.getCompressedIndex();
         byte[][] compressedIndexMap = nodeHolder.getCompressedIndexMap();
@@ -20,7 +20,6 @@
 package org.carbondata.processing.store.writer;
 
 import org.carbondata.core.datastorage.store.columnar.IndexStorage;
-import org.carbondata.core.datastorage.store.compression.SnappyCompression.SnappyByteCompression;
 import org.carbondata.core.file.manager.composite.IFileManagerComposite;
 import org.carbondata.core.keygenerator.mdkey.NumberCompressor;
 import org.carbondata.core.util.CarbonUtil;
@@ -67,7 +66,7 @@ public class CarbonFactDataWriterImplForIntIndexAndAggBlockCompressed
                     destPos += keyBlockSize[i];
                 }
                 keyBlockData[i] = this.keyBlockCompressor[i].compressBytes(keyBlockData[i]);
-                keyBlockData[i] = SnappyByteCompression.INSTANCE.compress(keyBlockData[i]);
+                keyBlockData[i] = compressKeyBlock(i, keyBlockData[i]);
             }
 
         }
@@ -74,6 +74,12 @@ public class NodeHolder {
      */
     private boolean[] isSortedKeyBlock;
 
+    /**
+     * complete leaf data which is already compressed, used when leaf is
+     * copied from existing fact file
+     */
+    private byte[] compressedLeafData;
+
     private byte[][] compressedIndex;
 
     private byte[][] compressedIndexMap;
@@ -325,4 +331,18 @@ public class NodeHolder {
 
     }
 
+    /**
+     * @return the compressedLeafData
+     */
+    public byte[] getCompressedLeafData() {
+        return compressedLeafData;
+    }
+
+    /**
+     * @param compressedLeafData the compressedLeafData to set
+     */
+    public void setCompressedLeafData(byte[] compressedLeafData) {
+        this.compressedLeafData = compressedLeafData;
+    }
+
 }
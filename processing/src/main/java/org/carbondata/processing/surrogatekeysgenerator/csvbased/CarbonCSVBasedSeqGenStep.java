@@ -42,6 +42,9 @@ import org.carbondata.core.keygenerator.KeyGenException;
 import org.carbondata.core.keygenerator.KeyGenerator;
 import org.carbondata.core.keygenerator.factory.KeyGeneratorFactory;
 import org.carbondata.core.metadata.SliceMetaData;
+import org.carbondata.core.metrics.Counter;
+import org.carbondata.core.metrics.LatencyHistogram;
+import org.carbondata.core.metrics.MetricsRegistry;
 import org.carbondata.core.util.DataTypeUtil;
 import org.carbondata.core.util.CarbonProperties;
 import org.carbondata.core.util.CarbonUtil;
@@ -93,6 +96,16 @@ public class CarbonCSVBasedSeqGenStep extends BaseStep {
      */
     private static final LogService LOGGER =
             LogServiceFactory.getLogService(CarbonCSVBasedSeqGenStep.class.getName());
+    /**
+     * rows for which surrogate keys are generated, across all loads
+     */
+    private static final Counter ROWS_COUNTER =
+            MetricsRegistry.getInstance().counter("load.seqgen.rows");
+    /**
+     * time taken by the step for one load
+     */
+    private static final LatencyHistogram STEP_TIME =
+            MetricsRegistry.getInstance().histogram("load.seqgen.step.time");
     /**
      * NUM_CORES_DEFAULT_VAL
      */
@@ -232,6 +245,10 @@ public class CarbonCSVBasedSeqGenStep extends BaseStep {
      * logCounter
      */
     private int logCounter;
+    /**
+     * time at which first row is received
+     */
+    private long processStartTime;
     /**
      * presentColumnMapIndex
      */
@@ -313,6 +330,7 @@ public class CarbonCSVBasedSeqGenStep extends BaseStep {
                     CheckPointHanlder.getCheckpoint(new File(getTrans().getFilename()).getName());
             if (first) {
                 first = false;
+                processStartTime = System.nanoTime();
                 meta.initialize();
                 final Object dataProcessingLockObject = CarbonDataProcessorManager.getInstance()
                         .getDataProcessingLockObject(
@@ -533,6 +551,7 @@ public class CarbonCSVBasedSeqGenStep extends BaseStep {
             readCounter++;
             if (null != out) {
                 writeCounter++;
+                ROWS_COUNTER.inc();
                 putRow(data.getOutputRowMeta(), out);
             }
             localQueue = new DataProcessorQueue(initialCapacity);
@@ -568,6 +587,7 @@ public class CarbonCSVBasedSeqGenStep extends BaseStep {
                     "Summary: Carbon CSV Based Seq Gen Step : " + readCounter + ": Write: "
                             + writeCounter;
             LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG, logMessage);
+            STEP_TIME.recordSince(processStartTime);
             setOutputDone();
 
         } catch (Exception ex) {
@@ -1024,6 +1044,7 @@ public class CarbonCSVBasedSeqGenStep extends BaseStep {
     }
 
     private void processRecord() {
+        ROWS_COUNTER.inc();
         if (readCounter % logCounter == 0) {
             LOGGER.info(CarbonDataProcessorLogEvent.UNIBI_CARBONDATAPROCESSOR_MSG,
                     "Record Procerssed For table: " + meta.getTableName());
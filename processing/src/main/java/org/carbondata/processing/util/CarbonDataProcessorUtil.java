@@ -110,6 +110,12 @@ public final class CarbonDataProcessorUtil {
         if (minValueFact != null) {
             totalSize += length * CarbonCommonConstants.DOUBLE_SIZE_IN_BYTE;
         }
+        boolean adaptiveEncoding = Boolean.parseBoolean(CarbonProperties.getInstance()
+                .getProperty(CarbonCommonConstants.MEASURE_ADAPTIVE_ENCODING_ENABLED,
+                        CarbonCommonConstants.MEASURE_ADAPTIVE_ENCODING_ENABLED_DEFAULT));
+        if (adaptiveEncoding) {
+            totalSize += length;
+        }
         //        +4 bytes for writing total length at the beginning of measure metadata file
         ByteBuffer byteBuffer =
                 ByteBuffer.allocate(totalSize + CarbonCommonConstants.INT_SIZE_IN_BYTE);
@@ -147,6 +153,14 @@ public final class CarbonDataProcessorUtil {
             }
         }
 
+        // measure encoding is written only when adaptive encoding is enabled
+        // so that measure metadata files remain readable by older versions
+        if (adaptiveEncoding) {
+            for (int j = 0; j < aggType.length; j++) {
+                byteBuffer.put(ValueCompressionUtil.MEASURE_ENCODING_ADAPTIVE);
+            }
+        }
+
         // flip the buffer
         byteBuffer.flip();
         FileOutputStream stream = null;
@@ -1098,6 +1112,10 @@ public final class CarbonDataProcessorUtil {
             return CarbonCommonConstants.COUNT;
         } else if (aggregator instanceof DistinctCountAggregator) {
             return CarbonCommonConstants.DISTINCT_COUNT;
+        } else if (aggregator instanceof ApproxCountDistinctAggregator) {
+            return CarbonCommonConstants.APPROX_COUNT_DISTINCT;
+        } else if (aggregator instanceof ApproxPercentileAggregator) {
+            return CarbonCommonConstants.APPROX_PERCENTILE;
         } else if (aggregator instanceof SumDistinctDoubleAggregator
                 || aggregator instanceof SumDistinctLongAggregator
                 || aggregator instanceof SumDistinctBigDecimalAggregator) {
@@ -3187,7 +3187,8 @@ public final class CarbonSchemaParser {
                 Annotations annotations = measure.annotations;
                 if (null == annotations) {
                     String aggregator = measure.aggregator;
-                    if (aggregator.equals("count") || aggregator.equals("distinct-count")) {
+                    if (aggregator.equals("count") || aggregator.equals("distinct-count")
+                            || aggregator.equals("approx-count-distinct")) {
                         continue;
                     } else {
                         return true;
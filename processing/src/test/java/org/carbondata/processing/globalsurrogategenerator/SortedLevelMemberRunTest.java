@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.processing.globalsurrogategenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the sort-merge of level files of all partitions which assigns the
+ * global surrogate keys.
+ */
+public class SortedLevelMemberRunTest {
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private List<SortedLevelMemberRun> runs = new ArrayList<SortedLevelMemberRun>();
+
+    private List<int[]> partitionKeyRanges = new ArrayList<int[]>();
+
+    @Test public void membersDuplicatedAcrossPartitionsGetSameKey() throws IOException {
+        addPartition(1, 10, "b", "a", "c");
+        addPartition(1, 10, "c", "d", "a");
+        int[][] globalKeys = createRemapTables();
+        int maxKey = SortedLevelMemberRun.mergeRuns(runs, false, partitionKeyRanges,
+                globalKeys, 0);
+        Assert.assertEquals(4, maxKey);
+        Assert.assertArrayEquals(new int[] { 2, 1, 3 }, globalKeys[0]);
+        Assert.assertArrayEquals(new int[] { 3, 4, 1 }, globalKeys[1]);
+    }
+
+    @Test public void partitionColumnMembersGetKeyPerPartition() throws IOException {
+        addPartition(1, 10, "a", "b");
+        addPartition(1, 10, "a");
+        int[][] globalKeys = createRemapTables();
+        int maxKey = SortedLevelMemberRun.mergeRuns(runs, true, partitionKeyRanges,
+                globalKeys, 0);
+        Assert.assertEquals(3, maxKey);
+        Assert.assertArrayEquals(new int[] { 1, 3 }, globalKeys[0]);
+        Assert.assertArrayEquals(new int[] { 2 }, globalKeys[1]);
+    }
+
+    @Test public void sortedAndUnsortedLevelFilesSpilledToRuns() throws IOException {
+        File folder = tempFolder.newFolder();
+        addPartition(5, 2, folder, "a", "c", "e", "g", "i");
+        addPartition(3, 2, folder, "h", "f", "d", "b", "i");
+        Assert.assertEquals(6, runs.size());
+        Assert.assertEquals(6, folder.list().length);
+        int[][] globalKeys = createRemapTables();
+        int maxKey = SortedLevelMemberRun.mergeRuns(runs, false, partitionKeyRanges,
+                globalKeys, 100);
+        Assert.assertEquals(109, maxKey);
+        Assert.assertArrayEquals(new int[] { 101, 103, 105, 107, 109 }, globalKeys[0]);
+        Assert.assertArrayEquals(new int[] { 108, 106, 104, 102, 109 }, globalKeys[1]);
+        Assert.assertEquals(0, folder.list().length);
+    }
+
+    @Test public void emptyPartitionHasEmptyRemapTable() throws IOException {
+        addPartition(1, 10, "x", "y");
+        addPartition(1, 10);
+        addPartition(7, 10, "y", "z");
+        Assert.assertEquals(0, partitionKeyRanges.get(1)[1]);
+        int[][] globalKeys = createRemapTables();
+        int maxKey = SortedLevelMemberRun.mergeRuns(runs, false, partitionKeyRanges,
+                globalKeys, 0);
+        Assert.assertEquals(3, maxKey);
+        Assert.assertArrayEquals(new int[] { 1, 2 }, globalKeys[0]);
+        Assert.assertArrayEquals(new int[0], globalKeys[1]);
+        Assert.assertArrayEquals(new int[] { 2, 3 }, globalKeys[2]);
+    }
+
+    private void addPartition(int minSurrogate, int sortSize, String... members)
+            throws IOException {
+        addPartition(minSurrogate, sortSize, null, members);
+    }
+
+    private void addPartition(int minSurrogate, int sortSize, File folder, String... members)
+            throws IOException {
+        byte[] levelFile = createLevelFile(minSurrogate, members);
+        DataInputStream stream = new DataInputStream(new ByteArrayInputStream(levelFile));
+        partitionKeyRanges.add(SortedLevelMemberRun
+                .readSortedRuns(stream, levelFile.length, partitionKeyRanges.size(), sortSize,
+                        folder, runs));
+        Assert.assertEquals(minSurrogate, partitionKeyRanges.get(partitionKeyRanges.size() - 1)[0]);
+    }
+
+    private int[][] createRemapTables() {
+        int[][] globalKeys = new int[partitionKeyRanges.size()][];
+        for (int i = 0; i < globalKeys.length; i++) {
+            globalKeys[i] = new int[partitionKeyRanges.get(i)[1]];
+        }
+        return globalKeys;
+    }
+
+    /**
+     * level file holds min surrogate key, length and bytes of each member and
+     * max surrogate key
+     */
+    private byte[] createLevelFile(int minSurrogate, String... members) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream stream = new DataOutputStream(bytes);
+        stream.writeInt(minSurrogate);
+        for (String member : members) {
+            byte[] value = member.getBytes(Charset.defaultCharset());
+            stream.writeInt(value.length);
+            stream.write(value);
+        }
+        stream.writeInt(minSurrogate + members.length - 1);
+        stream.close();
+        return bytes.toByteArray();
+    }
+}
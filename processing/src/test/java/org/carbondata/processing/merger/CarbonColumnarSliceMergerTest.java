@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.processing.merger;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.metadata.SliceMetaData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests which measures of aggregate table loads can be merged from their
+ * aggregated values.
+ */
+public class CarbonColumnarSliceMergerTest {
+
+    @Test public void countIsMergedAsSum() {
+        String[] aggType = CarbonColumnarSliceMerger.getAggregatorsForMerge(
+                createSliceMetaData(CarbonCommonConstants.COUNT, CarbonCommonConstants.SUM,
+                        CarbonCommonConstants.MAX, CarbonCommonConstants.MIN,
+                        CarbonCommonConstants.DISTINCT_COUNT));
+        Assert.assertArrayEquals(new String[] { CarbonCommonConstants.SUM,
+                CarbonCommonConstants.SUM, CarbonCommonConstants.MAX, CarbonCommonConstants.MIN,
+                CarbonCommonConstants.DISTINCT_COUNT }, aggType);
+    }
+
+    @Test public void averageCannotBeMerged() {
+        Assert.assertNull(CarbonColumnarSliceMerger.getAggregatorsForMerge(
+                createSliceMetaData(CarbonCommonConstants.SUM, CarbonCommonConstants.AVERAGE)));
+    }
+
+    @Test public void sumDistinctCannotBeMerged() {
+        Assert.assertNull(CarbonColumnarSliceMerger.getAggregatorsForMerge(
+                createSliceMetaData(CarbonCommonConstants.SUM_DISTINCT)));
+    }
+
+    @Test public void customCannotBeMerged() {
+        Assert.assertNull(CarbonColumnarSliceMerger.getAggregatorsForMerge(
+                createSliceMetaData(CarbonCommonConstants.COUNT, CarbonCommonConstants.CUSTOM)));
+    }
+
+    @Test public void missingAggregatorsCannotBeMerged() {
+        SliceMetaData sliceMetaData = createSliceMetaData(CarbonCommonConstants.SUM);
+        sliceMetaData.setMeasures(new String[] { "m0", "m1" });
+        Assert.assertNull(CarbonColumnarSliceMerger.getAggregatorsForMerge(sliceMetaData));
+        sliceMetaData.setMeasuresAggregator(null);
+        Assert.assertNull(CarbonColumnarSliceMerger.getAggregatorsForMerge(sliceMetaData));
+    }
+
+    private SliceMetaData createSliceMetaData(String... aggregators) {
+        SliceMetaData sliceMetaData = new SliceMetaData();
+        String[] measures = new String[aggregators.length];
+        for (int i = 0; i < measures.length; i++) {
+            measures[i] = "m" + i;
+        }
+        sliceMetaData.setMeasures(measures);
+        sliceMetaData.setMeasuresAggregator(aggregators);
+        return sliceMetaData;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.carbondata.processing.sortandgroupby.sortKey;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.carbondata.core.constants.CarbonCommonConstants;
+import org.carbondata.core.util.CarbonProperties;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CarbonSortKeyHashbasedAggregatorTest {
+
+    private static final String[] AGG_TYPE = { CarbonCommonConstants.SUM,
+            CarbonCommonConstants.COUNT, CarbonCommonConstants.MAX, CarbonCommonConstants.MIN,
+            CarbonCommonConstants.AVERAGE, CarbonCommonConstants.COUNT };
+
+    private static final char[] TYPE = { 'n', 'n', 'n', 'n', 'n', 'l' };
+
+    @After
+    public void tearDown() {
+        CarbonProperties.getInstance().addProperty(CarbonCommonConstants.CARBON_HASH_AGG_THREADS,
+                "1");
+    }
+
+    @Test
+    public void testSingleAndPartitionedAggregationGiveSameResult() throws Exception {
+        Map<String, Object[]> single = aggregate(1);
+        Map<String, Object[]> partitioned = aggregate(4);
+        assertEquals(1000, single.size());
+        assertEquals(single.size(), partitioned.size());
+        for (Map.Entry<String, Object[]> entry : single.entrySet()) {
+            Object[] expected = entry.getValue();
+            Object[] actual = partitioned.get(entry.getKey());
+            for (int i = 0; i < AGG_TYPE.length; i++) {
+                if (expected[i] instanceof Double) {
+                    assertEquals((Double) expected[i], (Double) actual[i], 0.0001);
+                } else {
+                    assertEquals(expected[i], actual[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAggregatedValues() throws Exception {
+        CarbonProperties.getInstance().addProperty(CarbonCommonConstants.CARBON_HASH_AGG_THREADS,
+                "2");
+        CarbonSortKeyHashbasedAggregator aggregator = createAggregator();
+        aggregator.addData(row(1, 2.0));
+        aggregator.addData(row(1, 5.0));
+        aggregator.addData(row(1, null));
+        aggregator.addData(row(2, null));
+        assertEquals(4, aggregator.getSize());
+        Object[][] result = aggregator.getResult();
+        aggregator.close();
+        assertEquals(2, result.length);
+        Object[] first = ((byte[]) result[0][AGG_TYPE.length])[0] == 1 ? result[0] : result[1];
+        Object[] second = first == result[0] ? result[1] : result[0];
+        assertEquals(7.0, first[0]);
+        assertEquals(2.0, first[1]);
+        assertEquals(5.0, first[2]);
+        assertEquals(2.0, first[3]);
+        assertEquals(3.5, first[4]);
+        assertEquals(2L, first[5]);
+        assertNull(second[0]);
+        assertEquals(0.0, second[1]);
+        assertNull(second[2]);
+        assertNull(second[3]);
+        assertNull(second[4]);
+        assertEquals(0L, second[5]);
+    }
+
+    @Test
+    public void testAggregationThreadsAreDaemon() throws Exception {
+        CarbonProperties.getInstance().addProperty(CarbonCommonConstants.CARBON_HASH_AGG_THREADS,
+                "2");
+        CarbonSortKeyHashbasedAggregator aggregator = createAggregator();
+        for (int i = 0; i < 10000; i++) {
+            aggregator.addData(row(i % 100, 1.0));
+        }
+        aggregator.getResult();
+        int aggregationThreads = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("CarbonHashAggregator-")) {
+                assertTrue(thread.isDaemon());
+                aggregationThreads++;
+            }
+        }
+        aggregator.close();
+        aggregator.close();
+        assertTrue(aggregationThreads > 0);
+    }
+
+    private Map<String, Object[]> aggregate(int threads) throws Exception {
+        CarbonProperties.getInstance().addProperty(CarbonCommonConstants.CARBON_HASH_AGG_THREADS,
+                String.valueOf(threads));
+        CarbonSortKeyHashbasedAggregator aggregator = createAggregator();
+        Random random = new Random(7);
+        for (int i = 0; i < 50000; i++) {
+            aggregator.addData(row(random.nextInt(1000), (double) random.nextInt(100)));
+        }
+        Object[][] result = aggregator.getResult();
+        aggregator.close();
+        Map<String, Object[]> rows = new HashMap<String, Object[]>();
+        for (Object[] row : result) {
+            byte[] key = (byte[]) row[AGG_TYPE.length];
+            rows.put(key[0] + "_" + key[1], row);
+        }
+        return rows;
+    }
+
+    private CarbonSortKeyHashbasedAggregator createAggregator() {
+        return new CarbonSortKeyHashbasedAggregator(AGG_TYPE, new String[AGG_TYPE.length], null,
+                TYPE, 100, new Object[AGG_TYPE.length]);
+    }
+
+    private Object[] row(int key, Double value) {
+        Object[] row = new Object[AGG_TYPE.length + 1];
+        for (int i = 0; i < AGG_TYPE.length; i++) {
+            row[i] = value;
+        }
+        row[AGG_TYPE.length] = new byte[] { (byte) key, (byte) (key >> 8) };
+        return row;
+    }
+}